@@ -0,0 +1,101 @@
+package com.southsystem.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.southsystem.contratos.ContratosDogApi;
+import com.southsystem.json.MapeadorJson;
+import io.restassured.path.json.JsonPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Custo de checar a estrutura de uma resposta: contrato em streaming contra árvore do Jackson com checagens
+ * campo a campo e contra o JsonPath do RestAssured (o jsonPath().getString(...) dos testes)
+ * As três abordagens checam as mesmas regras: status, forma de message, nomes de raça e formato das URLs
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BenchmarkContratos {
+
+    private static final ObjectMapper MAPEADOR = MapeadorJson.mapeador();
+    private static final Pattern NOME = Pattern.compile("[a-z0-9]+");
+    private static final Pattern URL_IMAGEM = Pattern.compile("https?://[^/]+/breeds/[a-z0-9-]+/[^/]+\\.(jpg|jpeg|png|gif)",
+            Pattern.CASE_INSENSITIVE);
+
+    @Benchmark
+    public boolean imagensRacaContrato(PayloadsDogApi payloads) {
+        return ContratosDogApi.IMAGENS.validar(payloads.imagensRaca).isValido();
+    }
+
+    @Benchmark
+    public boolean imagensRacaArvore(PayloadsDogApi payloads) throws IOException {
+        JsonNode raiz = MAPEADOR.readTree(payloads.imagensRaca);
+        JsonNode mensagem = raiz.path("message");
+        boolean valido = "success".equals(raiz.path("status").asText()) && mensagem.isArray() && !mensagem.isEmpty();
+        for (JsonNode url : mensagem) {
+            valido &= url.isTextual() && URL_IMAGEM.matcher(url.asText()).matches();
+        }
+        return valido;
+    }
+
+    @Benchmark
+    public boolean imagensRacaJsonPath(PayloadsDogApi payloads) {
+        JsonPath corpo = new JsonPath(new String(payloads.imagensRaca, StandardCharsets.UTF_8));
+        List<String> urls = corpo.getList("message", String.class);
+        boolean valido = "success".equals(corpo.getString("status")) && !urls.isEmpty();
+        for (String url : urls) {
+            valido &= URL_IMAGEM.matcher(url).matches();
+        }
+        return valido;
+    }
+
+    @Benchmark
+    public boolean listaRacasContrato(PayloadsDogApi payloads) {
+        return ContratosDogApi.LISTA_RACAS.validar(payloads.listaRacas).isValido();
+    }
+
+    @Benchmark
+    public boolean listaRacasArvore(PayloadsDogApi payloads) throws IOException {
+        JsonNode raiz = MAPEADOR.readTree(payloads.listaRacas);
+        JsonNode mensagem = raiz.path("message");
+        boolean valido = "success".equals(raiz.path("status").asText()) && mensagem.isObject() && !mensagem.isEmpty();
+        for (Iterator<Map.Entry<String, JsonNode>> racas = mensagem.fields(); racas.hasNext(); ) {
+            Map.Entry<String, JsonNode> raca = racas.next();
+            valido &= NOME.matcher(raca.getKey()).matches() && raca.getValue().isArray();
+            for (JsonNode subRaca : raca.getValue()) {
+                valido &= subRaca.isTextual() && NOME.matcher(subRaca.asText()).matches();
+            }
+        }
+        return valido;
+    }
+
+    @Benchmark
+    public boolean listaRacasJsonPath(PayloadsDogApi payloads) {
+        JsonPath corpo = new JsonPath(new String(payloads.listaRacas, StandardCharsets.UTF_8));
+        Map<String, List<String>> racas = corpo.getMap("message");
+        boolean valido = "success".equals(corpo.getString("status")) && !racas.isEmpty();
+        for (Map.Entry<String, List<String>> raca : racas.entrySet()) {
+            valido &= NOME.matcher(raca.getKey()).matches();
+            for (String subRaca : raca.getValue()) {
+                valido &= NOME.matcher(subRaca).matches();
+            }
+        }
+        return valido;
+    }
+}
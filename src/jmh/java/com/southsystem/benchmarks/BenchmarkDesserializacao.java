@@ -0,0 +1,81 @@
+package com.southsystem.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.southsystem.json.LeitorRespostas;
+import com.southsystem.json.MapeadorJson;
+import com.southsystem.models.RespostaDogApi;
+import com.southsystem.models.RespostaImagemAleatoria;
+import com.southsystem.models.RespostaImagensRaca;
+import com.southsystem.models.RespostaListaRacas;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão, latência e alocação (com -prof gc) da desserialização dos modelos da Dog API
+ * Compara o data binding do Jackson, usado pelo RestAssured em .as(...), com os leitores
+ * de streaming e com a visão memoizada
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BenchmarkDesserializacao {
+
+    private static final ObjectMapper MAPEADOR = MapeadorJson.mapeador();
+
+    @Benchmark
+    public RespostaListaRacas listaRacasDataBinding(PayloadsDogApi payloads) throws IOException {
+        return MAPEADOR.readValue(payloads.listaRacas, RespostaListaRacas.class);
+    }
+
+    @Benchmark
+    public RespostaListaRacas listaRacasStreaming(PayloadsDogApi payloads) {
+        return LeitorRespostas.lerListaRacas(new ByteArrayInputStream(payloads.listaRacas));
+    }
+
+    @Benchmark
+    public Map<String, List<String>> listaRacasVisao(PayloadsDogApi payloads) {
+        return visao(payloads.listaRacas).getMensagemComoMapa();
+    }
+
+    @Benchmark
+    public RespostaImagensRaca imagensRacaDataBinding(PayloadsDogApi payloads) throws IOException {
+        return MAPEADOR.readValue(payloads.imagensRaca, RespostaImagensRaca.class);
+    }
+
+    @Benchmark
+    public RespostaImagensRaca imagensRacaStreaming(PayloadsDogApi payloads) {
+        return LeitorRespostas.lerImagensRaca(new ByteArrayInputStream(payloads.imagensRaca));
+    }
+
+    @Benchmark
+    public List<String> imagensRacaVisao(PayloadsDogApi payloads) {
+        return visao(payloads.imagensRaca).getMensagemComoLista();
+    }
+
+    @Benchmark
+    public RespostaImagemAleatoria imagemAleatoriaDataBinding(PayloadsDogApi payloads) throws IOException {
+        return MAPEADOR.readValue(payloads.imagemAleatoria, RespostaImagemAleatoria.class);
+    }
+
+    @Benchmark
+    public RespostaImagemAleatoria imagemAleatoriaStreaming(PayloadsDogApi payloads) {
+        return LeitorRespostas.lerImagemAleatoria(new ByteArrayInputStream(payloads.imagemAleatoria));
+    }
+
+    private static RespostaDogApi visao(byte[] corpo) {
+        return new RespostaDogApi(200, 0, Map.of(), corpo, false);
+    }
+}
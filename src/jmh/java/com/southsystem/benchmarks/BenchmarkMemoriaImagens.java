@@ -0,0 +1,109 @@
+package com.southsystem.benchmarks;
+
+import com.southsystem.json.LeitorRespostas;
+import com.southsystem.models.RespostaImagensRaca;
+import com.southsystem.servidor.CatalogoRacas;
+import com.southsystem.servidor.RequisicaoHttp;
+import com.southsystem.servidor.RespostaHttp;
+import com.southsystem.servidor.RotasDogApi;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Memória retida pelas listas de imagens do catálogo completo (todas as raças), com ArrayList de String
+ * e com {@link com.southsystem.models.ListaUrlsCompacta}
+ *
+ * O heap retido de cada representação é medido pelo JOL (grafo de objetos alcançáveis) no início do
+ * benchmark e impresso no console; os métodos medem o custo de ler o catálogo e de percorrer as URLs,
+ * que na lista compacta inclui a decodificação sob demanda
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchmarkMemoriaImagens {
+
+    private List<byte[]> corpos;
+    private List<RespostaImagensRaca> catalogoLista;
+    private List<RespostaImagensRaca> catalogoCompacto;
+
+    @Setup(Level.Trial)
+    public void carregar() {
+        CatalogoRacas catalogo = CatalogoRacas.carregarPadrao();
+        RotasDogApi rotas = new RotasDogApi(catalogo);
+        corpos = new ArrayList<>();
+        for (String raca : catalogo.getRacas().keySet()) {
+            RespostaHttp resposta = rotas.responder(new RequisicaoHttp("GET", "/api/breed/" + raca + "/images", Map.of()));
+            corpos.add(resposta.getCorpo());
+        }
+        catalogoLista = lerCatalogo(false);
+        catalogoCompacto = lerCatalogo(true);
+
+        long urls = catalogoLista.stream().mapToLong(resposta -> resposta.getImagens().size()).sum();
+        long bytesLista = GraphLayout.parseInstance(catalogoLista).totalSize();
+        long bytesCompacto = GraphLayout.parseInstance(catalogoCompacto).totalSize();
+        System.out.printf("%n📦 Heap retido pelo catálogo (%d raças, %d URLs)%n", corpos.size(), urls);
+        System.out.printf("   ArrayList<String>: %,d bytes (%.1f bytes/URL)%n", bytesLista, bytesLista / (double) urls);
+        System.out.printf("   ListaUrlsCompacta: %,d bytes (%.1f bytes/URL)%n", bytesCompacto, bytesCompacto / (double) urls);
+        System.out.printf("   Redução: %.1fx%n", bytesLista / (double) bytesCompacto);
+        if (!catalogoLista.equals(catalogoCompacto)) {
+            throw new IllegalStateException("Lista compacta diverge da lista de Strings");
+        }
+    }
+
+    @Benchmark
+    public List<RespostaImagensRaca> lerCatalogoLista() {
+        return lerCatalogo(false);
+    }
+
+    @Benchmark
+    public List<RespostaImagensRaca> lerCatalogoCompacto() {
+        return lerCatalogo(true);
+    }
+
+    @Benchmark
+    public long percorrerCatalogoLista() {
+        return percorrer(catalogoLista);
+    }
+
+    @Benchmark
+    public long percorrerCatalogoCompacto() {
+        return percorrer(catalogoCompacto);
+    }
+
+    private List<RespostaImagensRaca> lerCatalogo(boolean compacta) {
+        List<RespostaImagensRaca> respostas = new ArrayList<>(corpos.size());
+        for (byte[] corpo : corpos) {
+            respostas.add(LeitorRespostas.lerImagensRaca(new ByteArrayInputStream(corpo), compacta));
+        }
+        return respostas;
+    }
+
+    private static long percorrer(List<RespostaImagensRaca> respostas) {
+        long caracteres = 0;
+        for (RespostaImagensRaca resposta : respostas) {
+            for (String url : resposta.getImagens()) {
+                caracteres += url.length();
+            }
+        }
+        return caracteres;
+    }
+}
@@ -0,0 +1,84 @@
+package com.southsystem.benchmarks;
+
+import com.southsystem.models.RespostaDogApi;
+import com.southsystem.models.RespostaImagemAleatoria;
+import com.southsystem.models.RespostaImagensRaca;
+import com.southsystem.services.ServicoDogApi;
+import com.southsystem.servidor.CatalogoRacas;
+import com.southsystem.servidor.RotasDogApi;
+import com.southsystem.servidor.ServidorDogApiLocal;
+import com.southsystem.transporte.TransporteHttp;
+import io.restassured.response.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Requisição completa pelo ServicoDogApi (RestAssured, pool keep-alive, desserialização)
+ * contra o servidor local embarcado, sem cache de respostas
+ *
+ * A saída de console do service é descartada durante a medição: o objetivo é o custo do cliente,
+ * não o do terminal
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchmarkServicoDogApi {
+
+    private ServidorDogApiLocal servidor;
+    private TransporteHttp transporte;
+    private ServicoDogApi servico;
+    private PrintStream saidaOriginal;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        servidor = new ServidorDogApiLocal(new RotasDogApi(CatalogoRacas.carregarPadrao()), 0).iniciar();
+        transporte = new TransporteHttp(10, 10, 30);
+        servico = new ServicoDogApi(servidor.getUrlBase(), transporte).semCache();
+        saidaOriginal = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        System.setOut(saidaOriginal);
+        transporte.fechar();
+        servidor.close();
+    }
+
+    @Benchmark
+    public RespostaImagemAleatoria imagemAleatoriaComoObjeto() {
+        return servico.buscarImagemAleatoriaComoObjeto();
+    }
+
+    @Benchmark
+    public RespostaImagensRaca imagensRacaComoObjeto() {
+        return servico.buscarImagensPorRacaComoObjeto(PayloadsDogApi.RACA_PADRAO);
+    }
+
+    @Benchmark
+    public RespostaDogApi imagensRacaComoVisao() {
+        return servico.buscarImagensPorRacaComoVisao(PayloadsDogApi.RACA_PADRAO);
+    }
+
+    @Benchmark
+    public Response imagemAleatoriaResponse() {
+        return servico.buscarImagemAleatoria();
+    }
+}
@@ -0,0 +1,43 @@
+package com.southsystem.benchmarks;
+
+import com.southsystem.servidor.CatalogoRacas;
+import com.southsystem.servidor.RequisicaoHttp;
+import com.southsystem.servidor.RespostaHttp;
+import com.southsystem.servidor.RotasDogApi;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+
+/**
+ * Corpos JSON reais usados pelos benchmarks de desserialização
+ * Gerados pelas mesmas rotas do servidor local a partir do snapshot do catálogo,
+ * portanto com o mesmo tamanho e formato das respostas da Dog API
+ */
+@State(Scope.Benchmark)
+public class PayloadsDogApi {
+
+    /** Raça com a maior lista de imagens do catálogo (todas as sub-raças) */
+    public static final String RACA_PADRAO = "hound";
+
+    byte[] listaRacas;
+    byte[] imagensRaca;
+    byte[] imagemAleatoria;
+
+    @Setup
+    public void carregar() {
+        RotasDogApi rotas = new RotasDogApi(CatalogoRacas.carregarPadrao());
+        listaRacas = corpo(rotas, "/api/breeds/list/all");
+        imagensRaca = corpo(rotas, "/api/breed/" + RACA_PADRAO + "/images");
+        imagemAleatoria = corpo(rotas, "/api/breeds/image/random");
+    }
+
+    private static byte[] corpo(RotasDogApi rotas, String caminho) {
+        RespostaHttp resposta = rotas.responder(new RequisicaoHttp("GET", caminho, Map.of()));
+        if (resposta.getStatus() != 200) {
+            throw new IllegalStateException("Fixture inválida para " + caminho + ": HTTP " + resposta.getStatus());
+        }
+        return resposta.getCorpo();
+    }
+}
@@ -1,19 +1,95 @@
 package com.southsystem.config;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Properties;
+
 /**
  * Classe de configuração base para testes da Dog API
  * Contém as configurações padrão para requisições HTTP
  */
 public class ConfiguracaoApi {
-    
+
     public static final String BASE_URI = "https://dog.ceo/api";
     public static final String BASE_URL = "https://dog.ceo/api";
     public static final String CONTENT_TYPE = "application/json";
-    
+
+    /**
+     * Arquivo opcional no classpath com os valores padrão da suite
+     */
+    public static final String ARQUIVO_PROPRIEDADES = "dog-api.properties";
+
+    /**
+     * Define contra qual servidor a suite roda: "remoto" (dog.ceo) ou "local" (servidor embarcado)
+     */
+    public static final String PROPRIEDADE_SERVIDOR = "dog.api.servidor";
+    public static final String SERVIDOR_REMOTO = "remoto";
+    public static final String SERVIDOR_LOCAL = "local";
+
+    /**
+     * Porta do servidor local; 0 escolhe uma porta livre automaticamente
+     */
+    public static final String PROPRIEDADE_PORTA_LOCAL = "dog.api.local.porta";
+
+    private static final Properties PROPRIEDADES = carregarPropriedades();
+
     /**
      * Construtor privado para evitar instanciação
      */
     private ConfiguracaoApi() {
         // Classe utilitária - não deve ser instanciada
     }
-}
\ No newline at end of file
+
+    /**
+     * Busca uma propriedade de configuração.
+     * Ordem de precedência: System property (-D) → dog-api.properties → valor padrão
+     * @param chave nome da propriedade
+     * @param padrao valor usado quando a propriedade não está definida
+     * @return valor configurado ou o padrão
+     */
+    public static String propriedade(String chave, String padrao) {
+        String valor = System.getProperty(chave);
+        if (valor == null || valor.isBlank()) {
+            valor = PROPRIEDADES.getProperty(chave);
+        }
+        return valor == null || valor.isBlank() ? padrao : valor.trim();
+    }
+
+    /**
+     * Busca uma propriedade numérica de configuração
+     * @param chave nome da propriedade
+     * @param padrao valor usado quando a propriedade não está definida
+     * @return valor configurado ou o padrão
+     */
+    public static int propriedadeInteira(String chave, int padrao) {
+        String valor = propriedade(chave, null);
+        if (valor == null) {
+            return padrao;
+        }
+        try {
+            return Integer.parseInt(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido para " + chave + ": " + valor, e);
+        }
+    }
+
+    /**
+     * @return true quando a suite deve usar o servidor local em vez de dog.ceo
+     */
+    public static boolean usarServidorLocal() {
+        return SERVIDOR_LOCAL.equalsIgnoreCase(propriedade(PROPRIEDADE_SERVIDOR, SERVIDOR_REMOTO));
+    }
+
+    private static Properties carregarPropriedades() {
+        Properties propriedades = new Properties();
+        try (InputStream entrada = ConfiguracaoApi.class.getClassLoader().getResourceAsStream(ARQUIVO_PROPRIEDADES)) {
+            if (entrada != null) {
+                propriedades.load(entrada);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler " + ARQUIVO_PROPRIEDADES, e);
+        }
+        return propriedades;
+    }
+}
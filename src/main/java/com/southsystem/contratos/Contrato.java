@@ -0,0 +1,91 @@
+package com.southsystem.contratos;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.southsystem.json.MapeadorJson;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Contrato de resposta compilado a partir de um {@link Esquema}
+ *
+ * A validação é uma única passada pelos tokens do {@link JsonParser}: nenhuma árvore nem modelo é montado,
+ * e textos são verificados sobre o buffer do parser. Todas as violações são apontadas com o caminho JSON,
+ * e a validação segue depois de cada uma; JSON malformado encerra a passada com uma violação no ponto do erro.
+ * Imutável e thread-safe: compile uma vez e reaproveite
+ */
+public final class Contrato {
+
+    /** Quantidade de violações guardadas por validação; as demais são só contadas */
+    public static final int LIMITE_VIOLACOES = 50;
+
+    private final String nome;
+    private final No raiz;
+
+    private Contrato(String nome, No raiz) {
+        this.nome = nome;
+        this.raiz = raiz;
+    }
+
+    /**
+     * @param nome nome do contrato, usado nas mensagens
+     * @param esquema forma esperada do corpo
+     * @return contrato pronto para validar
+     */
+    public static Contrato compilar(String nome, Esquema esquema) {
+        return new Contrato(nome, esquema.compilar());
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    /**
+     * @param corpo corpo JSON da resposta
+     * @return resultado com as violações encontradas
+     */
+    public ResultadoContrato validar(byte[] corpo) {
+        try (JsonParser parser = MapeadorJson.fabrica().createParser(corpo)) {
+            return validar(parser);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao validar o contrato " + nome, e);
+        }
+    }
+
+    /**
+     * @param entrada corpo JSON da resposta (não é fechado por este método)
+     * @return resultado com as violações encontradas
+     */
+    public ResultadoContrato validar(InputStream entrada) {
+        try (JsonParser parser = MapeadorJson.fabrica().createParser(entrada)) {
+            return validar(parser);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao validar o contrato " + nome, e);
+        }
+    }
+
+    private ResultadoContrato validar(JsonParser parser) throws IOException {
+        Validacao validacao = new Validacao(LIMITE_VIOLACOES);
+        try {
+            if (parser.nextToken() == null) {
+                validacao.violacao("corpo vazio");
+            } else {
+                raiz.validar(parser, validacao);
+                if (parser.nextToken() != null) {
+                    validacao.violacao("conteúdo após o fim do JSON");
+                }
+            }
+        } catch (JsonProcessingException e) {
+            validacao.violacaoNoContexto(parser.getParsingContext(), "JSON malformado: " + e.getOriginalMessage());
+        }
+        return validacao.resultado(nome);
+    }
+
+    @Override
+    public String toString() {
+        return "Contrato " + nome;
+    }
+}
@@ -0,0 +1,77 @@
+package com.southsystem.contratos;
+
+import static com.southsystem.contratos.Esquema.inteiro;
+import static com.southsystem.contratos.Esquema.lista;
+import static com.southsystem.contratos.Esquema.mapa;
+import static com.southsystem.contratos.Esquema.nome;
+import static com.southsystem.contratos.Esquema.objeto;
+import static com.southsystem.contratos.Esquema.texto;
+import static com.southsystem.contratos.Esquema.urlImagem;
+import static com.southsystem.contratos.Esquema.valores;
+
+/**
+ * Contratos das respostas da Dog API, compilados uma vez na carga da classe
+ *
+ * Respostas de sucesso: {"message": ..., "status": "success"}, com "message" no formato do endpoint.
+ * Respostas de erro: {"status": "error", "message": "...", "code": 4xx|5xx}
+ */
+public final class ContratosDogApi {
+
+    /** Máximo de imagens que a API devolve em /images/random/{quantidade}; também aplicado pelo servidor local */
+    public static final int MAXIMO_IMAGENS_ALEATORIAS = 50;
+
+    /** GET /breeds/list/all: raça → lista de sub-raças */
+    public static final Contrato LISTA_RACAS = sucesso("lista de raças", mapa(nome(), lista(nome())).minimo(1));
+
+    /** GET /breed/{raca}/images e /breed/{raca}/{subRaca}/images */
+    public static final Contrato IMAGENS = sucesso("imagens da raça", lista(urlImagem()).minimo(1));
+
+    /** GET /breeds/image/random e /breed/{raca}/images/random */
+    public static final Contrato IMAGEM_ALEATORIA = sucesso("imagem aleatória", urlImagem());
+
+    /** GET /breeds/image/random/{quantidade} e /breed/{raca}/images/random/{quantidade} */
+    public static final Contrato IMAGENS_ALEATORIAS = sucesso("imagens aleatórias",
+            lista(urlImagem()).minimo(1).maximo(MAXIMO_IMAGENS_ALEATORIAS));
+
+    /** Qualquer resposta de erro */
+    public static final Contrato ERRO = Contrato.compilar("erro", objeto()
+            .obrigatorio("status", valores("error"))
+            .obrigatorio("message", texto())
+            .obrigatorio("code", inteiro(400, 599)));
+
+    /**
+     * Construtor privado para evitar instanciação
+     */
+    private ContratosDogApi() {
+        // Classe utilitária - não deve ser instanciada
+    }
+
+    /**
+     * @param endpoint caminho com placeholders, como declarado no ServicoDogApi (ex.: /breed/{raca}/images)
+     * @return contrato de sucesso do endpoint
+     * @throws IllegalArgumentException se o endpoint não for conhecido
+     */
+    public static Contrato paraEndpoint(String endpoint) {
+        switch (endpoint) {
+            case "/breeds/list/all":
+                return LISTA_RACAS;
+            case "/breed/{raca}/images":
+            case "/breed/{raca}/{subRaca}/images":
+                return IMAGENS;
+            case "/breeds/image/random":
+            case "/breed/{raca}/images/random":
+                return IMAGEM_ALEATORIA;
+            case "/breeds/image/random/{quantidade}":
+            case "/breed/{raca}/images/random/{quantidade}":
+                return IMAGENS_ALEATORIAS;
+            default:
+                throw new IllegalArgumentException("Endpoint sem contrato: " + endpoint);
+        }
+    }
+
+    private static Contrato sucesso(String nome, Esquema mensagem) {
+        return Contrato.compilar(nome, objeto()
+                .obrigatorio("status", valores("success"))
+                .obrigatorio("message", mensagem));
+    }
+}
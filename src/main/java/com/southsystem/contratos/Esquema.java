@@ -0,0 +1,238 @@
+package com.southsystem.contratos;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Descrição da forma esperada de um valor JSON, usada para montar um {@link Contrato}
+ *
+ * Os esquemas são imutáveis: métodos como {@link Lista#minimo(int)} e {@link Objeto#obrigatorio(String, Esquema)}
+ * devolvem uma cópia alterada. A forma de validar só é montada uma vez, em {@link Contrato#compilar(String, Esquema)}
+ */
+public abstract class Esquema {
+
+    Esquema() {
+    }
+
+    abstract No compilar();
+
+    /**
+     * @return texto qualquer
+     */
+    public static Texto texto() {
+        return new Texto(VerificadorTexto.qualquer());
+    }
+
+    /**
+     * @param verificador regra aplicada ao texto
+     * @return texto que atende à regra
+     */
+    public static Texto texto(VerificadorTexto verificador) {
+        return new Texto(verificador);
+    }
+
+    /**
+     * @param permitidos valores aceitos
+     * @return texto de uma enumeração
+     */
+    public static Texto valores(String... permitidos) {
+        return new Texto(VerificadorTexto.valores(permitidos));
+    }
+
+    /**
+     * @return nome de raça ou sub-raça
+     */
+    public static Texto nome() {
+        return new Texto(VerificadorTexto.nome());
+    }
+
+    /**
+     * @return URL de imagem da Dog API
+     */
+    public static Texto urlImagem() {
+        return new Texto(VerificadorTexto.urlImagem());
+    }
+
+    /**
+     * @param minimo menor valor aceito
+     * @param maximo maior valor aceito
+     * @return inteiro no intervalo
+     */
+    public static Esquema inteiro(long minimo, long maximo) {
+        return new Inteiro(minimo, maximo);
+    }
+
+    /**
+     * @param itens esquema de cada item
+     * @return lista de qualquer tamanho
+     */
+    public static Lista lista(Esquema itens) {
+        return new Lista(itens, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param chaves esquema das chaves
+     * @param valores esquema de cada valor
+     * @return objeto de chaves livres
+     */
+    public static Mapa mapa(Texto chaves, Esquema valores) {
+        return new Mapa(chaves, valores, 0);
+    }
+
+    /**
+     * @return objeto sem campos, que não aceita campos extras
+     */
+    public static Objeto objeto() {
+        return new Objeto(List.of(), false);
+    }
+
+    public static final class Texto extends Esquema {
+        private final VerificadorTexto verificador;
+
+        private Texto(VerificadorTexto verificador) {
+            this.verificador = verificador;
+        }
+
+        @Override
+        No compilar() {
+            return new No.Texto(verificador);
+        }
+    }
+
+    private static final class Inteiro extends Esquema {
+        private final long minimo;
+        private final long maximo;
+
+        private Inteiro(long minimo, long maximo) {
+            this.minimo = minimo;
+            this.maximo = maximo;
+        }
+
+        @Override
+        No compilar() {
+            return new No.Inteiro(minimo, maximo);
+        }
+    }
+
+    public static final class Lista extends Esquema {
+        private final Esquema itens;
+        private final int minimo;
+        private final int maximo;
+
+        private Lista(Esquema itens, int minimo, int maximo) {
+            this.itens = itens;
+            this.minimo = minimo;
+            this.maximo = maximo;
+        }
+
+        public Lista minimo(int minimo) {
+            return new Lista(itens, minimo, maximo);
+        }
+
+        public Lista maximo(int maximo) {
+            return new Lista(itens, minimo, maximo);
+        }
+
+        @Override
+        No compilar() {
+            return new No.Lista(itens.compilar(), minimo, maximo);
+        }
+    }
+
+    public static final class Mapa extends Esquema {
+        private final Texto chaves;
+        private final Esquema valores;
+        private final int minimo;
+
+        private Mapa(Texto chaves, Esquema valores, int minimo) {
+            this.chaves = chaves;
+            this.valores = valores;
+            this.minimo = minimo;
+        }
+
+        /**
+         * @param minimo menor quantidade de chaves aceita
+         */
+        public Mapa minimo(int minimo) {
+            return new Mapa(chaves, valores, minimo);
+        }
+
+        @Override
+        No compilar() {
+            return new No.Mapa(chaves.verificador, valores.compilar(), minimo);
+        }
+    }
+
+    /**
+     * Objeto de campos conhecidos; até 64 campos (os obrigatórios são controlados por uma máscara de bits)
+     */
+    public static final class Objeto extends Esquema {
+        private static final int MAXIMO_CAMPOS = 64;
+
+        private final List<Campo> campos;
+        private final boolean permiteExtras;
+
+        private Objeto(List<Campo> campos, boolean permiteExtras) {
+            this.campos = campos;
+            this.permiteExtras = permiteExtras;
+        }
+
+        public Objeto obrigatorio(String nome, Esquema esquema) {
+            return comCampo(new Campo(nome, esquema, true));
+        }
+
+        public Objeto opcional(String nome, Esquema esquema) {
+            return comCampo(new Campo(nome, esquema, false));
+        }
+
+        /**
+         * @return cópia que ignora campos não declarados em vez de apontá-los como violação
+         */
+        public Objeto permitindoExtras() {
+            return new Objeto(campos, true);
+        }
+
+        private Objeto comCampo(Campo campo) {
+            if (campos.size() == MAXIMO_CAMPOS) {
+                throw new IllegalArgumentException("Objeto com mais de " + MAXIMO_CAMPOS + " campos no contrato");
+            }
+            for (Campo existente : campos) {
+                if (existente.nome.equals(campo.nome)) {
+                    throw new IllegalArgumentException("Campo declarado duas vezes no contrato: " + campo.nome);
+                }
+            }
+            List<Campo> novos = new ArrayList<>(campos);
+            novos.add(campo);
+            return new Objeto(List.copyOf(novos), permiteExtras);
+        }
+
+        @Override
+        No compilar() {
+            String[] nomes = new String[campos.size()];
+            No[] nos = new No[campos.size()];
+            long obrigatorios = 0;
+            for (int i = 0; i < campos.size(); i++) {
+                Campo campo = campos.get(i);
+                // intern: o parser canonicaliza os nomes de campo, então a comparação costuma parar na referência
+                nomes[i] = campo.nome.intern();
+                nos[i] = campo.esquema.compilar();
+                if (campo.obrigatorio) {
+                    obrigatorios |= 1L << i;
+                }
+            }
+            return new No.Objeto(nomes, nos, obrigatorios, permiteExtras);
+        }
+    }
+
+    private static final class Campo {
+        private final String nome;
+        private final Esquema esquema;
+        private final boolean obrigatorio;
+
+        private Campo(String nome, Esquema esquema, boolean obrigatorio) {
+            this.nome = nome;
+            this.esquema = esquema;
+            this.obrigatorio = obrigatorio;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.southsystem.contratos;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * Nó compilado de um {@link Esquema}: valida o valor cujo primeiro token é o token atual do parser e deixa
+ * o parser no último token desse valor (o próprio token, para escalares, ou o END_ de arrays e objetos)
+ *
+ * Valores do tipo errado geram uma violação e são pulados com skipChildren, para a validação seguir adiante
+ */
+abstract class No {
+
+    abstract void validar(JsonParser parser, Validacao validacao) throws IOException;
+
+    /**
+     * @return descrição curta do que o nó aceita, para as mensagens de tipo errado
+     */
+    abstract String descricao();
+
+    final void tipoErrado(JsonParser parser, Validacao validacao) throws IOException {
+        validacao.violacao("esperado " + descricao() + ", encontrado " + descreverToken(parser.currentToken()));
+        parser.skipChildren();
+    }
+
+    static String descreverToken(JsonToken token) {
+        switch (token) {
+            case START_OBJECT:
+                return "objeto";
+            case START_ARRAY:
+                return "lista";
+            case VALUE_STRING:
+                return "texto";
+            case VALUE_NUMBER_INT:
+                return "inteiro";
+            case VALUE_NUMBER_FLOAT:
+                return "número decimal";
+            case VALUE_TRUE:
+            case VALUE_FALSE:
+                return "booleano";
+            case VALUE_NULL:
+                return "null";
+            default:
+                return token.name();
+        }
+    }
+
+    /**
+     * Texto verificado sobre o buffer de caracteres do parser
+     */
+    static final class Texto extends No {
+        private final VerificadorTexto verificador;
+
+        Texto(VerificadorTexto verificador) {
+            this.verificador = verificador;
+        }
+
+        @Override
+        void validar(JsonParser parser, Validacao validacao) throws IOException {
+            if (parser.currentToken() != JsonToken.VALUE_STRING) {
+                tipoErrado(parser, validacao);
+                return;
+            }
+            String esperado = verificador.verificar(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            if (esperado != null) {
+                validacao.violacao("esperado " + esperado + ", encontrado \"" + parser.getText() + "\"");
+            }
+        }
+
+        @Override
+        String descricao() {
+            return "texto";
+        }
+    }
+
+    static final class Inteiro extends No {
+        private final long minimo;
+        private final long maximo;
+
+        Inteiro(long minimo, long maximo) {
+            this.minimo = minimo;
+            this.maximo = maximo;
+        }
+
+        @Override
+        void validar(JsonParser parser, Validacao validacao) throws IOException {
+            if (parser.currentToken() != JsonToken.VALUE_NUMBER_INT) {
+                tipoErrado(parser, validacao);
+                return;
+            }
+            boolean dentro = parser.getNumberType() != JsonParser.NumberType.BIG_INTEGER
+                    && parser.getLongValue() >= minimo && parser.getLongValue() <= maximo;
+            if (!dentro) {
+                validacao.violacao("esperado inteiro entre " + minimo + " e " + maximo + ", encontrado " + parser.getText());
+            }
+        }
+
+        @Override
+        String descricao() {
+            return "inteiro";
+        }
+    }
+
+    static final class Lista extends No {
+        private final No itens;
+        private final int minimo;
+        private final int maximo;
+
+        Lista(No itens, int minimo, int maximo) {
+            this.itens = itens;
+            this.minimo = minimo;
+            this.maximo = maximo;
+        }
+
+        @Override
+        void validar(JsonParser parser, Validacao validacao) throws IOException {
+            if (parser.currentToken() != JsonToken.START_ARRAY) {
+                tipoErrado(parser, validacao);
+                return;
+            }
+            int quantidade = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                validacao.entrarIndice(quantidade++);
+                itens.validar(parser, validacao);
+                validacao.sair();
+            }
+            if (quantidade < minimo || quantidade > maximo) {
+                validacao.violacao("esperado lista com " + (maximo == Integer.MAX_VALUE
+                        ? "pelo menos " + minimo : "de " + minimo + " a " + maximo) + " itens, encontrados " + quantidade);
+            }
+        }
+
+        @Override
+        String descricao() {
+            return "lista";
+        }
+    }
+
+    /**
+     * Objeto de chaves livres (verificadas como texto) e valores do mesmo esquema
+     */
+    static final class Mapa extends No {
+        private final VerificadorTexto chaves;
+        private final No valores;
+        private final int minimo;
+
+        Mapa(VerificadorTexto chaves, No valores, int minimo) {
+            this.chaves = chaves;
+            this.valores = valores;
+            this.minimo = minimo;
+        }
+
+        @Override
+        void validar(JsonParser parser, Validacao validacao) throws IOException {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                tipoErrado(parser, validacao);
+                return;
+            }
+            int quantidade = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                quantidade++;
+                validacao.entrarCampo(parser.currentName());
+                String esperado = chaves.verificar(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+                if (esperado != null) {
+                    validacao.violacao("chave fora do formato: esperado " + esperado);
+                }
+                parser.nextToken();
+                valores.validar(parser, validacao);
+                validacao.sair();
+            }
+            if (quantidade < minimo) {
+                validacao.violacao("esperado objeto com pelo menos " + minimo + " chaves, encontradas " + quantidade);
+            }
+        }
+
+        @Override
+        String descricao() {
+            return "objeto";
+        }
+    }
+
+    /**
+     * Objeto de campos conhecidos: o nome é procurado por varredura linear (os contratos têm poucos campos, e os
+     * nomes vêm canonicalizados do parser) e os obrigatórios são controlados por uma máscara de bits
+     */
+    static final class Objeto extends No {
+        private final String[] nomes;
+        private final No[] nos;
+        private final long obrigatorios;
+        private final boolean permiteExtras;
+
+        Objeto(String[] nomes, No[] nos, long obrigatorios, boolean permiteExtras) {
+            this.nomes = nomes;
+            this.nos = nos;
+            this.obrigatorios = obrigatorios;
+            this.permiteExtras = permiteExtras;
+        }
+
+        @Override
+        void validar(JsonParser parser, Validacao validacao) throws IOException {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                tipoErrado(parser, validacao);
+                return;
+            }
+            long vistos = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String nome = parser.currentName();
+                int campo = indiceDe(nome);
+                validacao.entrarCampo(nome);
+                parser.nextToken();
+                if (campo < 0) {
+                    if (!permiteExtras) {
+                        validacao.violacao("campo não previsto no contrato");
+                    }
+                    parser.skipChildren();
+                } else {
+                    if ((vistos & (1L << campo)) != 0) {
+                        validacao.violacao("campo repetido");
+                    }
+                    vistos |= 1L << campo;
+                    nos[campo].validar(parser, validacao);
+                }
+                validacao.sair();
+            }
+            long ausentes = obrigatorios & ~vistos;
+            for (int campo = 0; ausentes != 0; campo++, ausentes >>>= 1) {
+                if ((ausentes & 1) != 0) {
+                    validacao.entrarCampo(nomes[campo]);
+                    validacao.violacao("campo obrigatório ausente");
+                    validacao.sair();
+                }
+            }
+        }
+
+        private int indiceDe(String nome) {
+            for (int i = 0; i < nomes.length; i++) {
+                if (nomes[i].equals(nome)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        String descricao() {
+            return "objeto";
+        }
+    }
+}
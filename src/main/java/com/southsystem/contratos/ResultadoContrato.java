@@ -0,0 +1,65 @@
+package com.southsystem.contratos;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado da validação de uma resposta contra um {@link Contrato}
+ * Guarda até {@link Contrato#LIMITE_VIOLACOES} violações; as demais são só contadas
+ */
+public class ResultadoContrato {
+
+    private final String contrato;
+    private final List<Violacao> violacoes;
+    private final int totalViolacoes;
+
+    ResultadoContrato(String contrato, List<Violacao> violacoes, int totalViolacoes) {
+        this.contrato = contrato;
+        this.violacoes = Collections.unmodifiableList(violacoes);
+        this.totalViolacoes = totalViolacoes;
+    }
+
+    public boolean isValido() {
+        return totalViolacoes == 0;
+    }
+
+    public String getContrato() {
+        return contrato;
+    }
+
+    /**
+     * @return violações guardadas, na ordem em que aparecem na resposta
+     */
+    public List<Violacao> getViolacoes() {
+        return violacoes;
+    }
+
+    /**
+     * @return total de violações encontradas, inclusive as que passaram do limite guardado
+     */
+    public int getTotalViolacoes() {
+        return totalViolacoes;
+    }
+
+    /**
+     * @return texto com uma violação por linha, para mensagens de asserção e anexos
+     */
+    public String formatar() {
+        if (isValido()) {
+            return "Contrato " + contrato + ": resposta válida";
+        }
+        StringBuilder texto = new StringBuilder("Contrato " + contrato + ": " + totalViolacoes + " violação(ões)");
+        for (Violacao violacao : violacoes) {
+            texto.append("\n   ").append(violacao);
+        }
+        if (totalViolacoes > violacoes.size()) {
+            texto.append("\n   ... e mais ").append(totalViolacoes - violacoes.size());
+        }
+        return texto.toString();
+    }
+
+    @Override
+    public String toString() {
+        return formatar();
+    }
+}
@@ -0,0 +1,126 @@
+package com.southsystem.contratos;
+
+import com.fasterxml.jackson.core.JsonStreamContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Estado de uma validação em andamento: o caminho até o valor atual e as violações encontradas
+ *
+ * O caminho é uma pilha de nomes de campo (ou índices, quando o nome é null) mantida em arrays; a String
+ * do caminho só é montada quando há violação. Uma instância por validação: não é thread-safe
+ */
+final class Validacao {
+
+    private final int limite;
+    private final List<Violacao> violacoes = new ArrayList<>();
+    private int totalViolacoes;
+    private String[] campos = new String[16];
+    private int[] indices = new int[16];
+    private int profundidade;
+
+    Validacao(int limite) {
+        this.limite = limite;
+    }
+
+    void entrarCampo(String campo) {
+        crescer();
+        campos[profundidade] = campo;
+        profundidade++;
+    }
+
+    void entrarIndice(int indice) {
+        crescer();
+        campos[profundidade] = null;
+        indices[profundidade] = indice;
+        profundidade++;
+    }
+
+    void sair() {
+        profundidade--;
+    }
+
+    /**
+     * Registra uma violação no valor atual
+     */
+    void violacao(String mensagem) {
+        totalViolacoes++;
+        if (violacoes.size() < limite) {
+            violacoes.add(new Violacao(caminho(), mensagem));
+        }
+    }
+
+    /**
+     * Registra uma violação no ponto em que o parser está, pelo contexto dele; usado quando o parser falha
+     * antes de o token chegar aos nós (ele lê nome de campo e início do valor de uma vez)
+     */
+    void violacaoNoContexto(JsonStreamContext contexto, String mensagem) {
+        totalViolacoes++;
+        if (violacoes.size() < limite) {
+            List<JsonStreamContext> niveis = new ArrayList<>();
+            for (JsonStreamContext nivel = contexto; nivel != null && !nivel.inRoot(); nivel = nivel.getParent()) {
+                niveis.add(nivel);
+            }
+            StringBuilder caminho = new StringBuilder("$");
+            for (int i = niveis.size() - 1; i >= 0; i--) {
+                JsonStreamContext nivel = niveis.get(i);
+                if (nivel.inArray() && nivel.hasCurrentIndex()) {
+                    adicionarIndice(caminho, nivel.getCurrentIndex());
+                } else if (nivel.inObject() && nivel.hasCurrentName()) {
+                    adicionarCampo(caminho, nivel.getCurrentName());
+                }
+            }
+            violacoes.add(new Violacao(caminho.toString(), mensagem));
+        }
+    }
+
+    ResultadoContrato resultado(String contrato) {
+        return new ResultadoContrato(contrato, violacoes, totalViolacoes);
+    }
+
+    private String caminho() {
+        StringBuilder caminho = new StringBuilder("$");
+        for (int i = 0; i < profundidade; i++) {
+            String campo = campos[i];
+            if (campo == null) {
+                adicionarIndice(caminho, indices[i]);
+            } else {
+                adicionarCampo(caminho, campo);
+            }
+        }
+        return caminho.toString();
+    }
+
+    private static void adicionarIndice(StringBuilder caminho, int indice) {
+        caminho.append('[').append(indice).append(']');
+    }
+
+    private static void adicionarCampo(StringBuilder caminho, String campo) {
+        if (identificador(campo)) {
+            caminho.append('.').append(campo);
+        } else {
+            caminho.append("['").append(campo.replace("'", "\\'")).append("']");
+        }
+    }
+
+    private static boolean identificador(String campo) {
+        if (campo.isEmpty() || !Character.isJavaIdentifierStart(campo.charAt(0))) {
+            return false;
+        }
+        for (int i = 1; i < campo.length(); i++) {
+            if (!Character.isJavaIdentifierPart(campo.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void crescer() {
+        if (profundidade == campos.length) {
+            campos = Arrays.copyOf(campos, profundidade * 2);
+            indices = Arrays.copyOf(indices, profundidade * 2);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.southsystem.contratos;
+
+import java.util.Arrays;
+
+/**
+ * Regra de um valor de texto (ou de uma chave de objeto) aplicada direto aos caracteres do parser
+ *
+ * O texto chega como trecho do buffer do {@link com.fasterxml.jackson.core.JsonParser} (getTextCharacters),
+ * sem String alocada; só quando a regra falha o valor vira String, para compor a mensagem
+ */
+@FunctionalInterface
+public interface VerificadorTexto {
+
+    /**
+     * @param texto buffer com os caracteres (não pode ser guardado: o parser o reaproveita)
+     * @param inicio posição do primeiro caractere no buffer
+     * @param tamanho quantidade de caracteres
+     * @return null se o texto atende à regra, ou a descrição do que era esperado
+     */
+    String verificar(char[] texto, int inicio, int tamanho);
+
+    /**
+     * @return regra que aceita qualquer texto
+     */
+    static VerificadorTexto qualquer() {
+        return (texto, inicio, tamanho) -> null;
+    }
+
+    /**
+     * @param permitidos valores aceitos, comparados caractere a caractere
+     * @return regra de enumeração
+     */
+    static VerificadorTexto valores(String... permitidos) {
+        char[][] opcoes = new char[permitidos.length][];
+        for (int i = 0; i < permitidos.length; i++) {
+            opcoes[i] = permitidos[i].toCharArray();
+        }
+        String descricao = "um de " + Arrays.toString(permitidos);
+        return (texto, inicio, tamanho) -> {
+            for (char[] opcao : opcoes) {
+                if (opcao.length == tamanho && Arrays.equals(opcao, 0, tamanho, texto, inicio, inicio + tamanho)) {
+                    return null;
+                }
+            }
+            return descricao;
+        };
+    }
+
+    /**
+     * @return regra de nome de raça ou sub-raça: letras minúsculas e dígitos, não vazio
+     */
+    static VerificadorTexto nome() {
+        return (texto, inicio, tamanho) -> {
+            if (tamanho == 0) {
+                return "nome não vazio";
+            }
+            for (int i = inicio; i < inicio + tamanho; i++) {
+                if (!minusculaOuDigito(texto[i])) {
+                    return "nome com letras minúsculas e dígitos";
+                }
+            }
+            return null;
+        };
+    }
+
+    /**
+     * URL de imagem da Dog API: http(s)://host[:porta]/breeds/{diretorio}/{arquivo}.{jpg|jpeg|png|gif}
+     * O diretório é a raça ou "raca-subraca"; o arquivo admite letras, dígitos, '_', '-', '.' e '%'
+     * @return regra de URL de imagem
+     */
+    static VerificadorTexto urlImagem() {
+        return VerificadoresUrl::verificarUrlImagem;
+    }
+
+    private static boolean minusculaOuDigito(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9');
+    }
+}
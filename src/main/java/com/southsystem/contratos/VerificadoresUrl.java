@@ -0,0 +1,129 @@
+package com.southsystem.contratos;
+
+/**
+ * Verificação de URL de imagem feita caractere a caractere, sem regex nem String intermediária
+ */
+final class VerificadoresUrl {
+
+    private static final String ESPERADO = "URL http(s)://host/breeds/{diretorio}/{arquivo}.{jpg|jpeg|png|gif}";
+    private static final char[] HTTP = "http".toCharArray();
+    private static final char[] SEPARADOR_HOST = "://".toCharArray();
+    private static final char[] BREEDS = "/breeds/".toCharArray();
+    private static final String[] EXTENSOES = {"jpg", "jpeg", "png", "gif"};
+
+    /**
+     * Construtor privado para evitar instanciação
+     */
+    private VerificadoresUrl() {
+        // Classe utilitária - não deve ser instanciada
+    }
+
+    static String verificarUrlImagem(char[] texto, int inicio, int tamanho) {
+        int fim = inicio + tamanho;
+        int i = inicio;
+
+        if (!comeca(texto, i, fim, HTTP)) {
+            return ESPERADO;
+        }
+        i += HTTP.length;
+        if (i < fim && texto[i] == 's') {
+            i++;
+        }
+        if (!comeca(texto, i, fim, SEPARADOR_HOST)) {
+            return ESPERADO;
+        }
+        i += SEPARADOR_HOST.length;
+
+        // Host: letras, dígitos, '.' e '-', com porta opcional
+        int inicioHost = i;
+        while (i < fim && (letraOuDigito(texto[i]) || texto[i] == '.' || texto[i] == '-')) {
+            i++;
+        }
+        if (i == inicioHost) {
+            return ESPERADO;
+        }
+        if (i < fim && texto[i] == ':') {
+            int inicioPorta = ++i;
+            while (i < fim && texto[i] >= '0' && texto[i] <= '9') {
+                i++;
+            }
+            if (i == inicioPorta) {
+                return ESPERADO;
+            }
+        }
+        if (!comeca(texto, i, fim, BREEDS)) {
+            return ESPERADO;
+        }
+        i += BREEDS.length;
+
+        // Diretório: segmentos de minúsculas e dígitos separados por '-' ("raca" ou "raca-subraca")
+        int inicioSegmento = i;
+        while (i < fim && texto[i] != '/') {
+            char c = texto[i];
+            if (c == '-') {
+                if (i == inicioSegmento) {
+                    return ESPERADO;
+                }
+                inicioSegmento = i + 1;
+            } else if (!((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9'))) {
+                return ESPERADO;
+            }
+            i++;
+        }
+        if (i == inicioSegmento || i == fim) {
+            return ESPERADO;
+        }
+        i++;
+
+        // Arquivo: sem '/', com extensão de imagem
+        int inicioArquivo = i;
+        int ultimoPonto = -1;
+        while (i < fim) {
+            char c = texto[i];
+            if (c == '.') {
+                ultimoPonto = i;
+            } else if (!(letraOuDigito(c) || c == '_' || c == '-' || c == '%')) {
+                return ESPERADO;
+            }
+            i++;
+        }
+        if (ultimoPonto <= inicioArquivo || !extensaoDeImagem(texto, ultimoPonto + 1, fim)) {
+            return ESPERADO;
+        }
+        return null;
+    }
+
+    private static boolean extensaoDeImagem(char[] texto, int inicio, int fim) {
+        for (String extensao : EXTENSOES) {
+            if (fim - inicio == extensao.length() && igualIgnorandoCaixa(texto, inicio, extensao)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean igualIgnorandoCaixa(char[] texto, int inicio, String esperado) {
+        for (int i = 0; i < esperado.length(); i++) {
+            if (Character.toLowerCase(texto[inicio + i]) != esperado.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean comeca(char[] texto, int inicio, int fim, char[] prefixo) {
+        if (fim - inicio < prefixo.length) {
+            return false;
+        }
+        for (int i = 0; i < prefixo.length; i++) {
+            if (texto[inicio + i] != prefixo[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean letraOuDigito(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+}
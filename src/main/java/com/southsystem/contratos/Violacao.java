@@ -0,0 +1,31 @@
+package com.southsystem.contratos;
+
+/**
+ * Um ponto da resposta que não atende ao contrato
+ */
+public class Violacao {
+
+    private final String caminho;
+    private final String mensagem;
+
+    public Violacao(String caminho, String mensagem) {
+        this.caminho = caminho;
+        this.mensagem = mensagem;
+    }
+
+    /**
+     * @return caminho JSON do valor, como $.message.hound[2] (só $ quando o problema é no corpo todo)
+     */
+    public String getCaminho() {
+        return caminho;
+    }
+
+    public String getMensagem() {
+        return mensagem;
+    }
+
+    @Override
+    public String toString() {
+        return caminho + ": " + mensagem;
+    }
+}
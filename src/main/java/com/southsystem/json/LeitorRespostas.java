@@ -0,0 +1,182 @@
+package com.southsystem.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.southsystem.models.ListaUrlsCompacta;
+import com.southsystem.models.RespostaImagemAleatoria;
+import com.southsystem.models.RespostaImagensRaca;
+import com.southsystem.models.RespostaListaRacas;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Desserializadores de streaming para os modelos da Dog API
+ * Preenchem os modelos diretamente a partir do {@link JsonParser}, token a token, sem String
+ * intermediária nem árvore JSON; a memória usada além do próprio modelo não depende do tamanho do corpo
+ *
+ * Em respostas de erro o campo "message" é um texto; nesse caso o campo mapeado do modelo fica nulo
+ */
+public final class LeitorRespostas {
+
+    private static final String CAMPO_STATUS = "status";
+    private static final String CAMPO_MENSAGEM = "message";
+
+    /**
+     * Construtor privado para evitar instanciação
+     */
+    private LeitorRespostas() {
+        // Classe utilitária - não deve ser instanciada
+    }
+
+    /**
+     * Lê a resposta de GET /breeds/list/all
+     * @param entrada corpo JSON (não é fechado por este método)
+     * @return modelo preenchido
+     */
+    public static RespostaListaRacas lerListaRacas(InputStream entrada) {
+        RespostaListaRacas resposta = new RespostaListaRacas();
+        lerObjeto(entrada, (parser, campo) -> {
+            if (CAMPO_STATUS.equals(campo)) {
+                resposta.setStatus(parser.getValueAsString());
+            } else if (CAMPO_MENSAGEM.equals(campo) && parser.currentToken() == JsonToken.START_OBJECT) {
+                Map<String, List<String>> racas = new LinkedHashMap<>();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String raca = parser.getCurrentName();
+                    parser.nextToken();
+                    racas.put(raca, lerListaDeTextos(parser));
+                }
+                resposta.setRacas(racas);
+            } else {
+                parser.skipChildren();
+            }
+        });
+        return resposta;
+    }
+
+    /**
+     * Lê a resposta de GET /breed/{raca}/images (e demais endpoints que retornam lista de URLs)
+     * @param entrada corpo JSON (não é fechado por este método)
+     * @return modelo preenchido
+     */
+    public static RespostaImagensRaca lerImagensRaca(InputStream entrada) {
+        return lerImagensRaca(entrada, false);
+    }
+
+    /**
+     * Lê a resposta de GET /breed/{raca}/images, opcionalmente guardando as URLs numa {@link ListaUrlsCompacta}
+     * (prefixos compartilhados e sufixos em bytes), para quem retém muitas listas de imagens
+     * @param entrada corpo JSON (não é fechado por este método)
+     * @param compacta true para preencher as imagens com uma {@link ListaUrlsCompacta}
+     * @return modelo preenchido
+     */
+    public static RespostaImagensRaca lerImagensRaca(InputStream entrada, boolean compacta) {
+        RespostaImagensRaca resposta = new RespostaImagensRaca();
+        lerObjeto(entrada, (parser, campo) -> {
+            if (CAMPO_STATUS.equals(campo)) {
+                resposta.setStatus(parser.getValueAsString());
+            } else if (CAMPO_MENSAGEM.equals(campo) && parser.currentToken() == JsonToken.START_ARRAY) {
+                resposta.setImagens(compacta ? lerListaCompacta(parser) : lerListaDeTextos(parser));
+            } else {
+                parser.skipChildren();
+            }
+        });
+        return resposta;
+    }
+
+    /**
+     * Percorre as URLs de uma resposta de lista de imagens sem guardá-las: cada URL é entregue ao
+     * consumidor assim que é lida, e a memória usada não depende da quantidade de imagens
+     * @param entrada corpo JSON (não é fechado por este método)
+     * @param consumidor recebe cada URL, na ordem da resposta
+     * @return campo "status" da resposta
+     */
+    public static String percorrerImagens(InputStream entrada, Consumer<String> consumidor) {
+        String[] status = new String[1];
+        lerObjeto(entrada, (parser, campo) -> {
+            if (CAMPO_STATUS.equals(campo)) {
+                status[0] = parser.getValueAsString();
+            } else if (CAMPO_MENSAGEM.equals(campo) && parser.currentToken() == JsonToken.START_ARRAY) {
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    consumidor.accept(parser.getValueAsString());
+                }
+            } else {
+                parser.skipChildren();
+            }
+        });
+        return status[0];
+    }
+
+    /**
+     * Lê a resposta de GET /breeds/image/random
+     * @param entrada corpo JSON (não é fechado por este método)
+     * @return modelo preenchido
+     */
+    public static RespostaImagemAleatoria lerImagemAleatoria(InputStream entrada) {
+        RespostaImagemAleatoria resposta = new RespostaImagemAleatoria();
+        lerObjeto(entrada, (parser, campo) -> {
+            if (CAMPO_STATUS.equals(campo)) {
+                resposta.setStatus(parser.getValueAsString());
+            } else if (CAMPO_MENSAGEM.equals(campo) && parser.currentToken() == JsonToken.VALUE_STRING) {
+                resposta.setImagemUrl(parser.getText());
+            } else {
+                parser.skipChildren();
+            }
+        });
+        return resposta;
+    }
+
+    /**
+     * Percorre os campos do objeto raiz; o consumidor recebe o parser posicionado no valor do campo
+     * e deve consumi-lo por inteiro (inclusive com skipChildren)
+     */
+    private static void lerObjeto(InputStream entrada, LeitorCampo leitorCampo) {
+        try (JsonParser parser = MapeadorJson.fabrica().createParser(entrada)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Resposta da Dog API deve ser um objeto JSON");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String campo = parser.getCurrentName();
+                parser.nextToken();
+                leitorCampo.ler(parser, campo);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler resposta da Dog API", e);
+        }
+    }
+
+    private static List<String> lerListaDeTextos(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        List<String> textos = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            textos.add(parser.getValueAsString());
+        }
+        return textos;
+    }
+
+    private static List<String> lerListaCompacta(JsonParser parser) throws IOException {
+        ListaUrlsCompacta.Construtor construtor = ListaUrlsCompacta.construtor();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() == JsonToken.VALUE_STRING) {
+                construtor.adicionar(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            } else {
+                construtor.adicionar(parser.getValueAsString());
+            }
+        }
+        return construtor.construir();
+    }
+
+    @FunctionalInterface
+    private interface LeitorCampo {
+        void ler(JsonParser parser, String campo) throws IOException;
+    }
+}
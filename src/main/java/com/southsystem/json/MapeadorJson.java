@@ -0,0 +1,39 @@
+package com.southsystem.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * ObjectMapper único e pré-configurado do projeto
+ * Criar um ObjectMapper é caro (cache de serializadores, introspecção); todas as leituras
+ * e escritas de JSON devem reaproveitar esta instância, que é thread-safe após configurada
+ */
+public final class MapeadorJson {
+
+    private static final ObjectMapper MAPEADOR = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .configure(JsonParser.Feature.AUTO_CLOSE_SOURCE, false);
+
+    /**
+     * Construtor privado para evitar instanciação
+     */
+    private MapeadorJson() {
+        // Classe utilitária - não deve ser instanciada
+    }
+
+    /**
+     * @return ObjectMapper compartilhado
+     */
+    public static ObjectMapper mapeador() {
+        return MAPEADOR;
+    }
+
+    /**
+     * @return fábrica de parsers/geradores de streaming do mapeador compartilhado
+     */
+    public static JsonFactory fabrica() {
+        return MAPEADOR.getFactory();
+    }
+}
@@ -0,0 +1,277 @@
+package com.southsystem.models;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Lista imutável de URLs guardada de forma compacta, para respostas com milhares de imagens
+ * Cada URL é dividida em prefixo (até a última '/') e sufixo: os prefixos distintos ficam numa tabela
+ * compartilhada por todas as entradas e os sufixos, em UTF-8, num único byte[] indexado por deslocamentos.
+ * Nenhuma String por elemento fica retida; o texto é montado sob demanda em {@link #get(int)}
+ *
+ * Nas URLs da Dog API (ex.: https://images.dog.ceo/breeds/hound-afghan/n02088094_1003.jpg) o prefixo
+ * se repete em toda a sub-raça, e cada URL passa a custar cerca de 27 bytes retidos em vez de cerca de 110
+ *
+ * Como qualquer {@link List}, equals e hashCode comparam os elementos, então a lista compacta é igual
+ * a um ArrayList com as mesmas URLs
+ */
+public final class ListaUrlsCompacta extends AbstractList<String> implements RandomAccess {
+
+    /** Índice de prefixo que representa um elemento nulo */
+    private static final char NULO = Character.MAX_VALUE;
+    /** Prefixo vazio, sempre na posição 0: URLs sem '/' ou além do limite de prefixos distintos */
+    private static final char SEM_PREFIXO = 0;
+
+    private final String[] prefixos;
+    private final char[] indicesPrefixo;
+    private final int[] inicios;
+    private final byte[] sufixos;
+
+    private ListaUrlsCompacta(String[] prefixos, char[] indicesPrefixo, int[] inicios, byte[] sufixos) {
+        this.prefixos = prefixos;
+        this.indicesPrefixo = indicesPrefixo;
+        this.inicios = inicios;
+        this.sufixos = sufixos;
+    }
+
+    /**
+     * @param urls URLs na ordem desejada (elementos nulos são mantidos)
+     * @return lista compacta com os mesmos elementos
+     */
+    public static ListaUrlsCompacta de(Collection<String> urls) {
+        Construtor construtor = new Construtor(urls.size());
+        urls.forEach(construtor::adicionar);
+        return construtor.construir();
+    }
+
+    /**
+     * @return construtor incremental, para preencher a lista direto de um stream sem lista intermediária
+     */
+    public static Construtor construtor() {
+        return new Construtor(16);
+    }
+
+    @Override
+    public String get(int indice) {
+        Objects.checkIndex(indice, indicesPrefixo.length);
+        char prefixo = indicesPrefixo[indice];
+        if (prefixo == NULO) {
+            return null;
+        }
+        String sufixo = new String(sufixos, inicios[indice], inicios[indice + 1] - inicios[indice], StandardCharsets.UTF_8);
+        return prefixo == SEM_PREFIXO ? sufixo : prefixos[prefixo].concat(sufixo);
+    }
+
+    @Override
+    public int size() {
+        return indicesPrefixo.length;
+    }
+
+    /**
+     * Busca sem decodificar os elementos: compara o índice do prefixo e os bytes do sufixo
+     */
+    @Override
+    public int indexOf(Object elemento) {
+        if (elemento != null && !(elemento instanceof String)) {
+            return -1;
+        }
+        for (int indice = 0; indice < indicesPrefixo.length; indice++) {
+            if (elemento == null ? indicesPrefixo[indice] == NULO : igual(indice, (String) elemento)) {
+                return indice;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object elemento) {
+        if (elemento != null && !(elemento instanceof String)) {
+            return -1;
+        }
+        for (int indice = indicesPrefixo.length - 1; indice >= 0; indice--) {
+            if (elemento == null ? indicesPrefixo[indice] == NULO : igual(indice, (String) elemento)) {
+                return indice;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object elemento) {
+        return indexOf(elemento) >= 0;
+    }
+
+    /**
+     * @return quantidade de prefixos distintos na tabela (sem contar o prefixo vazio)
+     */
+    public int getQuantidadePrefixos() {
+        return prefixos.length - 1;
+    }
+
+    /**
+     * @return bytes de sufixos guardados, em UTF-8
+     */
+    public int getBytesSufixos() {
+        return sufixos.length;
+    }
+
+    private boolean igual(int indice, String url) {
+        char prefixo = indicesPrefixo[indice];
+        if (prefixo == NULO) {
+            return false;
+        }
+        String textoPrefixo = prefixos[prefixo];
+        if (!url.startsWith(textoPrefixo)) {
+            return false;
+        }
+        byte[] sufixo = url.substring(textoPrefixo.length()).getBytes(StandardCharsets.UTF_8);
+        return Arrays.equals(sufixos, inicios[indice], inicios[indice + 1], sufixo, 0, sufixo.length);
+    }
+
+    /**
+     * Monta uma {@link ListaUrlsCompacta} elemento a elemento; não é thread-safe e não deve ser reutilizado
+     * depois de {@link #construir()}
+     */
+    public static final class Construtor {
+
+        private final List<String> prefixos = new ArrayList<>();
+        private final Map<String, Character> indicePorPrefixo = new HashMap<>();
+        private char[] indicesPrefixo;
+        private int[] inicios;
+        private byte[] sufixos;
+        private int tamanho;
+        private int bytesUsados;
+        private char[] caracteres = new char[128];
+        private char[] ultimoPrefixo = new char[0];
+        private char ultimoIndice = SEM_PREFIXO;
+
+        private Construtor(int capacidade) {
+            int inicial = Math.max(capacidade, 1);
+            indicesPrefixo = new char[inicial];
+            inicios = new int[inicial + 1];
+            sufixos = new byte[inicial * 24];
+            prefixos.add("");
+        }
+
+        /**
+         * @param url URL a acrescentar ao fim da lista (pode ser nula)
+         * @return este construtor
+         */
+        public Construtor adicionar(String url) {
+            if (url == null) {
+                garantirEntrada();
+                indicesPrefixo[tamanho] = NULO;
+                inicios[++tamanho] = bytesUsados;
+                return this;
+            }
+            if (url.length() > caracteres.length) {
+                caracteres = new char[Math.max(url.length(), caracteres.length * 2)];
+            }
+            url.getChars(0, url.length(), caracteres, 0);
+            return adicionar(caracteres, 0, url.length());
+        }
+
+        /**
+         * Acrescenta uma URL lida direto do buffer de um parser (ex.: JsonParser.getTextCharacters()),
+         * sem criar a String
+         * @param texto buffer com a URL
+         * @param deslocamento posição inicial da URL no buffer
+         * @param comprimento quantidade de caracteres da URL
+         * @return este construtor
+         */
+        public Construtor adicionar(char[] texto, int deslocamento, int comprimento) {
+            garantirEntrada();
+            char indice = indicePrefixo(texto, deslocamento, comprimento);
+            int corte = indice == SEM_PREFIXO ? 0 : prefixos.get(indice).length();
+            indicesPrefixo[tamanho] = indice;
+            guardarSufixo(texto, deslocamento + corte, comprimento - corte);
+            inicios[++tamanho] = bytesUsados;
+            return this;
+        }
+
+        /**
+         * @return lista com os elementos adicionados, sem capacidade sobrando
+         */
+        public ListaUrlsCompacta construir() {
+            return new ListaUrlsCompacta(prefixos.toArray(new String[0]), Arrays.copyOf(indicesPrefixo, tamanho),
+                    Arrays.copyOf(inicios, tamanho + 1), Arrays.copyOf(sufixos, bytesUsados));
+        }
+
+        private void garantirEntrada() {
+            if (tamanho == indicesPrefixo.length) {
+                indicesPrefixo = Arrays.copyOf(indicesPrefixo, tamanho * 2);
+                inicios = Arrays.copyOf(inicios, tamanho * 2 + 1);
+            }
+        }
+
+        /**
+         * As URLs de uma mesma sub-raça chegam em sequência; o último prefixo resolve a maioria sem substring
+         */
+        private char indicePrefixo(char[] texto, int deslocamento, int comprimento) {
+            int corte = ultimaBarra(texto, deslocamento, comprimento) + 1;
+            if (corte == 0) {
+                return SEM_PREFIXO;
+            }
+            if (corte == ultimoPrefixo.length && Arrays.equals(texto, deslocamento, deslocamento + corte, ultimoPrefixo, 0, corte)) {
+                return ultimoIndice;
+            }
+            String prefixo = new String(texto, deslocamento, corte);
+            Character indice = indicePorPrefixo.get(prefixo);
+            if (indice == null) {
+                if (prefixos.size() == NULO) {
+                    // Tabela cheia: a URL inteira vai para os sufixos
+                    return SEM_PREFIXO;
+                }
+                indice = (char) prefixos.size();
+                prefixos.add(prefixo);
+                indicePorPrefixo.put(prefixo, indice);
+            }
+            ultimoPrefixo = prefixo.toCharArray();
+            ultimoIndice = indice;
+            return indice;
+        }
+
+        private static int ultimaBarra(char[] texto, int deslocamento, int comprimento) {
+            for (int posicao = comprimento - 1; posicao >= 0; posicao--) {
+                if (texto[deslocamento + posicao] == '/') {
+                    return posicao;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Sufixos ASCII (o caso comum) são copiados caractere a caractere, sem String nem byte[] intermediários
+         */
+        private void guardarSufixo(char[] texto, int deslocamento, int comprimento) {
+            garantirBytes(comprimento);
+            for (int posicao = deslocamento; posicao < deslocamento + comprimento; posicao++) {
+                char caractere = texto[posicao];
+                if (caractere >= 0x80) {
+                    byte[] utf8 = new String(texto, deslocamento, comprimento).getBytes(StandardCharsets.UTF_8);
+                    bytesUsados = inicios[tamanho];
+                    garantirBytes(utf8.length);
+                    System.arraycopy(utf8, 0, sufixos, bytesUsados, utf8.length);
+                    bytesUsados += utf8.length;
+                    return;
+                }
+                sufixos[bytesUsados++] = (byte) caractere;
+            }
+        }
+
+        private void garantirBytes(int adicionais) {
+            int necessario = inicios[tamanho] + adicionais;
+            if (necessario > sufixos.length) {
+                sufixos = Arrays.copyOf(sufixos, Math.max(necessario, sufixos.length * 2));
+            }
+        }
+    }
+}
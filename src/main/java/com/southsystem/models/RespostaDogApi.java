@@ -0,0 +1,149 @@
+package com.southsystem.models;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.southsystem.json.MapeadorJson;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Visão tipada e memoizada de uma resposta da Dog API
+ * O corpo é interpretado uma única vez, no primeiro acesso a um campo, e cada campo
+ * ("status", "message" como texto, lista ou mapa) é convertido sob demanda e guardado.
+ * Os bytes brutos do corpo só são mantidos após a interpretação quando solicitado
+ */
+public class RespostaDogApi {
+
+    private static final ObjectMapper MAPEADOR = MapeadorJson.mapeador();
+    private static final TypeReference<List<String>> TIPO_LISTA = new TypeReference<>() { };
+    private static final TypeReference<Map<String, List<String>>> TIPO_MAPA = new TypeReference<>() { };
+
+    private final int statusCode;
+    private final long tempoMs;
+    private final Map<String, String> headers;
+    private final boolean manterCorpoBruto;
+    private byte[] corpo;
+
+    private JsonNode raiz;
+    private String status;
+    private String mensagemTexto;
+    private List<String> mensagemLista;
+    private Map<String, List<String>> mensagemMapa;
+
+    /**
+     * @param statusCode código HTTP da resposta
+     * @param tempoMs tempo de resposta medido pelo cliente
+     * @param headers headers da resposta (nomes sem distinção de maiúsculas)
+     * @param corpo bytes do corpo JSON
+     * @param manterCorpoBruto se os bytes devem continuar disponíveis após a interpretação
+     */
+    public RespostaDogApi(int statusCode, long tempoMs, Map<String, String> headers, byte[] corpo,
+                          boolean manterCorpoBruto) {
+        this.statusCode = statusCode;
+        this.tempoMs = tempoMs;
+        this.headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        this.headers.putAll(headers);
+        this.corpo = corpo;
+        this.manterCorpoBruto = manterCorpoBruto;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public long getTempoMs() {
+        return tempoMs;
+    }
+
+    /**
+     * @param nome nome do header (qualquer capitalização)
+     * @return valor do header ou null
+     */
+    public String getHeader(String nome) {
+        return headers.get(nome);
+    }
+
+    /**
+     * @return campo "status" ("success" ou "error")
+     */
+    public synchronized String getStatus() {
+        if (status == null) {
+            JsonNode campo = raiz().get("status");
+            status = campo == null || campo.isNull() ? null : campo.asText();
+        }
+        return status;
+    }
+
+    /**
+     * @return true se o campo "message" existe e não é nulo
+     */
+    public boolean temMensagem() {
+        JsonNode campo = mensagem();
+        return campo != null && !campo.isNull();
+    }
+
+    /**
+     * @return campo "message" como texto (imagem aleatória, mensagens de erro)
+     */
+    public synchronized String getMensagemComoTexto() {
+        if (mensagemTexto == null && temMensagem()) {
+            mensagemTexto = mensagem().asText();
+        }
+        return mensagemTexto;
+    }
+
+    /**
+     * @return campo "message" como lista imutável de URLs
+     */
+    public synchronized List<String> getMensagemComoLista() {
+        if (mensagemLista == null && temMensagem()) {
+            mensagemLista = Collections.unmodifiableList(MAPEADOR.convertValue(mensagem(), TIPO_LISTA));
+        }
+        return mensagemLista;
+    }
+
+    /**
+     * @return campo "message" como mapa imutável raça → sub-raças
+     */
+    public synchronized Map<String, List<String>> getMensagemComoMapa() {
+        if (mensagemMapa == null && temMensagem()) {
+            mensagemMapa = Collections.unmodifiableMap(MAPEADOR.convertValue(mensagem(), TIPO_MAPA));
+        }
+        return mensagemMapa;
+    }
+
+    /**
+     * @return bytes originais do corpo
+     * @throws IllegalStateException se a visão foi criada sem manter o corpo bruto e ele já foi descartado
+     */
+    public synchronized byte[] getCorpoBruto() {
+        if (corpo == null) {
+            throw new IllegalStateException("Corpo bruto não foi mantido; crie a visão com manterCorpoBruto=true");
+        }
+        return corpo;
+    }
+
+    private synchronized JsonNode mensagem() {
+        return raiz().get("message");
+    }
+
+    private synchronized JsonNode raiz() {
+        if (raiz == null) {
+            try {
+                raiz = MAPEADOR.readTree(corpo);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Corpo da resposta não é um JSON válido", e);
+            }
+            if (!manterCorpoBruto) {
+                corpo = null;
+            }
+        }
+        return raiz;
+    }
+}
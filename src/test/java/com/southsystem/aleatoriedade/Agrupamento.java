@@ -0,0 +1,38 @@
+package com.southsystem.aleatoriedade;
+
+/**
+ * Categoria em que cada URL de imagem sorteada é contada
+ * As URLs seguem o formato https://images.dog.ceo/breeds/{diretorio}/{arquivo}, com diretorio "raca" ou "raca-subraca"
+ */
+public enum Agrupamento {
+
+    /** Raça principal, somando as sub-raças */
+    RACA,
+    /** Diretório de imagem: a raça ou uma sub-raça */
+    DIRETORIO,
+    /** A própria URL */
+    IMAGEM;
+
+    private static final String TRECHO_DIRETORIO = "/breeds/";
+
+    /**
+     * @param url URL de imagem retornada pela API
+     * @return categoria da URL, ou null se a URL não seguir o formato esperado
+     */
+    public String categoria(String url) {
+        if (url == null) {
+            return null;
+        }
+        if (this == IMAGEM) {
+            return url;
+        }
+        int inicio = url.indexOf(TRECHO_DIRETORIO);
+        int fim = inicio < 0 ? -1 : url.indexOf('/', inicio + TRECHO_DIRETORIO.length());
+        if (fim < 0) {
+            return null;
+        }
+        String diretorio = url.substring(inicio + TRECHO_DIRETORIO.length(), fim);
+        int separador = diretorio.indexOf('-');
+        return this == RACA && separador > 0 ? diretorio.substring(0, separador) : diretorio;
+    }
+}
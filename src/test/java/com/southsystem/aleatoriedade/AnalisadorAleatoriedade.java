@@ -0,0 +1,126 @@
+package com.southsystem.aleatoriedade;
+
+import com.southsystem.config.ConfiguracaoApi;
+
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Modo analisador dos endpoints aleatórios: sorteia milhares de imagens com chamadas concorrentes e testa
+ * se a distribuição observada adere à esperada (qui-quadrado) e se a taxa de imagens repetidas é a de um sorteio justo
+ *
+ * Cada uma das {@code concorrencia} threads chama o endpoint em laço até a quantidade de amostras ser alcançada
+ * (a última rodada pode passar um pouco dela) ou até {@value #MAXIMO_FALHAS} chamadas falharem. As contagens
+ * ficam em contadores sem disputa de lock ({@link ResultadoAleatoriedade}) e a memória não cresce com as amostras
+ */
+public class AnalisadorAleatoriedade {
+
+    public static final String PROPRIEDADE_AMOSTRAS = "dog.api.aleatoriedade.amostras";
+    public static final String PROPRIEDADE_AMOSTRAS_UNITARIAS = "dog.api.aleatoriedade.amostrasUnitarias";
+    public static final String PROPRIEDADE_CONCORRENCIA = "dog.api.aleatoriedade.concorrencia";
+    public static final String PROPRIEDADE_ALFA = "dog.api.aleatoriedade.alfa";
+
+    /** 2^14 registradores: 64 KB e erro padrão de 0,8% na contagem de imagens distintas */
+    static final int PRECISAO_HYPERLOGLOG = 14;
+
+    private static final int MAXIMO_FALHAS = 10;
+
+    private final int concorrencia;
+
+    /**
+     * @param concorrencia chamadas simultâneas ao endpoint
+     */
+    public AnalisadorAleatoriedade(int concorrencia) {
+        if (concorrencia < 1) {
+            throw new IllegalArgumentException("concorrencia deve ser positiva: " + concorrencia);
+        }
+        this.concorrencia = concorrencia;
+    }
+
+    /**
+     * Analisador dimensionado por dog.api.aleatoriedade.concorrencia
+     * @return novo analisador
+     */
+    public static AnalisadorAleatoriedade configurado() {
+        return new AnalisadorAleatoriedade(ConfiguracaoApi.propriedadeInteira(PROPRIEDADE_CONCORRENCIA, 8));
+    }
+
+    /**
+     * @return nível de significância dos testes (dog.api.aleatoriedade.alfa)
+     */
+    public static double alfaConfigurado() {
+        return Double.parseDouble(ConfiguracaoApi.propriedade(PROPRIEDADE_ALFA, "0.001"));
+    }
+
+    /**
+     * Sorteia imagens até alcançar a quantidade de amostras e calcula as estatísticas
+     * @param nome nome do endpoint exibido no relatório
+     * @param esperada categorias e probabilidades de um sorteio justo
+     * @param amostras quantidade mínima de URLs sorteadas
+     * @param sorteio faz uma chamada ao endpoint e retorna as URLs sorteadas
+     * @return contagens e estatísticas
+     */
+    public ResultadoAleatoriedade analisar(String nome, DistribuicaoEsperada esperada, long amostras,
+                                           Supplier<? extends Collection<String>> sorteio) {
+        if (amostras < 1) {
+            throw new IllegalArgumentException("amostras deve ser positivo: " + amostras);
+        }
+        ResultadoAleatoriedade resultado = new ResultadoAleatoriedade(nome, esperada, PRECISAO_HYPERLOGLOG);
+        AtomicInteger emAndamento = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(concorrencia, novaThread());
+        long inicio = System.nanoTime();
+        try {
+            for (int i = 0; i < concorrencia; i++) {
+                executor.execute(() -> sortear(resultado, amostras, sorteio, emAndamento));
+            }
+        } finally {
+            executor.shutdown();
+        }
+        aguardarTermino(executor);
+        resultado.finalizar(System.nanoTime() - inicio);
+        return resultado;
+    }
+
+    private static void sortear(ResultadoAleatoriedade resultado, long amostras,
+                                Supplier<? extends Collection<String>> sorteio, AtomicInteger emAndamento) {
+        while (resultado.getAmostras() < amostras && resultado.getFalhas() < MAXIMO_FALHAS) {
+            resultado.registrarEmAndamento(emAndamento.incrementAndGet());
+            try {
+                Collection<String> urls = sorteio.get();
+                resultado.registrarChamada();
+                urls.forEach(resultado::registrar);
+            } catch (Exception e) {
+                resultado.registrarFalha(e);
+            } finally {
+                emAndamento.decrementAndGet();
+            }
+        }
+    }
+
+    private static void aguardarTermino(ExecutorService executor) {
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.MINUTES)) {
+                executor.shutdownNow();
+                throw new IllegalStateException("Análise de aleatoriedade não terminou em 10 minutos");
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Análise de aleatoriedade interrompida", e);
+        }
+    }
+
+    private static ThreadFactory novaThread() {
+        AtomicInteger contador = new AtomicInteger();
+        return tarefa -> {
+            Thread thread = new Thread(tarefa, "aleatoriedade-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,154 @@
+package com.southsystem.aleatoriedade;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Probabilidade esperada de cada categoria sob a hipótese de sorteio justo
+ *
+ * A Dog API sorteia primeiro um diretório (raça ou sub-raça) e depois uma imagem dele. Por isso o sorteio é
+ * uniforme por diretório, uma raça principal pesa tanto quanto os seus diretórios, e dentro de uma raça sem
+ * sub-raças cada imagem tem a mesma chance. As categorias recebem um id fixo na criação; o mapa nome → id
+ * só é lido depois disso e pode ser consultado por várias threads sem sincronização
+ */
+public class DistribuicaoEsperada {
+
+    private final Agrupamento agrupamento;
+    private final String[] categorias;
+    private final double[] probabilidades;
+    private final Map<String, Integer> ids;
+
+    private DistribuicaoEsperada(Agrupamento agrupamento, Map<String, ? extends Number> pesos) {
+        if (pesos.isEmpty()) {
+            throw new IllegalArgumentException("Nenhuma categoria esperada");
+        }
+        double total = pesos.values().stream().mapToDouble(Number::doubleValue).sum();
+        this.agrupamento = agrupamento;
+        this.categorias = new String[pesos.size()];
+        this.probabilidades = new double[pesos.size()];
+        this.ids = new HashMap<>(pesos.size() * 2);
+        int id = 0;
+        for (Map.Entry<String, ? extends Number> peso : pesos.entrySet()) {
+            if (peso.getValue().doubleValue() <= 0) {
+                throw new IllegalArgumentException("Peso deve ser positivo: " + peso.getKey() + "=" + peso.getValue());
+            }
+            categorias[id] = peso.getKey();
+            probabilidades[id] = peso.getValue().doubleValue() / total;
+            ids.put(peso.getKey(), id++);
+        }
+    }
+
+    /**
+     * @param agrupamento como as URLs são categorizadas
+     * @param pesos peso relativo de cada categoria
+     */
+    public static DistribuicaoEsperada ponderada(Agrupamento agrupamento, Map<String, ? extends Number> pesos) {
+        return new DistribuicaoEsperada(agrupamento, pesos);
+    }
+
+    /**
+     * @param agrupamento como as URLs são categorizadas
+     * @param categorias categorias, todas com a mesma probabilidade
+     */
+    public static DistribuicaoEsperada uniforme(Agrupamento agrupamento, Collection<String> categorias) {
+        Map<String, Integer> pesos = new LinkedHashMap<>();
+        categorias.forEach(categoria -> pesos.put(categoria, 1));
+        return new DistribuicaoEsperada(agrupamento, pesos);
+    }
+
+    /**
+     * @param racas mapa raça → sub-raças, como em /breeds/list/all
+     * @return sorteio uniforme entre todos os diretórios de imagem
+     */
+    public static DistribuicaoEsperada porDiretorio(Map<String, List<String>> racas) {
+        List<String> diretorios = new ArrayList<>();
+        racas.keySet().forEach(raca -> diretorios.addAll(diretoriosDaRaca(racas, raca)));
+        return uniforme(Agrupamento.DIRETORIO, diretorios);
+    }
+
+    /**
+     * @param racas mapa raça → sub-raças, como em /breeds/list/all
+     * @return sorteio por raça principal, cada uma com peso igual à quantidade de diretórios
+     */
+    public static DistribuicaoEsperada porRaca(Map<String, List<String>> racas) {
+        Map<String, Integer> pesos = new LinkedHashMap<>();
+        racas.forEach((raca, subRacas) -> pesos.put(raca, Math.max(1, subRacas.size())));
+        return ponderada(Agrupamento.RACA, pesos);
+    }
+
+    /**
+     * @param racas mapa raça → sub-raças, como em /breeds/list/all
+     * @param raca raça sorteada
+     * @return sorteio uniforme entre os diretórios da raça (um só quando ela não tem sub-raças)
+     */
+    public static DistribuicaoEsperada porDiretorioDaRaca(Map<String, List<String>> racas, String raca) {
+        if (!racas.containsKey(raca)) {
+            throw new IllegalArgumentException("Raça inexistente no catálogo: " + raca);
+        }
+        return uniforme(Agrupamento.DIRETORIO, diretoriosDaRaca(racas, raca));
+    }
+
+    /**
+     * @return id da categoria, ou -1 se ela não for esperada
+     */
+    public int id(String categoria) {
+        Integer id = categoria == null ? null : ids.get(categoria);
+        return id == null ? -1 : id;
+    }
+
+    public Agrupamento getAgrupamento() {
+        return agrupamento;
+    }
+
+    public int getQuantidadeCategorias() {
+        return categorias.length;
+    }
+
+    public String getCategoria(int id) {
+        return categorias[id];
+    }
+
+    public double[] getProbabilidades() {
+        return probabilidades.clone();
+    }
+
+    /**
+     * Valor esperado da quantidade de categorias distintas em n sorteios: soma de 1 - (1 - p)^n
+     * Com agrupamento por imagem, é a quantidade esperada de imagens distintas
+     */
+    public double distintosEsperados(long sorteios) {
+        double esperados = 0;
+        for (double probabilidade : probabilidades) {
+            esperados += -Math.expm1(sorteios * Math.log1p(-probabilidade));
+        }
+        return esperados;
+    }
+
+    /**
+     * Desvio padrão da quantidade de categorias distintas em n sorteios (aproximação de Poisson da ocupação)
+     */
+    public double desvioPadraoDistintos(long sorteios) {
+        double variancia = 0;
+        double covariancia = 0;
+        for (double probabilidade : probabilidades) {
+            double ausente = Math.exp(-sorteios * probabilidade);
+            variancia += ausente * (1 - ausente);
+            covariancia += probabilidade * ausente;
+        }
+        return Math.sqrt(Math.max(0, variancia - sorteios * covariancia * covariancia));
+    }
+
+    private static List<String> diretoriosDaRaca(Map<String, List<String>> racas, String raca) {
+        List<String> subRacas = racas.get(raca);
+        if (subRacas == null || subRacas.isEmpty()) {
+            return List.of(raca);
+        }
+        List<String> diretorios = new ArrayList<>(subRacas.size());
+        subRacas.forEach(subRaca -> diretorios.add(raca + "-" + subRaca));
+        return diretorios;
+    }
+}
@@ -0,0 +1,97 @@
+package com.southsystem.aleatoriedade;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Estimativa da quantidade de valores distintos com memória fixa (HyperLogLog)
+ *
+ * Cada valor vira um hash de 64 bits: os primeiros {@code precisao} bits escolhem um registrador, que guarda
+ * a maior posição do primeiro bit 1 vista no restante do hash. Com 2^precisao registradores o erro padrão é
+ * 1,04 / sqrt(2^precisao), independente da quantidade de valores. Abaixo de 2,5 x registradores a estimativa
+ * usa a contagem linear de registradores vazios, praticamente exata nessa faixa.
+ *
+ * Thread-safe sem lock: um registrador só é escrito quando aumenta, por compare-and-set
+ */
+public class HyperLogLog {
+
+    private static final long FNV_BASE = 0xcbf29ce484222325L;
+    private static final long FNV_PRIMO = 0x100000001b3L;
+
+    private final int precisao;
+    private final int quantidadeRegistradores;
+    private final AtomicIntegerArray registradores;
+
+    /**
+     * @param precisao bits do hash usados para escolher o registrador (4 a 18)
+     */
+    public HyperLogLog(int precisao) {
+        if (precisao < 4 || precisao > 18) {
+            throw new IllegalArgumentException("precisao deve estar entre 4 e 18: " + precisao);
+        }
+        this.precisao = precisao;
+        this.quantidadeRegistradores = 1 << precisao;
+        this.registradores = new AtomicIntegerArray(quantidadeRegistradores);
+    }
+
+    public void adicionar(CharSequence valor) {
+        long hash = hash64(valor);
+        int indice = (int) (hash >>> (64 - precisao));
+        // O bit de guarda limita a posição a 64 - precisao + 1 quando o restante do hash é todo zero
+        int posicao = Long.numberOfLeadingZeros((hash << precisao) | (1L << (precisao - 1))) + 1;
+        int atual;
+        while (posicao > (atual = registradores.get(indice)) && !registradores.compareAndSet(indice, atual, posicao)) {
+            // outro thread escreveu no registrador; relê e compara de novo
+        }
+    }
+
+    /**
+     * @return quantidade estimada de valores distintos adicionados
+     */
+    public long estimativa() {
+        double soma = 0;
+        int vazios = 0;
+        for (int i = 0; i < quantidadeRegistradores; i++) {
+            int valor = registradores.get(i);
+            soma += Math.scalb(1.0, -valor);
+            if (valor == 0) {
+                vazios++;
+            }
+        }
+        double m = quantidadeRegistradores;
+        double estimativa = 0.7213 / (1 + 1.079 / m) * m * m / soma;
+        if (estimativa <= 2.5 * m && vazios > 0) {
+            return Math.round(m * Math.log(m / vazios));
+        }
+        return Math.round(estimativa);
+    }
+
+    /**
+     * @return erro padrão relativo da estimativa fora da faixa de contagem linear
+     */
+    public double getErroPadrao() {
+        return 1.04 / Math.sqrt(quantidadeRegistradores);
+    }
+
+    /**
+     * @return memória ocupada pelos registradores
+     */
+    public int getBytes() {
+        return quantidadeRegistradores * Integer.BYTES;
+    }
+
+    /**
+     * FNV-1a sobre os chars seguido da finalização do MurmurHash3, para espalhar os bits altos
+     */
+    static long hash64(CharSequence valor) {
+        long hash = FNV_BASE;
+        for (int i = 0; i < valor.length(); i++) {
+            hash = (hash ^ valor.charAt(i)) * FNV_PRIMO;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,189 @@
+package com.southsystem.aleatoriedade;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+/**
+ * Teste qui-quadrado de aderência: contagens observadas contra as probabilidades esperadas de cada categoria
+ *
+ * A aproximação pela distribuição qui-quadrado só vale com contagem esperada de ao menos
+ * {@link #ESPERADO_MINIMO} por célula; as categorias abaixo disso são agrupadas, das menores para as maiores,
+ * até cada grupo alcançar o mínimo. Assim o teste continua válido com poucas amostras, só com menos graus de liberdade
+ */
+public final class QuiQuadrado {
+
+    /** Contagem esperada mínima por célula */
+    public static final double ESPERADO_MINIMO = 5;
+
+    private static final int MAXIMO_ITERACOES = 1000;
+    private static final double PRECISAO = 1e-14;
+    private static final double MINIMO_POSITIVO = 1e-300;
+    private static final double[] COEFICIENTES_LANCZOS = {
+            0.99999999999980993, 676.5203681218851, -1259.1392167224028, 771.32342877765313,
+            -176.61502916214059, 12.507343278686905, -0.13857109526572012, 9.9843695780195716e-6,
+            1.5056327351493116e-7};
+
+    private final double estatistica;
+    private final int celulas;
+    private final int categoriasAgrupadas;
+    private final double valorP;
+
+    private QuiQuadrado(double estatistica, int celulas, int categoriasAgrupadas) {
+        this.estatistica = estatistica;
+        this.celulas = celulas;
+        this.categoriasAgrupadas = categoriasAgrupadas;
+        this.valorP = celulas < 2 ? Double.NaN : valorP(estatistica, celulas - 1);
+    }
+
+    /**
+     * @param observados contagem de cada categoria
+     * @param probabilidades probabilidade esperada de cada categoria (soma 1)
+     * @return estatística, graus de liberdade e valor-p
+     */
+    public static QuiQuadrado calcular(long[] observados, double[] probabilidades) {
+        if (observados.length != probabilidades.length) {
+            throw new IllegalArgumentException("Categorias observadas (" + observados.length
+                    + ") e esperadas (" + probabilidades.length + ") não correspondem");
+        }
+        long total = Arrays.stream(observados).sum();
+        Integer[] ordem = IntStream.range(0, observados.length).boxed().toArray(Integer[]::new);
+        Arrays.sort(ordem, Comparator.comparingDouble(indice -> probabilidades[indice]));
+
+        double estatistica = 0;
+        int celulas = 0;
+        int agrupadas = 0;
+        int categoriasNoGrupo = 0;
+        long observadoGrupo = 0;
+        double esperadoGrupo = 0;
+        double ultimaObservada = 0;
+        double ultimaEsperada = 0;
+        int categoriasUltimaCelula = 0;
+        for (Integer indice : ordem) {
+            observadoGrupo += observados[indice];
+            esperadoGrupo += probabilidades[indice] * total;
+            categoriasNoGrupo++;
+            if (esperadoGrupo >= ESPERADO_MINIMO) {
+                estatistica += parcela(observadoGrupo, esperadoGrupo);
+                celulas++;
+                agrupadas += categoriasNoGrupo > 1 ? categoriasNoGrupo : 0;
+                ultimaObservada = observadoGrupo;
+                ultimaEsperada = esperadoGrupo;
+                categoriasUltimaCelula = categoriasNoGrupo;
+                observadoGrupo = 0;
+                esperadoGrupo = 0;
+                categoriasNoGrupo = 0;
+            }
+        }
+        if (categoriasNoGrupo > 0 && esperadoGrupo > 0) {
+            if (celulas == 0) {
+                estatistica = parcela(observadoGrupo, esperadoGrupo);
+                celulas = 1;
+                agrupadas = categoriasNoGrupo > 1 ? categoriasNoGrupo : 0;
+            } else {
+                // Sobra abaixo do mínimo: junta à última célula fechada, que é a de maior contagem esperada
+                estatistica += parcela(ultimaObservada + observadoGrupo, ultimaEsperada + esperadoGrupo)
+                        - parcela(ultimaObservada, ultimaEsperada);
+                agrupadas += categoriasNoGrupo + (categoriasUltimaCelula == 1 ? 1 : 0);
+            }
+        }
+        return new QuiQuadrado(estatistica, celulas, agrupadas);
+    }
+
+    /**
+     * @param estatistica valor da estatística qui-quadrado
+     * @param grausLiberdade graus de liberdade
+     * @return probabilidade de uma estatística maior ou igual sob a hipótese de aderência
+     */
+    public static double valorP(double estatistica, int grausLiberdade) {
+        if (grausLiberdade < 1) {
+            throw new IllegalArgumentException("grausLiberdade deve ser positivo: " + grausLiberdade);
+        }
+        return gamaRegularizadaSuperior(grausLiberdade / 2.0, estatistica / 2.0);
+    }
+
+    public double getEstatistica() {
+        return estatistica;
+    }
+
+    /**
+     * @return células do teste depois do agrupamento das categorias pequenas
+     */
+    public int getCelulas() {
+        return celulas;
+    }
+
+    public int getGrausLiberdade() {
+        return Math.max(0, celulas - 1);
+    }
+
+    /**
+     * @return categorias que entraram no teste somadas a outras por terem contagem esperada abaixo do mínimo
+     */
+    public int getCategoriasAgrupadas() {
+        return categoriasAgrupadas;
+    }
+
+    /**
+     * @return valor-p, ou NaN com menos de duas células
+     */
+    public double getValorP() {
+        return valorP;
+    }
+
+    private static double parcela(double observado, double esperado) {
+        double diferenca = observado - esperado;
+        return diferenca * diferenca / esperado;
+    }
+
+    /**
+     * Q(a, x) = Γ(a, x) / Γ(a): série para x < a + 1, fração contínua (Lentz) no restante
+     */
+    static double gamaRegularizadaSuperior(double a, double x) {
+        if (x <= 0) {
+            return 1;
+        }
+        double prefixo = Math.exp(-x + a * Math.log(x) - logGama(a));
+        if (x < a + 1) {
+            double termo = 1 / a;
+            double soma = termo;
+            for (int n = 1; n < MAXIMO_ITERACOES && Math.abs(termo) >= Math.abs(soma) * PRECISAO; n++) {
+                termo *= x / (a + n);
+                soma += termo;
+            }
+            return Math.max(0, 1 - soma * prefixo);
+        }
+        double b = x + 1 - a;
+        double c = 1 / MINIMO_POSITIVO;
+        double d = 1 / b;
+        double fracao = d;
+        for (int i = 1; i < MAXIMO_ITERACOES; i++) {
+            double an = -i * (i - a);
+            b += 2;
+            d = an * d + b;
+            d = Math.abs(d) < MINIMO_POSITIVO ? MINIMO_POSITIVO : d;
+            c = b + an / c;
+            c = Math.abs(c) < MINIMO_POSITIVO ? MINIMO_POSITIVO : c;
+            d = 1 / d;
+            double fator = d * c;
+            fracao *= fator;
+            if (Math.abs(fator - 1) < PRECISAO) {
+                break;
+            }
+        }
+        return prefixo * fracao;
+    }
+
+    /**
+     * ln Γ(x) pela aproximação de Lanczos (g = 7), para x >= 0,5
+     */
+    static double logGama(double x) {
+        double deslocado = x - 1;
+        double soma = COEFICIENTES_LANCZOS[0];
+        for (int i = 1; i < COEFICIENTES_LANCZOS.length; i++) {
+            soma += COEFICIENTES_LANCZOS[i] / (deslocado + i);
+        }
+        double t = deslocado + 7.5;
+        return 0.5 * Math.log(2 * Math.PI) + (deslocado + 0.5) * Math.log(t) - t + Math.log(soma);
+    }
+}
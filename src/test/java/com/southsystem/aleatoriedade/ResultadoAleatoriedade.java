@@ -0,0 +1,308 @@
+package com.southsystem.aleatoriedade;
+
+import io.qameta.allure.Allure;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contagens e estatísticas de uma análise do {@link AnalisadorAleatoriedade}
+ *
+ * Durante a amostragem só há contadores: um LongAdder por categoria esperada (indexado pelo id fixo da
+ * {@link DistribuicaoEsperada}), os totais e um {@link HyperLogLog} para as imagens distintas. Nenhuma URL
+ * sorteada é guardada, então a memória depende da quantidade de categorias e não da quantidade de amostras
+ */
+public class ResultadoAleatoriedade {
+
+    private final String nome;
+    private final DistribuicaoEsperada distribuicao;
+    private final LongAdder[] contagens;
+    private final LongAdder amostras = new LongAdder();
+    private final LongAdder chamadas = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder foraDoEsperado = new LongAdder();
+    private final LongAccumulator maiorEmAndamento = new LongAccumulator(Math::max, 0);
+    private final HyperLogLog distintos;
+    private volatile String exemploForaDoEsperado;
+    private volatile String exemploFalha;
+
+    private long[] observados;
+    private long totalObservado;
+    private QuiQuadrado quiQuadrado;
+    private long distintosEstimados;
+    private long duracaoNanos;
+
+    ResultadoAleatoriedade(String nome, DistribuicaoEsperada distribuicao, int precisaoHyperLogLog) {
+        this.nome = nome;
+        this.distribuicao = distribuicao;
+        this.contagens = new LongAdder[distribuicao.getQuantidadeCategorias()];
+        for (int id = 0; id < contagens.length; id++) {
+            contagens[id] = new LongAdder();
+        }
+        this.distintos = new HyperLogLog(precisaoHyperLogLog);
+    }
+
+    void registrar(String url) {
+        amostras.increment();
+        if (url != null) {
+            distintos.adicionar(url);
+        }
+        int id = distribuicao.id(distribuicao.getAgrupamento().categoria(url));
+        if (id < 0) {
+            foraDoEsperado.increment();
+            if (exemploForaDoEsperado == null) {
+                exemploForaDoEsperado = url;
+            }
+        } else {
+            contagens[id].increment();
+        }
+    }
+
+    void registrarChamada() {
+        chamadas.increment();
+    }
+
+    void registrarFalha(Exception erro) {
+        falhas.increment();
+        if (exemploFalha == null) {
+            exemploFalha = erro.getClass().getSimpleName() + ": " + erro.getMessage();
+        }
+    }
+
+    void registrarEmAndamento(int emAndamento) {
+        maiorEmAndamento.accumulate(emAndamento);
+    }
+
+    void finalizar(long duracaoNanos) {
+        this.duracaoNanos = duracaoNanos;
+        this.observados = new long[contagens.length];
+        for (int id = 0; id < contagens.length; id++) {
+            observados[id] = contagens[id].sum();
+            totalObservado += observados[id];
+        }
+        this.quiQuadrado = QuiQuadrado.calcular(observados, distribuicao.getProbabilidades());
+        this.distintosEstimados = distintos.estimativa();
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public Agrupamento getAgrupamento() {
+        return distribuicao.getAgrupamento();
+    }
+
+    public long getAmostras() {
+        return amostras.sum();
+    }
+
+    public long getChamadas() {
+        return chamadas.sum();
+    }
+
+    public long getFalhas() {
+        return falhas.sum();
+    }
+
+    public String getExemploFalha() {
+        return exemploFalha;
+    }
+
+    /**
+     * @return URLs cuja categoria não está na distribuição esperada (ou fora do formato de URL)
+     */
+    public long getForaDoEsperado() {
+        return foraDoEsperado.sum();
+    }
+
+    public String getExemploForaDoEsperado() {
+        return exemploForaDoEsperado;
+    }
+
+    /**
+     * @return maior número de chamadas em andamento ao mesmo tempo
+     */
+    public long getMaiorEmAndamento() {
+        return maiorEmAndamento.get();
+    }
+
+    public int getCategoriasEsperadas() {
+        return contagens.length;
+    }
+
+    /**
+     * @return categorias esperadas sorteadas ao menos uma vez
+     */
+    public int getCategoriasObservadas() {
+        int observadas = 0;
+        for (long contagem : observados) {
+            observadas += contagem > 0 ? 1 : 0;
+        }
+        return observadas;
+    }
+
+    /**
+     * @return vezes em que a categoria foi sorteada (zero se ela não for esperada)
+     */
+    public long getContagem(String categoria) {
+        int id = distribuicao.id(categoria);
+        return id < 0 ? 0 : observados[id];
+    }
+
+    /**
+     * @return categoria com o maior resíduo padronizado (observado - esperado) / sqrt(esperado), em módulo
+     */
+    public String getCategoriaMaisDesviada() {
+        int indice = indiceMaisDesviado();
+        return indice < 0 ? null : distribuicao.getCategoria(indice);
+    }
+
+    /**
+     * @return resíduo padronizado da {@link #getCategoriaMaisDesviada()}, com sinal
+     */
+    public double getMaiorResiduo() {
+        int indice = indiceMaisDesviado();
+        return indice < 0 ? 0 : residuo(distribuicao.getProbabilidades(), indice);
+    }
+
+    public QuiQuadrado getQuiQuadrado() {
+        return quiQuadrado;
+    }
+
+    public double getValorP() {
+        return quiQuadrado.getValorP();
+    }
+
+    /**
+     * @param alfa nível de significância (probabilidade aceita de rejeitar um sorteio justo)
+     * @return false se a distribuição observada se afasta da esperada com valor-p abaixo de alfa
+     */
+    public boolean aderente(double alfa) {
+        return Double.isNaN(getValorP()) || getValorP() >= alfa;
+    }
+
+    /**
+     * Imagens distintas: exatas quando o agrupamento é por imagem (cada categoria esperada é uma URL),
+     * estimadas pelo HyperLogLog nos demais casos
+     */
+    public long getDistintos() {
+        return getAgrupamento() == Agrupamento.IMAGEM ? getCategoriasObservadas() : distintosEstimados;
+    }
+
+    public long getDistintosEstimados() {
+        return distintosEstimados;
+    }
+
+    /**
+     * @return fração das amostras que repetem uma imagem já sorteada
+     */
+    public double getTaxaDuplicatas() {
+        long total = getAmostras();
+        return total == 0 ? 0 : Math.max(0, total - getDistintos()) / (double) total;
+    }
+
+    /**
+     * @return imagens distintas esperadas num sorteio justo (só no agrupamento por imagem; NaN nos demais)
+     */
+    public double getDistintosEsperados() {
+        return getAgrupamento() == Agrupamento.IMAGEM ? distribuicao.distintosEsperados(totalObservado) : Double.NaN;
+    }
+
+    /**
+     * @return distância entre as imagens distintas observadas e as esperadas, em desvios padrão (NaN fora do agrupamento por imagem)
+     */
+    public double getDesvioDistintos() {
+        if (getAgrupamento() != Agrupamento.IMAGEM) {
+            return Double.NaN;
+        }
+        double desvio = distribuicao.desvioPadraoDistintos(totalObservado);
+        double diferenca = getCategoriasObservadas() - getDistintosEsperados();
+        return desvio == 0 ? 0 : diferenca / desvio;
+    }
+
+    public long getDuracaoMs() {
+        return TimeUnit.NANOSECONDS.toMillis(duracaoNanos);
+    }
+
+    /**
+     * @return totais, estatística do teste e duplicatas
+     */
+    public Map<String, Object> comoMapa() {
+        Map<String, Object> mapa = new LinkedHashMap<>();
+        mapa.put("nome", nome);
+        mapa.put("agrupamento", getAgrupamento().name().toLowerCase());
+        mapa.put("amostras", getAmostras());
+        mapa.put("chamadas", getChamadas());
+        mapa.put("falhas", getFalhas());
+        mapa.put("foraDoEsperado", getForaDoEsperado());
+        mapa.put("categoriasEsperadas", getCategoriasEsperadas());
+        mapa.put("categoriasObservadas", getCategoriasObservadas());
+        mapa.put("quiQuadrado", quiQuadrado.getEstatistica());
+        mapa.put("grausLiberdade", quiQuadrado.getGrausLiberdade());
+        mapa.put("categoriasAgrupadas", quiQuadrado.getCategoriasAgrupadas());
+        mapa.put("valorP", getValorP());
+        mapa.put("categoriaMaisDesviada", getCategoriaMaisDesviada());
+        mapa.put("maiorResiduo", getMaiorResiduo());
+        mapa.put("distintos", getDistintos());
+        mapa.put("distintosEstimados", distintosEstimados);
+        mapa.put("distintosEsperados", getDistintosEsperados());
+        mapa.put("taxaDuplicatas", getTaxaDuplicatas());
+        mapa.put("bytesHyperLogLog", distintos.getBytes());
+        mapa.put("maiorEmAndamento", getMaiorEmAndamento());
+        mapa.put("duracaoMs", getDuracaoMs());
+        return mapa;
+    }
+
+    /**
+     * @return resumo de uma linha por métrica
+     */
+    public String formatarResumo() {
+        double segundos = duracaoNanos / 1e9;
+        String esperados = getAgrupamento() == Agrupamento.IMAGEM
+                ? String.format(" | esperadas %.1f (%+.2f desvios)", getDistintosEsperados(), getDesvioDistintos())
+                : String.format(" (HyperLogLog, erro padrão %.1f%%, %d bytes)", distintos.getErroPadrao() * 100, distintos.getBytes());
+        return String.format(
+                "%s: %d amostras em %d chamadas (falhas %d, fora do esperado %d)%n"
+                        + "Categorias (%s): %d esperadas, %d sorteadas | mais desviada %s (resíduo %+.2f)%n"
+                        + "Qui-quadrado: %.2f com %d graus de liberdade (%d categorias agrupadas) | valor-p %.4f%n"
+                        + "Imagens distintas: %d%s | duplicatas %.1f%%%n"
+                        + "Duração: %dms | vazão %.1f amostras/s | concorrência máxima %d",
+                nome, getAmostras(), getChamadas(), getFalhas(), getForaDoEsperado(),
+                getAgrupamento().name().toLowerCase(), getCategoriasEsperadas(), getCategoriasObservadas(),
+                getCategoriaMaisDesviada(), getMaiorResiduo(),
+                quiQuadrado.getEstatistica(), quiQuadrado.getGrausLiberdade(), quiQuadrado.getCategoriasAgrupadas(), getValorP(),
+                getDistintos(), esperados, getTaxaDuplicatas() * 100,
+                getDuracaoMs(), segundos == 0 ? 0 : getAmostras() / segundos, getMaiorEmAndamento());
+    }
+
+    /**
+     * Anexa o resumo ao teste em execução no Allure
+     */
+    public void anexarAoRelatorio() {
+        Allure.addAttachment("Aleatoriedade: " + nome, "text/plain", formatarResumo()
+                + (exemploFalha == null ? "" : "\nPrimeira falha: " + exemploFalha)
+                + (exemploForaDoEsperado == null ? "" : "\nPrimeira fora do esperado: " + exemploForaDoEsperado));
+    }
+
+    private double residuo(double[] probabilidades, int indice) {
+        double esperado = probabilidades[indice] * totalObservado;
+        return esperado == 0 ? 0 : (observados[indice] - esperado) / Math.sqrt(esperado);
+    }
+
+    private int indiceMaisDesviado() {
+        double[] probabilidades = distribuicao.getProbabilidades();
+        int indice = -1;
+        double maior = -1;
+        for (int id = 0; id < observados.length; id++) {
+            double residuo = Math.abs(residuo(probabilidades, id));
+            if (residuo > maior) {
+                maior = residuo;
+                indice = id;
+            }
+        }
+        return indice;
+    }
+}
@@ -0,0 +1,585 @@
+package com.southsystem.cache;
+
+import com.southsystem.config.ConfiguracaoApi;
+import com.southsystem.relatorios.MetricasExecucao;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache HTTP persistente em disco, com revalidação por requisição condicional
+ *
+ * Respostas 200 dos endpoints de conteúdo estável (lista de raças e imagens por raça/sub-raça) que
+ * trazem ETag ou Last-Modified são gravadas no diretório do cache (por padrão em target/), e sobrevivem
+ * entre execuções. Na requisição seguinte à mesma URL o filtro envia If-None-Match/If-Modified-Since;
+ * se o servidor responde 304, o corpo é lido do arquivo mapeado em memória (sem cópia para o heap
+ * até ser consumido) e o teste recebe um 200 como se tivesse vindo da rede
+ *
+ * Cada entrada são dois arquivos nomeados pelo hash da URL: o corpo (.corpo) e os validadores (.meta),
+ * gravados em arquivo temporário e movidos atomicamente, o corpo antes dos validadores. O corpo é copiado
+ * para o temporário à medida que o teste o lê da conexão, sem passar inteiro pelo heap; se o teste não o
+ * lê até o fim, a cópia é descartada. Cada revalidação
+ * renova a data do .meta, e entradas sem uso há mais que o limite são apagadas ao abrir o cache (o servidor
+ * local muda de porta a cada execução, então suas URLs antigas nunca mais são consultadas)
+ */
+public class CacheHttpDisco {
+
+    public static final String PROPRIEDADE_HABILITADO = "dog.api.cacheHttp.habilitado";
+    public static final String PROPRIEDADE_DIRETORIO = "dog.api.cacheHttp.diretorio";
+    public static final String PROPRIEDADE_MAXIMO_DIAS_SEM_USO = "dog.api.cacheHttp.maxDiasSemUso";
+
+    /**
+     * Header acrescentado às respostas servidas do disco
+     */
+    public static final String HEADER_ORIGEM = "X-Cache-Disco";
+
+    private static final Set<String> ENDPOINTS_CACHEAVEIS = Set.of(
+            "/breeds/list/all", "/breed/{raca}/images", "/breed/{raca}/{subRaca}/images");
+
+    private static CacheHttpDisco compartilhado;
+    private static boolean configurado;
+
+    private final Path diretorio;
+    private final Map<String, Entrada> entradas = new ConcurrentHashMap<>();
+
+    private final LongAdder consultas = new LongAdder();
+    private final LongAdder revalidadas = new LongAdder();
+    private final LongAdder baixadas = new LongAdder();
+    private final LongAdder armazenadas = new LongAdder();
+    private final LongAdder semValidadores = new LongAdder();
+    private final LongAdder descartadas = new LongAdder();
+    private final LongAdder bytesBaixados = new LongAdder();
+    private final LongAdder bytesDoDisco = new LongAdder();
+
+    public CacheHttpDisco(Path diretorio) {
+        this(diretorio, Duration.ofDays(7));
+    }
+
+    /**
+     * Abre o cache, carregando as entradas gravadas por execuções anteriores
+     * @param diretorio diretório do cache (criado se não existir)
+     * @param maximoSemUso entradas não usadas há mais tempo que isso são apagadas
+     */
+    public CacheHttpDisco(Path diretorio, Duration maximoSemUso) {
+        this.diretorio = diretorio;
+        FileTime limite = FileTime.from(Instant.now().minus(maximoSemUso));
+        try {
+            Files.createDirectories(diretorio);
+            try (DirectoryStream<Path> metas = Files.newDirectoryStream(diretorio, "*.meta")) {
+                for (Path meta : metas) {
+                    if (Files.getLastModifiedTime(meta).compareTo(limite) < 0) {
+                        apagar(meta);
+                        continue;
+                    }
+                    Entrada entrada = lerEntrada(meta);
+                    if (entrada != null) {
+                        entradas.put(entrada.url, entrada);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao abrir o cache HTTP em " + diretorio, e);
+        }
+    }
+
+    /**
+     * Cache único da JVM em dog.api.cacheHttp.diretorio
+     * @return cache compartilhado, ou null quando dog.api.cacheHttp.habilitado=false
+     */
+    public static synchronized CacheHttpDisco compartilhado() {
+        if (!configurado) {
+            configurado = true;
+            if (Boolean.parseBoolean(ConfiguracaoApi.propriedade(PROPRIEDADE_HABILITADO, "true"))) {
+                CacheHttpDisco cache = new CacheHttpDisco(
+                        Paths.get(ConfiguracaoApi.propriedade(PROPRIEDADE_DIRETORIO, "target/cache-http")),
+                        Duration.ofDays(ConfiguracaoApi.propriedadeInteira(PROPRIEDADE_MAXIMO_DIAS_SEM_USO, 7)));
+                MetricasExecucao.registrar("cacheHttp", cache::estatisticas);
+                compartilhado = cache;
+            }
+        }
+        return compartilhado;
+    }
+
+    /**
+     * Filtro do RestAssured que revalida e grava as respostas dos endpoints cacheáveis
+     * @return filtro a ser adicionado à especificação da requisição
+     */
+    public Filter filtro() {
+        return new Filter() {
+            @Override
+            public Response filter(FilterableRequestSpecification requisicao, FilterableResponseSpecification resposta,
+                                   FilterContext contexto) {
+                if (!"GET".equals(requisicao.getMethod()) || !ENDPOINTS_CACHEAVEIS.contains(requisicao.getUserDefinedPath())) {
+                    return contexto.next(requisicao, resposta);
+                }
+                return consultar(requisicao, resposta, contexto);
+            }
+        };
+    }
+
+    public long getRevalidadas() {
+        return revalidadas.sum();
+    }
+
+    public long getBaixadas() {
+        return baixadas.sum();
+    }
+
+    /**
+     * @return bytes de corpo servidos do disco em vez de trafegarem pela rede
+     */
+    public long getBytesDoDisco() {
+        return bytesDoDisco.sum();
+    }
+
+    /**
+     * @return métricas no formato publicado pelo relatório da execução
+     */
+    public Map<String, Object> estatisticas() {
+        long economizados = bytesDoDisco.sum();
+        long total = economizados + bytesBaixados.sum();
+        Map<String, Object> mapa = new LinkedHashMap<>();
+        mapa.put("entradas", entradas.size());
+        mapa.put("consultas", consultas.sum());
+        mapa.put("revalidadas304", revalidadas.sum());
+        mapa.put("baixadas200", baixadas.sum());
+        mapa.put("armazenadas", armazenadas.sum());
+        mapa.put("semValidadores", semValidadores.sum());
+        mapa.put("descartadas", descartadas.sum());
+        mapa.put("bytesBaixados", bytesBaixados.sum());
+        mapa.put("bytesDoDisco", economizados);
+        mapa.put("economiaBytesPercentual", total == 0 ? 0 : Math.round(economizados * 1000.0 / total) / 10.0);
+        return mapa;
+    }
+
+    private Response consultar(FilterableRequestSpecification requisicao, FilterableResponseSpecification resposta,
+                               FilterContext contexto) {
+        consultas.increment();
+        String url = requisicao.getURI();
+        Entrada entrada = entradas.get(url);
+        // Um 304 não traz corpo: só vale pedir a revalidação se o arquivo da entrada ainda está íntegro
+        if (entrada != null && !integra(entrada)) {
+            entrada = null;
+        }
+        if (entrada != null) {
+            if (entrada.etag != null) {
+                requisicao.header("If-None-Match", entrada.etag);
+            }
+            if (entrada.ultimaModificacao != null) {
+                requisicao.header("If-Modified-Since", entrada.ultimaModificacao);
+            }
+        }
+
+        Response recebida = contexto.next(requisicao, resposta);
+        int status = recebida.getStatusCode();
+        if (status == 304 && entrada != null) {
+            // Mapeado só agora, pelo tempo de vida da resposta: no Windows um arquivo mapeado não pode ser
+            // substituído, e a gravação de um 200 concorrente falharia se todo envio o mapeasse
+            ByteBuffer corpoEmDisco = mapear(entrada);
+            if (corpoEmDisco == null) {
+                return recebida;
+            }
+            recebida.asByteArray();
+            revalidadas.increment();
+            renovar(entrada);
+            bytesDoDisco.add(entrada.tamanho);
+            return servirDoDisco(recebida, entrada, corpoEmDisco);
+        }
+        if (status == 200) {
+            baixadas.increment();
+            return armazenarSeValidavel(url, recebida);
+        }
+        return recebida;
+    }
+
+    /**
+     * Converte o 304 em 200 com o corpo do disco, mantendo os headers atuais do servidor
+     */
+    private static Response servirDoDisco(Response naoModificada, Entrada entrada, ByteBuffer corpo) {
+        List<Header> headers = new ArrayList<>();
+        for (Header header : naoModificada.getHeaders()) {
+            if (!header.getName().equalsIgnoreCase("Content-Type") && !header.getName().equalsIgnoreCase("Content-Length")) {
+                headers.add(header);
+            }
+        }
+        headers.add(new Header("Content-Type", entrada.contentType));
+        headers.add(new Header("Content-Length", String.valueOf(entrada.tamanho)));
+        headers.add(new Header(HEADER_ORIGEM, "revalidada"));
+        return new ResponseBuilder()
+                .clone(naoModificada)
+                .setStatusCode(200)
+                .setStatusLine("HTTP/1.1 200 OK")
+                .setHeaders(new Headers(headers))
+                .setContentType(entrada.contentType)
+                .setBody(new FluxoMapeado(corpo))
+                .build();
+    }
+
+    /**
+     * Devolve a resposta com um corpo que é copiado para o disco à medida que o consumidor o lê
+     * Respostas sem validadores (ou com no-store) seguem intactas, sem passar pela cópia
+     */
+    private Response armazenarSeValidavel(String url, Response recebida) {
+        String etag = recebida.getHeader("ETag");
+        String ultimaModificacao = recebida.getHeader("Last-Modified");
+        String controle = recebida.getHeader("Cache-Control");
+        if ((etag == null && ultimaModificacao == null) || (controle != null && controle.contains("no-store"))) {
+            semValidadores.increment();
+            String tamanho = recebida.getHeader("Content-Length");
+            if (tamanho != null && tamanho.matches("\\d+")) {
+                bytesBaixados.add(Long.parseLong(tamanho));
+            }
+            return recebida;
+        }
+        Path temporario;
+        OutputStream copia;
+        try {
+            temporario = Files.createTempFile(diretorio, "gravando-", ".tmp");
+            copia = Files.newOutputStream(temporario);
+        } catch (IOException e) {
+            // Sem espaço ou permissão: a resposta segue válida, apenas não fica em cache
+            descartadas.increment();
+            return recebida;
+        }
+        FluxoGravado corpo = new FluxoGravado(recebida.asInputStream(), copia, temporario,
+                new Entrada(url, etag, ultimaModificacao, recebida.getContentType(), 0,
+                        diretorio.resolve(nomeArquivo(url) + ".corpo")));
+        return new ResponseBuilder().clone(recebida).setBody(corpo).build();
+    }
+
+    /**
+     * Registra a entrada cujo corpo acabou de ser copiado por completo para o arquivo temporário
+     */
+    private void concluirGravacao(Entrada parcial, long tamanho, Path temporario) {
+        Entrada entrada = new Entrada(parcial.url, parcial.etag, parcial.ultimaModificacao, parcial.contentType,
+                tamanho, parcial.corpo);
+        try {
+            Files.move(temporario, entrada.corpo, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            Properties meta = entrada.comoPropriedades();
+            gravarAtomicamente(arquivoMeta(entrada.corpo), saida -> meta.store(saida, "Entrada do cache HTTP"));
+            entradas.put(entrada.url, entrada);
+            armazenadas.increment();
+        } catch (IOException e) {
+            descartadas.increment();
+            apagarTemporario(temporario);
+        }
+    }
+
+    private static void apagarTemporario(Path temporario) {
+        try {
+            Files.deleteIfExists(temporario);
+        } catch (IOException e) {
+            // Sobra um .tmp no diretório do cache, sem efeito sobre as entradas
+        }
+    }
+
+    /**
+     * @return se o corpo da entrada existe com o tamanho registrado (a entrada é descartada se não)
+     */
+    private boolean integra(Entrada entrada) {
+        try {
+            if (Files.size(entrada.corpo) == entrada.tamanho) {
+                return true;
+            }
+        } catch (IOException e) {
+            // Tratado como entrada inválida abaixo
+        }
+        entradas.remove(entrada.url, entrada);
+        descartadas.increment();
+        return false;
+    }
+
+    /**
+     * @return corpo mapeado em memória, ou null (e a entrada descartada) se o arquivo sumiu ou não confere
+     */
+    private ByteBuffer mapear(Entrada entrada) {
+        try (FileChannel canal = FileChannel.open(entrada.corpo, StandardOpenOption.READ)) {
+            if (canal.size() == entrada.tamanho) {
+                return canal.map(FileChannel.MapMode.READ_ONLY, 0, entrada.tamanho);
+            }
+        } catch (IOException e) {
+            // Tratado como entrada inválida abaixo
+        }
+        entradas.remove(entrada.url, entrada);
+        descartadas.increment();
+        return null;
+    }
+
+    /**
+     * Marca a entrada como usada agora, adiando sua expiração por falta de uso
+     */
+    private void renovar(Entrada entrada) {
+        try {
+            Files.setLastModifiedTime(arquivoMeta(entrada.corpo), FileTime.from(Instant.now()));
+        } catch (IOException e) {
+            // Sem a renovação a entrada só expira antes; a resposta não é afetada
+        }
+    }
+
+    private static Path arquivoMeta(Path corpo) {
+        String nome = corpo.getFileName().toString();
+        return corpo.resolveSibling(nome.substring(0, nome.length() - ".corpo".length()) + ".meta");
+    }
+
+    private static void apagar(Path meta) throws IOException {
+        String nome = meta.getFileName().toString();
+        Files.deleteIfExists(meta.resolveSibling(nome.substring(0, nome.length() - ".meta".length()) + ".corpo"));
+        Files.deleteIfExists(meta);
+    }
+
+    private void gravarAtomicamente(Path destino, Gravacao gravacao) throws IOException {
+        Path temporario = Files.createTempFile(diretorio, "gravando-", ".tmp");
+        try {
+            try (OutputStream saida = Files.newOutputStream(temporario)) {
+                gravacao.gravar(saida);
+            }
+            Files.move(temporario, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporario);
+        }
+    }
+
+    private Entrada lerEntrada(Path meta) throws IOException {
+        Properties propriedades = new Properties();
+        try (InputStream entrada = Files.newInputStream(meta)) {
+            propriedades.load(entrada);
+        }
+        String url = propriedades.getProperty("url");
+        String tamanho = propriedades.getProperty("tamanho");
+        if (url == null || tamanho == null) {
+            return null;
+        }
+        String arquivo = meta.getFileName().toString();
+        return new Entrada(url, propriedades.getProperty("etag"), propriedades.getProperty("ultimaModificacao"),
+                propriedades.getProperty("contentType", "application/json"), Long.parseLong(tamanho),
+                diretorio.resolve(arquivo.substring(0, arquivo.length() - ".meta".length()) + ".corpo"));
+    }
+
+    private static String nomeArquivo(String url) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(url.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Gravacao {
+        void gravar(OutputStream saida) throws IOException;
+    }
+
+    /**
+     * Validadores e localização do corpo de uma URL em cache
+     */
+    private static final class Entrada {
+
+        private final String url;
+        private final String etag;
+        private final String ultimaModificacao;
+        private final String contentType;
+        private final long tamanho;
+        private final Path corpo;
+
+        private Entrada(String url, String etag, String ultimaModificacao, String contentType, long tamanho, Path corpo) {
+            this.url = url;
+            this.etag = etag;
+            this.ultimaModificacao = ultimaModificacao;
+            this.contentType = contentType;
+            this.tamanho = tamanho;
+            this.corpo = corpo;
+        }
+
+        private Properties comoPropriedades() {
+            Properties propriedades = new Properties();
+            propriedades.setProperty("url", url);
+            if (etag != null) {
+                propriedades.setProperty("etag", etag);
+            }
+            if (ultimaModificacao != null) {
+                propriedades.setProperty("ultimaModificacao", ultimaModificacao);
+            }
+            propriedades.setProperty("contentType", contentType);
+            propriedades.setProperty("tamanho", String.valueOf(tamanho));
+            return propriedades;
+        }
+    }
+
+    /**
+     * Stream sobre o corpo mapeado; cada resposta lê a sua própria visão do buffer
+     */
+    private static final class FluxoMapeado extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        private FluxoMapeado(ByteBuffer mapeado) {
+            this.buffer = mapeado.duplicate();
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] destino, int deslocamento, int tamanho) {
+            if (tamanho == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int lidos = Math.min(tamanho, buffer.remaining());
+            buffer.get(destino, deslocamento, lidos);
+            return lidos;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+
+    /**
+     * Stream do corpo de um 200 que copia para um arquivo temporário tudo o que o consumidor lê
+     * No fim do corpo o arquivo vira a entrada do cache; uma falha de leitura ou de gravação descarta a cópia,
+     * sem afetar o que o consumidor recebe. Fechar antes do fim drena o restante, como o pool de conexões faria
+     */
+    private final class FluxoGravado extends InputStream {
+
+        private final InputStream origem;
+        private final Path temporario;
+        private final Entrada entrada;
+        private OutputStream copia;
+        private long lidos;
+        private boolean encerrado;
+
+        private FluxoGravado(InputStream origem, OutputStream copia, Path temporario, Entrada entrada) {
+            this.origem = origem;
+            this.copia = copia;
+            this.temporario = temporario;
+            this.entrada = entrada;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] umByte = new byte[1];
+            return read(umByte, 0, 1) < 0 ? -1 : umByte[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] destino, int deslocamento, int tamanho) throws IOException {
+            int recebidos;
+            try {
+                recebidos = origem.read(destino, deslocamento, tamanho);
+            } catch (IOException e) {
+                abandonarCopia();
+                throw e;
+            }
+            if (recebidos < 0) {
+                concluir();
+                return recebidos;
+            }
+            lidos += recebidos;
+            if (copia != null) {
+                try {
+                    copia.write(destino, deslocamento, recebidos);
+                } catch (IOException e) {
+                    // O consumidor continua recebendo o corpo; só a cópia é abandonada
+                    abandonarCopia();
+                }
+            }
+            return recebidos;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return origem.available();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                byte[] restante = new byte[8192];
+                while (!encerrado && read(restante, 0, restante.length) >= 0) {
+                    // Drena até o fim para completar a entrada
+                }
+            } finally {
+                abandonarCopia();
+                if (!encerrado) {
+                    encerrado = true;
+                    bytesBaixados.add(lidos);
+                }
+                origem.close();
+            }
+        }
+
+        private void concluir() {
+            if (encerrado) {
+                return;
+            }
+            encerrado = true;
+            bytesBaixados.add(lidos);
+            OutputStream completa = copia;
+            copia = null;
+            if (completa == null) {
+                return;
+            }
+            try {
+                completa.close();
+            } catch (IOException e) {
+                descartadas.increment();
+                apagarTemporario(temporario);
+                return;
+            }
+            concluirGravacao(entrada, lidos, temporario);
+        }
+
+        private void abandonarCopia() {
+            if (copia == null) {
+                return;
+            }
+            try {
+                copia.close();
+            } catch (IOException e) {
+                // O arquivo é apagado de qualquer forma
+            }
+            copia = null;
+            descartadas.increment();
+            apagarTemporario(temporario);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.southsystem.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Cache read-through com expiração por tempo (TTL) e limite de entradas (LRU)
+ * Usado para reaproveitar respostas já desserializadas da Dog API entre testes que validam conteúdo
+ *
+ * Os valores são compartilhados entre threads e não devem ser modificados por quem os lê
+ *
+ * @param <K> tipo da chave
+ * @param <V> tipo do valor armazenado
+ */
+public class CacheLeitura<K, V> {
+
+    private final long ttlNanos;
+    private final int maximoEntradas;
+    private final LongSupplier relogio;
+    private final LinkedHashMap<K, Entrada<V>> entradas;
+
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder faltas = new LongAdder();
+    private final LongAdder expiracoes = new LongAdder();
+    private final LongAdder despejos = new LongAdder();
+
+    public CacheLeitura(Duration ttl, int maximoEntradas) {
+        this(ttl, maximoEntradas, System::nanoTime);
+    }
+
+    /**
+     * @param ttl tempo de vida de cada entrada
+     * @param maximoEntradas limite de entradas; a menos usada recentemente é despejada
+     * @param relogio fonte de tempo em nanossegundos (substituível em testes)
+     */
+    public CacheLeitura(Duration ttl, int maximoEntradas, LongSupplier relogio) {
+        if (maximoEntradas < 1) {
+            throw new IllegalArgumentException("maximoEntradas deve ser positivo: " + maximoEntradas);
+        }
+        this.ttlNanos = ttl.toNanos();
+        this.maximoEntradas = maximoEntradas;
+        this.relogio = relogio;
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Retorna o valor em cache ou o carrega (fora do lock) quando ausente ou expirado
+     * @param chave chave da entrada
+     * @param carregador busca o valor na origem em caso de falta
+     * @return valor em cache ou recém-carregado
+     */
+    public V obter(K chave, Supplier<V> carregador) {
+        synchronized (this) {
+            Entrada<V> entrada = entradas.get(chave);
+            if (entrada != null) {
+                if (relogio.getAsLong() - entrada.criadaEmNanos < ttlNanos) {
+                    acertos.increment();
+                    return entrada.valor;
+                }
+                entradas.remove(chave);
+                expiracoes.increment();
+            }
+        }
+
+        faltas.increment();
+        V valor = carregador.get();
+        if (valor != null) {
+            armazenar(chave, valor);
+        }
+        return valor;
+    }
+
+    /**
+     * Remove uma entrada específica
+     */
+    public synchronized void invalidar(K chave) {
+        entradas.remove(chave);
+    }
+
+    /**
+     * Remove todas as entradas, mantendo as estatísticas
+     */
+    public synchronized void invalidarTudo() {
+        entradas.clear();
+    }
+
+    public synchronized int tamanho() {
+        return entradas.size();
+    }
+
+    public long getAcertos() {
+        return acertos.sum();
+    }
+
+    public long getFaltas() {
+        return faltas.sum();
+    }
+
+    /**
+     * @return métricas no formato publicado pelo relatório da execução
+     */
+    public Map<String, Object> estatisticas() {
+        Map<String, Object> mapa = new LinkedHashMap<>();
+        long totalLeituras = acertos.sum() + faltas.sum();
+        mapa.put("acertos", acertos.sum());
+        mapa.put("faltas", faltas.sum());
+        mapa.put("taxaAcerto", String.format("%.2f", totalLeituras == 0 ? 0 : (double) acertos.sum() / totalLeituras));
+        mapa.put("expiracoes", expiracoes.sum());
+        mapa.put("despejos", despejos.sum());
+        mapa.put("entradas", tamanho());
+        return mapa;
+    }
+
+    private synchronized void armazenar(K chave, V valor) {
+        entradas.put(chave, new Entrada<>(valor, relogio.getAsLong()));
+        Iterator<Map.Entry<K, Entrada<V>>> maisAntigas = entradas.entrySet().iterator();
+        while (entradas.size() > maximoEntradas && maisAntigas.hasNext()) {
+            maisAntigas.next();
+            maisAntigas.remove();
+            despejos.increment();
+        }
+    }
+
+    private static final class Entrada<V> {
+        private final V valor;
+        private final long criadaEmNanos;
+
+        private Entrada(V valor, long criadaEmNanos) {
+            this.valor = valor;
+            this.criadaEmNanos = criadaEmNanos;
+        }
+    }
+}
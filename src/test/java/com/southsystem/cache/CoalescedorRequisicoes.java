@@ -0,0 +1,118 @@
+package com.southsystem.cache;
+
+import com.southsystem.transporte.Prazo;
+import com.southsystem.transporte.PrazoEsgotadoException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalescência de chamadas idênticas simultâneas (single-flight)
+ *
+ * A primeira thread a pedir uma chave executa a busca; as que chegam com a mesma chave enquanto ela
+ * está em andamento esperam e recebem o mesmo resultado (ou a mesma falha), sem nova requisição.
+ * Nada é guardado depois que a busca termina: chamadas seguidas continuam indo à origem, o que
+ * diferencia a coalescência do {@link CacheLeitura}
+ *
+ * Como no cache, o resultado é compartilhado entre threads e não deve ser modificado por quem o lê
+ *
+ * @param <K> tipo da chave
+ * @param <V> tipo do resultado
+ */
+public class CoalescedorRequisicoes<K, V> {
+
+    private final Map<K, CompletableFuture<V>> emAndamento = new ConcurrentHashMap<>();
+
+    private final LongAdder executadas = new LongAdder();
+    private final LongAdder coalescidas = new LongAdder();
+    private final LongAdder falhasCompartilhadas = new LongAdder();
+
+    /**
+     * Executa a busca, ou se junta à busca idêntica já em andamento
+     * @param chave identifica a requisição (método, URL e tipo do resultado)
+     * @param busca executada apenas pela primeira thread da chave
+     * @return resultado da busca, o mesmo para todas as threads que se juntaram a ela
+     */
+    public V executar(K chave, Supplier<V> busca) {
+        CompletableFuture<V> novo = new CompletableFuture<>();
+        CompletableFuture<V> existente = emAndamento.putIfAbsent(chave, novo);
+        if (existente != null) {
+            coalescidas.increment();
+            return aguardar(chave, existente);
+        }
+
+        executadas.increment();
+        try {
+            V valor = busca.get();
+            novo.complete(valor);
+            return valor;
+        } catch (Throwable e) {
+            // Inclui as IOException não declaradas do RestAssured, que deixariam as demais threads esperando
+            novo.completeExceptionally(e);
+            throw e;
+        } finally {
+            emAndamento.remove(chave, novo);
+        }
+    }
+
+    /**
+     * @return buscas que foram de fato à origem
+     */
+    public long getExecutadas() {
+        return executadas.sum();
+    }
+
+    /**
+     * @return chamadas atendidas pela busca de outra thread, ou seja, requisições economizadas
+     */
+    public long getCoalescidas() {
+        return coalescidas.sum();
+    }
+
+    /**
+     * @return métricas no formato publicado pelo relatório da execução
+     */
+    public Map<String, Object> estatisticas() {
+        long total = executadas.sum() + coalescidas.sum();
+        Map<String, Object> mapa = new LinkedHashMap<>();
+        mapa.put("executadas", executadas.sum());
+        mapa.put("coalescidas", coalescidas.sum());
+        mapa.put("falhasCompartilhadas", falhasCompartilhadas.sum());
+        mapa.put("economiaPercentual", total == 0 ? 0 : Math.round(coalescidas.sum() * 1000.0 / total) / 10.0);
+        return mapa;
+    }
+
+    /**
+     * Espera o resultado da thread que está buscando, respeitando o {@link Prazo} de quem espera
+     */
+    private V aguardar(K chave, CompletableFuture<V> emVoo) {
+        try {
+            if (!Prazo.definido()) {
+                return emVoo.get();
+            }
+            return emVoo.get(Math.max(0, Prazo.restanteNanos()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new PrazoEsgotadoException("espera pela requisição em andamento " + chave, Prazo.duracao(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando a requisição em andamento " + chave, e);
+        } catch (ExecutionException e) {
+            falhasCompartilhadas.increment();
+            Throwable causa = e.getCause();
+            if (causa instanceof RuntimeException) {
+                throw (RuntimeException) causa;
+            }
+            if (causa instanceof Error) {
+                throw (Error) causa;
+            }
+            throw new IllegalStateException(causa);
+        }
+    }
+}
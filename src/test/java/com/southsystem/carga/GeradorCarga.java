@@ -0,0 +1,152 @@
+package com.southsystem.carga;
+
+import com.southsystem.services.ServicoDogApi;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.ToIntFunction;
+
+/**
+ * Gerador de carga em modelo aberto sobre o {@link ServicoDogApi}
+ *
+ * As requisições são disparadas a uma taxa de chegada fixa, independente do tempo de resposta:
+ * a i-ésima requisição tem horário programado inicio + i / taxa. A latência é medida a partir
+ * desse horário programado (e não do envio efetivo), de modo que a espera por uma thread livre
+ * ou um atraso do próprio gerador entram na medição em vez de serem omitidos
+ *
+ * O mix de endpoints é distribuído de forma determinística pelos pesos informados
+ */
+public class GeradorCarga {
+
+    private static final long NANOS_POR_SEGUNDO = TimeUnit.SECONDS.toNanos(1);
+
+    private final ServicoDogApi servico;
+    private final double requisicoesPorSegundo;
+    private final Duration duracao;
+    private final int maximoConcorrencia;
+    private final Map<String, ToIntFunction<ServicoDogApi>> endpoints = new LinkedHashMap<>();
+    private final List<String> sequencia = new ArrayList<>();
+
+    /**
+     * @param servico service usado por todas as requisições (imutável, compartilhado entre as threads)
+     * @param requisicoesPorSegundo taxa de chegada alvo
+     * @param duracao janela de disparo
+     * @param maximoConcorrencia threads que executam as requisições
+     */
+    public GeradorCarga(ServicoDogApi servico, double requisicoesPorSegundo, Duration duracao, int maximoConcorrencia) {
+        if (requisicoesPorSegundo <= 0) {
+            throw new IllegalArgumentException("requisicoesPorSegundo deve ser positivo: " + requisicoesPorSegundo);
+        }
+        if (maximoConcorrencia < 1) {
+            throw new IllegalArgumentException("maximoConcorrencia deve ser positivo: " + maximoConcorrencia);
+        }
+        this.servico = servico;
+        this.requisicoesPorSegundo = requisicoesPorSegundo;
+        this.duracao = duracao;
+        this.maximoConcorrencia = maximoConcorrencia;
+    }
+
+    /**
+     * Adiciona um endpoint ao mix
+     * @param nome nome exibido no relatório
+     * @param peso participação relativa no mix
+     * @param chamada executa a requisição e retorna o status HTTP (2xx conta como sucesso)
+     * @return o próprio gerador, para encadeamento
+     */
+    public GeradorCarga comEndpoint(String nome, int peso, ToIntFunction<ServicoDogApi> chamada) {
+        if (peso < 1) {
+            throw new IllegalArgumentException("peso deve ser positivo: " + peso);
+        }
+        if (endpoints.put(nome, chamada) != null) {
+            throw new IllegalArgumentException("Endpoint já adicionado: " + nome);
+        }
+        for (int i = 0; i < peso; i++) {
+            sequencia.add(nome);
+        }
+        return this;
+    }
+
+    /**
+     * Dispara a carga e aguarda a conclusão de todas as requisições
+     * @return histogramas por endpoint
+     */
+    public ResultadoCarga executar() {
+        if (endpoints.isEmpty()) {
+            throw new IllegalStateException("Nenhum endpoint adicionado ao mix");
+        }
+        ResultadoCarga resultado = new ResultadoCarga(requisicoesPorSegundo, duracao, endpoints.keySet());
+        long totalRequisicoes = Math.max(1, Math.round(requisicoesPorSegundo * duracao.toNanos() / NANOS_POR_SEGUNDO));
+        double intervaloNanos = NANOS_POR_SEGUNDO / requisicoesPorSegundo;
+
+        ExecutorService executor = Executors.newFixedThreadPool(maximoConcorrencia, novaThread());
+        long inicio = System.nanoTime();
+        try {
+            for (long i = 0; i < totalRequisicoes; i++) {
+                long programado = inicio + Math.round(i * intervaloNanos);
+                aguardarAte(programado);
+                String nome = sequencia.get((int) (i % sequencia.size()));
+                ToIntFunction<ServicoDogApi> chamada = endpoints.get(nome);
+                executor.execute(() -> executarRequisicao(resultado, nome, chamada, programado));
+            }
+        } finally {
+            executor.shutdown();
+        }
+        aguardarTermino(executor);
+        resultado.finalizar(System.nanoTime() - inicio);
+        return resultado;
+    }
+
+    private void executarRequisicao(ResultadoCarga resultado, String nome, ToIntFunction<ServicoDogApi> chamada,
+                                    long programado) {
+        long envio = System.nanoTime();
+        boolean sucesso;
+        try {
+            int status = chamada.applyAsInt(servico);
+            sucesso = status >= 200 && status < 300;
+        } catch (Exception e) {
+            sucesso = false;
+        }
+        long fim = System.nanoTime();
+        resultado.registrar(nome, fim - programado, fim - envio, sucesso);
+    }
+
+    private static void aguardarAte(long instanteNanos) {
+        long restante;
+        while ((restante = instanteNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(restante);
+        }
+    }
+
+    private void aguardarTermino(ExecutorService executor) {
+        try {
+            // Margem generosa: requisições em fila ainda precisam ser atendidas após a janela de disparo
+            long limiteSegundos = duracao.toSeconds() + 120;
+            if (!executor.awaitTermination(limiteSegundos, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+                throw new IllegalStateException("Carga não terminou em " + limiteSegundos + "s");
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Execução da carga interrompida", e);
+        }
+    }
+
+    private static ThreadFactory novaThread() {
+        AtomicInteger contador = new AtomicInteger();
+        return tarefa -> {
+            Thread thread = new Thread(tarefa, "gerador-carga-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
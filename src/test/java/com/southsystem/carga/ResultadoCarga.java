@@ -0,0 +1,157 @@
+package com.southsystem.carga;
+
+import io.qameta.allure.Allure;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogramas de latência de uma execução do {@link GeradorCarga}, por endpoint
+ *
+ * Para cada endpoint são mantidos dois histogramas (em microssegundos):
+ * a latência a partir do horário programado, que é a percebida por um cliente real,
+ * e o tempo de serviço a partir do envio efetivo, útil para comparar as duas
+ */
+public class ResultadoCarga {
+
+    /** Maior valor registrável; valores acima são truncados para este limite */
+    private static final long MAXIMO_MICROS = TimeUnit.MINUTES.toMicros(5);
+    private static final int DIGITOS_SIGNIFICATIVOS = 3;
+    private static final double[] PERCENTIS = {50, 90, 99, 99.9};
+
+    private final double requisicoesPorSegundo;
+    private final Duration duracao;
+    private final Map<String, Medicoes> porEndpoint = new LinkedHashMap<>();
+    private long duracaoRealNanos;
+
+    ResultadoCarga(double requisicoesPorSegundo, Duration duracao, Collection<String> endpoints) {
+        this.requisicoesPorSegundo = requisicoesPorSegundo;
+        this.duracao = duracao;
+        endpoints.forEach(nome -> porEndpoint.put(nome, new Medicoes()));
+    }
+
+    void registrar(String endpoint, long latenciaNanos, long servicoNanos, boolean sucesso) {
+        Medicoes medicoes = porEndpoint.get(endpoint);
+        medicoes.latencia.recordValue(emMicros(latenciaNanos));
+        medicoes.servico.recordValue(emMicros(servicoNanos));
+        if (!sucesso) {
+            medicoes.falhas.increment();
+        }
+    }
+
+    void finalizar(long duracaoRealNanos) {
+        this.duracaoRealNanos = duracaoRealNanos;
+    }
+
+    /**
+     * @param endpoint nome do endpoint no mix
+     * @return latência a partir do horário programado, em microssegundos
+     */
+    public Histogram getLatencia(String endpoint) {
+        return medicoes(endpoint).latencia;
+    }
+
+    /**
+     * @param endpoint nome do endpoint no mix
+     * @return tempo de serviço a partir do envio efetivo, em microssegundos
+     */
+    public Histogram getTempoServico(String endpoint) {
+        return medicoes(endpoint).servico;
+    }
+
+    public long getFalhas(String endpoint) {
+        return medicoes(endpoint).falhas.sum();
+    }
+
+    public long getTotalRequisicoes() {
+        return porEndpoint.values().stream().mapToLong(m -> m.latencia.getTotalCount()).sum();
+    }
+
+    public long getTotalFalhas() {
+        return porEndpoint.values().stream().mapToLong(m -> m.falhas.sum()).sum();
+    }
+
+    /**
+     * @return vazão efetivamente atingida (requisições concluídas / duração real)
+     */
+    public double getVazaoAtingida() {
+        return duracaoRealNanos == 0 ? 0 : getTotalRequisicoes() * 1e9 / duracaoRealNanos;
+    }
+
+    /**
+     * @return tabela de percentis (ms) por endpoint, usada no console e no anexo do Allure
+     */
+    public String formatarResumo() {
+        StringBuilder texto = new StringBuilder();
+        texto.append(String.format("Taxa alvo: %.1f req/s | Janela: %ds | Vazão atingida: %.1f req/s | Requisições: %d | Falhas: %d%n%n",
+                requisicoesPorSegundo, duracao.toSeconds(), getVazaoAtingida(), getTotalRequisicoes(), getTotalFalhas()));
+        texto.append(String.format("%-34s %-9s %7s %7s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "Medida", "Total", "Falhas", "p50", "p90", "p99", "p99.9", "max"));
+        porEndpoint.forEach((nome, medicoes) -> {
+            linha(texto, nome, "latência", medicoes.latencia, medicoes.falhas.sum());
+            linha(texto, "", "serviço", medicoes.servico, medicoes.falhas.sum());
+        });
+        texto.append("\n(valores em ms; latência medida a partir do horário programado da requisição)\n");
+        return texto.toString();
+    }
+
+    /**
+     * @param endpoint nome do endpoint no mix
+     * @return distribuição completa de percentis da latência no formato .hgrm (ms)
+     */
+    public String formatarDistribuicao(String endpoint) {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        try (PrintStream impressao = new PrintStream(saida, true, StandardCharsets.UTF_8)) {
+            getLatencia(endpoint).outputPercentileDistribution(impressao, 1000.0);
+        }
+        return saida.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Anexa o resumo e a distribuição de cada endpoint ao teste corrente no Allure
+     */
+    public void anexarAoRelatorio() {
+        Allure.addAttachment("Carga - percentis por endpoint", "text/plain", formatarResumo(), ".txt");
+        porEndpoint.keySet().forEach(nome ->
+                Allure.addAttachment("Carga - distribuição " + nome, "text/plain", formatarDistribuicao(nome), ".hgrm"));
+    }
+
+    public Collection<String> getEndpoints() {
+        return porEndpoint.keySet();
+    }
+
+    private static void linha(StringBuilder texto, String nome, String medida, Histogram histograma, long falhas) {
+        texto.append(String.format("%-34s %-9s %7d %7d", nome, medida, histograma.getTotalCount(), falhas));
+        for (double percentil : PERCENTIS) {
+            texto.append(String.format(" %9.2f", histograma.getValueAtPercentile(percentil) / 1000.0));
+        }
+        texto.append(String.format(" %9.2f%n", histograma.getMaxValue() / 1000.0));
+    }
+
+    private Medicoes medicoes(String endpoint) {
+        Medicoes medicoes = porEndpoint.get(endpoint);
+        if (medicoes == null) {
+            throw new IllegalArgumentException("Endpoint não faz parte do mix: " + endpoint);
+        }
+        return medicoes;
+    }
+
+    private static long emMicros(long nanos) {
+        return Math.min(MAXIMO_MICROS, Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+
+    private static final class Medicoes {
+        private final Histogram latencia = new ConcurrentHistogram(MAXIMO_MICROS, DIGITOS_SIGNIFICATIVOS);
+        private final Histogram servico = new ConcurrentHistogram(MAXIMO_MICROS, DIGITOS_SIGNIFICATIVOS);
+        private final LongAdder falhas = new LongAdder();
+    }
+}
@@ -0,0 +1,472 @@
+package com.southsystem.cassete;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.southsystem.cache.CacheHttpDisco;
+import com.southsystem.config.ConfiguracaoApi;
+import com.southsystem.json.MapeadorJson;
+import com.southsystem.relatorios.MetricasExecucao;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cassete de requisições: grava o tráfego real de uma execução e o reproduz sem rede
+ *
+ * O arquivo é NDJSON: uma linha de cabeçalho, depois cada corpo de resposta distinto uma única vez
+ * (deduplicado pelo SHA-256) e por fim as interações, que referenciam o corpo pelo número. A chave de
+ * uma interação é o método e o caminho com a query, sem o host (ex.: "GET /api/breeds/list/all"), de modo
+ * que um cassete gravado contra o servidor local reproduz a suite apontada para dog.ceo e vice-versa
+ *
+ * Uma chave pode ter várias gravações (imagens aleatórias, retentativas); na reprodução elas são
+ * devolvidas na ordem gravada e recomeçam do início quando acabam. Ao carregar, cada gravação vira
+ * uma Response modelo já montada; reproduzir é uma consulta a um HashMap e uma cópia rasa do modelo
+ * (alguns microssegundos, contra dezenas para montar uma Response do zero), sem I/O
+ *
+ * O filtro deve ser o primeiro da especificação: na reprodução ele responde sem chamar os demais
+ * (limitador de taxa, disjuntor, transporte), e na gravação registra a resposta final entregue ao teste
+ */
+public class Cassete {
+
+    public static final String PROPRIEDADE_MODO = "dog.api.cassete.modo";
+    public static final String PROPRIEDADE_ARQUIVO = "dog.api.cassete.arquivo";
+
+    static final String FORMATO = "cassete-dog-api";
+    static final int VERSAO = 1;
+
+    private static final int AQUECIMENTO = 2000;
+
+    /**
+     * Headers que não fazem parte da resposta gravada: dependem da conexão, do momento ou do cache local
+     * (o corpo é gravado já descomprimido, então a codificação e o tamanho da conexão não valem para ele)
+     */
+    private static final Set<String> HEADERS_IGNORADOS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        HEADERS_IGNORADOS.addAll(List.of("Date", "Connection", "Keep-Alive", "Transfer-Encoding",
+                "Content-Encoding", "Content-Length", CacheHttpDisco.HEADER_ORIGEM));
+    }
+
+    private static Cassete compartilhado;
+    private static boolean configurado;
+
+    private final ModoCassete modo;
+    private final Path arquivo;
+    private final Map<String, Faixa> faixas;
+    private final Map<String, List<Gravacao>> gravadas = new ConcurrentHashMap<>();
+    private final AtomicInteger totalGravadas = new AtomicInteger();
+
+    private final LongAdder reproduzidas = new LongAdder();
+    private final LongAdder naoGravadas = new LongAdder();
+    private final LongAdder tempoReproducaoNs = new LongAdder();
+
+    private Cassete(ModoCassete modo, Path arquivo, Map<String, Faixa> faixas) {
+        this.modo = modo;
+        this.arquivo = arquivo;
+        this.faixas = faixas;
+    }
+
+    /**
+     * Cassete vazio que acumula as respostas recebidas até {@link #salvar()}
+     * @param arquivo arquivo NDJSON a ser (re)escrito
+     * @return cassete em modo de gravação
+     */
+    public static Cassete gravar(Path arquivo) {
+        return new Cassete(ModoCassete.GRAVAR, arquivo, Map.of());
+    }
+
+    /**
+     * Carrega um cassete gravado e indexa suas interações por chave
+     * @param arquivo arquivo NDJSON gravado por {@link #salvar()}
+     * @return cassete em modo de reprodução
+     */
+    public static Cassete reproduzir(Path arquivo) {
+        if (!Files.exists(arquivo)) {
+            throw new IllegalStateException("Cassete não encontrado: " + arquivo + " (grave-o antes com -D"
+                    + PROPRIEDADE_MODO + "=" + ModoCassete.GRAVAR.getChave() + ")");
+        }
+        try {
+            Map<String, Faixa> faixas = carregar(arquivo);
+            aquecer(faixas);
+            return new Cassete(ModoCassete.REPRODUZIR, arquivo, faixas);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler o cassete " + arquivo, e);
+        }
+    }
+
+    /**
+     * Cassete único da JVM, conforme dog.api.cassete.modo e dog.api.cassete.arquivo (por padrão em target/,
+     * para que a gravação não altere arquivos versionados); na gravação o arquivo é escrito pelo
+     * {@link SalvamentoCassete} ao final da execução
+     * @return cassete compartilhado, ou null no modo passagem
+     */
+    public static synchronized Cassete compartilhado() {
+        if (!configurado) {
+            configurado = true;
+            ModoCassete modo = ModoCassete.de(ConfiguracaoApi.propriedade(PROPRIEDADE_MODO, ModoCassete.PASSAGEM.getChave()));
+            Path arquivo = Paths.get(ConfiguracaoApi.propriedade(PROPRIEDADE_ARQUIVO, "target/cassetes/dog-api.ndjson"));
+            if (modo == ModoCassete.GRAVAR) {
+                compartilhado = gravar(arquivo);
+            } else if (modo == ModoCassete.REPRODUZIR) {
+                compartilhado = reproduzir(arquivo);
+            }
+            if (compartilhado != null) {
+                MetricasExecucao.registrar("cassete", compartilhado::estatisticas);
+            }
+        }
+        return compartilhado;
+    }
+
+    /**
+     * @return cassete compartilhado, ou null se nenhum teste o criou nesta JVM (ou no modo passagem)
+     */
+    public static synchronized Cassete compartilhadoSeCriado() {
+        return compartilhado;
+    }
+
+    public ModoCassete getModo() {
+        return modo;
+    }
+
+    public Path getArquivo() {
+        return arquivo;
+    }
+
+    /**
+     * Filtro do RestAssured que grava ou reproduz as respostas, conforme o modo do cassete
+     * @return filtro a ser adicionado como primeiro da especificação da requisição
+     */
+    public Filter filtro() {
+        return new Filter() {
+            @Override
+            public Response filter(FilterableRequestSpecification requisicao, FilterableResponseSpecification resposta,
+                                   FilterContext contexto) {
+                String chave = chave(requisicao.getMethod(), requisicao.getURI());
+                if (modo == ModoCassete.REPRODUZIR) {
+                    return reproduzirGravacao(chave);
+                }
+                Response recebida = contexto.next(requisicao, resposta);
+                registrar(chave, recebida);
+                return recebida;
+            }
+        };
+    }
+
+    /**
+     * @return interações gravadas até agora (modo gravação) ou carregadas do arquivo (modo reprodução)
+     */
+    public int getInteracoes() {
+        if (modo == ModoCassete.REPRODUZIR) {
+            return faixas.values().stream().mapToInt(faixa -> faixa.gravacoes.length).sum();
+        }
+        return totalGravadas.get();
+    }
+
+    /**
+     * @return respostas entregues a partir do cassete
+     */
+    public long getReproduzidas() {
+        return reproduzidas.sum();
+    }
+
+    /**
+     * @return tempo médio, em microssegundos, para montar uma resposta reproduzida
+     */
+    public double getMediaReproducaoMicros() {
+        long total = reproduzidas.sum();
+        return total == 0 ? 0 : Math.round(tempoReproducaoNs.sum() / 10.0 / total) / 100.0;
+    }
+
+    /**
+     * Escreve o cassete gravado: cabeçalho, corpos distintos e interações, ordenadas por chave para que
+     * gravações de execuções diferentes possam ser comparadas com diff
+     */
+    public synchronized void salvar() {
+        if (modo != ModoCassete.GRAVAR) {
+            return;
+        }
+        Map<String, Integer> indicePorHash = new HashMap<>();
+        List<byte[]> corpos = new ArrayList<>();
+        List<Map<String, Object>> interacoes = new ArrayList<>();
+        new TreeSet<>(gravadas.keySet()).forEach(chave -> {
+            List<Gravacao> daChave = gravadas.get(chave);
+            synchronized (daChave) {
+                for (Gravacao gravacao : daChave) {
+                    Integer indice = indicePorHash.computeIfAbsent(sha256(gravacao.corpo), hash -> {
+                        corpos.add(gravacao.corpo);
+                        return corpos.size() - 1;
+                    });
+                    interacoes.add(gravacao.comoLinha(chave, indice));
+                }
+            }
+        });
+
+        Map<String, Object> cabecalho = new LinkedHashMap<>();
+        cabecalho.put("formato", FORMATO);
+        cabecalho.put("versao", VERSAO);
+        cabecalho.put("gravadoEm", Instant.now().toString());
+        cabecalho.put("interacoes", interacoes.size());
+        cabecalho.put("corpos", corpos.size());
+        try {
+            if (arquivo.getParent() != null) {
+                Files.createDirectories(arquivo.getParent());
+            }
+            Path temporario = Files.createTempFile(arquivo.toAbsolutePath().getParent(), arquivo.getFileName().toString(), ".tmp");
+            try (BufferedWriter escritor = Files.newBufferedWriter(temporario, StandardCharsets.UTF_8)) {
+                escreverLinha(escritor, cabecalho);
+                for (int i = 0; i < corpos.size(); i++) {
+                    escreverLinha(escritor, linhaCorpo(i, corpos.get(i)));
+                }
+                for (Map<String, Object> interacao : interacoes) {
+                    escreverLinha(escritor, interacao);
+                }
+            }
+            Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar o cassete " + arquivo, e);
+        }
+    }
+
+    /**
+     * @return métricas no formato publicado pelo relatório da execução
+     */
+    public Map<String, Object> estatisticas() {
+        Map<String, Object> mapa = new LinkedHashMap<>();
+        mapa.put("modo", modo.getChave());
+        mapa.put("interacoes", getInteracoes());
+        mapa.put("chaves", modo == ModoCassete.REPRODUZIR ? faixas.size() : gravadas.size());
+        mapa.put("reproduzidas", reproduzidas.sum());
+        mapa.put("naoGravadas", naoGravadas.sum());
+        mapa.put("mediaReproducaoMicros", getMediaReproducaoMicros());
+        return mapa;
+    }
+
+    /**
+     * Método e caminho com a query, sem esquema, host e porta
+     */
+    static String chave(String metodo, String uri) {
+        URI destino = URI.create(uri);
+        String caminho = destino.getRawPath() == null || destino.getRawPath().isEmpty() ? "/" : destino.getRawPath();
+        return destino.getRawQuery() == null ? metodo + " " + caminho : metodo + " " + caminho + "?" + destino.getRawQuery();
+    }
+
+    private Response reproduzirGravacao(String chave) {
+        long inicio = System.nanoTime();
+        Faixa faixa = faixas.get(chave);
+        if (faixa == null) {
+            naoGravadas.increment();
+            throw new IllegalStateException("Requisição não gravada no cassete " + arquivo + ": " + chave);
+        }
+        Gravacao gravacao = faixa.proxima();
+        Response resposta = new ResponseBuilder().clone(gravacao.modelo).setBody(gravacao.corpo).build();
+        tempoReproducaoNs.add(System.nanoTime() - inicio);
+        reproduzidas.increment();
+        return resposta;
+    }
+
+    /**
+     * Lê o corpo inteiro (a resposta o mantém em memória para o teste) e acrescenta a gravação à chave
+     */
+    private void registrar(String chave, Response recebida) {
+        byte[] corpo = recebida.asByteArray();
+        List<Header> headers = new ArrayList<>();
+        for (Header header : recebida.getHeaders()) {
+            if (!HEADERS_IGNORADOS.contains(header.getName())) {
+                headers.add(header);
+            }
+        }
+        Gravacao gravacao = new Gravacao(recebida.getStatusCode(), recebida.getStatusLine(), new Headers(headers),
+                recebida.getContentType() == null ? "" : recebida.getContentType(), corpo);
+        List<Gravacao> daChave = gravadas.computeIfAbsent(chave, c -> Collections.synchronizedList(new ArrayList<>()));
+        daChave.add(gravacao);
+        totalGravadas.incrementAndGet();
+    }
+
+    private static Map<String, Faixa> carregar(Path arquivo) throws IOException {
+        List<byte[]> corpos = new ArrayList<>();
+        Map<String, List<Gravacao>> porChave = new LinkedHashMap<>();
+        try (BufferedReader leitor = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+            String linha;
+            while ((linha = leitor.readLine()) != null) {
+                if (linha.isBlank()) {
+                    continue;
+                }
+                JsonNode registro = MapeadorJson.mapeador().readTree(linha);
+                if (registro.has("formato")) {
+                    exigirFormato(registro, arquivo);
+                } else if (registro.has("chave")) {
+                    porChave.computeIfAbsent(registro.get("chave").asText(), c -> new ArrayList<>())
+                            .add(Gravacao.deLinha(registro, corpos, arquivo));
+                } else if (registro.has("corpo")) {
+                    corpos.add(registro.has("base64")
+                            ? Base64.getDecoder().decode(registro.get("base64").asText())
+                            : registro.get("texto").asText().getBytes(StandardCharsets.UTF_8));
+                }
+            }
+        }
+        Map<String, Faixa> faixas = new HashMap<>();
+        porChave.forEach((chave, gravacoes) -> faixas.put(chave, new Faixa(gravacoes.toArray(new Gravacao[0]))));
+        return faixas;
+    }
+
+    /**
+     * As primeiras cópias de Response inicializam as metaclasses do Groovy e ainda não foram compiladas pelo JIT
+     * (dezenas de milissegundos no total); esse custo único fica na carga do cassete, não nas requisições
+     */
+    private static void aquecer(Map<String, Faixa> faixas) {
+        faixas.values().stream().findFirst().ifPresent(faixa -> {
+            Gravacao gravacao = faixa.gravacoes[0];
+            for (int i = 0; i < AQUECIMENTO; i++) {
+                new ResponseBuilder().clone(gravacao.modelo).setBody(gravacao.corpo).build().asByteArray();
+            }
+        });
+    }
+
+    private static void exigirFormato(JsonNode cabecalho, Path arquivo) {
+        if (!FORMATO.equals(cabecalho.get("formato").asText()) || cabecalho.path("versao").asInt() != VERSAO) {
+            throw new IllegalStateException("Cassete em formato desconhecido: " + arquivo + " (" + cabecalho + ")");
+        }
+    }
+
+    /**
+     * Corpos em UTF-8 válido (todos os da Dog API) são gravados como texto, legíveis no arquivo; os demais em Base64
+     */
+    private static Map<String, Object> linhaCorpo(int indice, byte[] corpo) {
+        Map<String, Object> linha = new LinkedHashMap<>();
+        linha.put("corpo", indice);
+        try {
+            linha.put("texto", StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT)
+                    .decode(ByteBuffer.wrap(corpo))
+                    .toString());
+        } catch (CharacterCodingException e) {
+            linha.put("base64", Base64.getEncoder().encodeToString(corpo));
+        }
+        return linha;
+    }
+
+    private static void escreverLinha(BufferedWriter escritor, Map<String, Object> linha) throws IOException {
+        escritor.write(MapeadorJson.mapeador().writeValueAsString(linha));
+        escritor.newLine();
+    }
+
+    private static String sha256(byte[] corpo) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(corpo));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível na JVM", e);
+        }
+    }
+
+    /**
+     * Resposta gravada, já no formato usado para montar a Response na reprodução
+     */
+    private static final class Gravacao {
+
+        private final int status;
+        private final String linhaStatus;
+        private final Headers headers;
+        private final String contentType;
+        private final byte[] corpo;
+        private Response modelo;
+
+        private Gravacao(int status, String linhaStatus, Headers headers, String contentType, byte[] corpo) {
+            this.status = status;
+            this.linhaStatus = linhaStatus;
+            this.headers = headers;
+            this.contentType = contentType;
+            this.corpo = corpo;
+        }
+
+        /**
+         * Monta a Response da qual as reproduções são copiadas (inclui a configuração padrão do RestAssured,
+         * a parte cara de montar uma Response)
+         */
+        private Gravacao comModelo() {
+            modelo = new ResponseBuilder()
+                    .setStatusCode(status)
+                    .setStatusLine(linhaStatus)
+                    .setHeaders(headers)
+                    .setContentType(contentType)
+                    .setBody(corpo)
+                    .build();
+            return this;
+        }
+
+        private Map<String, Object> comoLinha(String chave, int indiceCorpo) {
+            List<List<String>> pares = new ArrayList<>();
+            headers.forEach(header -> pares.add(List.of(header.getName(), header.getValue())));
+            Map<String, Object> linha = new LinkedHashMap<>();
+            linha.put("chave", chave);
+            linha.put("status", status);
+            linha.put("linhaStatus", linhaStatus);
+            linha.put("contentType", contentType);
+            linha.put("headers", pares);
+            linha.put("corpo", indiceCorpo);
+            return linha;
+        }
+
+        private static Gravacao deLinha(JsonNode linha, List<byte[]> corpos, Path arquivo) {
+            int indiceCorpo = linha.get("corpo").asInt();
+            if (indiceCorpo < 0 || indiceCorpo >= corpos.size()) {
+                throw new IllegalStateException("Cassete " + arquivo + " referencia o corpo inexistente " + indiceCorpo);
+            }
+            List<Header> headers = new ArrayList<>();
+            linha.path("headers").forEach(par -> headers.add(new Header(par.get(0).asText(), par.get(1).asText())));
+            return new Gravacao(linha.get("status").asInt(), linha.path("linhaStatus").asText(null), new Headers(headers),
+                    linha.path("contentType").asText(""), corpos.get(indiceCorpo)).comModelo();
+        }
+    }
+
+    /**
+     * Gravações de uma chave, devolvidas em rodízio
+     */
+    private static final class Faixa {
+
+        private final Gravacao[] gravacoes;
+        private final AtomicInteger proxima = new AtomicInteger();
+
+        private Faixa(Gravacao[] gravacoes) {
+            this.gravacoes = gravacoes;
+        }
+
+        private Gravacao proxima() {
+            return gravacoes[Math.floorMod(proxima.getAndIncrement(), gravacoes.length)];
+        }
+    }
+}
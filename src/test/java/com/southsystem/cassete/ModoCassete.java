@@ -0,0 +1,42 @@
+package com.southsystem.cassete;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Modos do cassete de requisições (propriedade dog.api.cassete.modo)
+ */
+public enum ModoCassete {
+
+    /** Requisições vão à API normalmente, sem cassete */
+    PASSAGEM("passagem", "passthrough"),
+    /** Requisições vão à API e as respostas são gravadas no cassete ao final da execução */
+    GRAVAR("gravar", "record"),
+    /** Respostas são lidas do cassete, sem nenhuma requisição de rede */
+    REPRODUZIR("reproduzir", "replay");
+
+    private final String chave;
+    private final String alias;
+
+    ModoCassete(String chave, String alias) {
+        this.chave = chave;
+        this.alias = alias;
+    }
+
+    public String getChave() {
+        return chave;
+    }
+
+    /**
+     * @param valor chave em português ou alias em inglês (passthrough, record, replay)
+     * @return modo correspondente
+     */
+    public static ModoCassete de(String valor) {
+        String normalizado = valor.trim().toLowerCase();
+        return Arrays.stream(values())
+                .filter(modo -> modo.chave.equals(normalizado) || modo.alias.equals(normalizado))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Modo de cassete inválido: '" + valor + "' (use "
+                        + Arrays.stream(values()).map(ModoCassete::getChave).collect(Collectors.joining(", ")) + ")"));
+    }
+}
@@ -0,0 +1,26 @@
+package com.southsystem.cassete;
+
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+
+/**
+ * Listener da plataforma JUnit que escreve o cassete compartilhado quando a suite termina, no modo de gravação
+ * Roda antes do encerramento da JVM, ao contrário de um shutdown hook, e uma falha ao salvar aparece na execução.
+ * Registrado em META-INF/services/org.junit.platform.launcher.TestExecutionListener
+ */
+public class SalvamentoCassete implements TestExecutionListener {
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        Cassete cassete = Cassete.compartilhadoSeCriado();
+        if (cassete == null || cassete.getModo() != ModoCassete.GRAVAR) {
+            return;
+        }
+        try {
+            cassete.salvar();
+            System.out.println("📼 Cassete gravado em " + cassete.getArquivo());
+        } catch (RuntimeException e) {
+            System.err.println("⚠️ Não foi possível salvar o cassete " + cassete.getArquivo() + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.southsystem.desempenho;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Comparação de um endpoint da execução atual com a linha de base das execuções anteriores
+ */
+public class ComparacaoEndpoint {
+
+    /**
+     * Veredito da comparação
+     */
+    public enum Situacao {
+        /** Mais lento que a linha de base, com significância estatística e acima da tolerância */
+        REGRESSAO,
+        /** Mais rápido que a linha de base, com significância estatística e acima da tolerância */
+        MELHORA,
+        /** Sem diferença relevante */
+        ESTAVEL,
+        /** Execuções anteriores ou requisições insuficientes para comparar */
+        SEM_BASE
+    }
+
+    private final ResumoEndpoint atual;
+    private final List<ResumoEndpoint> base;
+    private final Situacao situacao;
+    private final double medianaBaseMs;
+    private final double p90BaseMs;
+    private final double valorPMaisLenta;
+    private final double valorPMaisRapida;
+
+    ComparacaoEndpoint(ResumoEndpoint atual, List<ResumoEndpoint> base, Situacao situacao, double medianaBaseMs,
+                       double p90BaseMs, double valorPMaisLenta, double valorPMaisRapida) {
+        this.atual = atual;
+        this.base = List.copyOf(base);
+        this.situacao = situacao;
+        this.medianaBaseMs = medianaBaseMs;
+        this.p90BaseMs = p90BaseMs;
+        this.valorPMaisLenta = valorPMaisLenta;
+        this.valorPMaisRapida = valorPMaisRapida;
+    }
+
+    public String getEndpoint() {
+        return atual.getEndpoint();
+    }
+
+    public Situacao getSituacao() {
+        return situacao;
+    }
+
+    public ResumoEndpoint getAtual() {
+        return atual;
+    }
+
+    /**
+     * @return execuções anteriores que compõem a linha de base, da mais antiga para a mais recente
+     */
+    public List<ResumoEndpoint> getBase() {
+        return base;
+    }
+
+    public double getMedianaAtualMs() {
+        return atual.percentilMs(50);
+    }
+
+    public double getMedianaBaseMs() {
+        return medianaBaseMs;
+    }
+
+    public double getP90BaseMs() {
+        return p90BaseMs;
+    }
+
+    /**
+     * @return variação percentual da mediana em relação à linha de base (NaN sem base)
+     */
+    public double getVariacaoMedianaPercentual() {
+        return medianaBaseMs > 0 ? (getMedianaAtualMs() - medianaBaseMs) * 100 / medianaBaseMs : Double.NaN;
+    }
+
+    /**
+     * @return valor-p unilateral de a execução atual ser mais lenta (NaN sem base)
+     */
+    public double getValorPMaisLenta() {
+        return valorPMaisLenta;
+    }
+
+    /**
+     * @return valor-p unilateral de a execução atual ser mais rápida (NaN sem base)
+     */
+    public double getValorPMaisRapida() {
+        return valorPMaisRapida;
+    }
+
+    /**
+     * @return uma linha com o veredito e os números que o sustentam
+     */
+    public String formatar() {
+        if (situacao == Situacao.SEM_BASE) {
+            return String.format("%-40s %-9s %d requisições, %d execuções na base | mediana %.2fms",
+                    getEndpoint(), situacao, atual.getRequisicoes(), base.size(), getMedianaAtualMs());
+        }
+        return String.format("%-40s %-9s mediana %.2fms → %.2fms (%+.1f%%) | p90 %.2fms → %.2fms | p-valor lenta %.4f"
+                        + " | %d requisições contra %d execuções",
+                getEndpoint(), situacao, medianaBaseMs, getMedianaAtualMs(), getVariacaoMedianaPercentual(),
+                p90BaseMs, atual.percentilMs(90), valorPMaisLenta, atual.getRequisicoes(), base.size());
+    }
+
+    /**
+     * @return tendência do endpoint em CSV: uma linha por execução da base e a atual por último
+     */
+    public String tendenciaCsv() {
+        StringBuilder csv = new StringBuilder("execucao,requisicoes,p50Ms,p90Ms,p99Ms,bytesTransferidos\n");
+        base.forEach(resumo -> linhaCsv(csv, resumo));
+        linhaCsv(csv, atual);
+        return csv.toString();
+    }
+
+    private static void linhaCsv(StringBuilder csv, ResumoEndpoint resumo) {
+        csv.append(resumo.getExecucao()).append(',')
+                .append(resumo.getRequisicoes()).append(',')
+                .append(String.format(Locale.ROOT, "%.3f,%.3f,%.3f",
+                        resumo.percentilMs(50), resumo.percentilMs(90), resumo.percentilMs(99))).append(',')
+                .append(resumo.getBytesTransferidos()).append('\n');
+    }
+}
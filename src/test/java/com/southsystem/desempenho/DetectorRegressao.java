@@ -0,0 +1,117 @@
+package com.southsystem.desempenho;
+
+import com.southsystem.config.ConfiguracaoApi;
+import com.southsystem.desempenho.ComparacaoEndpoint.Situacao;
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compara cada endpoint da execução atual com a linha de base das últimas execuções do mesmo alvo
+ *
+ * A linha de base é a soma dos histogramas das {@code janela} execuções anteriores que têm o endpoint.
+ * Uma regressão precisa de duas coisas: significância (Mann-Whitney unilateral com valor-p abaixo de alfa)
+ * e relevância (mediana acima da base em mais que a tolerância). Só a significância não basta: com muitas
+ * requisições, diferenças de poucos por cento já são significativas e não valem um alerta. O teste soma as
+ * requisições e ignora a variação entre execuções (aquecimento, carga da máquina), por isso a base também
+ * exige um mínimo de execuções anteriores antes de qualquer veredito
+ */
+public class DetectorRegressao {
+
+    public static final String PROPRIEDADE_JANELA = "dog.api.desempenho.janela";
+    public static final String PROPRIEDADE_ALFA = "dog.api.desempenho.alfa";
+    public static final String PROPRIEDADE_TOLERANCIA_PERCENTUAL = "dog.api.desempenho.toleranciaPercentual";
+    public static final String PROPRIEDADE_MINIMO_REQUISICOES = "dog.api.desempenho.minimoRequisicoes";
+    public static final String PROPRIEDADE_MINIMO_EXECUCOES = "dog.api.desempenho.minimoExecucoes";
+
+    private final int janela;
+    private final double alfa;
+    private final double toleranciaPercentual;
+    private final int minimoRequisicoes;
+    private final int minimoExecucoes;
+
+    /**
+     * @param janela execuções anteriores somadas na linha de base
+     * @param alfa nível de significância do teste unilateral
+     * @param toleranciaPercentual variação da mediana abaixo da qual a diferença é ignorada
+     * @param minimoRequisicoes requisições mínimas na execução atual e na linha de base
+     * @param minimoExecucoes execuções anteriores mínimas na linha de base
+     */
+    public DetectorRegressao(int janela, double alfa, double toleranciaPercentual, int minimoRequisicoes,
+                             int minimoExecucoes) {
+        if (janela < 1) {
+            throw new IllegalArgumentException("janela deve ser positiva: " + janela);
+        }
+        this.janela = janela;
+        this.alfa = alfa;
+        this.toleranciaPercentual = toleranciaPercentual;
+        this.minimoRequisicoes = minimoRequisicoes;
+        this.minimoExecucoes = minimoExecucoes;
+    }
+
+    /**
+     * Detector configurado pelas propriedades dog.api.desempenho.*
+     * @return novo detector
+     */
+    public static DetectorRegressao configurado() {
+        return new DetectorRegressao(
+                ConfiguracaoApi.propriedadeInteira(PROPRIEDADE_JANELA, 10),
+                Double.parseDouble(ConfiguracaoApi.propriedade(PROPRIEDADE_ALFA, "0.01")),
+                Double.parseDouble(ConfiguracaoApi.propriedade(PROPRIEDADE_TOLERANCIA_PERCENTUAL, "20")),
+                ConfiguracaoApi.propriedadeInteira(PROPRIEDADE_MINIMO_REQUISICOES, 5),
+                ConfiguracaoApi.propriedadeInteira(PROPRIEDADE_MINIMO_EXECUCOES, 3));
+    }
+
+    /**
+     * @param atual resumo do endpoint na execução atual
+     * @param historico execuções anteriores (de qualquer alvo e endpoint, da mais antiga para a mais recente)
+     * @return veredito com os números da comparação
+     */
+    public ComparacaoEndpoint comparar(ResumoEndpoint atual, List<ResumoEndpoint> historico) {
+        List<ResumoEndpoint> base = new ArrayList<>();
+        for (int i = historico.size() - 1; i >= 0 && base.size() < janela; i--) {
+            ResumoEndpoint anterior = historico.get(i);
+            if (anterior.getAlvo().equals(atual.getAlvo()) && anterior.getEndpoint().equals(atual.getEndpoint())
+                    && !anterior.getExecucao().equals(atual.getExecucao())) {
+                base.add(0, anterior);
+            }
+        }
+        Histogram somada = null;
+        for (ResumoEndpoint anterior : base) {
+            if (somada == null) {
+                somada = anterior.getHistograma().copy();
+            } else {
+                somada.add(anterior.getHistograma());
+            }
+        }
+        if (somada == null || base.size() < minimoExecucoes || somada.getTotalCount() < minimoRequisicoes
+                || atual.getRequisicoes() < minimoRequisicoes) {
+            return new ComparacaoEndpoint(atual, base, Situacao.SEM_BASE,
+                    somada == null ? Double.NaN : somada.getValueAtPercentile(50) / 1000.0,
+                    somada == null ? Double.NaN : somada.getValueAtPercentile(90) / 1000.0, Double.NaN, Double.NaN);
+        }
+
+        double z = MannWhitney.escoreZ(atual.getHistograma(), somada);
+        double valorPMaisLenta = MannWhitney.caudaSuperior(z);
+        double valorPMaisRapida = MannWhitney.caudaSuperior(-z);
+        double medianaBaseMs = somada.getValueAtPercentile(50) / 1000.0;
+        double variacao = medianaBaseMs > 0 ? (atual.percentilMs(50) - medianaBaseMs) * 100 / medianaBaseMs : 0;
+        Situacao situacao = Situacao.ESTAVEL;
+        if (valorPMaisLenta < alfa && variacao > toleranciaPercentual) {
+            situacao = Situacao.REGRESSAO;
+        } else if (valorPMaisRapida < alfa && variacao < -toleranciaPercentual) {
+            situacao = Situacao.MELHORA;
+        }
+        return new ComparacaoEndpoint(atual, base, situacao, medianaBaseMs, somada.getValueAtPercentile(90) / 1000.0,
+                valorPMaisLenta, valorPMaisRapida);
+    }
+
+    public double getAlfa() {
+        return alfa;
+    }
+
+    public double getToleranciaPercentual() {
+        return toleranciaPercentual;
+    }
+}
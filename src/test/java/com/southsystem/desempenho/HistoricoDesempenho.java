@@ -0,0 +1,147 @@
+package com.southsystem.desempenho;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.southsystem.config.ConfiguracaoApi;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Histórico local das execuções: um arquivo NDJSON com uma linha por endpoint por execução ({@link ResumoEndpoint})
+ *
+ * O arquivo fica fora de target para sobreviver ao mvn clean. Ao acrescentar uma execução, as mais antigas
+ * além de {@code maximoExecucoes} por alvo são descartadas, reescrevendo o arquivo num temporário que
+ * substitui o original de uma vez. Linhas ilegíveis (gravação interrompida, edição manual) são ignoradas na leitura
+ */
+public class HistoricoDesempenho {
+
+    public static final String PROPRIEDADE_ARQUIVO = "dog.api.desempenho.arquivo";
+    public static final String PROPRIEDADE_MAXIMO_EXECUCOES = "dog.api.desempenho.maxExecucoes";
+
+    private final ObjectMapper mapeador = new ObjectMapper();
+    private final Path arquivo;
+    private final int maximoExecucoes;
+    private int linhasIgnoradas;
+
+    /**
+     * @param arquivo arquivo NDJSON do histórico (criado na primeira gravação)
+     * @param maximoExecucoes execuções mantidas por alvo
+     */
+    public HistoricoDesempenho(Path arquivo, int maximoExecucoes) {
+        if (maximoExecucoes < 1) {
+            throw new IllegalArgumentException("maximoExecucoes deve ser positivo: " + maximoExecucoes);
+        }
+        this.arquivo = arquivo;
+        this.maximoExecucoes = maximoExecucoes;
+    }
+
+    /**
+     * Histórico configurado por dog.api.desempenho.arquivo e dog.api.desempenho.maxExecucoes
+     * @return novo histórico
+     */
+    public static HistoricoDesempenho configurado() {
+        return new HistoricoDesempenho(
+                Paths.get(ConfiguracaoApi.propriedade(PROPRIEDADE_ARQUIVO, "desempenho/historico.ndjson")),
+                ConfiguracaoApi.propriedadeInteira(PROPRIEDADE_MAXIMO_EXECUCOES, 60));
+    }
+
+    /**
+     * @return todos os resumos gravados, na ordem do arquivo (da execução mais antiga para a mais recente)
+     */
+    public List<ResumoEndpoint> carregar() {
+        linhasIgnoradas = 0;
+        if (!Files.exists(arquivo)) {
+            return new ArrayList<>();
+        }
+        List<ResumoEndpoint> resumos = new ArrayList<>();
+        try {
+            for (String linha : Files.readAllLines(arquivo, StandardCharsets.UTF_8)) {
+                if (linha.isBlank()) {
+                    continue;
+                }
+                try {
+                    resumos.add(ResumoEndpoint.deJson(mapeador.readTree(linha)));
+                } catch (JsonProcessingException | IllegalArgumentException e) {
+                    linhasIgnoradas++;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler o histórico de desempenho " + arquivo, e);
+        }
+        return resumos;
+    }
+
+    /**
+     * Grava os resumos de uma execução e descarta as execuções mais antigas do mesmo alvo além do limite
+     * @param execucao resumos de todos os endpoints da execução (mesmos execucao e alvo)
+     */
+    public void acrescentar(List<ResumoEndpoint> execucao) {
+        if (execucao.isEmpty()) {
+            return;
+        }
+        List<ResumoEndpoint> anteriores = carregar();
+        try {
+            if (arquivo.getParent() != null) {
+                Files.createDirectories(arquivo.getParent());
+            }
+            String alvo = execucao.get(0).getAlvo();
+            Set<String> execucoesDoAlvo = anteriores.stream()
+                    .filter(resumo -> resumo.getAlvo().equals(alvo))
+                    .map(ResumoEndpoint::getExecucao)
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+            if (execucoesDoAlvo.size() + 1 <= maximoExecucoes && linhasIgnoradas == 0) {
+                Files.writeString(arquivo, linhas(execucao), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                return;
+            }
+            Set<String> descartadas = execucoesDoAlvo.stream()
+                    .limit(Math.max(0, execucoesDoAlvo.size() + 1 - maximoExecucoes))
+                    .collect(Collectors.toSet());
+            List<ResumoEndpoint> mantidos = new ArrayList<>();
+            for (ResumoEndpoint resumo : anteriores) {
+                if (!(resumo.getAlvo().equals(alvo) && descartadas.contains(resumo.getExecucao()))) {
+                    mantidos.add(resumo);
+                }
+            }
+            mantidos.addAll(execucao);
+            Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+            Files.writeString(temporario, linhas(mantidos), StandardCharsets.UTF_8);
+            Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar o histórico de desempenho " + arquivo, e);
+        }
+    }
+
+    public Path getArquivo() {
+        return arquivo;
+    }
+
+    /**
+     * @return linhas descartadas por estarem ilegíveis na última leitura
+     */
+    public int getLinhasIgnoradas() {
+        return linhasIgnoradas;
+    }
+
+    private String linhas(List<ResumoEndpoint> resumos) throws JsonProcessingException {
+        StringBuilder texto = new StringBuilder();
+        for (ResumoEndpoint resumo : resumos) {
+            Map<String, Object> mapa = resumo.comoMapa();
+            texto.append(mapeador.writeValueAsString(mapa)).append('\n');
+        }
+        return texto.toString();
+    }
+}
@@ -0,0 +1,81 @@
+package com.southsystem.desempenho;
+
+import com.southsystem.aleatoriedade.QuiQuadrado;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Teste de Mann-Whitney (soma de postos) entre dois histogramas de latência
+ *
+ * Não supõe distribuição normal, o que importa para latências de cauda longa. Os postos são calculados
+ * direto das faixas do HdrHistogram: valores da mesma faixa contam como empate, com o posto médio e a
+ * correção de empates na variância. Para amostras a partir de algumas dezenas a estatística U é
+ * aproximada pela normal
+ */
+final class MannWhitney {
+
+    private MannWhitney() {
+        // Classe utilitária - não deve ser instanciada
+    }
+
+    /**
+     * @param atual tempos da execução atual
+     * @param base tempos da linha de base
+     * @return escore z de U da amostra atual (positivo quando a atual tende a ser mais lenta), ou 0 sem variância
+     */
+    static double escoreZ(Histogram atual, Histogram base) {
+        Map<Long, long[]> contagens = new TreeMap<>();
+        acumular(contagens, atual, 0);
+        acumular(contagens, base, 1);
+        double n1 = atual.getTotalCount();
+        double n2 = base.getTotalCount();
+        double n = n1 + n2;
+        if (n1 == 0 || n2 == 0) {
+            return 0;
+        }
+
+        double postosAtual = 0;
+        double somaEmpates = 0;
+        long posicao = 0;
+        for (long[] contagem : contagens.values()) {
+            long empatados = contagem[0] + contagem[1];
+            double postoMedio = posicao + (empatados + 1) / 2.0;
+            postosAtual += contagem[0] * postoMedio;
+            somaEmpates += (double) empatados * empatados * empatados - empatados;
+            posicao += empatados;
+        }
+        double u = postosAtual - n1 * (n1 + 1) / 2;
+        double media = n1 * n2 / 2;
+        double variancia = n1 * n2 / 12 * ((n + 1) - somaEmpates / (n * (n - 1)));
+        if (variancia <= 0) {
+            return 0;
+        }
+        double diferenca = u - media;
+        // Correção de continuidade: aproxima a distribuição discreta de U pela normal
+        double corrigida = Math.signum(diferenca) * Math.max(0, Math.abs(diferenca) - 0.5);
+        return corrigida / Math.sqrt(variancia);
+    }
+
+    /**
+     * @param z escore z
+     * @return P(Z >= z) da normal padrão
+     */
+    static double caudaSuperior(double z) {
+        if (z == 0) {
+            return 0.5;
+        }
+        // P(|Z| >= |z|) é o valor-p de uma qui-quadrado com 1 grau de liberdade em z²
+        double bicaudal = QuiQuadrado.valorP(z * z, 1);
+        return z > 0 ? bicaudal / 2 : 1 - bicaudal / 2;
+    }
+
+    private static void acumular(Map<Long, long[]> contagens, Histogram histograma, int indice) {
+        for (HistogramIterationValue faixa : histograma.recordedValues()) {
+            contagens.computeIfAbsent(histograma.highestEquivalentValue(faixa.getValueIteratedTo()), valor -> new long[2])
+                    [indice] += faixa.getCountAtValueIteratedTo();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.southsystem.desempenho;
+
+import com.southsystem.config.ConfiguracaoApi;
+import com.southsystem.desempenho.ComparacaoEndpoint.Situacao;
+import com.southsystem.transporte.EstatisticasCompressao;
+import com.southsystem.transporte.TransporteHttp;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Label;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StatusDetails;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.util.ResultsUtils;
+import org.HdrHistogram.Histogram;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Listener da plataforma JUnit que guarda o desempenho de cada execução e o compara com as anteriores
+ *
+ * Ao fim da suite, os histogramas de latência do servidor da suite viram um {@link ResumoEndpoint} por endpoint,
+ * comparados pelo {@link DetectorRegressao} com o {@link HistoricoDesempenho} e então acrescentados a ele.
+ * Cada endpoint vira um resultado do Allure (falho em regressão) com a tendência em CSV anexada; o historyId
+ * estável liga os resultados entre execuções no gráfico de histórico do relatório.
+ * Registrado em META-INF/services/org.junit.platform.launcher.TestExecutionListener
+ */
+public class RegistroDesempenho implements TestExecutionListener {
+
+    public static final String PROPRIEDADE_HABILITADO = "dog.api.desempenho.habilitado";
+
+    private static final String ALVO_LOCAL = "local";
+
+    /** Host e porta do servidor da suite; null se nenhum teste configurou o ambiente (ex.: cassete reproduzido) */
+    private static volatile String origem;
+    private static volatile String alvo;
+
+    private String execucao;
+
+    /**
+     * Define o servidor cujas requisições entram no histórico; as dos servidores dedicados de alguns testes ficam de fora
+     * @param urlBase URL base da suite
+     */
+    public static void acompanhar(String urlBase) {
+        origem = URI.create(urlBase).getAuthority();
+        alvo = ConfiguracaoApi.usarServidorLocal() ? ALVO_LOCAL : URI.create(urlBase).getHost();
+    }
+
+    /**
+     * @return true se o histórico de desempenho está habilitado (dog.api.desempenho.habilitado)
+     */
+    public static boolean habilitado() {
+        return Boolean.parseBoolean(ConfiguracaoApi.propriedade(PROPRIEDADE_HABILITADO, "true"));
+    }
+
+    @Override
+    public void testPlanExecutionStarted(TestPlan testPlan) {
+        execucao = Instant.now().truncatedTo(ChronoUnit.SECONDS).toString();
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        TransporteHttp transporte = TransporteHttp.compartilhadoSeCriado();
+        if (!habilitado() || origem == null || transporte == null) {
+            return;
+        }
+        List<ResumoEndpoint> atuais = resumir(transporte);
+        if (atuais.isEmpty()) {
+            return;
+        }
+
+        HistoricoDesempenho historico = HistoricoDesempenho.configurado();
+        DetectorRegressao detector = DetectorRegressao.configurado();
+        List<ComparacaoEndpoint> comparacoes = new ArrayList<>();
+        try {
+            List<ResumoEndpoint> anteriores = historico.carregar();
+            atuais.forEach(atual -> comparacoes.add(detector.comparar(atual, anteriores)));
+            historico.acrescentar(atuais);
+        } catch (RuntimeException e) {
+            System.err.println("⚠️ Não foi possível atualizar o histórico de desempenho: " + e.getMessage());
+            return;
+        }
+
+        imprimir(historico, comparacoes);
+        comparacoes.forEach(comparacao -> publicarNoAllure(comparacao, detector));
+    }
+
+    private List<ResumoEndpoint> resumir(TransporteHttp transporte) {
+        EstatisticasCompressao compressao = transporte.estatisticasCompressao();
+        List<ResumoEndpoint> resumos = new ArrayList<>();
+        for (Map.Entry<String, Histogram> entrada : transporte.histogramasLatencia().daOrigem(origem).entrySet()) {
+            String endpoint = entrada.getKey();
+            resumos.add(new ResumoEndpoint(execucao, alvo, endpoint, entrada.getValue(),
+                    compressao.getBytesTransferidos(endpoint), compressao.getBytesDecodificados(endpoint)));
+        }
+        return resumos;
+    }
+
+    private void imprimir(HistoricoDesempenho historico, List<ComparacaoEndpoint> comparacoes) {
+        Map<Situacao, Integer> porSituacao = new EnumMap<>(Situacao.class);
+        comparacoes.forEach(comparacao -> porSituacao.merge(comparacao.getSituacao(), 1, Integer::sum));
+
+        System.out.println("\n📈 DESEMPENHO (" + alvo + ", histórico em " + historico.getArquivo() + ")");
+        if (historico.getLinhasIgnoradas() > 0) {
+            System.out.println("   ⚠️ " + historico.getLinhasIgnoradas() + " linhas ilegíveis ignoradas no histórico");
+        }
+        comparacoes.forEach(comparacao -> System.out.println(
+                "   " + (comparacao.getSituacao() == Situacao.REGRESSAO ? "🔴 " : "   ") + comparacao.formatar()));
+        System.out.println("   " + porSituacao);
+        System.out.println();
+    }
+
+    /**
+     * Um resultado sintético por endpoint, fora de qualquer teste JUnit, com status conforme o veredito
+     */
+    private void publicarNoAllure(ComparacaoEndpoint comparacao, DetectorRegressao detector) {
+        AllureLifecycle ciclo = Allure.getLifecycle();
+        String uuid = UUID.randomUUID().toString();
+        String nome = "Desempenho " + comparacao.getEndpoint() + " (" + alvo + ")";
+        TestResult resultado = new TestResult()
+                .setUuid(uuid)
+                .setHistoryId("desempenho:" + alvo + ":" + comparacao.getEndpoint())
+                .setTestCaseId("desempenho:" + comparacao.getEndpoint())
+                .setFullName("com.southsystem.desempenho.RegistroDesempenho." + comparacao.getEndpoint())
+                .setName(nome)
+                .setStatus(status(comparacao.getSituacao()))
+                .setStatusDetails(new StatusDetails().setMessage(comparacao.formatar()))
+                .setLabels(new ArrayList<>(List.of(
+                        new Label().setName(ResultsUtils.EPIC_LABEL_NAME).setValue("Dog API"),
+                        new Label().setName(ResultsUtils.FEATURE_LABEL_NAME).setValue("Regressão de Desempenho"),
+                        new Label().setName(ResultsUtils.STORY_LABEL_NAME).setValue(comparacao.getEndpoint()),
+                        new Label().setName(ResultsUtils.SUITE_LABEL_NAME).setValue("Desempenho - " + alvo))));
+        resultado.setDescription(String.format(
+                "Mann-Whitney unilateral contra as últimas execuções (alfa %s, tolerância da mediana %s%%)",
+                detector.getAlfa(), detector.getToleranciaPercentual()));
+
+        ciclo.scheduleTestCase(resultado);
+        ciclo.startTestCase(uuid);
+        ciclo.addAttachment("Tendência - " + comparacao.getEndpoint(), "text/csv", ".csv",
+                comparacao.tendenciaCsv().getBytes(StandardCharsets.UTF_8));
+        ciclo.stopTestCase(uuid);
+        ciclo.writeTestCase(uuid);
+    }
+
+    private static Status status(Situacao situacao) {
+        switch (situacao) {
+            case REGRESSAO:
+                return Status.FAILED;
+            case SEM_BASE:
+                return Status.SKIPPED;
+            default:
+                return Status.PASSED;
+        }
+    }
+}
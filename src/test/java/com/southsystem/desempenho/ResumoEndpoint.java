@@ -0,0 +1,129 @@
+package com.southsystem.desempenho;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.HdrHistogram.Histogram;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+
+/**
+ * Resumo das requisições de um endpoint numa execução da suite: uma linha do {@link HistoricoDesempenho}
+ *
+ * Além dos percentis, guarda o histograma completo (microssegundos) no formato comprimido do HdrHistogram
+ * em base64, com algumas centenas de bytes, para que execuções futuras possam somar e comparar distribuições
+ */
+public class ResumoEndpoint {
+
+    private static final double MICROS_POR_MS = 1000.0;
+
+    private final String execucao;
+    private final String alvo;
+    private final String endpoint;
+    private final long bytesTransferidos;
+    private final long bytesDecodificados;
+    private final Histogram histograma;
+
+    /**
+     * @param execucao instante de início da execução (ISO-8601), igual para todos os endpoints da execução
+     * @param alvo servidor medido ("local" ou o host da API pública)
+     * @param endpoint método e caminho com placeholders (ex.: "GET /breeds/list/all")
+     * @param histograma tempos totais das requisições, em microssegundos
+     * @param bytesTransferidos bytes de corpo que trafegaram na conexão
+     * @param bytesDecodificados bytes de corpo após a descompressão
+     */
+    public ResumoEndpoint(String execucao, String alvo, String endpoint, Histogram histograma,
+                          long bytesTransferidos, long bytesDecodificados) {
+        this.execucao = execucao;
+        this.alvo = alvo;
+        this.endpoint = endpoint;
+        this.histograma = histograma;
+        this.bytesTransferidos = bytesTransferidos;
+        this.bytesDecodificados = bytesDecodificados;
+    }
+
+    /**
+     * @param linha objeto gravado por {@link #comoMapa()}
+     * @return resumo com o histograma decodificado
+     * @throws IllegalArgumentException se a linha não tiver os campos esperados ou o histograma estiver corrompido
+     */
+    static ResumoEndpoint deJson(JsonNode linha) {
+        if (!linha.hasNonNull("execucao") || !linha.hasNonNull("alvo") || !linha.hasNonNull("endpoint")
+                || !linha.hasNonNull("histograma")) {
+            throw new IllegalArgumentException("Linha sem os campos obrigatórios: " + linha);
+        }
+        try {
+            byte[] comprimido = Base64.getDecoder().decode(linha.get("histograma").asText());
+            Histogram histograma = Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(comprimido), 0);
+            return new ResumoEndpoint(linha.get("execucao").asText(), linha.get("alvo").asText(),
+                    linha.get("endpoint").asText(), histograma,
+                    linha.path("bytesTransferidos").asLong(), linha.path("bytesDecodificados").asLong());
+        } catch (DataFormatException | RuntimeException e) {
+            throw new IllegalArgumentException("Histograma corrompido em " + linha.get("endpoint").asText(), e);
+        }
+    }
+
+    public String getExecucao() {
+        return execucao;
+    }
+
+    public String getAlvo() {
+        return alvo;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public Histogram getHistograma() {
+        return histograma;
+    }
+
+    public long getRequisicoes() {
+        return histograma.getTotalCount();
+    }
+
+    public long getBytesTransferidos() {
+        return bytesTransferidos;
+    }
+
+    public long getBytesDecodificados() {
+        return bytesDecodificados;
+    }
+
+    /**
+     * @param percentil de 0 a 100
+     * @return tempo do percentil, em milissegundos
+     */
+    public double percentilMs(double percentil) {
+        return histograma.getValueAtPercentile(percentil) / MICROS_POR_MS;
+    }
+
+    /**
+     * @return campos da linha gravada, com os percentis legíveis e o histograma comprimido
+     */
+    public Map<String, Object> comoMapa() {
+        Map<String, Object> mapa = new LinkedHashMap<>();
+        mapa.put("execucao", execucao);
+        mapa.put("alvo", alvo);
+        mapa.put("endpoint", endpoint);
+        mapa.put("requisicoes", getRequisicoes());
+        mapa.put("p50Ms", percentilMs(50));
+        mapa.put("p90Ms", percentilMs(90));
+        mapa.put("p99Ms", percentilMs(99));
+        mapa.put("maximoMs", histograma.getMaxValue() / MICROS_POR_MS);
+        mapa.put("bytesTransferidos", bytesTransferidos);
+        mapa.put("bytesDecodificados", bytesDecodificados);
+        mapa.put("histograma", codificar(histograma));
+        return mapa;
+    }
+
+    private static String codificar(Histogram histograma) {
+        ByteBuffer buffer = ByteBuffer.allocate(histograma.getNeededByteBufferCapacity());
+        int tamanho = histograma.encodeIntoCompressedByteBuffer(buffer);
+        return Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), tamanho));
+    }
+}
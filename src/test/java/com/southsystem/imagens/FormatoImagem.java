@@ -0,0 +1,66 @@
+package com.southsystem.imagens;
+
+import java.util.Locale;
+
+/**
+ * Formatos de imagem reconhecidos pela assinatura (magic bytes) do início do arquivo
+ */
+public enum FormatoImagem {
+
+    JPEG(new int[]{0xFF, 0xD8, 0xFF}, ".jpg", ".jpeg"),
+    PNG(new int[]{0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'}, ".png"),
+    GIF(new int[]{'G', 'I', 'F', '8'}, ".gif");
+
+    /** Bytes do início do corpo necessários para reconhecer qualquer formato */
+    public static final int TAMANHO_ASSINATURA = 8;
+
+    private final int[] assinatura;
+    private final String[] extensoes;
+
+    FormatoImagem(int[] assinatura, String... extensoes) {
+        this.assinatura = assinatura;
+        this.extensoes = extensoes;
+    }
+
+    /**
+     * @param inicio primeiros bytes do corpo
+     * @param tamanho quantidade de bytes válidos em inicio
+     * @return formato cuja assinatura corresponde, ou null
+     */
+    public static FormatoImagem detectar(byte[] inicio, int tamanho) {
+        for (FormatoImagem formato : values()) {
+            if (formato.corresponde(inicio, tamanho)) {
+                return formato;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param url URL ou nome de arquivo
+     * @return formato indicado pela extensão, ou null se a extensão não for de imagem conhecida
+     */
+    public static FormatoImagem daExtensao(String url) {
+        String nome = url.toLowerCase(Locale.ROOT);
+        for (FormatoImagem formato : values()) {
+            for (String extensao : formato.extensoes) {
+                if (nome.endsWith(extensao)) {
+                    return formato;
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean corresponde(byte[] inicio, int tamanho) {
+        if (tamanho < assinatura.length) {
+            return false;
+        }
+        for (int posicao = 0; posicao < assinatura.length; posicao++) {
+            if ((inicio[posicao] & 0xFF) != assinatura[posicao]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,62 @@
+package com.southsystem.imagens;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Buffers diretos (fora do heap) de tamanho fixo, reaproveitados entre downloads
+ * Um buffer só é criado quando todos os existentes estão emprestados; com a concorrência limitada,
+ * o pool para de crescer no número de downloads simultâneos e o heap não varia com o tamanho das imagens
+ */
+public class PoolBuffersDiretos {
+
+    private final int tamanhoBuffer;
+    private final ConcurrentLinkedQueue<ByteBuffer> disponiveis = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger criados = new AtomicInteger();
+    private final AtomicInteger emprestados = new AtomicInteger();
+
+    /**
+     * @param tamanhoBuffer capacidade de cada buffer, em bytes
+     */
+    public PoolBuffersDiretos(int tamanhoBuffer) {
+        this.tamanhoBuffer = tamanhoBuffer;
+    }
+
+    /**
+     * @return buffer vazio, pronto para escrita; deve voltar ao pool por {@link #devolver}
+     */
+    public ByteBuffer emprestar() {
+        emprestados.incrementAndGet();
+        ByteBuffer buffer = disponiveis.poll();
+        if (buffer == null) {
+            criados.incrementAndGet();
+            return ByteBuffer.allocateDirect(tamanhoBuffer);
+        }
+        return buffer;
+    }
+
+    public void devolver(ByteBuffer buffer) {
+        buffer.clear();
+        disponiveis.offer(buffer);
+        emprestados.decrementAndGet();
+    }
+
+    /**
+     * @return buffers alocados desde a criação do pool
+     */
+    public int getCriados() {
+        return criados.get();
+    }
+
+    /**
+     * @return buffers em uso no momento
+     */
+    public int getEmprestados() {
+        return emprestados.get();
+    }
+
+    public int getTamanhoBuffer() {
+        return tamanhoBuffer;
+    }
+}
@@ -0,0 +1,233 @@
+package com.southsystem.imagens;
+
+import io.qameta.allure.Allure;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores de uma execução do {@link VerificadorImagens}
+ * Apenas totais e os primeiros exemplos de cada problema são mantidos, nunca os corpos
+ */
+public class ResultadoVerificacaoImagens {
+
+    /** Exemplos de imagens com problema guardados para o relatório */
+    private static final int MAXIMO_EXEMPLOS = 10;
+
+    /**
+     * Motivos pelos quais uma imagem é considerada inválida
+     */
+    public enum Problema {
+        /** Resposta diferente de 200 */
+        STATUS,
+        /** Content-Type que não é image/* */
+        TIPO_CONTEUDO,
+        /** Início do corpo sem assinatura de imagem conhecida */
+        ASSINATURA,
+        /** Assinatura de um formato diferente do indicado pela extensão da URL */
+        EXTENSAO,
+        /** Bytes recebidos diferentes do Content-Length declarado */
+        TAMANHO,
+        /** Falha de conexão, timeout ou corpo interrompido */
+        FALHA
+    }
+
+    private final Path diretorioGravacao;
+    private final int totalUrls;
+    private final LongAdder verificadas = new LongAdder();
+    private final LongAdder validas = new LongAdder();
+    private final LongAdder semContentLength = new LongAdder();
+    private final LongAdder bytesRecebidos = new LongAdder();
+    private final LongAdder bytesGravados = new LongAdder();
+    private final LongAdder esperaLimitadorNanos = new LongAdder();
+    private final Map<Problema, LongAdder> problemas = new EnumMap<>(Problema.class);
+    private final Map<FormatoImagem, LongAdder> formatos = new EnumMap<>(FormatoImagem.class);
+    private final Queue<String> exemplos = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger quantidadeExemplos = new AtomicInteger();
+    private final LongAccumulator maiorEmAndamento = new LongAccumulator(Math::max, 0);
+    private int buffersCriados;
+    private long duracaoNanos;
+
+    ResultadoVerificacaoImagens(Path diretorioGravacao, int totalUrls) {
+        this.diretorioGravacao = diretorioGravacao;
+        this.totalUrls = totalUrls;
+        for (Problema problema : Problema.values()) {
+            problemas.put(problema, new LongAdder());
+        }
+        for (FormatoImagem formato : FormatoImagem.values()) {
+            formatos.put(formato, new LongAdder());
+        }
+    }
+
+    void registrarValida(FormatoImagem formato, long bytes, long gravados, boolean contentLengthDeclarado) {
+        verificadas.increment();
+        validas.increment();
+        formatos.get(formato).increment();
+        registrarBytes(bytes, gravados, contentLengthDeclarado);
+    }
+
+    void registrarProblema(String url, Problema problema, String detalhe, long bytes, boolean contentLengthDeclarado) {
+        verificadas.increment();
+        problemas.get(problema).increment();
+        registrarBytes(bytes, 0, contentLengthDeclarado);
+        if (quantidadeExemplos.incrementAndGet() <= MAXIMO_EXEMPLOS) {
+            exemplos.add(problema + " " + url + " (" + detalhe + ")");
+        }
+    }
+
+    void registrarEspera(long esperaNanos) {
+        esperaLimitadorNanos.add(esperaNanos);
+    }
+
+    void registrarEmAndamento(int emAndamento) {
+        maiorEmAndamento.accumulate(emAndamento);
+    }
+
+    void finalizar(long duracaoNanos, int buffersCriados) {
+        this.duracaoNanos = duracaoNanos;
+        this.buffersCriados = buffersCriados;
+    }
+
+    private void registrarBytes(long bytes, long gravados, boolean contentLengthDeclarado) {
+        bytesRecebidos.add(bytes);
+        bytesGravados.add(gravados);
+        if (!contentLengthDeclarado) {
+            semContentLength.increment();
+        }
+    }
+
+    public int getTotalUrls() {
+        return totalUrls;
+    }
+
+    public long getVerificadas() {
+        return verificadas.sum();
+    }
+
+    public long getValidas() {
+        return validas.sum();
+    }
+
+    /**
+     * @return imagens verificadas com algum problema
+     */
+    public long getInvalidas() {
+        return getVerificadas() - getValidas();
+    }
+
+    public long getProblemas(Problema problema) {
+        return problemas.get(problema).sum();
+    }
+
+    public long getFormato(FormatoImagem formato) {
+        return formatos.get(formato).sum();
+    }
+
+    /**
+     * @return respostas sem Content-Length (o tamanho não pôde ser conferido)
+     */
+    public long getSemContentLength() {
+        return semContentLength.sum();
+    }
+
+    public long getBytesRecebidos() {
+        return bytesRecebidos.sum();
+    }
+
+    /**
+     * @return bytes gravados em disco (zero sem diretório de gravação)
+     */
+    public long getBytesGravados() {
+        return bytesGravados.sum();
+    }
+
+    /**
+     * @return diretório onde as imagens válidas foram gravadas, ou null
+     */
+    public Path getDiretorioGravacao() {
+        return diretorioGravacao;
+    }
+
+    /**
+     * @return maior número de downloads simultâneos
+     */
+    public long getMaiorEmAndamento() {
+        return maiorEmAndamento.get();
+    }
+
+    /**
+     * @return buffers diretos alocados pelo pool até o fim da execução
+     */
+    public int getBuffersCriados() {
+        return buffersCriados;
+    }
+
+    /**
+     * @return primeiros exemplos de imagens com problema, no formato "PROBLEMA url (detalhe)"
+     */
+    public List<String> getExemplos() {
+        return new ArrayList<>(exemplos);
+    }
+
+    public long getDuracaoMs() {
+        return TimeUnit.NANOSECONDS.toMillis(duracaoNanos);
+    }
+
+    /**
+     * @return totais e contagens por problema e por formato
+     */
+    public Map<String, Object> comoMapa() {
+        Map<String, Object> mapa = new LinkedHashMap<>();
+        mapa.put("urls", totalUrls);
+        mapa.put("verificadas", getVerificadas());
+        mapa.put("validas", getValidas());
+        problemas.forEach((problema, quantidade) -> mapa.put("problema." + problema.name().toLowerCase(), quantidade.sum()));
+        formatos.forEach((formato, quantidade) -> mapa.put("formato." + formato.name().toLowerCase(), quantidade.sum()));
+        mapa.put("semContentLength", getSemContentLength());
+        mapa.put("bytesRecebidos", getBytesRecebidos());
+        mapa.put("bytesGravados", getBytesGravados());
+        mapa.put("maiorEmAndamento", getMaiorEmAndamento());
+        mapa.put("buffersCriados", buffersCriados);
+        mapa.put("duracaoMs", getDuracaoMs());
+        return mapa;
+    }
+
+    /**
+     * @return resumo de uma linha por métrica
+     */
+    public String formatarResumo() {
+        double segundos = duracaoNanos / 1e9;
+        StringBuilder resumo = new StringBuilder(String.format(
+                "Imagens: %d (verificadas %d, válidas %d, inválidas %d)%n"
+                        + "Problemas: %s%n"
+                        + "Bytes: %d recebidos, %d gravados | sem Content-Length %d%n"
+                        + "Duração: %dms | vazão %.1f imagens/s, %.1f MB/s | concorrência máxima %d | buffers diretos %d"
+                        + " | espera no limitador %dms",
+                totalUrls, getVerificadas(), getValidas(), getInvalidas(),
+                problemas,
+                getBytesRecebidos(), getBytesGravados(), getSemContentLength(),
+                getDuracaoMs(), segundos == 0 ? 0 : getVerificadas() / segundos,
+                segundos == 0 ? 0 : getBytesRecebidos() / segundos / (1024 * 1024), getMaiorEmAndamento(), buffersCriados,
+                TimeUnit.NANOSECONDS.toMillis(esperaLimitadorNanos.sum())));
+        exemplos.forEach(exemplo -> resumo.append(System.lineSeparator()).append("  ").append(exemplo));
+        return resumo.toString();
+    }
+
+    /**
+     * Anexa o resumo ao teste em execução no Allure
+     */
+    public void anexarAoRelatorio() {
+        Allure.addAttachment("Verificação de imagens", "text/plain", formatarResumo()
+                + (diretorioGravacao == null ? "" : "\nDiretório: " + diretorioGravacao));
+    }
+}
@@ -0,0 +1,393 @@
+package com.southsystem.imagens;
+
+import com.southsystem.config.ConfiguracaoApi;
+import com.southsystem.imagens.ResultadoVerificacaoImagens.Problema;
+import com.southsystem.resiliencia.LimitadorTaxa;
+import com.southsystem.transporte.TimeoutsEndpoint;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Baixa as imagens de uma lista de URLs (de RespostaImagensRaca ou dos endpoints aleatórios) e confere
+ * cada uma: status 200, Content-Type image/*, assinatura (magic bytes) compatível com a extensão da URL
+ * e quantidade de bytes igual ao Content-Length declarado
+ *
+ * Os downloads são assíncronos, com no máximo {@code concorrencia} em andamento (semáforo) e taxa por host
+ * limitada pelo {@link LimitadorTaxa}. O corpo é inspecionado conforme chega, sem ser acumulado: só os
+ * primeiros bytes são copiados para conferir a assinatura. Com diretório de gravação, as imagens válidas
+ * vão para o disco por {@link FileChannel}, passando por buffers diretos de um {@link PoolBuffersDiretos};
+ * o heap usado não depende do tamanho nem da quantidade de imagens
+ *
+ * As URLs de um host podem ser redirecionadas para outro ({@link #redirecionando}), por exemplo de
+ * https://images.dog.ceo/breeds para as imagens sintéticas do servidor local
+ */
+public class VerificadorImagens {
+
+    public static final String PROPRIEDADE_CONCORRENCIA = "dog.api.imagens.concorrencia";
+    public static final String PROPRIEDADE_REQUISICOES_POR_SEGUNDO = "dog.api.imagens.requisicoesPorSegundo";
+    public static final String PROPRIEDADE_DIRETORIO = "dog.api.imagens.diretorio";
+
+    /** Endpoint usado para os timeouts (dog.api.timeout.*./breeds/{diretorio}/{arquivo}) */
+    public static final String ENDPOINT_IMAGEM = "/breeds/{diretorio}/{arquivo}";
+
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+
+    private final int concorrencia;
+    private final LimitadorTaxa limitador;
+    private final Path diretorioGravacao;
+    private final String hostOriginal;
+    private final String hostSubstituto;
+    private final PoolBuffersDiretos buffers;
+    private final HttpClient cliente;
+    private final Duration timeoutLeitura;
+
+    /**
+     * @param concorrencia máximo de downloads simultâneos
+     * @param limitador limite de requisições por segundo por host
+     * @param diretorioGravacao diretório onde as imagens válidas são gravadas (null apenas verifica)
+     */
+    public VerificadorImagens(int concorrencia, LimitadorTaxa limitador, Path diretorioGravacao) {
+        if (concorrencia < 1) {
+            throw new IllegalArgumentException("concorrencia deve ser positiva: " + concorrencia);
+        }
+        TimeoutsEndpoint timeouts = TimeoutsEndpoint.configurados();
+        this.concorrencia = concorrencia;
+        this.limitador = limitador;
+        this.diretorioGravacao = diretorioGravacao;
+        this.hostOriginal = null;
+        this.hostSubstituto = null;
+        this.buffers = new PoolBuffersDiretos(TAMANHO_BUFFER);
+        this.cliente = HttpClient.newBuilder()
+                .connectTimeout(timeouts.conexao(ENDPOINT_IMAGEM))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        this.timeoutLeitura = timeouts.leitura(ENDPOINT_IMAGEM);
+    }
+
+    private VerificadorImagens(VerificadorImagens origem, String hostOriginal, String hostSubstituto) {
+        this.concorrencia = origem.concorrencia;
+        this.limitador = origem.limitador;
+        this.diretorioGravacao = origem.diretorioGravacao;
+        this.hostOriginal = hostOriginal;
+        this.hostSubstituto = hostSubstituto;
+        this.buffers = origem.buffers;
+        this.cliente = origem.cliente;
+        this.timeoutLeitura = origem.timeoutLeitura;
+    }
+
+    /**
+     * Verificador dimensionado pelas propriedades dog.api.imagens.* (diretório vazio apenas verifica)
+     * @return novo verificador
+     */
+    public static VerificadorImagens configurado() {
+        String diretorio = ConfiguracaoApi.propriedade(PROPRIEDADE_DIRETORIO, "").trim();
+        return new VerificadorImagens(
+                ConfiguracaoApi.propriedadeInteira(PROPRIEDADE_CONCORRENCIA, 8),
+                new LimitadorTaxa(Double.parseDouble(ConfiguracaoApi.propriedade(PROPRIEDADE_REQUISICOES_POR_SEGUNDO, "50")), 1),
+                diretorio.isEmpty() ? null : Paths.get(diretorio));
+    }
+
+    /**
+     * Cópia deste verificador que baixa as URLs iniciadas por hostOriginal a partir de hostSubstituto
+     * @param hostOriginal início das URLs a redirecionar (ex.: https://images.dog.ceo/breeds)
+     * @param hostSubstituto início que o substitui (ex.: http://localhost:8080/breeds)
+     * @return novo verificador, com o mesmo cliente HTTP e o mesmo pool de buffers
+     */
+    public VerificadorImagens redirecionando(String hostOriginal, String hostSubstituto) {
+        return new VerificadorImagens(this, hostOriginal, hostSubstituto);
+    }
+
+    /**
+     * Baixa e confere todas as URLs, retornando quando a última terminar
+     * @param urls URLs de imagem, na ordem em que serão requisitadas
+     * @return totais da verificação
+     */
+    public ResultadoVerificacaoImagens verificar(Collection<String> urls) {
+        ResultadoVerificacaoImagens resultado = new ResultadoVerificacaoImagens(diretorioGravacao, urls.size());
+        Semaphore vagas = new Semaphore(concorrencia);
+        CountDownLatch pendentes = new CountDownLatch(urls.size());
+        AtomicInteger emAndamento = new AtomicInteger();
+        long inicio = System.nanoTime();
+        for (String url : urls) {
+            vagas.acquireUninterruptibly();
+            resultado.registrarEmAndamento(emAndamento.incrementAndGet());
+            baixar(url, resultado).whenComplete((nada, erro) -> {
+                emAndamento.decrementAndGet();
+                vagas.release();
+                pendentes.countDown();
+            });
+        }
+        aguardarTermino(pendentes);
+        resultado.finalizar(System.nanoTime() - inicio, buffers.getCriados());
+        return resultado;
+    }
+
+    /**
+     * @return pool de buffers diretos usado na gravação
+     */
+    public PoolBuffersDiretos getBuffers() {
+        return buffers;
+    }
+
+    private CompletableFuture<Void> baixar(String url, ResultadoVerificacaoImagens resultado) {
+        HttpRequest requisicao;
+        try {
+            String destino = destino(url);
+            resultado.registrarEspera(limitador.aguardar(LimitadorTaxa.hostDe(destino)));
+            // Imagens já são comprimidas: o Content-Length declarado deve ser o tamanho da imagem
+            requisicao = HttpRequest.newBuilder(URI.create(destino))
+                    .timeout(timeoutLeitura)
+                    .header("Accept-Encoding", "identity")
+                    .GET()
+                    .build();
+        } catch (RuntimeException e) {
+            resultado.registrarProblema(url, Problema.FALHA, "URL inválida: " + e.getMessage(), 0, true);
+            return CompletableFuture.completedFuture(null);
+        }
+        return cliente.sendAsync(requisicao, informacoes -> assinante(url, informacoes, resultado))
+                .handle((resposta, erro) -> {
+                    if (erro != null) {
+                        Throwable causa = erro instanceof CompletionException && erro.getCause() != null ? erro.getCause() : erro;
+                        resultado.registrarProblema(url, Problema.FALHA, causa.getClass().getSimpleName() + ": " + causa.getMessage(), 0, true);
+                    }
+                    return null;
+                });
+    }
+
+    private HttpResponse.BodySubscriber<Void> assinante(String url, HttpResponse.ResponseInfo informacoes,
+                                                        ResultadoVerificacaoImagens resultado) {
+        long declarado = informacoes.headers().firstValueAsLong("Content-Length").orElse(-1);
+        if (informacoes.statusCode() != 200) {
+            return HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.discarding(), nada -> {
+                resultado.registrarProblema(url, Problema.STATUS, "HTTP " + informacoes.statusCode(), 0, declarado >= 0);
+                return null;
+            });
+        }
+        String tipoConteudo = informacoes.headers().firstValue("Content-Type").orElse("");
+        return new AssinanteImagem(url, tipoConteudo, declarado, resultado);
+    }
+
+    private String destino(String url) {
+        if (url == null) {
+            throw new IllegalArgumentException("URL nula");
+        }
+        return hostOriginal != null && url.startsWith(hostOriginal) ? hostSubstituto + url.substring(hostOriginal.length()) : url;
+    }
+
+    /**
+     * Arquivo de gravação com o caminho da URL original (ex.: breeds/hound-afghan/n02088094_1003.jpg)
+     */
+    private Path arquivoGravacao(String url) {
+        Path arquivo = diretorioGravacao.resolve(URI.create(url).getPath().replaceFirst("^/+", "")).normalize();
+        if (!arquivo.startsWith(diretorioGravacao.normalize())) {
+            throw new IllegalArgumentException("Caminho fora do diretório de gravação: " + url);
+        }
+        return arquivo;
+    }
+
+    private void aguardarTermino(CountDownLatch pendentes) {
+        try {
+            if (!pendentes.await(10, TimeUnit.MINUTES)) {
+                throw new IllegalStateException("Verificação de imagens não terminou em 10 minutos ("
+                        + pendentes.getCount() + " pendentes)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Verificação de imagens interrompida", e);
+        }
+    }
+
+    /**
+     * Recebe o corpo de uma imagem em partes, sem acumulá-lo: guarda os primeiros bytes para a assinatura,
+     * conta o total e, gravando, passa as partes pelo buffer direto emprestado até o {@link FileChannel}.
+     * Pede uma parte de cada vez, de modo que a rede espera o disco
+     */
+    private final class AssinanteImagem implements HttpResponse.BodySubscriber<Void> {
+
+        private final String url;
+        private final String tipoConteudo;
+        private final long declarado;
+        private final ResultadoVerificacaoImagens resultado;
+        private final CompletableFuture<Void> concluido = new CompletableFuture<>();
+        private final byte[] inicio = new byte[FormatoImagem.TAMANHO_ASSINATURA];
+        private int tamanhoInicio;
+        private long bytes;
+        private Flow.Subscription assinatura;
+        private Path arquivo;
+        private FileChannel canal;
+        private ByteBuffer buffer;
+
+        private AssinanteImagem(String url, String tipoConteudo, long declarado, ResultadoVerificacaoImagens resultado) {
+            this.url = url;
+            this.tipoConteudo = tipoConteudo;
+            this.declarado = declarado;
+            this.resultado = resultado;
+        }
+
+        @Override
+        public CompletionStage<Void> getBody() {
+            return concluido;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription assinatura) {
+            this.assinatura = assinatura;
+            try {
+                if (diretorioGravacao != null) {
+                    arquivo = arquivoGravacao(url);
+                    Files.createDirectories(arquivo.getParent());
+                    canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                            StandardOpenOption.WRITE);
+                    buffer = buffers.emprestar();
+                }
+            } catch (IOException | RuntimeException e) {
+                assinatura.cancel();
+                falhar(e);
+                return;
+            }
+            assinatura.request(1);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> partes) {
+            try {
+                for (ByteBuffer parte : partes) {
+                    consumir(parte);
+                }
+            } catch (IOException e) {
+                assinatura.cancel();
+                falhar(e);
+                return;
+            }
+            assinatura.request(1);
+        }
+
+        @Override
+        public void onError(Throwable erro) {
+            falhar(erro);
+        }
+
+        @Override
+        public void onComplete() {
+            try {
+                if (canal != null) {
+                    descarregar();
+                }
+            } catch (IOException e) {
+                falhar(e);
+                return;
+            }
+            avaliar();
+            concluido.complete(null);
+        }
+
+        private void consumir(ByteBuffer parte) throws IOException {
+            for (int posicao = parte.position(); tamanhoInicio < inicio.length && posicao < parte.limit(); posicao++) {
+                inicio[tamanhoInicio++] = parte.get(posicao);
+            }
+            bytes += parte.remaining();
+            if (canal == null) {
+                return;
+            }
+            if (parte.isDirect()) {
+                // Já está fora do heap: vai direto para o arquivo, depois do que estava no buffer
+                descarregar();
+                while (parte.hasRemaining()) {
+                    canal.write(parte);
+                }
+                return;
+            }
+            while (parte.hasRemaining()) {
+                if (!buffer.hasRemaining()) {
+                    descarregar();
+                }
+                int limite = parte.limit();
+                parte.limit(parte.position() + Math.min(parte.remaining(), buffer.remaining()));
+                buffer.put(parte);
+                parte.limit(limite);
+            }
+        }
+
+        private void descarregar() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                canal.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        private void avaliar() {
+            FormatoImagem detectado = FormatoImagem.detectar(inicio, tamanhoInicio);
+            FormatoImagem esperado = FormatoImagem.daExtensao(url);
+            Problema problema = null;
+            String detalhe = null;
+            if (declarado >= 0 && declarado != bytes) {
+                problema = Problema.TAMANHO;
+                detalhe = "Content-Length " + declarado + ", recebidos " + bytes;
+            } else if (!tipoConteudo.startsWith("image/")) {
+                problema = Problema.TIPO_CONTEUDO;
+                detalhe = "Content-Type '" + tipoConteudo + "'";
+            } else if (detectado == null) {
+                problema = Problema.ASSINATURA;
+                detalhe = "início " + HexFormat.of().formatHex(inicio, 0, tamanhoInicio);
+            } else if (esperado != null && esperado != detectado) {
+                problema = Problema.EXTENSAO;
+                detalhe = detectado + " em URL de " + esperado;
+            }
+            boolean valida = problema == null;
+            liberar(!valida);
+            if (valida) {
+                resultado.registrarValida(detectado, bytes, canal == null ? 0 : bytes, declarado >= 0);
+            } else {
+                resultado.registrarProblema(url, problema, detalhe, bytes, declarado >= 0);
+            }
+        }
+
+        private void falhar(Throwable erro) {
+            liberar(true);
+            concluido.completeExceptionally(erro);
+        }
+
+        /**
+         * Fecha o arquivo (apagando-o se a imagem não serve) e devolve o buffer ao pool, uma única vez
+         */
+        private void liberar(boolean apagar) {
+            if (buffer != null) {
+                buffers.devolver(buffer);
+                buffer = null;
+            }
+            if (canal != null) {
+                try {
+                    canal.close();
+                    if (apagar) {
+                        Files.deleteIfExists(arquivo);
+                    }
+                } catch (IOException e) {
+                    // Arquivo parcial fica para trás; a imagem já foi contada como inválida
+                }
+            }
+        }
+    }
+}
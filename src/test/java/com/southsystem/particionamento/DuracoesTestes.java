@@ -0,0 +1,127 @@
+package com.southsystem.particionamento;
+
+import com.southsystem.config.ConfiguracaoApi;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Duração registrada de cada método de teste, em milissegundos, num arquivo texto "Classe#metodo=ms"
+ *
+ * Cada execução atualiza a média móvel exponencial dos testes que rodou e mantém os demais, de modo que
+ * partições que rodam subconjuntos diferentes completam o registro juntas. A atualização é feita sob um
+ * bloqueio do arquivo, já que as partições de uma mesma máquina terminam em JVMs diferentes
+ */
+public class DuracoesTestes {
+
+    public static final String PROPRIEDADE_ARQUIVO = "dog.api.duracoes.arquivo";
+    public static final String PROPRIEDADE_PESO = "dog.api.duracoes.pesoUltimaExecucao";
+
+    private final Path arquivo;
+    private final double peso;
+
+    /**
+     * @param arquivo arquivo das durações (criado na primeira gravação)
+     * @param peso peso da execução atual na média móvel, de 0 (exclusivo) a 1 (só a última execução)
+     */
+    public DuracoesTestes(Path arquivo, double peso) {
+        if (peso <= 0 || peso > 1) {
+            throw new IllegalArgumentException("peso deve estar em (0, 1]: " + peso);
+        }
+        this.arquivo = arquivo;
+        this.peso = peso;
+    }
+
+    /**
+     * Durações configuradas por dog.api.duracoes.arquivo e dog.api.duracoes.pesoUltimaExecucao
+     * @return novo registro de durações
+     */
+    public static DuracoesTestes configurado() {
+        return new DuracoesTestes(
+                Paths.get(ConfiguracaoApi.propriedade(PROPRIEDADE_ARQUIVO, "desempenho/duracoes.properties")),
+                Double.parseDouble(ConfiguracaoApi.propriedade(PROPRIEDADE_PESO, "0.5")));
+    }
+
+    /**
+     * @return duração em ms por teste ("Classe#metodo"); vazio se o arquivo não existe
+     */
+    public Map<String, Double> carregar() {
+        if (!Files.exists(arquivo)) {
+            return new TreeMap<>();
+        }
+        try {
+            return interpretar(Files.readString(arquivo, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler as durações dos testes " + arquivo, e);
+        }
+    }
+
+    /**
+     * Combina as durações medidas nesta execução com as registradas e regrava o arquivo
+     * @param medidas duração em ms por teste ("Classe#metodo")
+     */
+    public void atualizar(Map<String, Double> medidas) {
+        if (medidas.isEmpty()) {
+            return;
+        }
+        try {
+            if (arquivo.getParent() != null) {
+                Files.createDirectories(arquivo.getParent());
+            }
+            try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+                // A trava é liberada quando o canal é fechado
+                canal.lock();
+                ByteBuffer conteudo = ByteBuffer.allocate((int) canal.size());
+                while (conteudo.hasRemaining()) {
+                    if (canal.read(conteudo) < 0) {
+                        break;
+                    }
+                }
+                Map<String, Double> duracoes = interpretar(new String(conteudo.array(), StandardCharsets.UTF_8));
+                medidas.forEach((teste, ms) -> duracoes.merge(teste, ms, (anterior, atual) -> anterior * (1 - peso) + atual * peso));
+
+                canal.truncate(0);
+                canal.write(ByteBuffer.wrap(formatar(duracoes).getBytes(StandardCharsets.UTF_8)), 0);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar as durações dos testes " + arquivo, e);
+        }
+    }
+
+    public Path getArquivo() {
+        return arquivo;
+    }
+
+    private static Map<String, Double> interpretar(String texto) {
+        Map<String, Double> duracoes = new TreeMap<>();
+        for (String linha : texto.split("\n")) {
+            int separador = linha.lastIndexOf('=');
+            if (linha.isBlank() || linha.startsWith("#") || separador <= 0) {
+                continue;
+            }
+            try {
+                duracoes.put(linha.substring(0, separador).trim(), Double.parseDouble(linha.substring(separador + 1).trim()));
+            } catch (NumberFormatException e) {
+                // Linha editada à mão: o teste volta a ser estimado até a próxima medição
+            }
+        }
+        return duracoes;
+    }
+
+    private static String formatar(Map<String, Double> duracoes) {
+        StringBuilder texto = new StringBuilder("# Duração média (ms) de cada teste, atualizada ao fim de cada execução\n");
+        duracoes.forEach((teste, ms) -> texto.append(teste).append('=').append(String.format(Locale.ROOT, "%.1f", ms)).append('\n'));
+        return texto.toString();
+    }
+}
@@ -0,0 +1,93 @@
+package com.southsystem.particionamento;
+
+import com.southsystem.config.ConfiguracaoApi;
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+
+import java.nio.file.Paths;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Filtro da plataforma JUnit que mantém só os testes da partição dog.api.particao.indice de dog.api.particao.total
+ *
+ * O plano é montado na primeira chamada a partir de todos os métodos descobertos e das durações registradas;
+ * como o {@link PlanejadorParticoes} é determinístico, cada partição (JVM ou máquina) chega ao mesmo plano sem
+ * coordenação, desde que leia as mesmas durações (dog.api.particao.duracoes fixa uma cópia para todas).
+ * Contêineres que ficam sem testes são removidos pelo próprio JUnit. Sem dog.api.particao.total (ou com 1), nada é filtrado.
+ * Registrado em META-INF/services/org.junit.platform.launcher.PostDiscoveryFilter
+ */
+public class FiltroParticao implements PostDiscoveryFilter {
+
+    public static final String PROPRIEDADE_TOTAL = "dog.api.particao.total";
+    public static final String PROPRIEDADE_INDICE = "dog.api.particao.indice";
+    public static final String PROPRIEDADE_DURACOES = "dog.api.particao.duracoes";
+
+    private final int total;
+    private final int indice;
+    private TestDescriptor raizPlanejada;
+    private PlanoParticoes plano;
+
+    public FiltroParticao() {
+        this(ConfiguracaoApi.propriedadeInteira(PROPRIEDADE_TOTAL, 1), ConfiguracaoApi.propriedadeInteira(PROPRIEDADE_INDICE, 0));
+    }
+
+    /**
+     * @param total quantidade de partições
+     * @param indice partição mantida, de 0 a total - 1
+     */
+    public FiltroParticao(int total, int indice) {
+        if (total < 1 || indice < 0 || indice >= total) {
+            throw new IllegalArgumentException("Partição inválida: índice " + indice + " de " + total);
+        }
+        this.total = total;
+        this.indice = indice;
+    }
+
+    /**
+     * @return durações usadas no planejamento: a cópia de dog.api.particao.duracoes, se definida, ou o registro atual
+     */
+    public static DuracoesTestes duracoesDoPlano() {
+        String copia = ConfiguracaoApi.propriedade(PROPRIEDADE_DURACOES, "");
+        return copia.isBlank() ? DuracoesTestes.configurado() : new DuracoesTestes(Paths.get(copia), 1);
+    }
+
+    @Override
+    public FilterResult apply(TestDescriptor descritor) {
+        if (total == 1) {
+            return FilterResult.included("sem particionamento");
+        }
+        if (!(descritor.getSource().orElse(null) instanceof MethodSource)) {
+            return FilterResult.included("contêiner");
+        }
+        String teste = RegistroDuracoes.chave((MethodSource) descritor.getSource().get());
+        int particao = planoPara(descritor).particaoDe(teste);
+        // Testes dinâmicos ou aninhados em outro método não estão no plano; seguem o método que os declara
+        return particao == indice || particao < 0
+                ? FilterResult.included("partição " + indice + " de " + total)
+                : FilterResult.excluded("partição " + particao + " de " + total);
+    }
+
+    private synchronized PlanoParticoes planoPara(TestDescriptor descritor) {
+        TestDescriptor raiz = descritor;
+        while (raiz.getParent().isPresent()) {
+            raiz = raiz.getParent().get();
+        }
+        if (raiz != raizPlanejada) {
+            Set<String> testes = new TreeSet<>();
+            for (TestDescriptor descendente : raiz.getDescendants()) {
+                descendente.getSource()
+                        .filter(MethodSource.class::isInstance)
+                        .map(fonte -> RegistroDuracoes.chave((MethodSource) fonte))
+                        .ifPresent(testes::add);
+            }
+            plano = PlanejadorParticoes.planejar(testes, duracoesDoPlano().carregar(), total);
+            raizPlanejada = raiz;
+            System.out.println("🧩 Partição " + indice + " de " + total + ": " + plano.getTestes(indice).size() + " de "
+                    + testes.size() + " testes, carga estimada " + String.format("%.1fs", plano.getCargaMs(indice) / 1000));
+        }
+        return plano;
+    }
+}
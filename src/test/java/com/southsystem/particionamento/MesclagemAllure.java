@@ -0,0 +1,187 @@
+package com.southsystem.particionamento;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Junta os diretórios allure-results das partições num só, para um único relatório
+ *
+ * Resultados, contêineres e anexos têm nomes com UUID e são copiados como estão; o environment.properties de
+ * cada partição é concatenado sob um cabeçalho com o número dela, e categories.json e executor.json ficam com a
+ * primeira partição que os tiver. Subdiretórios (como um relatório gerado dentro dos resultados) são ignorados,
+ * exceto history, que alimenta as tendências do relatório
+ */
+public class MesclagemAllure {
+
+    private static final String AMBIENTE = "environment.properties";
+    private static final String HISTORICO = "history";
+    /** Arquivos da execução como um todo: vale o da primeira partição */
+    private static final Set<String> UNICOS = Set.of("categories.json", "executor.json");
+
+    private final ObjectMapper mapeador = new ObjectMapper();
+
+    /**
+     * Números de uma partição lidos dos seus resultados
+     */
+    public static class ResumoParticao {
+        private final Path origem;
+        private final int resultados;
+        private final int falhos;
+        private final long inicioMs;
+        private final long fimMs;
+        private final int arquivos;
+
+        ResumoParticao(Path origem, int resultados, int falhos, long inicioMs, long fimMs, int arquivos) {
+            this.origem = origem;
+            this.resultados = resultados;
+            this.falhos = falhos;
+            this.inicioMs = inicioMs;
+            this.fimMs = fimMs;
+            this.arquivos = arquivos;
+        }
+
+        public Path getOrigem() {
+            return origem;
+        }
+
+        public int getResultados() {
+            return resultados;
+        }
+
+        /**
+         * @return resultados com status failed ou broken
+         */
+        public int getFalhos() {
+            return falhos;
+        }
+
+        /**
+         * @return do início do primeiro teste ao fim do último, em ms (0 sem resultados)
+         */
+        public long getDuracaoMs() {
+            return resultados == 0 ? 0 : fimMs - inicioMs;
+        }
+
+        public int getArquivos() {
+            return arquivos;
+        }
+    }
+
+    /**
+     * @param destino diretório allure-results final (criado se preciso)
+     * @param origens diretórios allure-results das partições, na ordem das partições
+     * @return resumo de cada partição, na mesma ordem
+     */
+    public List<ResumoParticao> mesclar(Path destino, List<Path> origens) {
+        List<ResumoParticao> resumos = new ArrayList<>();
+        try {
+            Files.createDirectories(destino);
+            for (int i = 0; i < origens.size(); i++) {
+                resumos.add(copiar(origens.get(i), destino, i));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao mesclar os resultados do Allure em " + destino, e);
+        }
+        return resumos;
+    }
+
+    private ResumoParticao copiar(Path origem, Path destino, int particao) throws IOException {
+        int resultados = 0;
+        int falhos = 0;
+        int arquivos = 0;
+        long inicio = Long.MAX_VALUE;
+        long fim = Long.MIN_VALUE;
+        List<Path> entradas;
+        try (Stream<Path> listagem = Files.list(origem)) {
+            entradas = listagem.sorted().toList();
+        }
+        for (Path entrada : entradas) {
+            String nome = entrada.getFileName().toString();
+            if (Files.isDirectory(entrada)) {
+                if (nome.equals(HISTORICO) && !Files.exists(destino.resolve(HISTORICO))) {
+                    copiarDiretorio(entrada, destino.resolve(HISTORICO));
+                }
+                continue;
+            }
+            if (nome.equals(AMBIENTE)) {
+                Files.writeString(destino.resolve(AMBIENTE), "\n# Partição " + particao + "\n" + Files.readString(entrada, StandardCharsets.UTF_8),
+                        StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                continue;
+            }
+            if (nome.endsWith("-result.json")) {
+                JsonNode resultado = mapeador.readTree(entrada.toFile());
+                resultados++;
+                String status = resultado.path("status").asText();
+                if (status.equals("failed") || status.equals("broken")) {
+                    falhos++;
+                }
+                if (resultado.hasNonNull("start") && resultado.hasNonNull("stop")) {
+                    inicio = Math.min(inicio, resultado.get("start").asLong());
+                    fim = Math.max(fim, resultado.get("stop").asLong());
+                }
+            }
+            Path alvo = destino.resolve(nome);
+            if (!UNICOS.contains(nome) || !Files.exists(alvo)) {
+                Files.copy(entrada, alvo, StandardCopyOption.REPLACE_EXISTING);
+                arquivos++;
+            }
+        }
+        return new ResumoParticao(origem, resultados, falhos, inicio, fim, arquivos);
+    }
+
+    private static void copiarDiretorio(Path origem, Path destino) throws IOException {
+        try (Stream<Path> arvore = Files.walk(origem)) {
+            for (Path caminho : (Iterable<Path>) arvore::iterator) {
+                Path alvo = destino.resolve(origem.relativize(caminho).toString());
+                if (Files.isDirectory(caminho)) {
+                    Files.createDirectories(alvo);
+                } else {
+                    Files.copy(caminho, alvo, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        }
+    }
+
+    /**
+     * Mescla e mostra o resumo: {@code MesclagemAllure <destino> <origem>...}
+     * Usado pelo testes-particionados.sh depois que todas as partições terminam
+     */
+    public static void main(String[] argumentos) {
+        if (argumentos.length < 2) {
+            System.err.println("Uso: MesclagemAllure <destino> <origem>...");
+            System.exit(2);
+        }
+        List<Path> origens = new ArrayList<>();
+        for (int i = 1; i < argumentos.length; i++) {
+            origens.add(Paths.get(argumentos[i]));
+        }
+        List<ResumoParticao> resumos = new MesclagemAllure().mesclar(Paths.get(argumentos[0]), origens);
+
+        System.out.println("🧩 RESULTADOS MESCLADOS EM " + argumentos[0]);
+        int total = 0;
+        int falhos = 0;
+        long maisLonga = 0;
+        for (int i = 0; i < resumos.size(); i++) {
+            ResumoParticao resumo = resumos.get(i);
+            System.out.printf("   Partição %d: %d resultados (%d falhos) em %.1fs%n", i, resumo.getResultados(),
+                    resumo.getFalhos(), resumo.getDuracaoMs() / 1000.0);
+            total += resumo.getResultados();
+            falhos += resumo.getFalhos();
+            maisLonga = Math.max(maisLonga, resumo.getDuracaoMs());
+        }
+        System.out.printf("   Total: %d resultados (%d falhos); partição mais longa %.1fs%n", total, falhos, maisLonga / 1000.0);
+    }
+}
@@ -0,0 +1,146 @@
+package com.southsystem.particionamento;
+
+import org.junit.platform.engine.discovery.DiscoverySelectors;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Distribui métodos de teste entre N partições equilibrando a soma das durações registradas
+ *
+ * Usa a heurística LPT (longest processing time first): os testes, do mais longo para o mais curto, vão
+ * sempre para a partição menos carregada. A partição mais pesada fica a no máximo 4/3 do ótimo, e na prática
+ * bem perto da média quando há muitos testes curtos. Testes sem duração registrada recebem a mediana da sua
+ * classe (ou de todos os testes, ou {@link #DURACAO_PADRAO_MS} sem registro algum).
+ * O resultado só depende dos testes e das durações, então cada partição chega ao mesmo plano sozinha
+ */
+public final class PlanejadorParticoes {
+
+    /** Estimativa de um teste quando não há nenhuma duração registrada */
+    static final double DURACAO_PADRAO_MS = 1000;
+
+    private PlanejadorParticoes() {
+        // Classe utilitária - não deve ser instanciada
+    }
+
+    /**
+     * @param testes métodos de teste ("Classe#metodo")
+     * @param duracoes duração registrada em ms por teste (pode não ter todos, ou ter testes que não existem mais)
+     * @param total quantidade de partições
+     * @return plano com a partição de cada teste
+     */
+    public static PlanoParticoes planejar(Collection<String> testes, Map<String, Double> duracoes, int total) {
+        if (total < 1) {
+            throw new IllegalArgumentException("total de partições deve ser positivo: " + total);
+        }
+        Set<String> ordenados = new TreeSet<>(testes);
+        Map<String, Double> estimativas = new HashMap<>();
+        int estimados = 0;
+        for (String teste : ordenados) {
+            Double registrada = duracoes.get(teste);
+            if (registrada == null) {
+                estimados++;
+                registrada = estimar(teste, ordenados, duracoes);
+            }
+            estimativas.put(teste, registrada);
+        }
+
+        List<String> porDuracao = new ArrayList<>(ordenados);
+        porDuracao.sort((a, b) -> Double.compare(estimativas.get(b), estimativas.get(a)));
+
+        double[] cargas = new double[total];
+        List<List<String>> distribuidos = new ArrayList<>();
+        PriorityQueue<Integer> menosCarregada = new PriorityQueue<>((a, b) -> cargas[a] != cargas[b]
+                ? Double.compare(cargas[a], cargas[b]) : Integer.compare(a, b));
+        for (int i = 0; i < total; i++) {
+            distribuidos.add(new ArrayList<>());
+            menosCarregada.add(i);
+        }
+        Map<String, Integer> particaoPorTeste = new HashMap<>();
+        for (String teste : porDuracao) {
+            int particao = menosCarregada.poll();
+            distribuidos.get(particao).add(teste);
+            cargas[particao] += estimativas.get(teste);
+            particaoPorTeste.put(teste, particao);
+            menosCarregada.add(particao);
+        }
+        return new PlanoParticoes(distribuidos, cargas, particaoPorTeste, estimados);
+    }
+
+    /**
+     * Mediana dos testes registrados da mesma classe, ou de todos os testes planejados com registro
+     */
+    private static double estimar(String teste, Set<String> testes, Map<String, Double> duracoes) {
+        String classe = teste.substring(0, Math.max(0, teste.indexOf('#')));
+        List<Double> daClasse = new ArrayList<>();
+        List<Double> todas = new ArrayList<>();
+        for (String outro : testes) {
+            Double duracao = duracoes.get(outro);
+            if (duracao == null) {
+                continue;
+            }
+            todas.add(duracao);
+            if (outro.startsWith(classe + "#")) {
+                daClasse.add(duracao);
+            }
+        }
+        if (!daClasse.isEmpty()) {
+            return mediana(daClasse);
+        }
+        return todas.isEmpty() ? DURACAO_PADRAO_MS : mediana(todas);
+    }
+
+    private static double mediana(List<Double> valores) {
+        double[] ordenados = valores.stream().mapToDouble(Double::doubleValue).sorted().toArray();
+        int meio = ordenados.length / 2;
+        return ordenados.length % 2 == 1 ? ordenados[meio] : (ordenados[meio - 1] + ordenados[meio]) / 2;
+    }
+
+    /**
+     * @param plano plano de testes do JUnit
+     * @return "Classe#metodo" dos métodos de teste do plano
+     */
+    static Set<String> metodosDeTeste(TestPlan plano) {
+        Set<String> metodos = new TreeSet<>();
+        for (TestIdentifier raiz : plano.getRoots()) {
+            for (TestIdentifier identificador : plano.getDescendants(raiz)) {
+                RegistroDuracoes.chave(identificador).ifPresent(metodos::add);
+            }
+        }
+        return metodos;
+    }
+
+    /**
+     * Mostra o plano para a suite: {@code PlanejadorParticoes <total> [pacote]}
+     * Usado pelo testes-particionados.sh antes de iniciar as partições
+     */
+    public static void main(String[] argumentos) {
+        if (argumentos.length < 1) {
+            System.err.println("Uso: PlanejadorParticoes <total> [pacote]");
+            System.exit(2);
+        }
+        int total = Integer.parseInt(argumentos[0]);
+        String pacote = argumentos.length > 1 ? argumentos[1] : "com.southsystem.tests";
+        LauncherDiscoveryRequest requisicao = LauncherDiscoveryRequestBuilder.request()
+                .selectors(DiscoverySelectors.selectPackage(pacote))
+                .build();
+        Set<String> testes = metodosDeTeste(LauncherFactory.create().discover(requisicao));
+        DuracoesTestes duracoes = FiltroParticao.duracoesDoPlano();
+        PlanoParticoes plano = planejar(testes, duracoes.carregar(), total);
+
+        System.out.println("🧩 PLANO DE PARTIÇÕES (" + testes.size() + " testes, durações de " + duracoes.getArquivo() + ")");
+        Arrays.stream(plano.formatarResumo().split("\n")).forEach(linha -> System.out.println("   " + linha));
+    }
+}
@@ -0,0 +1,84 @@
+package com.southsystem.particionamento;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Distribuição dos testes entre as partições, com a carga estimada de cada uma
+ */
+public class PlanoParticoes {
+
+    private final List<List<String>> testes;
+    private final double[] cargasMs;
+    private final Map<String, Integer> particaoPorTeste;
+    private final int estimados;
+
+    PlanoParticoes(List<List<String>> testes, double[] cargasMs, Map<String, Integer> particaoPorTeste, int estimados) {
+        this.testes = testes;
+        this.cargasMs = cargasMs;
+        this.particaoPorTeste = particaoPorTeste;
+        this.estimados = estimados;
+    }
+
+    public int getTotal() {
+        return cargasMs.length;
+    }
+
+    /**
+     * @param teste "Classe#metodo"
+     * @return partição do teste (0 a total - 1), ou -1 se o teste não fez parte do planejamento
+     */
+    public int particaoDe(String teste) {
+        return particaoPorTeste.getOrDefault(teste, -1);
+    }
+
+    /**
+     * @param particao de 0 a total - 1
+     * @return testes da partição, do mais longo para o mais curto
+     */
+    public List<String> getTestes(int particao) {
+        return Collections.unmodifiableList(testes.get(particao));
+    }
+
+    /**
+     * @param particao de 0 a total - 1
+     * @return soma das durações registradas ou estimadas dos testes da partição, em ms
+     */
+    public double getCargaMs(int particao) {
+        return cargasMs[particao];
+    }
+
+    /**
+     * @return testes sem duração registrada, planejados pela estimativa
+     */
+    public int getEstimados() {
+        return estimados;
+    }
+
+    /**
+     * @return carga da partição mais pesada dividida pela média (1,0 é o equilíbrio perfeito)
+     */
+    public double getDesequilibrio() {
+        double soma = 0;
+        double maior = 0;
+        for (double carga : cargasMs) {
+            soma += carga;
+            maior = Math.max(maior, carga);
+        }
+        return soma == 0 ? 1 : maior / (soma / cargasMs.length);
+    }
+
+    /**
+     * @return uma linha por partição com a quantidade de testes e a carga estimada
+     */
+    public String formatarResumo() {
+        List<String> linhas = new ArrayList<>();
+        for (int i = 0; i < cargasMs.length; i++) {
+            linhas.add(String.format("Partição %d: %d testes, %.1fs", i, testes.get(i).size(), cargasMs[i] / 1000));
+        }
+        linhas.add(String.format("Desequilíbrio: %.3f | testes sem duração registrada: %d", getDesequilibrio(), estimados));
+        return String.join("\n", linhas);
+    }
+}
@@ -0,0 +1,68 @@
+package com.southsystem.particionamento;
+
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Listener da plataforma JUnit que mede cada método de teste (com @BeforeEach e @AfterEach) e atualiza
+ * as {@link DuracoesTestes} quando a suite termina; é a entrada do {@link PlanejadorParticoes}
+ * Testes abortados ou ignorados não entram: seu tempo não representa uma execução completa.
+ * Registrado em META-INF/services/org.junit.platform.launcher.TestExecutionListener
+ */
+public class RegistroDuracoes implements TestExecutionListener {
+
+    private final Map<String, Long> inicios = new ConcurrentHashMap<>();
+    private final Map<String, Double> medidas = new ConcurrentHashMap<>();
+
+    @Override
+    public void executionStarted(TestIdentifier identificador) {
+        if (identificador.isTest()) {
+            inicios.put(identificador.getUniqueId(), System.nanoTime());
+        }
+    }
+
+    @Override
+    public void executionFinished(TestIdentifier identificador, TestExecutionResult resultado) {
+        Long inicio = inicios.remove(identificador.getUniqueId());
+        Optional<String> teste = chave(identificador);
+        if (inicio == null || teste.isEmpty() || resultado.getStatus() == TestExecutionResult.Status.ABORTED) {
+            return;
+        }
+        // Invocações de um mesmo método (testes repetidos ou parametrizados) somam na mesma partição
+        medidas.merge(teste.get(), (System.nanoTime() - inicio) / 1_000_000.0, Double::sum);
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        if (medidas.isEmpty()) {
+            return;
+        }
+        try {
+            DuracoesTestes.configurado().atualizar(medidas);
+        } catch (RuntimeException e) {
+            System.err.println("⚠️ Não foi possível atualizar as durações dos testes: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @param identificador teste ou contêiner
+     * @return "Classe#metodo" do método que declara o teste, se houver
+     */
+    static Optional<String> chave(TestIdentifier identificador) {
+        return identificador.getSource()
+                .filter(MethodSource.class::isInstance)
+                .map(MethodSource.class::cast)
+                .map(RegistroDuracoes::chave);
+    }
+
+    static String chave(MethodSource metodo) {
+        return metodo.getClassName() + "#" + metodo.getMethodName();
+    }
+}
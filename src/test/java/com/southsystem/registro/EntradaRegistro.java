@@ -0,0 +1,106 @@
+package com.southsystem.registro;
+
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Uma requisição registrada
+ * Guarda apenas referências e valores já disponíveis; o texto é montado por {@link #formatar()},
+ * chamado na thread do gravador ou quando um teste falha, nunca no caminho feliz
+ */
+class EntradaRegistro {
+
+    private final long instanteMs;
+    private final String thread;
+    private final String metodo;
+    private final String uri;
+    private final Headers headersRequisicao;
+    private final int status;
+    private final long duracaoNs;
+    private final Headers headersResposta;
+    private final byte[] corpo;
+    private final int tamanhoCorpo;
+    private final String erro;
+    private final boolean detalhada;
+
+    private EntradaRegistro(String metodo, String uri, Headers headersRequisicao, int status, long duracaoNs,
+                            Headers headersResposta, byte[] corpo, int tamanhoCorpo, String erro, boolean detalhada) {
+        this.instanteMs = System.currentTimeMillis();
+        this.thread = Thread.currentThread().getName();
+        this.metodo = metodo;
+        this.uri = uri;
+        this.headersRequisicao = headersRequisicao;
+        this.status = status;
+        this.duracaoNs = duracaoNs;
+        this.headersResposta = headersResposta;
+        this.corpo = corpo;
+        this.tamanhoCorpo = tamanhoCorpo;
+        this.erro = erro;
+        this.detalhada = detalhada;
+    }
+
+    static EntradaRegistro resposta(String metodo, String uri, Headers headersRequisicao, int status, long duracaoNs,
+                                    Headers headersResposta, byte[] corpo, int tamanhoCorpo, boolean detalhada) {
+        return new EntradaRegistro(metodo, uri, headersRequisicao, status, duracaoNs, headersResposta,
+                corpo, tamanhoCorpo, null, detalhada);
+    }
+
+    static EntradaRegistro falha(String metodo, String uri, Headers headersRequisicao, long duracaoNs, Throwable erro) {
+        return new EntradaRegistro(metodo, uri, headersRequisicao, 0, duracaoNs, null, null, -1,
+                erro.getClass().getSimpleName() + ": " + erro.getMessage(), true);
+    }
+
+    /**
+     * Linha de separação gravada no arquivo antes das requisições de um teste que falhou
+     */
+    static EntradaRegistro marcador(String texto) {
+        return new EntradaRegistro(null, texto, null, 0, 0, null, null, -1, null, false);
+    }
+
+    String formatar() {
+        StringBuilder texto = new StringBuilder(detalhada ? 512 : 128);
+        texto.append(LocalDateTime.ofInstant(Instant.ofEpochMilli(instanteMs), ZoneId.systemDefault()))
+                .append(" [").append(thread).append("] ");
+        if (metodo == null) {
+            return texto.append("==== ").append(uri).append(" ====").toString();
+        }
+        texto.append(metodo).append(' ').append(uri).append(" → ");
+        if (erro != null) {
+            texto.append(erro);
+        } else {
+            texto.append(status);
+        }
+        texto.append(String.format(" (%.3f ms", duracaoNs / 1_000_000.0));
+        if (tamanhoCorpo >= 0) {
+            texto.append(", ").append(tamanhoCorpo).append(" B");
+        }
+        texto.append(')');
+        if (detalhada) {
+            anexarHeaders(texto, "  > ", headersRequisicao);
+            anexarHeaders(texto, "  < ", headersResposta);
+            if (corpo != null) {
+                texto.append("\n  < ").append(new String(corpo, StandardCharsets.UTF_8));
+                if (tamanhoCorpo > corpo.length) {
+                    texto.append("… (").append(tamanhoCorpo - corpo.length).append(" B omitidos)");
+                } else if (tamanhoCorpo < 0) {
+                    texto.append("… (restante omitido)");
+                }
+            }
+        }
+        return texto.toString();
+    }
+
+    private static void anexarHeaders(StringBuilder texto, String prefixo, Headers headers) {
+        if (headers == null) {
+            return;
+        }
+        for (Header header : headers) {
+            texto.append('\n').append(prefixo).append(header.getName()).append(": ").append(header.getValue());
+        }
+    }
+}
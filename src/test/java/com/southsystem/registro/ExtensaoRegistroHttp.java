@@ -0,0 +1,30 @@
+package com.southsystem.registro;
+
+import io.qameta.allure.Allure;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Extensão JUnit que delimita a captura do registro HTTP a cada teste
+ * Quando o teste falha, as requisições capturadas são gravadas no arquivo de log,
+ * exibidas no console e anexadas ao teste no Allure
+ */
+public class ExtensaoRegistroHttp implements BeforeEachCallback, AfterEachCallback {
+
+    @Override
+    public void beforeEach(ExtensionContext contexto) {
+        RegistroHttp.compartilhado().iniciarCaptura();
+    }
+
+    @Override
+    public void afterEach(ExtensionContext contexto) {
+        boolean falhou = contexto.getExecutionException().isPresent();
+        String requisicoes = RegistroHttp.compartilhado().encerrarCaptura(falhou, contexto.getUniqueId());
+        if (requisicoes != null) {
+            System.out.println("📄 [HTTP] Requisições do teste com falha (" + contexto.getDisplayName() + "):");
+            System.out.print(requisicoes);
+            Allure.addAttachment("Requisições HTTP", "text/plain", requisicoes, ".txt");
+        }
+    }
+}
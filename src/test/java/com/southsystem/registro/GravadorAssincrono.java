@@ -0,0 +1,117 @@
+package com.southsystem.registro;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Gravação assíncrona das entradas em arquivo
+ *
+ * Quem registra apenas insere a entrada em um buffer circular de capacidade fixa e segue adiante;
+ * uma única thread formata e grava em lotes. Com o buffer cheio a entrada é descartada (e contada)
+ * em vez de bloquear o teste. A thread e o arquivo só são criados na primeira entrada
+ */
+class GravadorAssincrono {
+
+    private static final int TAMANHO_LOTE = 256;
+    private static final long ESPERA_MS = 200;
+
+    private final Path arquivo;
+    private final ArrayBlockingQueue<EntradaRegistro> buffer;
+    private final LongAdder gravadas = new LongAdder();
+    private final LongAdder descartadas = new LongAdder();
+    private volatile boolean ativo = true;
+    private Thread thread;
+
+    GravadorAssincrono(Path arquivo, int capacidade) {
+        this.arquivo = arquivo;
+        this.buffer = new ArrayBlockingQueue<>(capacidade);
+    }
+
+    /**
+     * Enfileira a entrada sem bloquear
+     */
+    void gravar(EntradaRegistro entrada) {
+        iniciarSeNecessario();
+        if (!buffer.offer(entrada)) {
+            descartadas.increment();
+        }
+    }
+
+    long getGravadas() {
+        return gravadas.sum();
+    }
+
+    long getDescartadas() {
+        return descartadas.sum();
+    }
+
+    Path getArquivo() {
+        return arquivo;
+    }
+
+    /**
+     * Grava o que estiver no buffer e encerra a thread
+     */
+    void fechar() {
+        ativo = false;
+        Thread atual;
+        synchronized (this) {
+            atual = thread;
+        }
+        if (atual != null) {
+            try {
+                atual.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private synchronized void iniciarSeNecessario() {
+        if (thread == null && ativo) {
+            thread = new Thread(this::executar, "gravador-log-http");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    private void executar() {
+        List<EntradaRegistro> lote = new ArrayList<>(TAMANHO_LOTE);
+        try {
+            Files.createDirectories(arquivo.toAbsolutePath().getParent());
+            try (Writer saida = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                while (ativo || !buffer.isEmpty()) {
+                    EntradaRegistro primeira = buffer.poll(ESPERA_MS, TimeUnit.MILLISECONDS);
+                    if (primeira == null) {
+                        continue;
+                    }
+                    lote.add(primeira);
+                    buffer.drainTo(lote, TAMANHO_LOTE - 1);
+                    for (EntradaRegistro entrada : lote) {
+                        saida.write(entrada.formatar());
+                        saida.write(System.lineSeparator());
+                    }
+                    gravadas.add(lote.size());
+                    lote.clear();
+                    if (buffer.isEmpty()) {
+                        saida.flush();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("⚠️ Falha ao gravar log HTTP em " + arquivo + ": " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
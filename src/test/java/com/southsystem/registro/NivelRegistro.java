@@ -0,0 +1,44 @@
+package com.southsystem.registro;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Níveis do registro de requisições HTTP (propriedade dog.api.log.nivel)
+ */
+public enum NivelRegistro {
+
+    /** Nada é registrado */
+    DESLIGADO("desligado", "off"),
+    /** Requisições ficam em memória durante o teste e só são gravadas se ele falhar */
+    EM_FALHA("em-falha", "on-failure"),
+    /** Uma linha por requisição: método, URI, status, tempo e tamanho */
+    RESUMO("resumo", "summary"),
+    /** Headers de requisição e resposta e o início do corpo (limitado por dog.api.log.maxCorpoBytes) */
+    COMPLETO("completo", "full");
+
+    private final String chave;
+    private final String alias;
+
+    NivelRegistro(String chave, String alias) {
+        this.chave = chave;
+        this.alias = alias;
+    }
+
+    public String getChave() {
+        return chave;
+    }
+
+    /**
+     * @param valor chave em português ou alias em inglês (off, on-failure, summary, full)
+     * @return nível correspondente
+     */
+    public static NivelRegistro de(String valor) {
+        String normalizado = valor.trim().toLowerCase();
+        return Arrays.stream(values())
+                .filter(nivel -> nivel.chave.equals(normalizado) || nivel.alias.equals(normalizado))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Nível de log inválido: '" + valor + "' (use "
+                        + Arrays.stream(values()).map(NivelRegistro::getChave).collect(Collectors.joining(", ")) + ")"));
+    }
+}
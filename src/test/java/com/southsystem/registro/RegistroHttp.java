@@ -0,0 +1,266 @@
+package com.southsystem.registro;
+
+import com.southsystem.config.ConfiguracaoApi;
+import com.southsystem.relatorios.MetricasExecucao;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Registro das requisições HTTP feitas pelo ServicoDogApi, substituindo o log síncrono no console
+ *
+ * O nível (dog.api.log.nivel) define o custo: em "em-falha", o padrão, cada requisição vira apenas
+ * uma entrada em memória da thread do teste, descartada se o teste passar; em "resumo" e "completo"
+ * as entradas vão para um {@link GravadorAssincrono} que escreve em arquivo fora da thread do teste.
+ * O corpo só é lido em "completo" e nas respostas de erro (4xx/5xx), sempre limitado a
+ * dog.api.log.maxCorpoBytes
+ */
+public final class RegistroHttp {
+
+    public static final String PROPRIEDADE_NIVEL = "dog.api.log.nivel";
+    public static final String PROPRIEDADE_MAXIMO_CORPO_BYTES = "dog.api.log.maxCorpoBytes";
+    public static final String PROPRIEDADE_ARQUIVO = "dog.api.log.arquivo";
+    public static final String PROPRIEDADE_CAPACIDADE = "dog.api.log.capacidade";
+
+    /** Requisições mantidas por teste no nível "em-falha"; as mais antigas são descartadas */
+    private static final int MAXIMO_CAPTURA = 100;
+
+    private static RegistroHttp compartilhado;
+
+    private final NivelRegistro nivel;
+    private final int maximoCorpoBytes;
+    private final GravadorAssincrono gravador;
+    private final ThreadLocal<ArrayDeque<EntradaRegistro>> captura = new ThreadLocal<>();
+
+    public RegistroHttp(NivelRegistro nivel, int maximoCorpoBytes, Path arquivo, int capacidade) {
+        this.nivel = nivel;
+        this.maximoCorpoBytes = maximoCorpoBytes;
+        this.gravador = new GravadorAssincrono(arquivo, capacidade);
+    }
+
+    /**
+     * Registro único da JVM, configurado pelas propriedades dog.api.log.*
+     * @return registro compartilhado
+     */
+    public static synchronized RegistroHttp compartilhado() {
+        if (compartilhado == null) {
+            RegistroHttp registro = new RegistroHttp(
+                    NivelRegistro.de(ConfiguracaoApi.propriedade(PROPRIEDADE_NIVEL, NivelRegistro.EM_FALHA.getChave())),
+                    ConfiguracaoApi.propriedadeInteira(PROPRIEDADE_MAXIMO_CORPO_BYTES, 2048),
+                    Paths.get(ConfiguracaoApi.propriedade(PROPRIEDADE_ARQUIVO, "target/logs/dog-api-http.log")),
+                    ConfiguracaoApi.propriedadeInteira(PROPRIEDADE_CAPACIDADE, 8192));
+            MetricasExecucao.registrar("log", registro::estatisticas);
+            Runtime.getRuntime().addShutdownHook(new Thread(registro::fechar, "fechar-log-http"));
+            compartilhado = registro;
+        }
+        return compartilhado;
+    }
+
+    public NivelRegistro getNivel() {
+        return nivel;
+    }
+
+    public Path getArquivo() {
+        return gravador.getArquivo();
+    }
+
+    /**
+     * @return entradas já escritas no arquivo
+     */
+    public long getGravadas() {
+        return gravador.getGravadas();
+    }
+
+    /**
+     * @return entradas descartadas por encontrarem o buffer do gravador cheio
+     */
+    public long getDescartadas() {
+        return gravador.getDescartadas();
+    }
+
+    /**
+     * Filtro do RestAssured que registra cada requisição conforme o nível
+     * @return filtro a ser adicionado à especificação da requisição
+     */
+    public Filter filtro() {
+        return new Filter() {
+            @Override
+            public Response filter(FilterableRequestSpecification requisicao, FilterableResponseSpecification resposta,
+                                   FilterContext contexto) {
+                if (nivel == NivelRegistro.DESLIGADO) {
+                    return contexto.next(requisicao, resposta);
+                }
+                long inicio = System.nanoTime();
+                Response recebida;
+                try {
+                    recebida = contexto.next(requisicao, resposta);
+                } catch (Exception e) {
+                    registrar(EntradaRegistro.falha(requisicao.getMethod(), requisicao.getURI(),
+                            requisicao.getHeaders(), System.nanoTime() - inicio, e));
+                    throw e;
+                }
+                long duracaoNs = System.nanoTime() - inicio;
+                return registrarResposta(requisicao, recebida, duracaoNs);
+            }
+        };
+    }
+
+    /**
+     * Passa a guardar em memória as requisições da thread atual (início de um teste)
+     */
+    public void iniciarCaptura() {
+        if (nivel == NivelRegistro.EM_FALHA) {
+            captura.set(new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Faz a tarefa registrar na captura da thread atual mesmo quando executada em outra thread
+     * (requisições assíncronas disparadas pelo teste)
+     * @param tarefa tarefa a ser executada em outra thread
+     * @return tarefa que adota a captura do teste durante a execução
+     */
+    public <T> Supplier<T> comCapturaDaThreadAtual(Supplier<T> tarefa) {
+        ArrayDeque<EntradaRegistro> capturadas = captura.get();
+        if (capturadas == null) {
+            return tarefa;
+        }
+        return () -> {
+            ArrayDeque<EntradaRegistro> anterior = captura.get();
+            captura.set(capturadas);
+            try {
+                return tarefa.get();
+            } finally {
+                if (anterior == null) {
+                    captura.remove();
+                } else {
+                    captura.set(anterior);
+                }
+            }
+        };
+    }
+
+    /**
+     * Encerra a captura da thread atual; se o teste falhou, grava as requisições capturadas
+     * @param falhou se o teste terminou com falha
+     * @param descricao identificação do teste, gravada antes das requisições
+     * @return texto das requisições capturadas quando o teste falhou, ou null
+     */
+    public String encerrarCaptura(boolean falhou, String descricao) {
+        ArrayDeque<EntradaRegistro> capturadas = captura.get();
+        captura.remove();
+        if (!falhou || capturadas == null) {
+            return null;
+        }
+        List<EntradaRegistro> entradas;
+        synchronized (capturadas) {
+            entradas = new ArrayList<>(capturadas);
+        }
+        if (entradas.isEmpty()) {
+            return null;
+        }
+        gravador.gravar(EntradaRegistro.marcador("Falha: " + descricao));
+        StringBuilder texto = new StringBuilder();
+        for (EntradaRegistro entrada : entradas) {
+            gravador.gravar(entrada);
+            texto.append(entrada.formatar()).append('\n');
+        }
+        return texto.toString();
+    }
+
+    /**
+     * Grava as entradas pendentes e encerra o gravador
+     */
+    public void fechar() {
+        gravador.fechar();
+    }
+
+    private Map<String, Object> estatisticas() {
+        Map<String, Object> mapa = new LinkedHashMap<>();
+        mapa.put("nivel", nivel.getChave());
+        mapa.put("gravadas", gravador.getGravadas());
+        mapa.put("descartadas", gravador.getDescartadas());
+        return mapa;
+    }
+
+    /**
+     * Registra a resposta e a devolve para o restante da cadeia
+     * Quando o corpo entra no registro, apenas os primeiros maxCorpoBytes (mais um, para saber se há mais)
+     * são lidos da conexão; a resposta devolvida entrega esses bytes seguidos do restante do stream
+     */
+    private Response registrarResposta(FilterableRequestSpecification requisicao, Response recebida, long duracaoNs) {
+        int status = recebida.getStatusCode();
+        boolean detalhada = nivel == NivelRegistro.COMPLETO || nivel == NivelRegistro.EM_FALHA;
+        byte[] corpo = null;
+        int tamanho = tamanhoDeclarado(recebida);
+        Response devolvida = recebida;
+        if (nivel == NivelRegistro.COMPLETO || (detalhada && status >= 400)) {
+            InputStream fluxo = recebida.asInputStream();
+            byte[] inicio;
+            try {
+                inicio = fluxo.readNBytes(maximoCorpoBytes + 1);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Falha ao ler corpo da resposta de " + requisicao.getURI(), e);
+            }
+            if (inicio.length <= maximoCorpoBytes) {
+                tamanho = inicio.length;
+                corpo = inicio;
+            } else {
+                corpo = Arrays.copyOf(inicio, maximoCorpoBytes);
+                if (recebida.getHeader("Content-Encoding") != null) {
+                    // O Content-Length declarado é o do corpo comprimido: o tamanho real fica desconhecido
+                    tamanho = -1;
+                }
+            }
+            devolvida = new ResponseBuilder().clone(recebida)
+                    .setBody(new SequenceInputStream(new ByteArrayInputStream(inicio), fluxo))
+                    .build();
+        }
+        registrar(EntradaRegistro.resposta(requisicao.getMethod(), requisicao.getURI(), requisicao.getHeaders(),
+                status, duracaoNs, recebida.getHeaders(), corpo, tamanho, detalhada));
+        return devolvida;
+    }
+
+    private void registrar(EntradaRegistro entrada) {
+        if (nivel != NivelRegistro.EM_FALHA) {
+            gravador.gravar(entrada);
+            return;
+        }
+        ArrayDeque<EntradaRegistro> capturadas = captura.get();
+        if (capturadas != null) {
+            synchronized (capturadas) {
+                if (capturadas.size() == MAXIMO_CAPTURA) {
+                    capturadas.removeFirst();
+                }
+                capturadas.addLast(entrada);
+            }
+        }
+    }
+
+    private static int tamanhoDeclarado(Response recebida) {
+        String tamanho = recebida.getHeader("Content-Length");
+        try {
+            return tamanho == null ? -1 : Integer.parseInt(tamanho.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.southsystem.relatorios;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Registro das fontes de métricas publicadas ao final da execução da suite
+ * Cada componente (pool de conexões, caches...) registra uma seção com seus contadores
+ * e o {@link RelatorioExecucao} consolida tudo quando o plano de testes termina
+ */
+public final class MetricasExecucao {
+
+    private static final Map<String, Supplier<Map<String, Object>>> FONTES = new LinkedHashMap<>();
+
+    private MetricasExecucao() {
+        // Classe utilitária - não deve ser instanciada
+    }
+
+    /**
+     * Registra (ou substitui) uma seção de métricas
+     * @param secao prefixo das chaves publicadas (ex.: "pool")
+     * @param fonte fornecedor avaliado apenas no momento da publicação
+     */
+    public static synchronized void registrar(String secao, Supplier<Map<String, Object>> fonte) {
+        FONTES.put(secao, fonte);
+    }
+
+    /**
+     * @return todas as métricas atuais, com chaves no formato secao.nome
+     */
+    public static synchronized Map<String, Object> coletar() {
+        Map<String, Object> metricas = new LinkedHashMap<>();
+        FONTES.forEach((secao, fonte) ->
+                fonte.get().forEach((nome, valor) -> metricas.put(secao + "." + nome, valor)));
+        return metricas;
+    }
+}
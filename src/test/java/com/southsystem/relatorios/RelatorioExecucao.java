@@ -0,0 +1,49 @@
+package com.southsystem.relatorios;
+
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+/**
+ * Listener da plataforma JUnit que publica as métricas da execução quando a suite termina
+ * As métricas são exibidas no console e anexadas ao environment.properties do Allure
+ * Registrado em META-INF/services/org.junit.platform.launcher.TestExecutionListener
+ */
+public class RelatorioExecucao implements TestExecutionListener {
+
+    private static final String DIRETORIO_ALLURE_PADRAO = "target/allure-results";
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        Map<String, Object> metricas = MetricasExecucao.coletar();
+        if (metricas.isEmpty()) {
+            return;
+        }
+
+        System.out.println("\n📊 MÉTRICAS DA EXECUÇÃO");
+        metricas.forEach((chave, valor) -> System.out.println("   " + chave + " = " + valor));
+        System.out.println();
+
+        publicarNoAllure(metricas);
+    }
+
+    private void publicarNoAllure(Map<String, Object> metricas) {
+        Path diretorio = Paths.get(System.getProperty("allure.results.directory", DIRETORIO_ALLURE_PADRAO));
+        StringBuilder conteudo = new StringBuilder("\n# Métricas da execução\n");
+        metricas.forEach((chave, valor) -> conteudo.append(chave).append('=').append(valor).append('\n'));
+        try {
+            Files.createDirectories(diretorio);
+            Files.writeString(diretorio.resolve("environment.properties"), conteudo, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.err.println("⚠️ Não foi possível publicar métricas no Allure: " + e.getMessage());
+        }
+    }
+}
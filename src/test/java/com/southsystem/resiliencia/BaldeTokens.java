@@ -0,0 +1,108 @@
+package com.southsystem.resiliencia;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * Balde de tokens sem lock, no formato GCRA (generic cell rate algorithm)
+ *
+ * Em vez de um contador de tokens reabastecido periodicamente, guarda um único instante, o
+ * "horário teórico de chegada" da próxima requisição. Cada requisição avança esse instante em
+ * um intervalo (1 / taxa) com compareAndSet; a diferença entre ele e o relógio, limitada à
+ * capacidade, equivale aos tokens já consumidos. Quem chega com o balde vazio não é rejeitado:
+ * reserva o próximo token livre e espera até ele
+ */
+public class BaldeTokens {
+
+    private static final long NANOS_POR_SEGUNDO = TimeUnit.SECONDS.toNanos(1);
+
+    private final long intervaloNanos;
+    private final long capacidadeNanos;
+    private final LongSupplier relogio;
+    private final AtomicLong chegadaTeorica;
+
+    private final LongAdder imediatas = new LongAdder();
+    private final LongAdder aguardadas = new LongAdder();
+    private final LongAdder esperaNanos = new LongAdder();
+
+    public BaldeTokens(double tokensPorSegundo, int capacidade) {
+        this(tokensPorSegundo, capacidade, System::nanoTime);
+    }
+
+    /**
+     * @param tokensPorSegundo taxa de reabastecimento
+     * @param capacidade tokens acumuláveis, ou seja, a maior rajada atendida sem espera
+     * @param relogio fonte de tempo em nanossegundos (substituível em testes)
+     */
+    public BaldeTokens(double tokensPorSegundo, int capacidade, LongSupplier relogio) {
+        if (tokensPorSegundo <= 0) {
+            throw new IllegalArgumentException("tokensPorSegundo deve ser positivo: " + tokensPorSegundo);
+        }
+        if (capacidade < 1) {
+            throw new IllegalArgumentException("capacidade deve ser positiva: " + capacidade);
+        }
+        this.intervaloNanos = Math.max(1, Math.round(NANOS_POR_SEGUNDO / tokensPorSegundo));
+        this.capacidadeNanos = intervaloNanos * capacidade;
+        this.relogio = relogio;
+        this.chegadaTeorica = new AtomicLong(relogio.getAsLong());
+    }
+
+    /**
+     * Reserva um token sem bloquear
+     * @return nanossegundos até o token reservado ficar disponível (0 se já está)
+     */
+    public long reservar() {
+        long agora;
+        long atual;
+        long proxima;
+        do {
+            agora = relogio.getAsLong();
+            atual = chegadaTeorica.get();
+            proxima = Math.max(atual, agora) + intervaloNanos;
+        } while (!chegadaTeorica.compareAndSet(atual, proxima));
+
+        long espera = Math.max(0, proxima - capacidadeNanos - agora);
+        if (espera == 0) {
+            imediatas.increment();
+        } else {
+            aguardadas.increment();
+            esperaNanos.add(espera);
+        }
+        return espera;
+    }
+
+    /**
+     * Reserva um token e bloqueia até ele ficar disponível
+     * @return nanossegundos esperados
+     */
+    public long aguardar() {
+        long espera = reservar();
+        long limite = System.nanoTime() + espera;
+        long restante;
+        while ((restante = limite - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(restante);
+        }
+        return espera;
+    }
+
+    /**
+     * @return tokens obtidos sem espera
+     */
+    public long getImediatas() {
+        return imediatas.sum();
+    }
+
+    /**
+     * @return tokens obtidos após espera
+     */
+    public long getAguardadas() {
+        return aguardadas.sum();
+    }
+
+    public long getEsperaNanos() {
+        return esperaNanos.sum();
+    }
+}
@@ -0,0 +1,21 @@
+package com.southsystem.resiliencia;
+
+/**
+ * Lançada quando uma requisição é recusada porque o disjuntor do host está aberto
+ * Nenhuma conexão é feita; a {@link ExtensaoDisjuntor} converte a falha em teste abortado
+ */
+public class CircuitoAbertoException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String host;
+
+    public CircuitoAbertoException(String host, String motivo) {
+        super("Circuito aberto para " + host + ": " + motivo);
+        this.host = host;
+    }
+
+    public String getHost() {
+        return host;
+    }
+}
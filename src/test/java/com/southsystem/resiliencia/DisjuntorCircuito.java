@@ -0,0 +1,311 @@
+package com.southsystem.resiliencia;
+
+import com.southsystem.config.ConfiguracaoApi;
+import com.southsystem.relatorios.MetricasExecucao;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Disjuntor (circuit breaker) das requisições a um host
+ *
+ * Fechado: as chamadas passam e o resultado das últimas {@code tamanhoJanela} entra em uma janela
+ * deslizante. Quando a janela tem ao menos {@code minimoChamadas} e a taxa de falhas (I/O, 429 ou 5xx)
+ * ou de chamadas lentas atinge o limite, o circuito abre.
+ * Aberto: as chamadas são recusadas na hora com {@link CircuitoAbertoException}, sem tocar a rede,
+ * até passar {@code tempoAberto}.
+ * Meio-aberto: apenas {@code chamadasMeioAberto} chamadas de teste passam; se todas forem rápidas e
+ * bem-sucedidas o circuito fecha, e qualquer falha o abre de novo
+ */
+public class DisjuntorCircuito {
+
+    public static final String PROPRIEDADE_HABILITADO = "dog.api.disjuntor.habilitado";
+    public static final String PROPRIEDADE_JANELA = "dog.api.disjuntor.janela";
+    public static final String PROPRIEDADE_MINIMO_CHAMADAS = "dog.api.disjuntor.minimoChamadas";
+    public static final String PROPRIEDADE_TAXA_FALHAS = "dog.api.disjuntor.taxaFalhasPercentual";
+    public static final String PROPRIEDADE_TAXA_LENTAS = "dog.api.disjuntor.taxaLentasPercentual";
+    public static final String PROPRIEDADE_CHAMADA_LENTA_MS = "dog.api.disjuntor.chamadaLentaMs";
+    public static final String PROPRIEDADE_TEMPO_ABERTO_SEGUNDOS = "dog.api.disjuntor.tempoAbertoSegundos";
+    public static final String PROPRIEDADE_CHAMADAS_MEIO_ABERTO = "dog.api.disjuntor.chamadasMeioAberto";
+
+    private static final Map<String, DisjuntorCircuito> POR_HOST = new ConcurrentHashMap<>();
+
+    static {
+        MetricasExecucao.registrar("disjuntor", DisjuntorCircuito::estatisticasPorHost);
+    }
+
+    public enum Estado { FECHADO, ABERTO, MEIO_ABERTO }
+
+    private final String host;
+    private final int tamanhoJanela;
+    private final int minimoChamadas;
+    private final int taxaFalhasPercentual;
+    private final int taxaLentasPercentual;
+    private final long chamadaLentaNanos;
+    private final long tempoAbertoNanos;
+    private final int chamadasMeioAberto;
+    private final LongSupplier relogio;
+
+    private final boolean[] falhas;
+    private final boolean[] lentas;
+    private int posicao;
+    private int preenchidas;
+    private int totalFalhas;
+    private int totalLentas;
+
+    private Estado estado = Estado.FECHADO;
+    private long abertoAte;
+    private String motivo;
+    private int testesLiberados;
+    private int testesBemSucedidos;
+
+    private final LongAdder permitidas = new LongAdder();
+    private final LongAdder recusadas = new LongAdder();
+    private final LongAdder aberturas = new LongAdder();
+    private final LongAdder fechamentos = new LongAdder();
+
+    /**
+     * @param host host protegido (usado nas mensagens)
+     * @param tamanhoJanela chamadas consideradas no cálculo das taxas
+     * @param minimoChamadas chamadas na janela antes de o circuito poder abrir
+     * @param taxaFalhasPercentual percentual de falhas que abre o circuito
+     * @param taxaLentasPercentual percentual de chamadas lentas que abre o circuito
+     * @param chamadaLenta duração a partir da qual uma chamada conta como lenta
+     * @param tempoAberto tempo no estado aberto antes de liberar chamadas de teste
+     * @param chamadasMeioAberto chamadas de teste no estado meio-aberto
+     * @param relogio fonte de tempo em nanossegundos (substituível em testes)
+     */
+    public DisjuntorCircuito(String host, int tamanhoJanela, int minimoChamadas, int taxaFalhasPercentual,
+                             int taxaLentasPercentual, Duration chamadaLenta, Duration tempoAberto,
+                             int chamadasMeioAberto, LongSupplier relogio) {
+        if (tamanhoJanela < 1 || minimoChamadas < 1 || minimoChamadas > tamanhoJanela) {
+            throw new IllegalArgumentException("Janela inválida: tamanho " + tamanhoJanela + ", mínimo " + minimoChamadas);
+        }
+        if (chamadasMeioAberto < 1) {
+            throw new IllegalArgumentException("chamadasMeioAberto deve ser positivo: " + chamadasMeioAberto);
+        }
+        this.host = host;
+        this.tamanhoJanela = tamanhoJanela;
+        this.minimoChamadas = minimoChamadas;
+        this.taxaFalhasPercentual = taxaFalhasPercentual;
+        this.taxaLentasPercentual = taxaLentasPercentual;
+        this.chamadaLentaNanos = chamadaLenta.toNanos();
+        this.tempoAbertoNanos = tempoAberto.toNanos();
+        this.chamadasMeioAberto = chamadasMeioAberto;
+        this.relogio = relogio;
+        this.falhas = new boolean[tamanhoJanela];
+        this.lentas = new boolean[tamanhoJanela];
+    }
+
+    /**
+     * Disjuntor único do host na JVM, configurado pelas propriedades dog.api.disjuntor.*
+     * @param host host com a porta explícita, quando houver
+     * @return disjuntor compartilhado do host
+     */
+    public static DisjuntorCircuito paraHost(String host) {
+        return POR_HOST.computeIfAbsent(host, h -> new DisjuntorCircuito(h,
+                ConfiguracaoApi.propriedadeInteira(PROPRIEDADE_JANELA, 20),
+                ConfiguracaoApi.propriedadeInteira(PROPRIEDADE_MINIMO_CHAMADAS, 10),
+                ConfiguracaoApi.propriedadeInteira(PROPRIEDADE_TAXA_FALHAS, 50),
+                ConfiguracaoApi.propriedadeInteira(PROPRIEDADE_TAXA_LENTAS, 80),
+                Duration.ofMillis(ConfiguracaoApi.propriedadeInteira(PROPRIEDADE_CHAMADA_LENTA_MS, 5000)),
+                Duration.ofSeconds(ConfiguracaoApi.propriedadeInteira(PROPRIEDADE_TEMPO_ABERTO_SEGUNDOS, 30)),
+                ConfiguracaoApi.propriedadeInteira(PROPRIEDADE_CHAMADAS_MEIO_ABERTO, 3),
+                System::nanoTime));
+    }
+
+    /**
+     * @return true se os disjuntores compartilhados estão habilitados (dog.api.disjuntor.habilitado)
+     */
+    public static boolean habilitado() {
+        return Boolean.parseBoolean(ConfiguracaoApi.propriedade(PROPRIEDADE_HABILITADO, "true"));
+    }
+
+    /**
+     * Filtro do RestAssured que passa cada tentativa pelo disjuntor do host de destino
+     * @return filtro a ser adicionado à especificação da requisição
+     */
+    public static Filter filtro() {
+        return new Filter() {
+            @Override
+            public Response filter(FilterableRequestSpecification requisicao, FilterableResponseSpecification resposta,
+                                   FilterContext contexto) {
+                DisjuntorCircuito disjuntor = paraHost(LimitadorTaxa.hostDe(requisicao.getURI()));
+                disjuntor.permitir();
+                long inicio = System.nanoTime();
+                Response recebida;
+                try {
+                    recebida = contexto.next(requisicao, resposta);
+                } catch (Exception e) {
+                    // Falhas de conexão chegam como IOException não declarada
+                    disjuntor.registrar(System.nanoTime() - inicio, true);
+                    throw e;
+                }
+                int status = recebida.getStatusCode();
+                disjuntor.registrar(System.nanoTime() - inicio, status == 429 || status >= 500);
+                return recebida;
+            }
+        };
+    }
+
+    /**
+     * Libera uma chamada ou a recusa conforme o estado
+     * @throws CircuitoAbertoException se o circuito está aberto ou as chamadas de teste já foram liberadas
+     */
+    public synchronized void permitir() {
+        if (estado == Estado.ABERTO) {
+            if (relogio.getAsLong() - abertoAte < 0) {
+                recusar();
+            }
+            estado = Estado.MEIO_ABERTO;
+            testesLiberados = 0;
+            testesBemSucedidos = 0;
+        }
+        if (estado == Estado.MEIO_ABERTO) {
+            if (testesLiberados >= chamadasMeioAberto) {
+                recusar();
+            }
+            testesLiberados++;
+        }
+        permitidas.increment();
+    }
+
+    /**
+     * Registra o resultado de uma chamada liberada por {@link #permitir()}
+     * @param duracaoNanos duração da chamada
+     * @param falhou se a chamada falhou (I/O, 429 ou 5xx)
+     */
+    public synchronized void registrar(long duracaoNanos, boolean falhou) {
+        boolean lenta = duracaoNanos >= chamadaLentaNanos;
+        if (estado == Estado.MEIO_ABERTO) {
+            if (falhou || lenta) {
+                abrir("chamada de teste " + (falhou ? "falhou" : "lenta") + " no estado meio-aberto");
+            } else if (++testesBemSucedidos >= chamadasMeioAberto) {
+                fechar();
+            }
+            return;
+        }
+        if (estado == Estado.ABERTO) {
+            // Chamada liberada antes da abertura e concluída depois: não muda o estado
+            return;
+        }
+
+        if (preenchidas == tamanhoJanela) {
+            totalFalhas -= falhas[posicao] ? 1 : 0;
+            totalLentas -= lentas[posicao] ? 1 : 0;
+        } else {
+            preenchidas++;
+        }
+        falhas[posicao] = falhou;
+        lentas[posicao] = lenta;
+        totalFalhas += falhou ? 1 : 0;
+        totalLentas += lenta ? 1 : 0;
+        posicao = (posicao + 1) % tamanhoJanela;
+
+        if (preenchidas < minimoChamadas) {
+            return;
+        }
+        int percentualFalhas = totalFalhas * 100 / preenchidas;
+        int percentualLentas = totalLentas * 100 / preenchidas;
+        if (percentualFalhas >= taxaFalhasPercentual) {
+            abrir(percentualFalhas + "% de falhas nas últimas " + preenchidas + " chamadas (limite "
+                    + taxaFalhasPercentual + "%)");
+        } else if (percentualLentas >= taxaLentasPercentual) {
+            abrir(percentualLentas + "% de chamadas acima de " + TimeUnit.NANOSECONDS.toMillis(chamadaLentaNanos)
+                    + "ms nas últimas " + preenchidas + " chamadas (limite " + taxaLentasPercentual + "%)");
+        }
+    }
+
+    /**
+     * @return estado atual; um circuito aberto cujo tempo expirou continua ABERTO até a próxima chamada
+     */
+    public synchronized Estado getEstado() {
+        return estado;
+    }
+
+    /**
+     * @return true se uma chamada feita agora seria recusada por estar aberto
+     */
+    public synchronized boolean recusaChamadas() {
+        return estado == Estado.ABERTO && relogio.getAsLong() - abertoAte < 0;
+    }
+
+    /**
+     * @return motivo da última abertura, ou null se nunca abriu
+     */
+    public synchronized String getMotivo() {
+        return motivo;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public long getRecusadas() {
+        return recusadas.sum();
+    }
+
+    public long getAberturas() {
+        return aberturas.sum();
+    }
+
+    /**
+     * @return métricas no formato publicado pelo relatório da execução
+     */
+    public synchronized Map<String, Object> estatisticas() {
+        Map<String, Object> mapa = new LinkedHashMap<>();
+        mapa.put("estado", estado);
+        mapa.put("permitidas", permitidas.sum());
+        mapa.put("recusadas", recusadas.sum());
+        mapa.put("aberturas", aberturas.sum());
+        mapa.put("fechamentos", fechamentos.sum());
+        if (motivo != null) {
+            mapa.put("ultimoMotivo", motivo);
+        }
+        return mapa;
+    }
+
+    private void recusar() {
+        recusadas.increment();
+        long restanteMs = Math.max(0, TimeUnit.NANOSECONDS.toMillis(abertoAte - relogio.getAsLong()));
+        throw new CircuitoAbertoException(host, motivo + (estado == Estado.ABERTO
+                ? "; nova tentativa em " + restanteMs + "ms"
+                : "; aguardando chamadas de teste do estado meio-aberto"));
+    }
+
+    private void abrir(String motivoAbertura) {
+        estado = Estado.ABERTO;
+        abertoAte = relogio.getAsLong() + tempoAbertoNanos;
+        motivo = motivoAbertura;
+        aberturas.increment();
+        System.out.println("🔌 [DISJUNTOR] Circuito aberto para " + host + ": " + motivoAbertura);
+    }
+
+    private void fechar() {
+        estado = Estado.FECHADO;
+        preenchidas = 0;
+        posicao = 0;
+        totalFalhas = 0;
+        totalLentas = 0;
+        fechamentos.increment();
+        System.out.println("🔌 [DISJUNTOR] Circuito fechado para " + host);
+    }
+
+    private static Map<String, Object> estatisticasPorHost() {
+        Map<String, Object> mapa = new LinkedHashMap<>();
+        new TreeMap<>(POR_HOST).forEach((host, disjuntor) ->
+                disjuntor.estatisticas().forEach((nome, valor) -> mapa.put(host + "." + nome, valor)));
+        return mapa;
+    }
+}
@@ -0,0 +1,50 @@
+package com.southsystem.resiliencia;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.TestExecutionExceptionHandler;
+import org.opentest4j.TestAbortedException;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Extensão JUnit que marca como abortado (e não como falho) o teste interrompido por um circuito aberto
+ * A {@link CircuitoAbertoException} é procurada também nas causas e nas exceções suprimidas,
+ * já que assertAll e CompletableFuture a embrulham
+ */
+public class ExtensaoDisjuntor implements TestExecutionExceptionHandler {
+
+    @Override
+    public void handleTestExecutionException(ExtensionContext contexto, Throwable erro) throws Throwable {
+        CircuitoAbertoException circuitoAberto = procurar(erro);
+        if (circuitoAberto != null) {
+            throw new TestAbortedException("API indisponível, teste abortado: " + circuitoAberto.getMessage(), erro);
+        }
+        throw erro;
+    }
+
+    private static CircuitoAbertoException procurar(Throwable erro) {
+        Set<Throwable> visitados = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Throwable> pendentes = new ArrayDeque<>();
+        pendentes.push(erro);
+        while (!pendentes.isEmpty()) {
+            Throwable atual = pendentes.pop();
+            if (!visitados.add(atual)) {
+                continue;
+            }
+            if (atual instanceof CircuitoAbertoException) {
+                return (CircuitoAbertoException) atual;
+            }
+            if (atual.getCause() != null) {
+                pendentes.push(atual.getCause());
+            }
+            for (Throwable suprimida : atual.getSuppressed()) {
+                pendentes.push(suprimida);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,124 @@
+package com.southsystem.resiliencia;
+
+import com.southsystem.config.ConfiguracaoApi;
+import com.southsystem.relatorios.MetricasExecucao;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limite de requisições por segundo por host, com um {@link BaldeTokens} por host
+ * Requisições a hosts diferentes não competem entre si; rajadas até a capacidade passam sem espera
+ */
+public class LimitadorTaxa {
+
+    public static final String PROPRIEDADE_REQUISICOES_POR_SEGUNDO = "dog.api.taxa.requisicoesPorSegundo";
+    public static final String PROPRIEDADE_RAJADA = "dog.api.taxa.rajada";
+
+    private static LimitadorTaxa compartilhado;
+    private static boolean configurado;
+
+    private final double requisicoesPorSegundo;
+    private final int rajada;
+    private final Map<String, BaldeTokens> porHost = new ConcurrentHashMap<>();
+
+    /**
+     * @param requisicoesPorSegundo taxa máxima sustentada por host
+     * @param rajada requisições atendidas sem espera após um período ocioso
+     */
+    public LimitadorTaxa(double requisicoesPorSegundo, int rajada) {
+        if (requisicoesPorSegundo <= 0) {
+            throw new IllegalArgumentException("requisicoesPorSegundo deve ser positivo: " + requisicoesPorSegundo);
+        }
+        if (rajada < 1) {
+            throw new IllegalArgumentException("rajada deve ser positiva: " + rajada);
+        }
+        this.requisicoesPorSegundo = requisicoesPorSegundo;
+        this.rajada = rajada;
+    }
+
+    /**
+     * Limitador único da JVM, aplicado a todas as requisições do ServicoDogApi
+     * Configurado por dog.api.taxa.*; com taxa 0 não há limite
+     * @return limitador compartilhado, ou null se desligado
+     */
+    public static synchronized LimitadorTaxa compartilhado() {
+        if (!configurado) {
+            double taxa = Double.parseDouble(ConfiguracaoApi.propriedade(PROPRIEDADE_REQUISICOES_POR_SEGUNDO, "0"));
+            if (taxa > 0) {
+                compartilhado = new LimitadorTaxa(taxa, ConfiguracaoApi.propriedadeInteira(PROPRIEDADE_RAJADA, 1));
+                MetricasExecucao.registrar("taxa", compartilhado::estatisticas);
+            }
+            configurado = true;
+        }
+        return compartilhado;
+    }
+
+    /**
+     * Bloqueia até que uma nova requisição ao host seja permitida
+     * @param host host de destino (com a porta, quando houver)
+     * @return nanossegundos esperados
+     */
+    public long aguardar(String host) {
+        return porHost.computeIfAbsent(host, h -> new BaldeTokens(requisicoesPorSegundo, rajada)).aguardar();
+    }
+
+    /**
+     * Filtro do RestAssured que aplica o limite antes de cada envio, inclusive retentativas
+     * @return filtro a ser adicionado à especificação da requisição
+     */
+    public Filter filtro() {
+        return new Filter() {
+            @Override
+            public Response filter(FilterableRequestSpecification requisicao, FilterableResponseSpecification resposta,
+                                   FilterContext contexto) {
+                aguardar(hostDe(requisicao.getURI()));
+                return contexto.next(requisicao, resposta);
+            }
+        };
+    }
+
+    /**
+     * @return requisições liberadas imediatamente e após espera, somadas entre os hosts
+     */
+    public long getImediatas() {
+        return porHost.values().stream().mapToLong(BaldeTokens::getImediatas).sum();
+    }
+
+    public long getAguardadas() {
+        return porHost.values().stream().mapToLong(BaldeTokens::getAguardadas).sum();
+    }
+
+    /**
+     * @return métricas no formato publicado pelo relatório da execução, por host
+     */
+    public Map<String, Object> estatisticas() {
+        Map<String, Object> mapa = new LinkedHashMap<>();
+        mapa.put("requisicoesPorSegundo", requisicoesPorSegundo);
+        mapa.put("rajada", rajada);
+        new TreeMap<>(porHost).forEach((host, balde) -> {
+            mapa.put(host + ".imediatas", balde.getImediatas());
+            mapa.put(host + ".aguardadas", balde.getAguardadas());
+            mapa.put(host + ".esperaMs", TimeUnit.NANOSECONDS.toMillis(balde.getEsperaNanos()));
+        });
+        return mapa;
+    }
+
+    /**
+     * @param url URL completa da requisição
+     * @return host com a porta explícita, quando houver
+     */
+    public static String hostDe(String url) {
+        URI uri = URI.create(url);
+        return uri.getPort() == -1 ? uri.getHost() : uri.getHost() + ":" + uri.getPort();
+    }
+}
@@ -0,0 +1,294 @@
+package com.southsystem.resiliencia;
+
+import com.southsystem.config.ConfiguracaoApi;
+import com.southsystem.relatorios.MetricasExecucao;
+import com.southsystem.transporte.Prazo;
+import com.southsystem.transporte.PrazoEsgotadoException;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Política de retentativa das requisições do ServicoDogApi
+ *
+ * Apenas métodos idempotentes (GET e HEAD) são repetidos, após falha de I/O ou status retentável
+ * (por padrão 429, 500, 502, 503 e 504). A espera segue backoff exponencial com jitter completo:
+ * um valor aleatório entre zero e min(esperaMaxima, esperaInicial * 2^n), o que espalha as
+ * retentativas de clientes que falharam juntos. Quando a resposta traz Retry-After, o valor do
+ * servidor é usado no lugar do backoff, limitado a esperaMaxima para não travar a suite
+ *
+ * Dentro de um {@link Prazo}, nenhuma tentativa começa com o prazo esgotado, uma requisição interrompida
+ * pelo prazo não é repetida e a política desiste quando a espera até a próxima tentativa passaria do prazo
+ */
+public class PoliticaRetentativa {
+
+    public static final String PROPRIEDADE_MAXIMO = "dog.api.retentativa.maximo";
+    public static final String PROPRIEDADE_ESPERA_INICIAL_MS = "dog.api.retentativa.esperaInicialMs";
+    public static final String PROPRIEDADE_ESPERA_MAXIMA_MS = "dog.api.retentativa.esperaMaximaMs";
+    public static final String PROPRIEDADE_STATUS = "dog.api.retentativa.status";
+
+    private static final Set<String> METODOS_IDEMPOTENTES = Set.of("GET", "HEAD");
+
+    private static PoliticaRetentativa compartilhada;
+
+    private final int maximoRetentativas;
+    private final long esperaInicialNanos;
+    private final long esperaMaximaNanos;
+    private final Set<Integer> statusRetentaveis;
+
+    private final LongAdder chamadas = new LongAdder();
+    private final Map<String, LongAdder> retentativasPorMotivo = new ConcurrentHashMap<>();
+    private final LongAdder retryAfterRespeitados = new LongAdder();
+    private final LongAdder recuperadas = new LongAdder();
+    private final LongAdder esgotadas = new LongAdder();
+    private final LongAdder naoIdempotentes = new LongAdder();
+    private final LongAdder limitadasPeloPrazo = new LongAdder();
+    private final LongAdder esperaNanos = new LongAdder();
+
+    /**
+     * @param maximoRetentativas tentativas além da primeira (0 desliga as retentativas)
+     * @param esperaInicial base do backoff exponencial
+     * @param esperaMaxima teto do backoff e do Retry-After
+     * @param statusRetentaveis códigos HTTP que disparam nova tentativa
+     */
+    public PoliticaRetentativa(int maximoRetentativas, Duration esperaInicial, Duration esperaMaxima,
+                               Set<Integer> statusRetentaveis) {
+        if (maximoRetentativas < 0) {
+            throw new IllegalArgumentException("maximoRetentativas não pode ser negativo: " + maximoRetentativas);
+        }
+        this.maximoRetentativas = maximoRetentativas;
+        this.esperaInicialNanos = esperaInicial.toNanos();
+        this.esperaMaximaNanos = esperaMaxima.toNanos();
+        this.statusRetentaveis = Set.copyOf(statusRetentaveis);
+    }
+
+    /**
+     * Política única da JVM, configurada pelas propriedades dog.api.retentativa.*
+     * @return política compartilhada
+     */
+    public static synchronized PoliticaRetentativa compartilhada() {
+        if (compartilhada == null) {
+            Set<Integer> status = Arrays.stream(ConfiguracaoApi.propriedade(PROPRIEDADE_STATUS, "429,500,502,503,504")
+                            .split(","))
+                    .map(String::trim)
+                    .filter(codigo -> !codigo.isEmpty())
+                    .map(Integer::valueOf)
+                    .collect(Collectors.toSet());
+            PoliticaRetentativa politica = new PoliticaRetentativa(
+                    ConfiguracaoApi.propriedadeInteira(PROPRIEDADE_MAXIMO, 3),
+                    Duration.ofMillis(ConfiguracaoApi.propriedadeInteira(PROPRIEDADE_ESPERA_INICIAL_MS, 200)),
+                    Duration.ofMillis(ConfiguracaoApi.propriedadeInteira(PROPRIEDADE_ESPERA_MAXIMA_MS, 5000)),
+                    status);
+            MetricasExecucao.registrar("retentativas", politica::estatisticas);
+            compartilhada = politica;
+        }
+        return compartilhada;
+    }
+
+    /**
+     * Executa a chamada, repetindo-a conforme a política
+     * @param metodo método HTTP; métodos não idempotentes são executados uma única vez
+     * @param chamada envia a requisição e devolve a resposta
+     * @return primeira resposta com status não retentável, ou a última obtida ao esgotar as tentativas
+     */
+    public Response executar(String metodo, Supplier<Response> chamada) {
+        chamadas.increment();
+        Prazo.verificar(metodo);
+        if (!METODOS_IDEMPOTENTES.contains(metodo)) {
+            naoIdempotentes.increment();
+            return chamada.get();
+        }
+        for (int retentativa = 0; ; retentativa++) {
+            Response response;
+            try {
+                response = chamada.get();
+            } catch (PrazoEsgotadoException e) {
+                limitadasPeloPrazo.increment();
+                throw e;
+            } catch (Exception e) {
+                if (!falhaDeIo(e) || retentativa >= maximoRetentativas) {
+                    contarEsgotada(retentativa, falhaDeIo(e));
+                    throw e;
+                }
+                long espera = backoff(retentativa);
+                if (!cabeNoPrazo(espera)) {
+                    throw e;
+                }
+                contarRetentativa(e.getClass().getSimpleName());
+                esperar(espera);
+                Prazo.verificar(metodo);
+                continue;
+            }
+
+            int status = response.getStatusCode();
+            if (!statusRetentaveis.contains(status)) {
+                if (retentativa > 0) {
+                    recuperadas.increment();
+                }
+                return response;
+            }
+            if (retentativa >= maximoRetentativas) {
+                contarEsgotada(retentativa, true);
+                return response;
+            }
+            long retryAfter = retryAfterNanos(response.getHeader("Retry-After"));
+            long espera = retryAfter >= 0 ? Math.min(retryAfter, esperaMaximaNanos) : backoff(retentativa);
+            if (!cabeNoPrazo(espera)) {
+                return response;
+            }
+            // Descarta o corpo para devolver a conexão ao pool antes de esperar
+            response.asByteArray();
+            contarRetentativa(String.valueOf(status));
+            if (retryAfter >= 0) {
+                retryAfterRespeitados.increment();
+            }
+            esperar(espera);
+            Prazo.verificar(metodo);
+        }
+    }
+
+    /**
+     * @param retentativa índice da retentativa, a partir de 0
+     * @return espera sorteada entre 0 e o teto exponencial da retentativa
+     */
+    long backoff(int retentativa) {
+        long teto = esperaInicialNanos << Math.min(retentativa, 30);
+        if (teto <= 0 || teto > esperaMaximaNanos) {
+            teto = esperaMaximaNanos;
+        }
+        return ThreadLocalRandom.current().nextLong(teto + 1);
+    }
+
+    /**
+     * @param valor header Retry-After em segundos ou como data HTTP
+     * @return espera pedida pelo servidor em nanossegundos (Long.MAX_VALUE se não cabe em um long; quem chama
+     *         limita a esperaMaxima), ou -1 se ausente ou inválida
+     */
+    static long retryAfterNanos(String valor) {
+        if (valor == null || valor.isBlank()) {
+            return -1;
+        }
+        String texto = valor.trim();
+        if (texto.chars().allMatch(Character::isDigit)) {
+            try {
+                return TimeUnit.SECONDS.toNanos(Long.parseLong(texto));
+            } catch (NumberFormatException e) {
+                // Só dígitos, mas além de Long.MAX_VALUE segundos
+                return Long.MAX_VALUE;
+            }
+        }
+        try {
+            ZonedDateTime instante = ZonedDateTime.parse(texto, DateTimeFormatter.RFC_1123_DATE_TIME);
+            return Math.max(0, Duration.between(ZonedDateTime.now(instante.getZone()), instante).toNanos());
+        } catch (DateTimeParseException e) {
+            return -1;
+        } catch (ArithmeticException e) {
+            // Data a mais de ~292 anos de distância
+            return Long.MAX_VALUE;
+        }
+    }
+
+    public long getRetentativas() {
+        return retentativasPorMotivo.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    public long getRetryAfterRespeitados() {
+        return retryAfterRespeitados.sum();
+    }
+
+    /**
+     * @return chamadas que tiveram sucesso depois de ao menos uma retentativa
+     */
+    public long getRecuperadas() {
+        return recuperadas.sum();
+    }
+
+    /**
+     * @return chamadas interrompidas pelo prazo ou que deixaram de ser repetidas para não passar dele
+     */
+    public long getLimitadasPeloPrazo() {
+        return limitadasPeloPrazo.sum();
+    }
+
+    /**
+     * @return chamadas que falharam mesmo após todas as retentativas
+     */
+    public long getEsgotadas() {
+        return esgotadas.sum();
+    }
+
+    /**
+     * @return métricas no formato publicado pelo relatório da execução
+     */
+    public Map<String, Object> estatisticas() {
+        Map<String, Object> mapa = new LinkedHashMap<>();
+        mapa.put("chamadas", chamadas.sum());
+        mapa.put("retentativas", getRetentativas());
+        new TreeMap<>(retentativasPorMotivo).forEach((motivo, total) -> mapa.put("motivo." + motivo, total.sum()));
+        mapa.put("retryAfterRespeitados", retryAfterRespeitados.sum());
+        mapa.put("recuperadas", recuperadas.sum());
+        mapa.put("esgotadas", esgotadas.sum());
+        mapa.put("naoIdempotentes", naoIdempotentes.sum());
+        mapa.put("limitadasPeloPrazo", limitadasPeloPrazo.sum());
+        mapa.put("esperaMs", TimeUnit.NANOSECONDS.toMillis(esperaNanos.sum()));
+        return mapa;
+    }
+
+    /**
+     * @return false (e conta a desistência) quando a espera terminaria depois do prazo da thread
+     */
+    private boolean cabeNoPrazo(long esperaNanos) {
+        if (esperaNanos < Prazo.restanteNanos()) {
+            return true;
+        }
+        limitadasPeloPrazo.increment();
+        return false;
+    }
+
+    private void contarRetentativa(String motivo) {
+        retentativasPorMotivo.computeIfAbsent(motivo, m -> new LongAdder()).increment();
+    }
+
+    private void contarEsgotada(int retentativas, boolean retentavel) {
+        if (retentavel && retentativas > 0) {
+            esgotadas.increment();
+        }
+    }
+
+    private void esperar(long nanos) {
+        esperaNanos.add(nanos);
+        long limite = System.nanoTime() + nanos;
+        long restante;
+        while ((restante = limite - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(restante);
+        }
+    }
+
+    /**
+     * O RestAssured propaga falhas de conexão como IOException sem declará-la
+     */
+    private static boolean falhaDeIo(Throwable erro) {
+        for (Throwable causa = erro; causa != null; causa = causa.getCause()) {
+            if (causa instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
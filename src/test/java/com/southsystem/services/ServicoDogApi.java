@@ -1,36 +1,300 @@
 package com.southsystem.services;
 
+import com.southsystem.cache.CacheHttpDisco;
+import com.southsystem.cache.CacheLeitura;
+import com.southsystem.cache.CoalescedorRequisicoes;
+import com.southsystem.cassete.Cassete;
 import com.southsystem.config.ConfiguracaoApi;
+import com.southsystem.json.LeitorRespostas;
+import com.southsystem.models.ListaUrlsCompacta;
+import com.southsystem.models.RespostaDogApi;
 import com.southsystem.models.RespostaImagemAleatoria;
 import com.southsystem.models.RespostaImagensRaca;
 import com.southsystem.models.RespostaListaRacas;
+import com.southsystem.relatorios.MetricasExecucao;
+import com.southsystem.registro.RegistroHttp;
+import com.southsystem.resiliencia.DisjuntorCircuito;
+import com.southsystem.resiliencia.LimitadorTaxa;
+import com.southsystem.resiliencia.PoliticaRetentativa;
+import com.southsystem.transporte.Prazo;
+import com.southsystem.transporte.TransporteHttp;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
 import io.qameta.allure.Step;
+import io.qameta.allure.internal.AllureThreadContext;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.DecoderConfig;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
 import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static io.restassured.RestAssured.given;
 
 /**
  * Serviço para gerenciar operações da Dog API
  * Implementa o padrão Service Object para encapsular lógica de negócio
+ *
+ * Cada instância carrega sua própria {@link RequestSpecification} imutável (URL base e configuração),
+ * sem depender dos estáticos globais do RestAssured, e por isso pode ser usada por várias threads.
+ * Todas as instâncias compartilham o pool de conexões keep-alive do {@link TransporteHttp}
+ *
+ * Os métodos "ComoObjeto" de lista de raças e imagens por raça passam por um cache read-through
+ * compartilhado (TTL e limite de entradas configuráveis em dog.api.cache.*). O cache guarda uma versão com
+ * coleções imutáveis e cada chamada recebe seu próprio modelo, de modo que um teste que altere o resultado
+ * não afeta os demais, que rodam em paralelo. Os métodos que retornam
+ * {@link Response} não passam por esse cache, mas os endpoints cacheáveis ainda podem ser servidos pelo
+ * {@link CacheHttpDisco}; testes de transporte (headers, status, tempo de resposta) usam {@link #semCacheHttp}
+ *
+ * Os métodos "ComoObjeto" preenchem os modelos pelo {@link LeitorRespostas} diretamente do stream
+ * da conexão, sem String intermediária. Com dog.api.imagens.compactas, as URLs de imagens por raça ficam
+ * numa {@link ListaUrlsCompacta}, que retém várias vezes menos memória no cache
+ *
+ * Os métodos "Async" executam a mesma busca em um executor compartilhado e devolvem um
+ * {@link CompletableFuture}; {@link #paraCada} dispara várias buscas de uma vez e reúne os resultados,
+ * de modo que um fluxo sobre N raças custa aproximadamente uma ida à API
+ *
+ * As requisições são registradas pelo {@link RegistroHttp} conforme dog.api.log.nivel (por padrão,
+ * apenas quando o teste falha), e não mais no console
+ *
+ * Todas as requisições passam pelo {@link LimitadorTaxa} compartilhado (dog.api.taxa.*) e pela
+ * {@link PoliticaRetentativa} (dog.api.retentativa.*), que repete GETs após falha de I/O, 429 ou 5xx.
+ * Cada tentativa passa ainda pelo {@link DisjuntorCircuito} do host (dog.api.disjuntor.*), que recusa
+ * as requisições na hora enquanto a API estiver fora do ar ou lenta
+ *
+ * Os timeouts de conexão e leitura são configurados por endpoint (dog.api.timeout.*) e limitados ao
+ * {@link Prazo} do teste, que acompanha também as buscas assíncronas
+ *
+ * Com dog.api.coalescencia.habilitada (ou {@link #comCoalescencia}), chamadas idênticas simultâneas à lista
+ * de raças e às imagens de uma raça ou sub-raça compartilham uma única requisição em andamento e o seu
+ * resultado ({@link CoalescedorRequisicoes}); a economia aparece na seção coalescencia.* das métricas
+ *
+ * Esses mesmos endpoints passam pelo {@link CacheHttpDisco} (dog.api.cacheHttp.*): a resposta fica em disco
+ * entre execuções e é revalidada com If-None-Match/If-Modified-Since, trafegando só um 304 quando não mudou.
+ * Os métodos "percorrer", feitos para varrer o catálogo sem reter o corpo, não passam por ele
+ *
+ * Com um {@link Cassete} (dog.api.cassete.*, escolhido pelo TesteBase) as respostas são gravadas em arquivo
+ * ou reproduzidas dele antes de qualquer outro filtro, sem rede
  */
 public class ServicoDogApi {
 
+    public static final String PROPRIEDADE_CACHE_HABILITADO = "dog.api.cache.habilitado";
+    public static final String PROPRIEDADE_CACHE_TTL_SEGUNDOS = "dog.api.cache.ttlSegundos";
+    public static final String PROPRIEDADE_CACHE_MAXIMO_ENTRADAS = "dog.api.cache.maxEntradas";
+    public static final String PROPRIEDADE_ASYNC_THREADS = "dog.api.async.threads";
+    public static final String PROPRIEDADE_COALESCENCIA_HABILITADA = "dog.api.coalescencia.habilitada";
+    public static final String PROPRIEDADE_IMAGENS_COMPACTAS = "dog.api.imagens.compactas";
+
+    private static final CacheLeitura<String, Object> CACHE_COMPARTILHADO = criarCacheCompartilhado();
+    private static final ExecutorService EXECUTOR_ASSINCRONO = criarExecutorAssincrono();
+    private static final Field CONTEXTO_THREAD_ALLURE = campoContextoAllure();
+    private static final CoalescedorRequisicoes<String, Object> COALESCEDOR_COMPARTILHADO = criarCoalescedorCompartilhado();
+    private static final boolean IMAGENS_COMPACTAS =
+            Boolean.parseBoolean(ConfiguracaoApi.propriedade(PROPRIEDADE_IMAGENS_COMPACTAS, "false"));
+
+    private final String urlBase;
+    private final RequestSpecification especificacao;
+    private final RequestSpecification especificacaoSemCacheHttp;
+    private final boolean usaCacheHttp;
+    private final CacheLeitura<String, Object> cache;
+    private final PoliticaRetentativa politicaRetentativa;
+    private final CoalescedorRequisicoes<String, Object> coalescedor;
+
+    /**
+     * Cria o serviço apontando para a Dog API pública
+     */
+    public ServicoDogApi() {
+        this(ConfiguracaoApi.BASE_URL);
+    }
+
+    /**
+     * Cria o serviço apontando para uma URL base específica (ex.: servidor local)
+     * @param urlBase URL base da API, equivalente a {@link ConfiguracaoApi#BASE_URL}
+     */
+    public ServicoDogApi(String urlBase) {
+        this(urlBase, TransporteHttp.compartilhado());
+    }
+
+    /**
+     * Cria o serviço gravando ou reproduzindo as respostas em um cassete
+     * @param urlBase URL base da API
+     * @param cassete cassete de requisições (null vai sempre à API)
+     */
+    public ServicoDogApi(String urlBase, Cassete cassete) {
+        this(urlBase, TransporteHttp.compartilhado(), CacheHttpDisco.compartilhado(), cassete);
+    }
+
+    /**
+     * Cria o serviço com um transporte HTTP específico
+     * @param urlBase URL base da API
+     * @param transporte pool de conexões usado pelas requisições
+     */
+    public ServicoDogApi(String urlBase, TransporteHttp transporte) {
+        this(urlBase, transporte, CacheHttpDisco.compartilhado());
+    }
+
+    /**
+     * Cria o serviço com um transporte HTTP e um cache HTTP em disco específicos
+     * @param urlBase URL base da API
+     * @param transporte pool de conexões usado pelas requisições
+     * @param cacheHttp cache em disco revalidado por requisição condicional (null desliga)
+     */
+    public ServicoDogApi(String urlBase, TransporteHttp transporte, CacheHttpDisco cacheHttp) {
+        this(urlBase, transporte, cacheHttp, null);
+    }
+
+    /**
+     * Cria o serviço com transporte, cache HTTP em disco e cassete específicos
+     * @param urlBase URL base da API
+     * @param transporte pool de conexões usado pelas requisições
+     * @param cacheHttp cache em disco revalidado por requisição condicional (null desliga)
+     * @param cassete cassete que grava ou reproduz as respostas (null vai sempre à API)
+     */
+    public ServicoDogApi(String urlBase, TransporteHttp transporte, CacheHttpDisco cacheHttp, Cassete cassete) {
+        this.urlBase = urlBase;
+        this.especificacao = montarEspecificacao(urlBase, transporte, cacheHttp, cassete);
+        this.especificacaoSemCacheHttp = cacheHttp == null
+                ? especificacao : montarEspecificacao(urlBase, transporte, null, cassete);
+        this.usaCacheHttp = cacheHttp != null;
+        this.cache = CACHE_COMPARTILHADO;
+        this.politicaRetentativa = PoliticaRetentativa.compartilhada();
+        this.coalescedor = COALESCEDOR_COMPARTILHADO;
+    }
+
+    private static RequestSpecification montarEspecificacao(String urlBase, TransporteHttp transporte,
+                                                            CacheHttpDisco cacheHttp, Cassete cassete) {
+        // Sem decodificadores do RestAssured: o transporte negocia e descomprime gzip/deflate medindo os bytes
+        RestAssuredConfig configuracao = RestAssuredConfig.config()
+                .httpClient(transporte.aplicar(HttpClientConfig.httpClientConfig()))
+                .decoderConfig(DecoderConfig.decoderConfig().noContentDecoders());
+        RequestSpecBuilder construtor = new RequestSpecBuilder()
+                .setBaseUri(urlBase)
+                .setContentType(ConfiguracaoApi.CONTENT_TYPE)
+                .setConfig(configuracao);
+        if (cassete != null) {
+            construtor.addFilter(cassete.filtro());
+        }
+        LimitadorTaxa limitador = LimitadorTaxa.compartilhado();
+        if (limitador != null) {
+            construtor.addFilter(limitador.filtro());
+        }
+        if (DisjuntorCircuito.habilitado()) {
+            construtor.addFilter(DisjuntorCircuito.filtro());
+        }
+        if (cacheHttp != null) {
+            construtor.addFilter(cacheHttp.filtro());
+        }
+        return construtor
+                .addFilter(RegistroHttp.compartilhado().filtro())
+                .addFilter(transporte.filtroLatencia())
+                .build();
+    }
+
+    private ServicoDogApi(ServicoDogApi origem, boolean usaCacheHttp, CacheLeitura<String, Object> cache,
+                          PoliticaRetentativa politicaRetentativa, CoalescedorRequisicoes<String, Object> coalescedor) {
+        this.urlBase = origem.urlBase;
+        this.especificacao = origem.especificacao;
+        this.especificacaoSemCacheHttp = origem.especificacaoSemCacheHttp;
+        this.usaCacheHttp = usaCacheHttp;
+        this.cache = cache;
+        this.politicaRetentativa = politicaRetentativa;
+        this.coalescedor = coalescedor;
+    }
+
+    /**
+     * Cópia deste serviço que usa o cache informado nos métodos "ComoObjeto"
+     * @param cache cache de respostas desserializadas (null desliga o cache)
+     * @return novo serviço com a mesma especificação de requisição
+     */
+    public ServicoDogApi comCache(CacheLeitura<String, Object> cache) {
+        return new ServicoDogApi(this, usaCacheHttp, cache, politicaRetentativa, coalescedor);
+    }
+
+    /**
+     * Cópia deste serviço com outra política de retentativa
+     * @param politicaRetentativa política aplicada a todas as requisições da cópia
+     * @return novo serviço com a mesma especificação de requisição e o mesmo cache
+     */
+    public ServicoDogApi comPoliticaRetentativa(PoliticaRetentativa politicaRetentativa) {
+        return new ServicoDogApi(this, usaCacheHttp, cache, politicaRetentativa, coalescedor);
+    }
+
+    /**
+     * Cópia deste serviço em que GETs idênticos simultâneos compartilham uma única requisição
+     * @param coalescedor coalescedor das requisições (null desliga a coalescência)
+     * @return novo serviço com a mesma especificação de requisição, cache e política de retentativa
+     */
+    public ServicoDogApi comCoalescencia(CoalescedorRequisicoes<String, Object> coalescedor) {
+        return new ServicoDogApi(this, usaCacheHttp, cache, politicaRetentativa, coalescedor);
+    }
+
+    /**
+     * Cópia deste serviço em que cada chamada faz sua própria requisição
+     * @return novo serviço sem coalescência
+     */
+    public ServicoDogApi semCoalescencia() {
+        return comCoalescencia(null);
+    }
+
+    /**
+     * Cópia deste serviço sem o cache em memória dos métodos "ComoObjeto"
+     * As respostas ainda podem vir do {@link CacheHttpDisco}; para ir sempre à rede, use {@link #semCacheHttp}
+     * @return novo serviço sem cache em memória
+     */
+    public ServicoDogApi semCache() {
+        return comCache(null);
+    }
+
+    /**
+     * Cópia deste serviço que não passa pelo {@link CacheHttpDisco}: nenhuma requisição vira condicional
+     * e o status recebido é o da rede, para testes que validam o transporte
+     * @return novo serviço sem o cache HTTP em disco, com o mesmo cache em memória
+     */
+    public ServicoDogApi semCacheHttp() {
+        return new ServicoDogApi(this, false, cache, politicaRetentativa, coalescedor);
+    }
+
+    /**
+     * @return URL base da API usada por este serviço
+     */
+    public String getUrlBase() {
+        return urlBase;
+    }
+
     /**
-     * Método helper para exibir resposta de forma legível
+     * Descarta as respostas em cache usadas por este serviço
      */
-    private void exibirRespostaDetalhada(Response response, String endpoint) {
-        System.out.println("📡 [RESPOSTA] " + endpoint);
-        System.out.println("📊 Status: " + response.getStatusCode());
-        System.out.println("⏰ Tempo: " + response.getTime() + "ms");
-        System.out.println("📋 Headers: " + response.getHeaders().toString());
-        
-        String body = response.getBody().asString();
-        if (body.length() > 500) {
-            System.out.println("📄 Body (primeiros 500 chars): " + body.substring(0, 500) + "...");
-        } else {
-            System.out.println("📄 Body: " + body);
+    public void invalidarCache() {
+        if (cache != null) {
+            cache.invalidarTudo();
         }
-        System.out.println("─────────────────────────────────");
+    }
+
+    /**
+     * Inicia uma requisição a partir da especificação da instância
+     */
+    private RequestSpecification requisicao() {
+        return given().spec(usaCacheHttp ? especificacao : especificacaoSemCacheHttp);
     }
 
     /**
@@ -39,19 +303,12 @@ public class ServicoDogApi {
      */
     @Step("Buscar todas as raças disponíveis")
     public Response buscarTodasRacas() {
-        System.out.println("📡 [HTTP] GET /breeds/list/all");
-        Response response = given()
-                .contentType("application/json")
-                .log().all()  // Log da requisição
+        return coalescida(Response.class, "/breeds/list/all", () -> carregada(comRetentativa(() -> requisicao()
                 .when()
                 .get("/breeds/list/all")
                 .then()
-                .log().all()  // Log da resposta
                 .extract()
-                .response();
-        
-        exibirRespostaDetalhada(response, "GET /breeds/list/all");
-        return response;
+                .response())));
     }
 
     /**
@@ -60,8 +317,17 @@ public class ServicoDogApi {
      */
     @Step("Buscar todas as raças e converter para objeto")
     public RespostaListaRacas buscarTodasRacasComoObjeto() {
-        return buscarTodasRacas()
-                .as(RespostaListaRacas.class);
+        return copiaListaRacas(comCacheSeHabilitado("/breeds/list/all", () -> coalescida(RespostaListaRacas.class, "/breeds/list/all",
+                () -> listaRacasImutavel(lerEmFluxo(LeitorRespostas::lerListaRacas, "/breeds/list/all")))));
+    }
+
+    /**
+     * Busca todas as raças como visão memoizada (corpo interpretado uma única vez)
+     * @return RespostaDogApi com status HTTP, headers e campos decodificados sob demanda
+     */
+    @Step("Buscar todas as raças como visão")
+    public RespostaDogApi buscarTodasRacasComoVisao() {
+        return comoVisao(buscarTodasRacas());
     }
 
     /**
@@ -71,19 +337,13 @@ public class ServicoDogApi {
      */
     @Step("Buscar imagens da raça: {raca}")
     public Response buscarImagensPorRaca(String raca) {
-        System.out.println("📡 [HTTP] GET /breed/" + raca + "/images");
-        Response response = given()
-                .contentType("application/json")
+        return coalescida(Response.class, "/breed/" + raca + "/images", () -> carregada(comRetentativa(() -> requisicao()
                 .pathParam("raca", raca)
-                .log().all()  // Log da requisição
                 .when()
                 .get("/breed/{raca}/images")
                 .then()
-                .log().all()  // Log da resposta
                 .extract()
-                .response();
-        System.out.println("✅ [HTTP] Status: " + response.getStatusCode());
-        return response;
+                .response())));
     }
 
     /**
@@ -93,8 +353,20 @@ public class ServicoDogApi {
      */
     @Step("Buscar imagens da raça {raca} e converter para objeto")
     public RespostaImagensRaca buscarImagensPorRacaComoObjeto(String raca) {
-        return buscarImagensPorRaca(raca)
-                .as(RespostaImagensRaca.class);
+        String caminho = "/breed/" + raca + "/images";
+        return copiaImagensRaca(comCacheSeHabilitado(caminho, () -> coalescida(RespostaImagensRaca.class, caminho,
+                () -> imagensRacaImutaveis(lerEmFluxo(corpo -> LeitorRespostas.lerImagensRaca(corpo, IMAGENS_COMPACTAS),
+                        "/breed/{raca}/images", raca)))));
+    }
+
+    /**
+     * Busca imagens de uma raça como visão memoizada
+     * @param raca nome da raça
+     * @return RespostaDogApi com status HTTP, headers e campos decodificados sob demanda
+     */
+    @Step("Buscar imagens da raça {raca} como visão")
+    public RespostaDogApi buscarImagensPorRacaComoVisao(String raca) {
+        return comoVisao(buscarImagensPorRaca(raca));
     }
 
     /**
@@ -105,15 +377,38 @@ public class ServicoDogApi {
      */
     @Step("Buscar imagens da sub-raça: {raca}/{subRaca}")
     public Response buscarImagensPorSubRaca(String raca, String subRaca) {
-        return given()
-                .contentType("application/json")
-                .pathParam("raca", raca)
-                .pathParam("subRaca", subRaca)
-                .when()
-                .get("/breed/{raca}/{subRaca}/images")
-                .then()
-                .extract()
-                .response();
+        return coalescida(Response.class, "/breed/" + raca + "/" + subRaca + "/images",
+                () -> carregada(comRetentativa(() -> requisicao()
+                        .pathParam("raca", raca)
+                        .pathParam("subRaca", subRaca)
+                        .when()
+                        .get("/breed/{raca}/{subRaca}/images")
+                        .then()
+                        .extract()
+                        .response())));
+    }
+
+    /**
+     * Percorre as imagens de uma raça sem montar a lista (memória constante)
+     * @param raca nome da raça
+     * @param consumidor recebe cada URL assim que é lida
+     * @return campo "status" da resposta ("success"; respostas fora de 2xx lançam IllegalStateException)
+     */
+    public String percorrerImagensPorRaca(String raca, Consumer<String> consumidor) {
+        return lerEmFluxo(given().spec(especificacaoSemCacheHttp),
+                corpo -> LeitorRespostas.percorrerImagens(corpo, consumidor), "/breed/{raca}/images", raca);
+    }
+
+    /**
+     * Percorre as imagens de uma sub-raça sem montar a lista (memória constante)
+     * @param raca nome da raça principal
+     * @param subRaca nome da sub-raça
+     * @param consumidor recebe cada URL assim que é lida
+     * @return campo "status" da resposta ("success"; respostas fora de 2xx lançam IllegalStateException)
+     */
+    public String percorrerImagensPorSubRaca(String raca, String subRaca, Consumer<String> consumidor) {
+        return lerEmFluxo(given().spec(especificacaoSemCacheHttp),
+                corpo -> LeitorRespostas.percorrerImagens(corpo, consumidor), "/breed/{raca}/{subRaca}/images", raca, subRaca);
     }
 
     /**
@@ -122,18 +417,12 @@ public class ServicoDogApi {
      */
     @Step("Buscar imagem aleatória")
     public Response buscarImagemAleatoria() {
-        System.out.println("📡 [HTTP] GET /breeds/image/random");
-        Response response = given()
-                .contentType("application/json")
-                .log().all()  // Log da requisição
+        return carregada(comRetentativa(() -> requisicao()
                 .when()
                 .get("/breeds/image/random")
                 .then()
-                .log().all()  // Log da resposta
                 .extract()
-                .response();
-        System.out.println("✅ [HTTP] Status: " + response.getStatusCode());
-        return response;
+                .response()));
     }
 
     /**
@@ -142,8 +431,16 @@ public class ServicoDogApi {
      */
     @Step("Buscar imagem aleatória e converter para objeto")
     public RespostaImagemAleatoria buscarImagemAleatoriaComoObjeto() {
-        return buscarImagemAleatoria()
-                .as(RespostaImagemAleatoria.class);
+        return lerEmFluxo(LeitorRespostas::lerImagemAleatoria, "/breeds/image/random");
+    }
+
+    /**
+     * Busca imagem aleatória como visão memoizada
+     * @return RespostaDogApi com status HTTP, headers e campos decodificados sob demanda
+     */
+    @Step("Buscar imagem aleatória como visão")
+    public RespostaDogApi buscarImagemAleatoriaComoVisao() {
+        return comoVisao(buscarImagemAleatoria());
     }
 
     /**
@@ -153,19 +450,23 @@ public class ServicoDogApi {
      */
     @Step("Buscar {quantidade} imagens aleatórias")
     public Response buscarMultiplasImagensAleatorias(int quantidade) {
-        System.out.println("📡 [HTTP] GET /breeds/image/random/" + quantidade);
-        Response response = given()
-                .contentType("application/json")
+        return carregada(comRetentativa(() -> requisicao()
                 .pathParam("quantidade", quantidade)
-                .log().all()
                 .when()
                 .get("/breeds/image/random/{quantidade}")
                 .then()
-                .log().all()
                 .extract()
-                .response();
-        System.out.println("✅ [HTTP] Status: " + response.getStatusCode());
-        return response;
+                .response()));
+    }
+
+    /**
+     * Busca múltiplas imagens aleatórias como visão memoizada
+     * @param quantidade número de imagens para retornar
+     * @return RespostaDogApi com status HTTP, headers e campos decodificados sob demanda
+     */
+    @Step("Buscar {quantidade} imagens aleatórias como visão")
+    public RespostaDogApi buscarMultiplasImagensAleatoriasComoVisao(int quantidade) {
+        return comoVisao(buscarMultiplasImagensAleatorias(quantidade));
     }
 
     /**
@@ -175,19 +476,23 @@ public class ServicoDogApi {
      */
     @Step("Buscar imagem aleatória da raça: {raca}")
     public Response buscarImagemAleatoriaPorRaca(String raca) {
-        System.out.println("📡 [HTTP] GET /breed/" + raca + "/images/random");
-        Response response = given()
-                .contentType("application/json")
+        return carregada(comRetentativa(() -> requisicao()
                 .pathParam("raca", raca)
-                .log().all()
                 .when()
                 .get("/breed/{raca}/images/random")
                 .then()
-                .log().all()
                 .extract()
-                .response();
-        System.out.println("✅ [HTTP] Status: " + response.getStatusCode());
-        return response;
+                .response()));
+    }
+
+    /**
+     * Busca imagem aleatória de uma raça como visão memoizada
+     * @param raca nome da raça
+     * @return RespostaDogApi com status HTTP, headers e campos decodificados sob demanda
+     */
+    @Step("Buscar imagem aleatória da raça {raca} como visão")
+    public RespostaDogApi buscarImagemAleatoriaPorRacaComoVisao(String raca) {
+        return comoVisao(buscarImagemAleatoriaPorRaca(raca));
     }
 
     /**
@@ -198,19 +503,295 @@ public class ServicoDogApi {
      */
     @Step("Buscar {quantidade} imagens aleatórias da raça: {raca}")
     public Response buscarMultiplasImagensAleatoriasPorRaca(String raca, int quantidade) {
-        System.out.println("📡 [HTTP] GET /breed/" + raca + "/images/random/" + quantidade);
-        Response response = given()
-                .contentType("application/json")
+        return carregada(comRetentativa(() -> requisicao()
                 .pathParam("raca", raca)
                 .pathParam("quantidade", quantidade)
-                .log().all()
                 .when()
                 .get("/breed/{raca}/images/random/{quantidade}")
                 .then()
-                .log().all()
                 .extract()
-                .response();
-        System.out.println("✅ [HTTP] Status: " + response.getStatusCode());
+                .response()));
+    }
+
+    /**
+     * Busca múltiplas imagens aleatórias de uma raça como visão memoizada
+     * @param raca nome da raça
+     * @param quantidade número de imagens
+     * @return RespostaDogApi com status HTTP, headers e campos decodificados sob demanda
+     */
+    @Step("Buscar {quantidade} imagens aleatórias da raça {raca} como visão")
+    public RespostaDogApi buscarMultiplasImagensAleatoriasPorRacaComoVisao(String raca, int quantidade) {
+        return comoVisao(buscarMultiplasImagensAleatoriasPorRaca(raca, quantidade));
+    }
+
+    /**
+     * Busca todas as raças sem bloquear a thread chamadora
+     * @return futuro com a lista de raças (sujeita ao cache, como {@link #buscarTodasRacasComoObjeto()})
+     */
+    public CompletableFuture<RespostaListaRacas> buscarTodasRacasAsync() {
+        return assincrono(this::buscarTodasRacasComoObjeto);
+    }
+
+    /**
+     * Busca as imagens de uma raça sem bloquear a thread chamadora
+     * @param raca nome da raça
+     * @return futuro com as imagens (sujeito ao cache, como {@link #buscarImagensPorRacaComoObjeto(String)})
+     */
+    public CompletableFuture<RespostaImagensRaca> buscarImagensPorRacaAsync(String raca) {
+        return assincrono(() -> buscarImagensPorRacaComoObjeto(raca));
+    }
+
+    /**
+     * Busca as imagens de uma raça como visão, sem bloquear a thread chamadora
+     * @param raca nome da raça
+     * @return futuro com status HTTP, headers e campos decodificados sob demanda
+     */
+    public CompletableFuture<RespostaDogApi> buscarImagensPorRacaComoVisaoAsync(String raca) {
+        return assincrono(() -> buscarImagensPorRacaComoVisao(raca));
+    }
+
+    /**
+     * Busca uma imagem aleatória de uma raça como visão, sem bloquear a thread chamadora
+     * @param raca nome da raça
+     * @return futuro com status HTTP, headers e campos decodificados sob demanda
+     */
+    public CompletableFuture<RespostaDogApi> buscarImagemAleatoriaPorRacaComoVisaoAsync(String raca) {
+        return assincrono(() -> buscarImagemAleatoriaPorRacaComoVisao(raca));
+    }
+
+    /**
+     * Dispara uma busca assíncrona para cada chave e reúne os resultados (fan-out/fan-in)
+     * @param chaves chaves das buscas (ex.: raças)
+     * @param busca busca assíncrona de uma chave (ex.: servico::buscarImagensPorRacaAsync)
+     * @return futuro com os resultados na ordem das chaves; falha se qualquer busca falhar
+     */
+    public <K, T> CompletableFuture<Map<K, T>> paraCada(Collection<K> chaves, Function<K, CompletableFuture<T>> busca) {
+        Map<K, CompletableFuture<T>> disparadas = new LinkedHashMap<>();
+        chaves.forEach(chave -> disparadas.put(chave, busca.apply(chave)));
+        return CompletableFuture.allOf(disparadas.values().toArray(new CompletableFuture<?>[0]))
+                .thenApply(concluidas -> {
+                    Map<K, T> resultados = new LinkedHashMap<>();
+                    disparadas.forEach((chave, futuro) -> resultados.put(chave, futuro.join()));
+                    return resultados;
+                });
+    }
+
+    /**
+     * Executa a busca no executor compartilhado, mantendo o teste corrente do Allure
+     * (steps e anexos), a captura do registro HTTP e o prazo da thread chamadora
+     */
+    private <T> CompletableFuture<T> assincrono(Supplier<T> busca) {
+        Optional<String> teste = Allure.getLifecycle().getCurrentTestCase();
+        return CompletableFuture.supplyAsync(
+                RegistroHttp.compartilhado().comCapturaDaThreadAtual(Prazo.propagar(() -> noTesteAllure(teste, busca))),
+                EXECUTOR_ASSINCRONO);
+    }
+
+    /**
+     * Executa a busca com o teste do chamador como teste corrente do Allure e, ao final, devolve à thread
+     * o contexto que ela tinha (ou a deixa sem teste), para que a próxima tarefa do pool não anexe
+     * steps e anexos a um teste alheio ou já encerrado
+     */
+    private static <T> T noTesteAllure(Optional<String> teste, Supplier<T> busca) {
+        AllureLifecycle ciclo = Allure.getLifecycle();
+        Optional<String> anterior = ciclo.getCurrentTestCase();
+        if (teste.isEmpty() || !ciclo.setCurrentTestCase(teste.get())) {
+            limparContextoAllure(ciclo);
+        }
+        try {
+            return busca.get();
+        } finally {
+            if (anterior.isEmpty() || !ciclo.setCurrentTestCase(anterior.get())) {
+                limparContextoAllure(ciclo);
+            }
+        }
+    }
+
+    /**
+     * Remove o teste corrente do Allure da thread atual
+     * O AllureLifecycle só troca o teste corrente (setCurrentTestCase) e não expõe a limpeza do contexto da thread
+     */
+    private static void limparContextoAllure(AllureLifecycle ciclo) {
+        try {
+            ((AllureThreadContext) CONTEXTO_THREAD_ALLURE.get(ciclo)).clear();
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Contexto de thread do Allure inacessível", e);
+        }
+    }
+
+    /**
+     * Executa um GET conforme a política de retentativa da instância
+     */
+    private Response comRetentativa(Supplier<Response> chamada) {
+        return politicaRetentativa.executar("GET", chamada);
+    }
+
+    /**
+     * Lê o corpo por inteiro antes de devolver a resposta, liberando a conexão para o pool
+     * (os testes consultam a mesma Response várias vezes: status, jsonPath, headers)
+     */
+    private static Response carregada(Response response) {
+        response.asByteArray();
         return response;
     }
-}
\ No newline at end of file
+
+    /**
+     * Converte uma Response em visão memoizada, descartando os bytes do corpo após a interpretação
+     * @param response resposta do RestAssured
+     * @return visão tipada da resposta
+     */
+    public RespostaDogApi comoVisao(Response response) {
+        return comoVisao(response, false);
+    }
+
+    /**
+     * Converte uma Response em visão memoizada
+     * @param response resposta do RestAssured
+     * @param manterCorpoBruto se os bytes do corpo devem continuar disponíveis após a interpretação
+     * @return visão tipada da resposta
+     */
+    public RespostaDogApi comoVisao(Response response, boolean manterCorpoBruto) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        response.getHeaders().forEach(header -> headers.put(header.getName(), header.getValue()));
+        return new RespostaDogApi(response.getStatusCode(), response.getTime(), headers,
+                response.getBody().asByteArray(), manterCorpoBruto);
+    }
+
+    /**
+     * Executa um GET e desserializa a resposta direto do stream da conexão
+     * Uma resposta fora de 2xx não é desserializada: vira exceção, e assim nunca chega ao cache em memória
+     * @param leitor desserializador de streaming
+     * @param caminho caminho do endpoint, com placeholders
+     * @param parametros valores dos placeholders, na ordem
+     */
+    private <T> T lerEmFluxo(Function<InputStream, T> leitor, String caminho, Object... parametros) {
+        return lerEmFluxo(requisicao(), leitor, caminho, parametros);
+    }
+
+    private <T> T lerEmFluxo(RequestSpecification requisicao, Function<InputStream, T> leitor,
+                             String caminho, Object... parametros) {
+        Response response = comRetentativa(() -> requisicao.get(caminho, parametros));
+        int status = response.getStatusCode();
+        if (status < 200 || status >= 300) {
+            throw new IllegalStateException("GET " + caminho + " " + Arrays.toString(parametros)
+                    + " respondeu " + status + ": " + response.asString());
+        }
+        try (InputStream corpo = response.asInputStream()) {
+            return leitor.apply(corpo);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao fechar corpo da resposta de " + caminho, e);
+        }
+    }
+
+    /**
+     * Junta a busca a uma idêntica em andamento em outra thread (quando a coalescência está habilitada)
+     * Apenas endpoints determinísticos passam por aqui: os de imagem aleatória devem continuar
+     * devolvendo um sorteio por chamada
+     * @param tipo tipo do resultado, parte da chave junto com a URL (Response e objeto não se misturam)
+     * @param caminho caminho já com os parâmetros
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T coalescida(Class<T> tipo, String caminho, Supplier<T> busca) {
+        if (coalescedor == null) {
+            return busca.get();
+        }
+        return (T) coalescedor.executar("GET " + urlBase + caminho + " -> " + tipo.getSimpleName(), busca::get);
+    }
+
+    /**
+     * Consulta o cache (quando habilitado) antes de executar a busca
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T comCacheSeHabilitado(String caminho, Supplier<T> busca) {
+        if (cache == null) {
+            return busca.get();
+        }
+        return (T) cache.obter(urlBase + caminho, busca::get);
+    }
+
+    /**
+     * Torna imutáveis as coleções do modelo que vai para o cache (e para as chamadas coalescidas)
+     */
+    private static RespostaListaRacas listaRacasImutavel(RespostaListaRacas resposta) {
+        if (resposta.getRacas() != null) {
+            Map<String, List<String>> racas = new LinkedHashMap<>();
+            resposta.getRacas().forEach((raca, subRacas) -> racas.put(raca, listaImutavel(subRacas)));
+            resposta.setRacas(Collections.unmodifiableMap(racas));
+        }
+        return resposta;
+    }
+
+    private static RespostaImagensRaca imagensRacaImutaveis(RespostaImagensRaca resposta) {
+        resposta.setImagens(listaImutavel(resposta.getImagens()));
+        return resposta;
+    }
+
+    /**
+     * A {@link ListaUrlsCompacta} já é imutável e é mantida como está
+     */
+    private static List<String> listaImutavel(List<String> lista) {
+        return lista == null || lista instanceof ListaUrlsCompacta ? lista : Collections.unmodifiableList(lista);
+    }
+
+    /**
+     * Modelo próprio da chamada, que compartilha as coleções imutáveis do cache
+     */
+    private static RespostaListaRacas copiaListaRacas(RespostaListaRacas origem) {
+        RespostaListaRacas resposta = new RespostaListaRacas();
+        resposta.setRacas(origem.getRacas());
+        resposta.setStatus(origem.getStatus());
+        return resposta;
+    }
+
+    private static RespostaImagensRaca copiaImagensRaca(RespostaImagensRaca origem) {
+        RespostaImagensRaca resposta = new RespostaImagensRaca();
+        resposta.setImagens(origem.getImagens());
+        resposta.setStatus(origem.getStatus());
+        return resposta;
+    }
+
+    private static CacheLeitura<String, Object> criarCacheCompartilhado() {
+        if (!Boolean.parseBoolean(ConfiguracaoApi.propriedade(PROPRIEDADE_CACHE_HABILITADO, "true"))) {
+            return null;
+        }
+        CacheLeitura<String, Object> cache = new CacheLeitura<>(
+                Duration.ofSeconds(ConfiguracaoApi.propriedadeInteira(PROPRIEDADE_CACHE_TTL_SEGUNDOS, 300)),
+                ConfiguracaoApi.propriedadeInteira(PROPRIEDADE_CACHE_MAXIMO_ENTRADAS, 256));
+        MetricasExecucao.registrar("cache", cache::estatisticas);
+        return cache;
+    }
+
+    private static CoalescedorRequisicoes<String, Object> criarCoalescedorCompartilhado() {
+        if (!Boolean.parseBoolean(ConfiguracaoApi.propriedade(PROPRIEDADE_COALESCENCIA_HABILITADA, "false"))) {
+            return null;
+        }
+        CoalescedorRequisicoes<String, Object> coalescedor = new CoalescedorRequisicoes<>();
+        MetricasExecucao.registrar("coalescencia", coalescedor::estatisticas);
+        return coalescedor;
+    }
+
+    /**
+     * Threads que executam as buscas assíncronas; por padrão tantas quanto as conexões por rota do pool,
+     * já que mais requisições simultâneas que isso apenas esperariam por uma conexão
+     */
+    private static Field campoContextoAllure() {
+        try {
+            Field campo = AllureLifecycle.class.getDeclaredField("threadContext");
+            campo.setAccessible(true);
+            return campo;
+        } catch (NoSuchFieldException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static ExecutorService criarExecutorAssincrono() {
+        int threads = ConfiguracaoApi.propriedadeInteira(PROPRIEDADE_ASYNC_THREADS,
+                ConfiguracaoApi.propriedadeInteira(TransporteHttp.PROPRIEDADE_MAX_POR_ROTA, 10));
+        AtomicInteger contador = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, tarefa -> {
+            Thread thread = new Thread(tarefa, "dog-api-async-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
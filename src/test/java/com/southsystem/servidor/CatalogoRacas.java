@@ -0,0 +1,152 @@
+package com.southsystem.servidor;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Snapshot do catálogo da Dog API usado pelo servidor local
+ * Carrega raças, sub-raças e nomes de arquivos de imagem a partir de src/test/resources/catalogo
+ */
+public class CatalogoRacas {
+
+    public static final String RECURSO_PADRAO = "/catalogo/dog-api-catalogo.json";
+
+    private final String hostImagens;
+    private final Map<String, List<String>> racas;
+    private final Map<String, List<String>> imagensPorDiretorio;
+
+    private CatalogoRacas(String hostImagens, Map<String, List<String>> racas,
+                          Map<String, List<String>> imagensPorDiretorio) {
+        this.hostImagens = hostImagens;
+        this.racas = racas;
+        this.imagensPorDiretorio = imagensPorDiretorio;
+    }
+
+    /**
+     * Carrega o catálogo padrão empacotado com os testes
+     * @return catálogo imutável
+     */
+    public static CatalogoRacas carregarPadrao() {
+        return carregar(RECURSO_PADRAO);
+    }
+
+    /**
+     * Carrega um catálogo do classpath
+     * @param recurso caminho do recurso JSON
+     * @return catálogo imutável
+     */
+    public static CatalogoRacas carregar(String recurso) {
+        try (InputStream entrada = CatalogoRacas.class.getResourceAsStream(recurso)) {
+            if (entrada == null) {
+                throw new IllegalStateException("Catálogo não encontrado no classpath: " + recurso);
+            }
+            JsonNode raiz = new ObjectMapper().readTree(entrada);
+
+            Map<String, List<String>> racas = new LinkedHashMap<>();
+            for (Iterator<Map.Entry<String, JsonNode>> it = raiz.get("racas").fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> raca = it.next();
+                racas.put(raca.getKey(), Collections.unmodifiableList(textos(raca.getValue())));
+            }
+
+            Map<String, List<String>> imagens = new LinkedHashMap<>();
+            for (Iterator<Map.Entry<String, JsonNode>> it = raiz.get("imagens").fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> diretorio = it.next();
+                imagens.put(diretorio.getKey(), Collections.unmodifiableList(textos(diretorio.getValue())));
+            }
+
+            return new CatalogoRacas(raiz.get("hostImagens").asText(),
+                    Collections.unmodifiableMap(racas), Collections.unmodifiableMap(imagens));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao carregar catálogo " + recurso, e);
+        }
+    }
+
+    /**
+     * @return mapa raça → sub-raças, na mesma ordem do endpoint /breeds/list/all
+     */
+    public Map<String, List<String>> getRacas() {
+        return racas;
+    }
+
+    public boolean existeRaca(String raca) {
+        return racas.containsKey(raca);
+    }
+
+    public boolean existeSubRaca(String raca, String subRaca) {
+        return existeRaca(raca) && racas.get(raca).contains(subRaca);
+    }
+
+    /**
+     * @return nomes dos diretórios de imagem ("raca" ou "raca-subraca")
+     */
+    public List<String> getDiretorios() {
+        return new ArrayList<>(imagensPorDiretorio.keySet());
+    }
+
+    /**
+     * Diretórios de imagem de uma raça: o da própria raça ou um por sub-raça
+     * @param raca nome da raça principal
+     * @return lista de diretórios (vazia se a raça não existir)
+     */
+    public List<String> diretoriosDaRaca(String raca) {
+        List<String> subRacas = racas.get(raca);
+        if (subRacas == null) {
+            return List.of();
+        }
+        if (subRacas.isEmpty()) {
+            return List.of(raca);
+        }
+        List<String> diretorios = new ArrayList<>(subRacas.size());
+        for (String subRaca : subRacas) {
+            diretorios.add(raca + "-" + subRaca);
+        }
+        return diretorios;
+    }
+
+    /**
+     * @param diretorio diretório de imagem ("raca" ou "raca-subraca")
+     * @return URLs completas das imagens do diretório
+     */
+    public List<String> urlsDoDiretorio(String diretorio) {
+        List<String> arquivos = imagensPorDiretorio.getOrDefault(diretorio, List.of());
+        List<String> urls = new ArrayList<>(arquivos.size());
+        for (String arquivo : arquivos) {
+            urls.add(hostImagens + "/" + diretorio + "/" + arquivo);
+        }
+        return urls;
+    }
+
+    /**
+     * @param raca nome da raça principal
+     * @return URLs de todas as imagens da raça, incluindo as sub-raças
+     */
+    public List<String> urlsDaRaca(String raca) {
+        List<String> urls = new ArrayList<>();
+        for (String diretorio : diretoriosDaRaca(raca)) {
+            urls.addAll(urlsDoDiretorio(diretorio));
+        }
+        return urls;
+    }
+
+    public String getHostImagens() {
+        return hostImagens;
+    }
+
+    private static List<String> textos(JsonNode array) {
+        List<String> textos = new ArrayList<>(array.size());
+        for (JsonNode item : array) {
+            textos.add(item.asText());
+        }
+        return textos;
+    }
+}
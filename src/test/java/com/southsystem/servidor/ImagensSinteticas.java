@@ -0,0 +1,55 @@
+package com.southsystem.servidor;
+
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Imagens geradas pelo servidor local no lugar das fotos de https://images.dog.ceo
+ * O conteúdo é determinístico por nome de arquivo: começa com a assinatura do formato indicado pela
+ * extensão (JPEG ou PNG), termina com o marcador de fim do formato e tem entre 2 KB e 48 KB, como as
+ * fotos reais; não é uma imagem decodificável, só o suficiente para validar download, tamanho e formato
+ */
+final class ImagensSinteticas {
+
+    static final String PREFIXO = "/breeds/";
+
+    private static final byte[] INICIO_JPEG = {
+            (byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0, 0x00, 0x10, 'J', 'F', 'I', 'F', 0x00, 0x01, 0x01, 0x00,
+            0x00, 0x01, 0x00, 0x01, 0x00, 0x00};
+    private static final byte[] FIM_JPEG = {(byte) 0xFF, (byte) 0xD9};
+    private static final byte[] INICIO_PNG = {
+            (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0x00, 0x00, 0x00, 0x0D, 'I', 'H', 'D', 'R'};
+    private static final byte[] FIM_PNG = {
+            0x00, 0x00, 0x00, 0x00, 'I', 'E', 'N', 'D', (byte) 0xAE, 0x42, 0x60, (byte) 0x82};
+
+    private static final int TAMANHO_MINIMO = 2 * 1024;
+    private static final int VARIACAO_TAMANHO = 46 * 1024;
+
+    private ImagensSinteticas() {
+        // Classe utilitária - não deve ser instanciada
+    }
+
+    /**
+     * @param arquivo nome do arquivo da imagem (ex.: n02088094_1003.jpg)
+     * @return resposta 200 com a imagem, ou null se a extensão não for de JPEG nem PNG
+     */
+    static RespostaHttp responder(String arquivo) {
+        String nome = arquivo.toLowerCase(Locale.ROOT);
+        if (nome.endsWith(".png")) {
+            return new RespostaHttp(200, "image/png", gerar(arquivo, INICIO_PNG, FIM_PNG));
+        }
+        if (nome.endsWith(".jpg") || nome.endsWith(".jpeg")) {
+            return new RespostaHttp(200, "image/jpeg", gerar(arquivo, INICIO_JPEG, FIM_JPEG));
+        }
+        return null;
+    }
+
+    private static byte[] gerar(String arquivo, byte[] inicio, byte[] fim) {
+        SplittableRandom aleatorio = new SplittableRandom(arquivo.hashCode());
+        byte[] imagem = new byte[TAMANHO_MINIMO + aleatorio.nextInt(VARIACAO_TAMANHO)];
+        aleatorio.nextBytes(imagem);
+        System.arraycopy(inicio, 0, imagem, 0, inicio.length);
+        System.arraycopy(fim, 0, imagem, imagem.length - fim.length, fim.length);
+        return imagem;
+    }
+}
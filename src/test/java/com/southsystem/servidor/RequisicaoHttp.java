@@ -0,0 +1,49 @@
+package com.southsystem.servidor;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Requisição HTTP já decodificada pelo servidor local
+ */
+public class RequisicaoHttp {
+
+    private final String metodo;
+    private final String caminho;
+    private final Map<String, String> headers;
+
+    /**
+     * @param metodo método HTTP (GET, HEAD...)
+     * @param caminho caminho sem query string
+     * @param headers headers com nomes em minúsculas
+     */
+    public RequisicaoHttp(String metodo, String caminho, Map<String, String> headers) {
+        this.metodo = metodo;
+        this.caminho = caminho;
+        this.headers = headers;
+    }
+
+    public String getMetodo() {
+        return metodo;
+    }
+
+    public String getCaminho() {
+        return caminho;
+    }
+
+    /**
+     * @param nome nome do header (qualquer capitalização)
+     * @return valor do header ou null
+     */
+    public String getHeader(String nome) {
+        return headers.get(nome.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * @return true se o cliente pediu para manter a conexão aberta (padrão do HTTP/1.1)
+     */
+    public boolean isKeepAlive() {
+        String connection = getHeader("Connection");
+        return connection == null || !connection.equalsIgnoreCase("close");
+    }
+}
@@ -0,0 +1,72 @@
+package com.southsystem.servidor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Resposta HTTP produzida pelas rotas do servidor local
+ */
+public class RespostaHttp {
+
+    private final int status;
+    private final String contentType;
+    private final byte[] corpo;
+    private final Map<String, String> headers = new LinkedHashMap<>();
+
+    public RespostaHttp(int status, String contentType, byte[] corpo) {
+        this.status = status;
+        this.contentType = contentType;
+        this.corpo = corpo;
+    }
+
+    public static RespostaHttp json(int status, String json) {
+        return new RespostaHttp(status, "application/json", json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static RespostaHttp json(int status, byte[] json) {
+        return new RespostaHttp(status, "application/json", json);
+    }
+
+    /**
+     * Adiciona um header extra à resposta
+     * @return a própria resposta, para encadeamento
+     */
+    public RespostaHttp comHeader(String nome, String valor) {
+        headers.put(nome, valor);
+        return this;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public byte[] getCorpo() {
+        return corpo;
+    }
+
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * @return texto padrão da linha de status para os códigos usados pelo servidor
+     */
+    public String getMotivo() {
+        switch (status) {
+            case 200: return "OK";
+            case 304: return "Not Modified";
+            case 400: return "Bad Request";
+            case 404: return "Not Found";
+            case 405: return "Method Not Allowed";
+            case 429: return "Too Many Requests";
+            case 500: return "Internal Server Error";
+            case 503: return "Service Unavailable";
+            default: return "Status " + status;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.southsystem.servidor;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Rotas do servidor local que respondem com erro ou com atraso às próximas N requisições
+ * Usadas em servidores dedicados para simular limitação de taxa (429), instabilidade (5xx) e lentidão da Dog API
+ *
+ * O atraso segura o laço do servidor, que atende uma requisição por vez; por isso só deve ser usado
+ * em servidores dedicados ao teste
+ */
+public class RotasComFalhas extends RotasDogApi {
+
+    private final AtomicInteger falhasRestantes = new AtomicInteger();
+    private final AtomicInteger recebidas = new AtomicInteger();
+    private volatile int statusFalha;
+    private volatile String retryAfter;
+    private final AtomicInteger atrasosRestantes = new AtomicInteger();
+    private volatile Duration atraso = Duration.ZERO;
+
+    public RotasComFalhas(CatalogoRacas catalogo) {
+        super(catalogo);
+    }
+
+    /**
+     * Programa as próximas respostas de erro
+     * @param quantidade requisições que falharão
+     * @param status código HTTP das falhas
+     * @param retryAfter valor do header Retry-After (null para omitir)
+     */
+    public void falharProximas(int quantidade, int status, String retryAfter) {
+        this.statusFalha = status;
+        this.retryAfter = retryAfter;
+        falhasRestantes.set(quantidade);
+    }
+
+    /**
+     * Programa as próximas respostas para saírem só depois de um atraso
+     * @param quantidade requisições atrasadas
+     * @param atraso tempo até o servidor começar a responder
+     */
+    public void atrasarProximas(int quantidade, Duration atraso) {
+        this.atraso = atraso;
+        atrasosRestantes.set(quantidade);
+    }
+
+    /**
+     * @return requisições recebidas desde a criação, inclusive as que falharam
+     */
+    public int getRecebidas() {
+        return recebidas.get();
+    }
+
+    @Override
+    public RespostaHttp responder(RequisicaoHttp requisicao) {
+        recebidas.incrementAndGet();
+        if (atrasosRestantes.getAndUpdate(restantes -> Math.max(0, restantes - 1)) > 0) {
+            esperar(atraso);
+        }
+        if (falhasRestantes.getAndUpdate(restantes -> Math.max(0, restantes - 1)) > 0) {
+            RespostaHttp falha = RespostaHttp.json(statusFalha,
+                    "{\"status\":\"error\",\"message\":\"Falha simulada\",\"code\":" + statusFalha + "}");
+            return retryAfter == null ? falha : falha.comHeader("Retry-After", retryAfter);
+        }
+        return super.responder(requisicao);
+    }
+
+    private static void esperar(Duration atraso) {
+        try {
+            Thread.sleep(atraso.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.southsystem.servidor;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.southsystem.contratos.ContratosDogApi;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Rotas do servidor local, reproduzindo o contrato público da Dog API
+ * As respostas estáticas (lista de raças e imagens por raça) são serializadas uma única vez
+ *
+ * As respostas estáticas levam ETag (hash do corpo) e Last-Modified (carga do catálogo) e atendem
+ * requisições condicionais com 304 quando If-None-Match ou If-Modified-Since confirmam a cópia do cliente
+ *
+ * Fora de /api o servidor também faz o papel de https://images.dog.ceo: /breeds/{diretorio}/{arquivo}
+ * devolve uma imagem sintética ({@link ImagensSinteticas}) para cada arquivo do catálogo
+ */
+public class RotasDogApi {
+
+    private static final String PREFIXO_API = "/api";
+
+    private final ObjectMapper mapeador = new ObjectMapper();
+    private final CatalogoRacas catalogo;
+    private final List<String> diretorios;
+    private final byte[] corpoListaRacas;
+    private final Map<String, byte[]> corpoImagensPorRaca = new HashMap<>();
+    private final Map<String, List<String>> urlsPorDiretorio = new HashMap<>();
+    private final Set<String> arquivosImagem = new HashSet<>();
+    private final Map<byte[], String> etags = new IdentityHashMap<>();
+    private final ZonedDateTime ultimaModificacao = ZonedDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.SECONDS);
+
+    public RotasDogApi(CatalogoRacas catalogo) {
+        this.catalogo = catalogo;
+        this.diretorios = catalogo.getDiretorios();
+        this.corpoListaRacas = serializar(sucesso(catalogo.getRacas()));
+        int inicioArquivo = catalogo.getHostImagens().length() + 1;
+        for (String diretorio : diretorios) {
+            List<String> urls = catalogo.urlsDoDiretorio(diretorio);
+            urlsPorDiretorio.put(diretorio, urls);
+            urls.forEach(url -> arquivosImagem.add(url.substring(inicioArquivo)));
+        }
+        for (String raca : catalogo.getRacas().keySet()) {
+            corpoImagensPorRaca.put(raca, serializar(sucesso(catalogo.urlsDaRaca(raca))));
+        }
+        etags.put(corpoListaRacas, etag(corpoListaRacas));
+        corpoImagensPorRaca.values().forEach(corpo -> etags.put(corpo, etag(corpo)));
+    }
+
+    /**
+     * Resolve a requisição para a resposta correspondente
+     * @param requisicao requisição decodificada
+     * @return resposta pronta para ser escrita no socket
+     */
+    public RespostaHttp responder(RequisicaoHttp requisicao) {
+        if (!"GET".equals(requisicao.getMetodo()) && !"HEAD".equals(requisicao.getMetodo())) {
+            return erro(405, "Method not allowed");
+        }
+        String caminho = requisicao.getCaminho();
+        if (caminho.startsWith(ImagensSinteticas.PREFIXO)) {
+            return responderImagem(requisicao, caminho.substring(ImagensSinteticas.PREFIXO.length()));
+        }
+        if (!caminho.startsWith(PREFIXO_API + "/")) {
+            return rotaInexistente(requisicao);
+        }
+        String[] segmentos = caminho.substring(PREFIXO_API.length() + 1).split("/");
+
+        if (segmentos.length >= 3 && segmentos[0].equals("breeds")) {
+            if (segmentos.length == 3 && segmentos[1].equals("list") && segmentos[2].equals("all")) {
+                return estatica(requisicao, corpoListaRacas);
+            }
+            if (segmentos[1].equals("image") && segmentos[2].equals("random")) {
+                if (segmentos.length == 3) {
+                    return json(sucesso(imagemAleatoria(diretorios)));
+                }
+                if (segmentos.length == 4 && ehNumero(segmentos[3])) {
+                    return json(sucesso(imagensAleatorias(diretorios, Integer.parseInt(segmentos[3]))));
+                }
+            }
+        }
+
+        if (segmentos.length >= 3 && segmentos[0].equals("breed")) {
+            return responderRaca(requisicao, segmentos);
+        }
+        return rotaInexistente(requisicao);
+    }
+
+    private RespostaHttp responderRaca(RequisicaoHttp requisicao, String[] segmentos) {
+        String raca = segmentos[1];
+        boolean rotaDeImagensAleatorias = segmentos.length >= 4 && segmentos[2].equals("images")
+                && segmentos[3].equals("random");
+        boolean rotaDeSubRaca = segmentos.length == 4 && !rotaDeImagensAleatorias && segmentos[3].equals("images");
+
+        if (!(segmentos.length == 3 && segmentos[2].equals("images")) && !rotaDeImagensAleatorias && !rotaDeSubRaca) {
+            return rotaInexistente(requisicao);
+        }
+        if (!catalogo.existeRaca(raca)) {
+            return erro(404, "Breed not found (main breed does not exist)");
+        }
+
+        if (rotaDeSubRaca) {
+            String subRaca = segmentos[2];
+            if (!catalogo.existeSubRaca(raca, subRaca)) {
+                return erro(404, "Breed not found (sub breed does not exist)");
+            }
+            return estatica(requisicao, serializar(sucesso(urlsPorDiretorio.get(raca + "-" + subRaca))));
+        }
+        if (rotaDeImagensAleatorias) {
+            List<String> diretoriosDaRaca = catalogo.diretoriosDaRaca(raca);
+            if (segmentos.length == 4) {
+                return json(sucesso(imagemAleatoria(diretoriosDaRaca)));
+            }
+            if (segmentos.length == 5 && ehNumero(segmentos[4])) {
+                return json(sucesso(imagensAleatorias(diretoriosDaRaca, Integer.parseInt(segmentos[4]))));
+            }
+            return rotaInexistente(requisicao);
+        }
+        return estatica(requisicao, corpoImagensPorRaca.get(raca));
+    }
+
+    /**
+     * @param arquivo "diretorio/arquivo", como nas URLs do catálogo
+     */
+    private RespostaHttp responderImagem(RequisicaoHttp requisicao, String arquivo) {
+        RespostaHttp imagem = arquivosImagem.contains(arquivo)
+                ? ImagensSinteticas.responder(arquivo.substring(arquivo.lastIndexOf('/') + 1))
+                : null;
+        return imagem == null ? rotaInexistente(requisicao) : imagem;
+    }
+
+    private String imagemAleatoria(List<String> diretoriosCandidatos) {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        List<String> urls = urlsPorDiretorio.get(diretoriosCandidatos.get(aleatorio.nextInt(diretoriosCandidatos.size())));
+        return urls.get(aleatorio.nextInt(urls.size()));
+    }
+
+    private List<String> imagensAleatorias(List<String> diretoriosCandidatos, int quantidadeSolicitada) {
+        int quantidade = Math.max(1, Math.min(quantidadeSolicitada, ContratosDogApi.MAXIMO_IMAGENS_ALEATORIAS));
+        List<String> imagens = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            imagens.add(imagemAleatoria(diretoriosCandidatos));
+        }
+        return imagens;
+    }
+
+    /**
+     * Resposta de conteúdo estável, com validadores; 304 sem corpo quando o cliente já tem a versão atual
+     */
+    private RespostaHttp estatica(RequisicaoHttp requisicao, byte[] corpo) {
+        String etag = etags.get(corpo);
+        if (etag == null) {
+            etag = etag(corpo);
+        }
+        String modificadaEm = DateTimeFormatter.RFC_1123_DATE_TIME.format(ultimaModificacao);
+        RespostaHttp resposta = naoModificada(requisicao, etag)
+                ? new RespostaHttp(304, "application/json", new byte[0])
+                : RespostaHttp.json(200, corpo);
+        return resposta.comHeader("ETag", etag).comHeader("Last-Modified", modificadaEm);
+    }
+
+    /**
+     * If-None-Match tem precedência; If-Modified-Since só é avaliado quando ele está ausente
+     */
+    private boolean naoModificada(RequisicaoHttp requisicao, String etag) {
+        String seNenhumCorresponder = requisicao.getHeader("If-None-Match");
+        if (seNenhumCorresponder != null) {
+            for (String candidato : seNenhumCorresponder.split(",")) {
+                String valor = candidato.trim();
+                if (valor.equals("*") || valor.replaceFirst("^W/", "").equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        String modificadoDesde = requisicao.getHeader("If-Modified-Since");
+        if (modificadoDesde == null) {
+            return false;
+        }
+        try {
+            return !ultimaModificacao.isAfter(ZonedDateTime.parse(modificadoDesde, DateTimeFormatter.RFC_1123_DATE_TIME));
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private static String etag(byte[] corpo) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(corpo);
+            return "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    private RespostaHttp rotaInexistente(RequisicaoHttp requisicao) {
+        return erro(404, "No route found for \"" + requisicao.getMetodo() + " " + requisicao.getCaminho()
+                + "\" with code: 0");
+    }
+
+    private RespostaHttp erro(int status, String mensagem) {
+        Map<String, Object> corpo = new LinkedHashMap<>();
+        corpo.put("status", "error");
+        corpo.put("message", mensagem);
+        corpo.put("code", status);
+        return RespostaHttp.json(status, serializar(corpo));
+    }
+
+    private RespostaHttp json(Map<String, Object> corpo) {
+        return RespostaHttp.json(200, serializar(corpo));
+    }
+
+    private static Map<String, Object> sucesso(Object mensagem) {
+        Map<String, Object> corpo = new LinkedHashMap<>();
+        corpo.put("message", mensagem);
+        corpo.put("status", "success");
+        return corpo;
+    }
+
+    private static boolean ehNumero(String texto) {
+        return !texto.isEmpty() && texto.length() < 10 && texto.chars().allMatch(Character::isDigit);
+    }
+
+    private byte[] serializar(Object corpo) {
+        try {
+            return mapeador.writeValueAsBytes(corpo);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar resposta do servidor local", e);
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package com.southsystem.servidor;
+
+import com.southsystem.config.ConfiguracaoApi;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Servidor HTTP/1.1 embarcado que substitui https://dog.ceo/api nos testes
+ * Implementado com NIO (um único seletor, sem threads por conexão) e com suporte a keep-alive,
+ * de forma que o tempo da suite dependa do cliente e não da internet
+ * Como a API pública, comprime com gzip (ou deflate) os corpos JSON quando o cliente aceita
+ * Também serve imagens sintéticas no lugar de https://images.dog.ceo (ver {@link #getUrlImagens()}),
+ * que, como imagens já comprimidas, vão sempre sem Content-Encoding
+ */
+public class ServidorDogApiLocal implements AutoCloseable {
+
+    private static final int TAMANHO_INICIAL_BUFFER = 8 * 1024;
+    private static final int TAMANHO_MAXIMO_CABECALHO = 64 * 1024;
+    private static final byte[] FIM_CABECALHO = {'\r', '\n', '\r', '\n'};
+
+    /**
+     * Corpos menores que isso vão sem compressão: o cabeçalho gzip anularia o ganho
+     */
+    private static final int TAMANHO_MINIMO_COMPRESSAO = 256;
+
+    private static ServidorDogApiLocal compartilhado;
+
+    private final RotasDogApi rotas;
+    private final int portaSolicitada;
+    private Selector seletor;
+    private ServerSocketChannel canalServidor;
+    private Thread threadSeletor;
+    private volatile boolean executando;
+
+    public ServidorDogApiLocal(RotasDogApi rotas, int porta) {
+        this.rotas = rotas;
+        this.portaSolicitada = porta;
+    }
+
+    /**
+     * Instância única do servidor, iniciada sob demanda com o catálogo padrão
+     * e encerrada automaticamente quando a JVM termina
+     * @return servidor em execução
+     */
+    public static synchronized ServidorDogApiLocal compartilhado() {
+        if (compartilhado == null) {
+            int porta = ConfiguracaoApi.propriedadeInteira(ConfiguracaoApi.PROPRIEDADE_PORTA_LOCAL, 0);
+            ServidorDogApiLocal servidor = new ServidorDogApiLocal(new RotasDogApi(CatalogoRacas.carregarPadrao()), porta);
+            servidor.iniciar();
+            Runtime.getRuntime().addShutdownHook(new Thread(servidor::close, "parar-servidor-dog-api-local"));
+            compartilhado = servidor;
+        }
+        return compartilhado;
+    }
+
+    /**
+     * Abre o socket e inicia a thread do seletor
+     * @return o próprio servidor, para encadeamento
+     */
+    public synchronized ServidorDogApiLocal iniciar() {
+        if (executando) {
+            return this;
+        }
+        try {
+            seletor = Selector.open();
+            canalServidor = ServerSocketChannel.open();
+            canalServidor.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), portaSolicitada), 512);
+            canalServidor.configureBlocking(false);
+            canalServidor.register(seletor, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao iniciar servidor local da Dog API", e);
+        }
+        executando = true;
+        threadSeletor = new Thread(this::executarLaco, "servidor-dog-api-local");
+        threadSeletor.setDaemon(true);
+        threadSeletor.start();
+        return this;
+    }
+
+    /**
+     * @return porta efetivamente aberta
+     */
+    public int getPorta() {
+        return canalServidor.socket().getLocalPort();
+    }
+
+    /**
+     * @return URL base equivalente a {@link ConfiguracaoApi#BASE_URL}
+     */
+    public String getUrlBase() {
+        return "http://localhost:" + getPorta() + "/api";
+    }
+
+    /**
+     * @return URL equivalente a {@link CatalogoRacas#getHostImagens()}, servindo imagens sintéticas
+     */
+    public String getUrlImagens() {
+        return "http://localhost:" + getPorta() + "/breeds";
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!executando) {
+            return;
+        }
+        executando = false;
+        seletor.wakeup();
+        try {
+            threadSeletor.join(2000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void executarLaco() {
+        try {
+            while (executando) {
+                seletor.select(500);
+                Iterator<SelectionKey> chaves = seletor.selectedKeys().iterator();
+                while (chaves.hasNext()) {
+                    SelectionKey chave = chaves.next();
+                    chaves.remove();
+                    try {
+                        if (!chave.isValid()) {
+                            continue;
+                        }
+                        if (chave.isAcceptable()) {
+                            aceitar();
+                        }
+                        if (chave.isValid() && chave.isReadable()) {
+                            ler(chave);
+                        }
+                        if (chave.isValid() && chave.isWritable()) {
+                            escrever(chave);
+                        }
+                    } catch (IOException e) {
+                        fechar(chave);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("❌ Servidor local da Dog API interrompido: " + e.getMessage());
+        } finally {
+            for (SelectionKey chave : seletor.keys()) {
+                fechar(chave);
+            }
+            try {
+                seletor.close();
+            } catch (IOException ignorada) {
+                // encerrando
+            }
+        }
+    }
+
+    private void aceitar() throws IOException {
+        SocketChannel cliente;
+        while ((cliente = canalServidor.accept()) != null) {
+            cliente.configureBlocking(false);
+            cliente.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            cliente.register(seletor, SelectionKey.OP_READ, new Conexao());
+        }
+    }
+
+    private void ler(SelectionKey chave) throws IOException {
+        SocketChannel canal = (SocketChannel) chave.channel();
+        Conexao conexao = (Conexao) chave.attachment();
+        int lidos = canal.read(conexao.entrada);
+        if (lidos < 0) {
+            fechar(chave);
+            return;
+        }
+
+        int fimCabecalho;
+        while (!conexao.fecharAposEscrita && (fimCabecalho = localizarFimCabecalho(conexao.entrada)) >= 0) {
+            RequisicaoHttp requisicao = decodificar(conexao.entrada, fimCabecalho);
+            RespostaHttp resposta;
+            try {
+                resposta = requisicao == null ? RespostaHttp.json(400, "{\"status\":\"error\"}") : rotas.responder(requisicao);
+            } catch (RuntimeException e) {
+                resposta = RespostaHttp.json(500, "{\"status\":\"error\",\"message\":\"" + e.getClass().getSimpleName() + "\"}");
+            }
+            boolean manterAberta = requisicao != null && requisicao.isKeepAlive();
+            boolean incluirCorpo = requisicao == null || !"HEAD".equals(requisicao.getMetodo());
+            String codificacao = requisicao == null ? null : codificacaoAceita(requisicao.getHeader("Accept-Encoding"));
+            conexao.pendentes.add(codificar(resposta, codificacao, manterAberta, incluirCorpo));
+            conexao.fecharAposEscrita = !manterAberta;
+        }
+
+        if (!conexao.entrada.hasRemaining()) {
+            if (conexao.entrada.capacity() >= TAMANHO_MAXIMO_CABECALHO) {
+                fechar(chave);
+                return;
+            }
+            ByteBuffer maior = ByteBuffer.allocate(conexao.entrada.capacity() * 2);
+            conexao.entrada.flip();
+            maior.put(conexao.entrada);
+            conexao.entrada = maior;
+        }
+        escrever(chave);
+    }
+
+    private void escrever(SelectionKey chave) throws IOException {
+        SocketChannel canal = (SocketChannel) chave.channel();
+        Conexao conexao = (Conexao) chave.attachment();
+        while (!conexao.pendentes.isEmpty()) {
+            ByteBuffer saida = conexao.pendentes.peek();
+            canal.write(saida);
+            if (saida.hasRemaining()) {
+                chave.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                return;
+            }
+            conexao.pendentes.poll();
+        }
+        if (conexao.fecharAposEscrita) {
+            fechar(chave);
+        } else {
+            chave.interestOps(SelectionKey.OP_READ);
+        }
+    }
+
+    private static int localizarFimCabecalho(ByteBuffer entrada) {
+        byte[] dados = entrada.array();
+        for (int i = 0; i + FIM_CABECALHO.length <= entrada.position(); i++) {
+            if (dados[i] == '\r' && dados[i + 1] == '\n' && dados[i + 2] == '\r' && dados[i + 3] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Decodifica a requisição que termina em fimCabecalho e remove seus bytes do buffer
+     */
+    private static RequisicaoHttp decodificar(ByteBuffer entrada, int fimCabecalho) {
+        String cabecalho = new String(entrada.array(), 0, fimCabecalho, StandardCharsets.ISO_8859_1);
+        entrada.flip();
+        entrada.position(fimCabecalho + FIM_CABECALHO.length);
+        entrada.compact();
+
+        String[] linhas = cabecalho.split("\r\n");
+        String[] linhaRequisicao = linhas[0].split(" ");
+        if (linhaRequisicao.length != 3) {
+            return null;
+        }
+        Map<String, String> headers = new HashMap<>();
+        for (int i = 1; i < linhas.length; i++) {
+            int separador = linhas[i].indexOf(':');
+            if (separador > 0) {
+                headers.put(linhas[i].substring(0, separador).trim().toLowerCase(Locale.ROOT),
+                        linhas[i].substring(separador + 1).trim());
+            }
+        }
+        String alvo = linhaRequisicao[1];
+        int inicioQuery = alvo.indexOf('?');
+        String caminho = inicioQuery >= 0 ? alvo.substring(0, inicioQuery) : alvo;
+        return new RequisicaoHttp(linhaRequisicao[0], caminho, headers);
+    }
+
+    /**
+     * @param codificacao "gzip" ou "deflate" para comprimir o corpo, ou null para enviá-lo como está
+     */
+    private static ByteBuffer codificar(RespostaHttp resposta, String codificacao, boolean manterAberta, boolean incluirCorpo) {
+        boolean comprimir = codificacao != null && resposta.getCorpo().length >= TAMANHO_MINIMO_COMPRESSAO
+                && !resposta.getContentType().startsWith("image/");
+        byte[] corpo = comprimir ? comprimir(resposta.getCorpo(), codificacao) : resposta.getCorpo();
+        StringBuilder cabecalho = new StringBuilder(256)
+                .append("HTTP/1.1 ").append(resposta.getStatus()).append(' ').append(resposta.getMotivo()).append("\r\n")
+                .append("Date: ").append(DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC))).append("\r\n")
+                .append("Server: dog-api-local\r\n")
+                .append("Content-Type: ").append(resposta.getContentType()).append("\r\n")
+                .append("Content-Length: ").append(corpo.length).append("\r\n")
+                .append("Vary: Accept-Encoding\r\n")
+                .append("Access-Control-Allow-Origin: *\r\n")
+                .append("Connection: ").append(manterAberta ? "keep-alive" : "close").append("\r\n");
+        if (comprimir) {
+            cabecalho.append("Content-Encoding: ").append(codificacao).append("\r\n");
+        }
+        resposta.getHeaders().forEach((nome, valor) -> cabecalho.append(nome).append(": ").append(valor).append("\r\n"));
+        cabecalho.append("\r\n");
+
+        byte[] bytesCabecalho = cabecalho.toString().getBytes(StandardCharsets.ISO_8859_1);
+        int tamanhoCorpo = incluirCorpo ? corpo.length : 0;
+        ByteBuffer saida = ByteBuffer.allocate(bytesCabecalho.length + tamanhoCorpo);
+        saida.put(bytesCabecalho);
+        if (incluirCorpo) {
+            saida.put(corpo);
+        }
+        return saida.flip();
+    }
+
+    /**
+     * Escolhe a compressão pelo Accept-Encoding do cliente, preferindo gzip; q=0 recusa a codificação
+     * @return "gzip", "deflate" ou null quando o cliente não aceita nenhuma das duas
+     */
+    static String codificacaoAceita(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+        boolean deflate = false;
+        for (String item : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+            String[] partes = item.split(";");
+            String nome = partes[0].trim();
+            boolean recusada = partes.length > 1 && partes[1].trim().matches("q=0(\\.0*)?");
+            if (recusada) {
+                continue;
+            }
+            if (nome.equals("gzip") || nome.equals("x-gzip")) {
+                return "gzip";
+            }
+            deflate |= nome.equals("deflate");
+        }
+        return deflate ? "deflate" : null;
+    }
+
+    private static byte[] comprimir(byte[] corpo, String codificacao) {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(corpo.length / 4 + 64);
+        try (OutputStream compressor = codificacao.equals("gzip") ? new GZIPOutputStream(saida) : new DeflaterOutputStream(saida)) {
+            compressor.write(corpo);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao comprimir resposta com " + codificacao, e);
+        }
+        return saida.toByteArray();
+    }
+
+    private static void fechar(SelectionKey chave) {
+        chave.cancel();
+        try {
+            chave.channel().close();
+        } catch (IOException ignorada) {
+            // conexão já encerrada pelo cliente
+        }
+    }
+
+    /**
+     * Estado de uma conexão aberta: bytes recebidos ainda não processados e respostas pendentes de escrita
+     */
+    private static final class Conexao {
+        private ByteBuffer entrada = ByteBuffer.allocate(TAMANHO_INICIAL_BUFFER);
+        private final Deque<ByteBuffer> pendentes = new ArrayDeque<>();
+        private boolean fecharAposEscrita;
+    }
+}
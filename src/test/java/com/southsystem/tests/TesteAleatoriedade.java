@@ -0,0 +1,229 @@
+package com.southsystem.tests;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.southsystem.aleatoriedade.Agrupamento;
+import com.southsystem.aleatoriedade.AnalisadorAleatoriedade;
+import com.southsystem.aleatoriedade.DistribuicaoEsperada;
+import com.southsystem.aleatoriedade.ResultadoAleatoriedade;
+import com.southsystem.config.ConfiguracaoApi;
+import com.southsystem.contratos.ContratosDogApi;
+import com.southsystem.services.ServicoDogApi;
+import com.southsystem.servidor.CatalogoRacas;
+import com.southsystem.servidor.RequisicaoHttp;
+import com.southsystem.servidor.RespostaHttp;
+import com.southsystem.servidor.RotasDogApi;
+import com.southsystem.servidor.ServidorDogApiLocal;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Testes estatísticos dos endpoints aleatórios (AnalisadorAleatoriedade)
+ * Amostras, concorrência e nível de significância vêm de dog-api.properties (dog.api.aleatoriedade.*).
+ * Contra a API pública a análise só roda com dog.api.aleatoriedade.remota=true
+ */
+@Epic("Dog API")
+@Feature("Análise de Aleatoriedade")
+@DisplayName("Testes de Aleatoriedade das Imagens")
+public class TesteAleatoriedade extends TesteBase {
+
+    private static final String PROPRIEDADE_REMOTA = "dog.api.aleatoriedade.remota";
+    private static final String RACA_COM_SUB_RACAS = "hound";
+    private static final String RACA_SEM_SUB_RACAS = "beagle";
+    private static final String DIRETORIO_VICIADO = "boxer";
+
+    @Test
+    @Order(1)
+    @Story("Analisar aleatoriedade das imagens")
+    @DisplayName("Deve sortear os diretórios de forma uniforme nas múltiplas imagens aleatórias")
+    @Description("Sorteia milhares de imagens em lotes de 50 e aplica o qui-quadrado à contagem por diretório de raça e sub-raça")
+    @Severity(SeverityLevel.NORMAL)
+    void deveSortearOsDiretoriosDeFormaUniformeNasMultiplasImagensAleatorias() {
+        exigirAnaliseHabilitada();
+        AnalisadorAleatoriedade analisador = AnalisadorAleatoriedade.configurado();
+        long amostras = ConfiguracaoApi.propriedadeInteira(AnalisadorAleatoriedade.PROPRIEDADE_AMOSTRAS, 5000);
+
+        ResultadoAleatoriedade resultado = analisador.analisar("/breeds/image/random/" + ContratosDogApi.MAXIMO_IMAGENS_ALEATORIAS,
+                DistribuicaoEsperada.porDiretorio(racas()), amostras,
+                () -> servicoDogApi.buscarMultiplasImagensAleatoriasComoVisao(ContratosDogApi.MAXIMO_IMAGENS_ALEATORIAS)
+                        .getMensagemComoLista());
+
+        validarSorteioJusto(resultado, amostras);
+        assertTrue(resultado.getMaiorEmAndamento() <= ConfiguracaoApi.propriedadeInteira(AnalisadorAleatoriedade.PROPRIEDADE_CONCORRENCIA, 8),
+                "Chamadas simultâneas não devem passar da concorrência configurada");
+    }
+
+    @Test
+    @Order(2)
+    @Story("Analisar aleatoriedade das imagens")
+    @DisplayName("Deve sortear as raças na proporção dos seus diretórios na imagem aleatória")
+    @Description("Uma imagem por chamada; raças com sub-raças devem sair proporcionalmente mais, e as de contagem esperada pequena são agrupadas")
+    @Severity(SeverityLevel.NORMAL)
+    void deveSortearAsRacasNaProporcaoDosSeusDiretoriosNaImagemAleatoria() {
+        exigirAnaliseHabilitada();
+        long amostras = ConfiguracaoApi.propriedadeInteira(AnalisadorAleatoriedade.PROPRIEDADE_AMOSTRAS_UNITARIAS, 300);
+
+        ResultadoAleatoriedade resultado = AnalisadorAleatoriedade.configurado().analisar("/breeds/image/random",
+                DistribuicaoEsperada.porRaca(racas()), amostras,
+                () -> List.of(servicoDogApi.buscarImagemAleatoriaComoVisao().getMensagemComoTexto()));
+
+        validarSorteioJusto(resultado, amostras);
+    }
+
+    @Test
+    @Order(3)
+    @Story("Analisar aleatoriedade das imagens")
+    @DisplayName("Deve sortear as sub-raças de forma uniforme na imagem aleatória por raça")
+    @Description("Sorteia imagens de uma raça com sub-raças, uma por chamada, e aplica o qui-quadrado à contagem por sub-raça")
+    @Severity(SeverityLevel.NORMAL)
+    void deveSortearAsSubRacasDeFormaUniformeNaImagemAleatoriaPorRaca() {
+        exigirAnaliseHabilitada();
+        long amostras = ConfiguracaoApi.propriedadeInteira(AnalisadorAleatoriedade.PROPRIEDADE_AMOSTRAS_UNITARIAS, 300);
+
+        ResultadoAleatoriedade resultado = AnalisadorAleatoriedade.configurado().analisar(
+                "/breed/" + RACA_COM_SUB_RACAS + "/images/random",
+                DistribuicaoEsperada.porDiretorioDaRaca(racas(), RACA_COM_SUB_RACAS), amostras,
+                () -> List.of(servicoDogApi.buscarImagemAleatoriaPorRacaComoVisao(RACA_COM_SUB_RACAS).getMensagemComoTexto()));
+
+        validarSorteioJusto(resultado, amostras);
+        assertTrue(resultado.getCategoriasObservadas() > 1, "Mais de uma sub-raça deve ser sorteada");
+    }
+
+    @Test
+    @Order(4)
+    @Story("Analisar aleatoriedade das imagens")
+    @DisplayName("Deve repetir imagens na taxa de um sorteio justo dentro da raça")
+    @Description("Sorteia o dobro da quantidade de imagens de uma raça e compara a contagem por imagem e as imagens distintas com o esperado")
+    @Severity(SeverityLevel.NORMAL)
+    void deveRepetirImagensNaTaxaDeUmSorteioJustoDentroDaRaca() {
+        exigirAnaliseHabilitada();
+        List<String> imagensDaRaca = new ArrayList<>(servicoDogApi.buscarImagensPorRacaComoObjeto(RACA_SEM_SUB_RACAS).getImagens());
+        long amostras = 2L * imagensDaRaca.size();
+
+        ResultadoAleatoriedade resultado = AnalisadorAleatoriedade.configurado().analisar(
+                "/breed/" + RACA_SEM_SUB_RACAS + "/images/random/" + ContratosDogApi.MAXIMO_IMAGENS_ALEATORIAS,
+                DistribuicaoEsperada.uniforme(Agrupamento.IMAGEM, imagensDaRaca), amostras,
+                () -> servicoDogApi.buscarMultiplasImagensAleatoriasPorRacaComoVisao(RACA_SEM_SUB_RACAS,
+                        ContratosDogApi.MAXIMO_IMAGENS_ALEATORIAS).getMensagemComoLista());
+
+        validarSorteioJusto(resultado, amostras);
+        assertAll("Validações das imagens repetidas",
+            () -> assertTrue(resultado.getTaxaDuplicatas() > 0, "Com o dobro de amostras, imagens devem se repetir"),
+            () -> assertTrue(Math.abs(resultado.getDesvioDistintos()) <= 4,
+                    "Imagens distintas devem ficar perto das esperadas: " + resultado.getDistintos()
+                            + " contra " + resultado.getDistintosEsperados()),
+            () -> assertTrue(Math.abs(resultado.getDistintosEstimados() - resultado.getDistintos()) <= Math.max(2, resultado.getDistintos() / 50),
+                    "Estimativa do HyperLogLog deve bater com a contagem exata: " + resultado.getDistintosEstimados()
+                            + " contra " + resultado.getDistintos())
+        );
+    }
+
+    @Test
+    @Order(5)
+    @Story("Analisar aleatoriedade das imagens")
+    @DisplayName("Deve detectar um sorteio viciado")
+    @Description("Contra um servidor local que favorece um diretório em 10% dos sorteios, o qui-quadrado deve rejeitar a uniformidade")
+    @Severity(SeverityLevel.NORMAL)
+    void deveDetectarUmSorteioViciado() {
+        CatalogoRacas catalogo = CatalogoRacas.carregarPadrao();
+        try (ServidorDogApiLocal servidor = new ServidorDogApiLocal(new RotasComSorteioViciado(catalogo), 0).iniciar()) {
+            ServicoDogApi servico = new ServicoDogApi(servidor.getUrlBase());
+
+            ResultadoAleatoriedade resultado = AnalisadorAleatoriedade.configurado().analisar("sorteio viciado",
+                    DistribuicaoEsperada.porDiretorio(catalogo.getRacas()), 2000,
+                    () -> servico.buscarMultiplasImagensAleatoriasComoVisao(ContratosDogApi.MAXIMO_IMAGENS_ALEATORIAS)
+                            .getMensagemComoLista());
+
+            System.out.println("🎲 [ALEATORIEDADE]\n" + resultado.formatarResumo());
+            resultado.anexarAoRelatorio();
+            assertAll("Validações do sorteio viciado",
+                () -> assertEquals(0, resultado.getFalhas(), "Nenhuma chamada deve falhar: " + resultado.getExemploFalha()),
+                () -> assertFalse(resultado.aderente(AnalisadorAleatoriedade.alfaConfigurado()),
+                        "Qui-quadrado deve rejeitar a uniformidade, valor-p " + resultado.getValorP()),
+                () -> assertEquals(DIRETORIO_VICIADO, resultado.getCategoriaMaisDesviada(), "Diretório favorecido deve ser o mais desviado"),
+                () -> assertTrue(resultado.getMaiorResiduo() > 0, "Diretório favorecido deve sair mais que o esperado")
+            );
+        }
+    }
+
+    private static void validarSorteioJusto(ResultadoAleatoriedade resultado, long amostras) {
+        double alfa = AnalisadorAleatoriedade.alfaConfigurado();
+        System.out.println("🎲 [ALEATORIEDADE]\n" + resultado.formatarResumo());
+        resultado.anexarAoRelatorio();
+        assertAll("Validações do sorteio de " + resultado.getNome(),
+            () -> assertEquals(0, resultado.getFalhas(), "Nenhuma chamada deve falhar: " + resultado.getExemploFalha()),
+            () -> assertTrue(resultado.getAmostras() >= amostras, "Amostras pedidas devem ser coletadas"),
+            () -> assertEquals(0, resultado.getForaDoEsperado(),
+                    "Todas as imagens devem pertencer às categorias esperadas: " + resultado.getExemploForaDoEsperado()),
+            () -> assertTrue(resultado.getQuiQuadrado().getGrausLiberdade() >= 1, "Teste deve ter ao menos um grau de liberdade"),
+            () -> assertTrue(resultado.aderente(alfa), "Distribuição deve aderir à esperada (valor-p "
+                    + resultado.getValorP() + " abaixo de " + alfa + ", mais desviada " + resultado.getCategoriaMaisDesviada() + ")"),
+            () -> assertTrue(resultado.getDistintos() <= resultado.getAmostras(), "Imagens distintas não podem passar das amostras")
+        );
+    }
+
+    private Map<String, List<String>> racas() {
+        return servicoDogApi.buscarTodasRacasComoObjeto().getRacas();
+    }
+
+    private static void exigirAnaliseHabilitada() {
+        assumeFalse(reproduzindoCassete(), "Sorteios reproduzidos do cassete não são aleatórios");
+        assumeTrue(ConfiguracaoApi.usarServidorLocal()
+                        || Boolean.parseBoolean(ConfiguracaoApi.propriedade(PROPRIEDADE_REMOTA, "false")),
+                "Análise de aleatoriedade contra a API pública desabilitada (dog.api.aleatoriedade.remota=false)");
+    }
+
+    /**
+     * Rotas do servidor local em que as múltiplas imagens aleatórias vêm do diretório viciado em 10% dos sorteios
+     */
+    private static final class RotasComSorteioViciado extends RotasDogApi {
+
+        private static final String CAMINHO_ALEATORIAS = "/api/breeds/image/random/";
+
+        private final CatalogoRacas catalogo;
+        private final List<String> diretorios;
+        private final ObjectMapper mapeador = new ObjectMapper();
+
+        private RotasComSorteioViciado(CatalogoRacas catalogo) {
+            super(catalogo);
+            this.catalogo = catalogo;
+            this.diretorios = catalogo.getDiretorios();
+        }
+
+        @Override
+        public RespostaHttp responder(RequisicaoHttp requisicao) {
+            String caminho = requisicao.getCaminho();
+            if (!caminho.startsWith(CAMINHO_ALEATORIAS)) {
+                return super.responder(requisicao);
+            }
+            ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+            int quantidade = Integer.parseInt(caminho.substring(CAMINHO_ALEATORIAS.length()));
+            List<String> imagens = new ArrayList<>(quantidade);
+            for (int i = 0; i < quantidade; i++) {
+                String diretorio = aleatorio.nextInt(10) == 0 ? DIRETORIO_VICIADO : diretorios.get(aleatorio.nextInt(diretorios.size()));
+                List<String> urls = catalogo.urlsDoDiretorio(diretorio);
+                imagens.add(urls.get(aleatorio.nextInt(urls.size())));
+            }
+            Map<String, Object> corpo = new LinkedHashMap<>();
+            corpo.put("message", imagens);
+            corpo.put("status", "success");
+            try {
+                return RespostaHttp.json(200, mapeador.writeValueAsBytes(corpo));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Falha ao serializar as imagens sorteadas", e);
+            }
+        }
+    }
+}
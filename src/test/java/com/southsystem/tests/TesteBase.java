@@ -1,73 +1,199 @@
 package com.southsystem.tests;
 
+import com.southsystem.cassete.Cassete;
+import com.southsystem.cassete.ModoCassete;
 import com.southsystem.config.ConfiguracaoApi;
+import com.southsystem.contratos.Contrato;
+import com.southsystem.contratos.ResultadoContrato;
+import com.southsystem.desempenho.RegistroDesempenho;
+import com.southsystem.registro.ExtensaoRegistroHttp;
+import com.southsystem.registro.RegistroHttp;
+import com.southsystem.resiliencia.DisjuntorCircuito;
+import com.southsystem.resiliencia.ExtensaoDisjuntor;
+import com.southsystem.resiliencia.LimitadorTaxa;
+import com.southsystem.servidor.CatalogoRacas;
+import com.southsystem.servidor.RotasComFalhas;
+import com.southsystem.servidor.ServidorDogApiLocal;
 import com.southsystem.services.ServicoDogApi;
+import com.southsystem.transporte.ExtensaoPrazo;
+import io.qameta.allure.Allure;
 import io.qameta.allure.junit5.AllureJunit5;
-import io.restassured.RestAssured;
-import io.restassured.config.LogConfig;
+import io.restassured.response.Response;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.TestInfo;
 import org.junit.jupiter.api.extension.ExtendWith;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
 /**
  * Classe base para todos os testes
  * Configura o ambiente de teste e inicializa os serviços necessários
  */
-@ExtendWith(AllureJunit5.class)
+@ExtendWith({AllureJunit5.class, ExtensaoRegistroHttp.class, ExtensaoDisjuntor.class, ExtensaoPrazo.class})
 public abstract class TesteBase {
 
     protected ServicoDogApi servicoDogApi;
     private long inicioTeste;
 
+    /**
+     * URL base resolvida uma vez por JVM; as classes de teste rodam em paralelo
+     * e cada teste cria seu próprio ServicoDogApi a partir dela
+     */
+    private static volatile String urlBase;
+
+    /**
+     * Cassete da suite conforme dog.api.cassete.modo; null no modo passagem
+     */
+    private static volatile Cassete cassete;
+
     @BeforeAll
     static void configurarAmbiente() {
         System.out.println("\n🔧 CONFIGURANDO AMBIENTE DE TESTE...");
-        System.out.println("📡 Base URL: " + ConfiguracaoApi.BASE_URL);
-        
-        // Configurar RestAssured com logs detalhados
-        RestAssured.baseURI = ConfiguracaoApi.BASE_URL;
-        RestAssured.enableLoggingOfRequestAndResponseIfValidationFails();
-        
-        // Habilitar logs de todas as requisições e respostas
-        RestAssured.config = RestAssured.config()
-            .logConfig(LogConfig.logConfig()
-                .enableLoggingOfRequestAndResponseIfValidationFails()
-                .enablePrettyPrinting(true));
-                
+        cassete = Cassete.compartilhado();
+        urlBase = resolverUrlBase();
+        System.out.println("📡 Base URL: " + urlBase);
+        if (!reproduzindoCassete()) {
+            RegistroDesempenho.acompanhar(urlBase);
+        }
+        if (cassete != null) {
+            System.out.println("📼 Cassete: " + cassete.getModo().getChave() + " (" + cassete.getArquivo() + ")");
+        }
         System.out.println("✅ Ambiente configurado com sucesso!");
-        System.out.println("📋 Logs HTTP habilitados para debug!");
+        RegistroHttp registro = RegistroHttp.compartilhado();
+        System.out.println("📋 Log HTTP: nível " + registro.getNivel().getChave() + " (" + registro.getArquivo() + ")");
         System.out.println();
     }
 
     @BeforeEach
     void inicializarServicos(TestInfo testInfo) {
-        servicoDogApi = new ServicoDogApi();
-        inicioTeste = System.currentTimeMillis();
+        exigirCircuitoFechado();
+        servicoDogApi = new ServicoDogApi(urlBase, cassete);
+        inicioTeste = System.nanoTime();
         
         String nomeMetodo = testInfo.getTestMethod().get().getName();
         String nomeAmigavel = converterNomeMetodo(nomeMetodo);
         
         System.out.println("🚀 EXECUTANDO: " + nomeAmigavel);
         System.out.println("⏱️  Início: " + java.time.LocalTime.now());
-        System.out.println("🔍 Logs HTTP detalhados habilitados");
         System.out.println("───────────────────────────────────────");
     }
     
     @AfterEach 
     void finalizarTeste(TestInfo testInfo) {
-        long duracaoMs = System.currentTimeMillis() - inicioTeste;
+        double duracaoMs = (System.nanoTime() - inicioTeste) / 1_000_000.0;
         String nomeMetodo = testInfo.getTestMethod().get().getName();
         String nomeAmigavel = converterNomeMetodo(nomeMetodo);
         
         System.out.println("───────────────────────────────────────");
         System.out.println("✅ CONCLUÍDO: " + nomeAmigavel);
-        System.out.println("⏱️  Duração: " + duracaoMs + "ms");
+        System.out.println("⏱️  Duração: " + String.format("%.3f", duracaoMs) + "ms");
         System.out.println("⏰ Fim: " + java.time.LocalTime.now());
         System.out.println("");
     }
     
+    /**
+     * Valida o corpo da resposta contra o contrato do endpoint e falha com todas as violações encontradas
+     * @param contrato contrato esperado
+     * @param response resposta do RestAssured
+     * @return resultado da validação (válido, se a asserção passou)
+     */
+    protected ResultadoContrato validarContrato(Contrato contrato, Response response) {
+        return validarContrato(contrato, response.asByteArray());
+    }
+
+    /**
+     * Valida um corpo JSON contra o contrato; as violações vão para o relatório do Allure e para a mensagem da falha
+     * @param contrato contrato esperado
+     * @param corpo corpo JSON da resposta
+     * @return resultado da validação (válido, se a asserção passou)
+     */
+    protected ResultadoContrato validarContrato(Contrato contrato, byte[] corpo) {
+        ResultadoContrato resultado = contrato.validar(corpo);
+        if (!resultado.isValido()) {
+            Allure.addAttachment("Contrato - " + contrato.getNome(), "text/plain", resultado.formatar(), ".txt");
+        }
+        assertTrue(resultado.isValido(), resultado::formatar);
+        return resultado;
+    }
+
+    /**
+     * Resolve a URL base conforme a propriedade dog.api.servidor
+     * Em modo local, sobe (uma única vez por JVM) o servidor embarcado com o catálogo empacotado;
+     * reproduzindo um cassete, nenhum servidor é usado e a URL só compõe as requisições
+     */
+    static synchronized String resolverUrlBase() {
+        if (reproduzindoCassete()) {
+            return ConfiguracaoApi.BASE_URL;
+        }
+        if (ConfiguracaoApi.usarServidorLocal()) {
+            System.out.println("🏠 Modo local: usando servidor embarcado da Dog API");
+            return ServidorDogApiLocal.compartilhado().getUrlBase();
+        }
+        return ConfiguracaoApi.BASE_URL;
+    }
+    
+    /**
+     * @return true quando as respostas vêm do cassete, sem rede (testes do transporte não se aplicam)
+     */
+    protected static boolean reproduzindoCassete() {
+        return cassete != null && cassete.getModo() == ModoCassete.REPRODUZIR;
+    }
+
+    /**
+     * Sobe um servidor local dedicado com falhas roteirizadas, independente de dog.api.servidor
+     * @return servidor com suas rotas e um serviço apontado para ele (feche com try-with-resources)
+     */
+    protected static ServidorComFalhas iniciarServidorComFalhas() {
+        return new ServidorComFalhas();
+    }
+
+    /**
+     * Servidor local com {@link RotasComFalhas} e um {@link ServicoDogApi} sem cache HTTP em disco,
+     * para que cada requisição do teste chegue ao servidor e às falhas programadas
+     */
+    protected static final class ServidorComFalhas implements AutoCloseable {
+
+        private final RotasComFalhas rotas = new RotasComFalhas(CatalogoRacas.carregarPadrao());
+        private final ServidorDogApiLocal servidor = new ServidorDogApiLocal(rotas, 0).iniciar();
+        private final ServicoDogApi servico = new ServicoDogApi(servidor.getUrlBase()).semCacheHttp();
+
+        private ServidorComFalhas() {
+        }
+
+        public RotasComFalhas getRotas() {
+            return rotas;
+        }
+
+        public ServicoDogApi getServico() {
+            return servico;
+        }
+
+        public String getUrlBase() {
+            return servidor.getUrlBase();
+        }
+
+        @Override
+        public void close() {
+            servidor.close();
+        }
+    }
+
+    /**
+     * Aborta o teste na hora, sem nenhuma requisição, se o disjuntor do host da suite está aberto
+     */
+    private static void exigirCircuitoFechado() {
+        if (!DisjuntorCircuito.habilitado()) {
+            return;
+        }
+        DisjuntorCircuito disjuntor = DisjuntorCircuito.paraHost(LimitadorTaxa.hostDe(urlBase));
+        assumeFalse(disjuntor.recusaChamadas(),
+                () -> "API indisponível, teste abortado: circuito aberto para " + disjuntor.getHost()
+                        + " (" + disjuntor.getMotivo() + ")");
+    }
+
     private String converterNomeMetodo(String nomeMetodo) {
         return nomeMetodo
             .replaceAll("deve", "Deve ")
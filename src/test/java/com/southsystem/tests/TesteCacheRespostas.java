@@ -0,0 +1,277 @@
+package com.southsystem.tests;
+
+import com.southsystem.cache.CacheHttpDisco;
+import com.southsystem.cache.CacheLeitura;
+import com.southsystem.cache.CoalescedorRequisicoes;
+import com.southsystem.models.RespostaImagensRaca;
+import com.southsystem.models.RespostaListaRacas;
+import com.southsystem.servidor.RotasComFalhas;
+import com.southsystem.services.ServicoDogApi;
+import com.southsystem.transporte.TransporteHttp;
+import io.qameta.allure.*;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do cache read-through de respostas desserializadas, da coalescência de requisições e do cache HTTP em disco
+ * Cada teste usa seu próprio cache (ou coalescedor) para não interferir nos demais testes executados em paralelo
+ */
+@Epic("Dog API")
+@Feature("Cache de Respostas")
+@DisplayName("Testes do Cache de Respostas")
+public class TesteCacheRespostas extends TesteBase {
+
+    @Test
+    @Order(1)
+    @Story("Reaproveitar catálogo já desserializado")
+    @DisplayName("Deve reaproveitar a lista de raças em chamadas seguidas")
+    @Description("Verifica que as buscas seguintes da lista de raças são atendidas pelo cache, sem nova requisição, e que o modelo recebido pode ser alterado sem afetar o cache")
+    @Severity(SeverityLevel.NORMAL)
+    void deveReaproveitarListaDeRacasEmChamadasSeguidas() {
+        CacheLeitura<String, Object> cache = new CacheLeitura<>(Duration.ofMinutes(5), 16);
+        ServicoDogApi servico = servicoDogApi.comCache(cache);
+
+        RespostaListaRacas primeira = servico.buscarTodasRacasComoObjeto();
+        primeira.setStatus("alterado pelo teste");
+        RespostaListaRacas segunda = servico.buscarTodasRacasComoObjeto();
+        RespostaListaRacas terceira = servico.buscarTodasRacasComoObjeto();
+
+        assertAll("Validações de acerto no cache",
+            () -> assertEquals(segunda, terceira, "Chamadas seguidas devem devolver o conteúdo em cache"),
+            () -> assertSame(primeira.getRacas(), segunda.getRacas(), "As raças devem vir do cache, sem nova leitura"),
+            () -> assertEquals("success", segunda.getStatus(), "Alterar o modelo recebido não deve afetar o cache"),
+            () -> assertThrows(UnsupportedOperationException.class, () -> segunda.getRacas().remove("labrador"),
+                    "O mapa em cache deve ser imutável"),
+            () -> assertThrows(UnsupportedOperationException.class, () -> segunda.getRacas().get("hound").clear(),
+                    "As listas de sub-raças em cache devem ser imutáveis"),
+            () -> assertEquals(1, cache.getFaltas(), "Apenas a primeira chamada deve ir à API"),
+            () -> assertEquals(2, cache.getAcertos(), "As chamadas seguintes devem ser acertos")
+        );
+    }
+
+    @Test
+    @Order(2)
+    @Story("Ignorar cache em testes de transporte")
+    @DisplayName("Deve ir à API quando o cache é ignorado explicitamente")
+    @Description("Verifica que semCache() sempre executa a requisição")
+    @Severity(SeverityLevel.NORMAL)
+    void deveIrAApiQuandoOCacheEIgnorado() {
+        CacheLeitura<String, Object> cache = new CacheLeitura<>(Duration.ofMinutes(5), 16);
+        ServicoDogApi servico = servicoDogApi.comCache(cache);
+        servico.buscarTodasRacasComoObjeto();
+
+        RespostaListaRacas semCache = servico.semCache().buscarTodasRacasComoObjeto();
+
+        assertAll("Validações do bypass do cache",
+            () -> assertEquals("success", semCache.getStatus(), "Busca sem cache deve ter sucesso"),
+            () -> assertEquals(0, cache.getAcertos(), "Busca sem cache não deve consultar o cache")
+        );
+    }
+
+    @Test
+    @Order(3)
+    @Story("Expirar e invalidar entradas")
+    @DisplayName("Deve buscar novamente após expiração ou invalidação")
+    @Description("Verifica o TTL com um relógio controlado e a invalidação explícita")
+    @Severity(SeverityLevel.NORMAL)
+    void deveBuscarNovamenteAposExpiracaoOuInvalidacao() {
+        AtomicLong relogio = new AtomicLong();
+        CacheLeitura<String, Object> cache = new CacheLeitura<>(Duration.ofSeconds(10), 16, relogio::get);
+        ServicoDogApi servico = servicoDogApi.comCache(cache);
+
+        servico.buscarImagensPorRacaComoObjeto("beagle");
+        relogio.addAndGet(Duration.ofSeconds(11).toNanos());
+        servico.buscarImagensPorRacaComoObjeto("beagle");
+        servico.invalidarCache();
+        RespostaImagensRaca aposInvalidacao = servico.buscarImagensPorRacaComoObjeto("beagle");
+
+        assertAll("Validações de expiração e invalidação",
+            () -> assertEquals(3, cache.getFaltas(), "Entrada expirada ou invalidada deve ser buscada de novo"),
+            () -> assertEquals(0, cache.getAcertos(), "Não deve haver acertos"),
+            () -> assertFalse(aposInvalidacao.getImagens().isEmpty(), "Resposta recarregada deve ter imagens")
+        );
+    }
+
+    @Test
+    @Order(4)
+    @Story("Limitar tamanho do cache")
+    @DisplayName("Deve despejar a entrada menos usada ao atingir o limite")
+    @Description("Verifica o limite de entradas com política LRU")
+    @Severity(SeverityLevel.MINOR)
+    void deveDespejarEntradaMenosUsadaAoAtingirOLimite() {
+        CacheLeitura<String, Object> cache = new CacheLeitura<>(Duration.ofMinutes(5), 2);
+        ServicoDogApi servico = servicoDogApi.comCache(cache);
+
+        servico.buscarImagensPorRacaComoObjeto("beagle");
+        servico.buscarImagensPorRacaComoObjeto("labrador");
+        servico.buscarImagensPorRacaComoObjeto("beagle");
+        servico.buscarImagensPorRacaComoObjeto("husky");
+        servico.buscarImagensPorRacaComoObjeto("beagle");
+        servico.buscarImagensPorRacaComoObjeto("labrador");
+
+        assertAll("Validações do limite de entradas",
+            () -> assertEquals(2, cache.tamanho(), "Cache não deve passar do limite"),
+            () -> assertEquals(2, cache.getAcertos(), "Beagle, mais usado, deve permanecer em cache"),
+            () -> assertEquals(4, cache.getFaltas(), "Labrador despejado deve ser buscado de novo")
+        );
+    }
+
+    @Test
+    @Order(5)
+    @Story("Não guardar respostas de erro")
+    @DisplayName("Deve recusar e não guardar em cache a resposta de erro de uma raça inexistente")
+    @Description("Verifica que um 404 lido em fluxo vira exceção e que a chamada seguinte volta à API em vez de receber o erro do cache")
+    @Severity(SeverityLevel.CRITICAL)
+    void deveRecusarENaoGuardarEmCacheARespostaDeErroDeUmaRacaInexistente() {
+        try (ServidorComFalhas servidor = iniciarServidorComFalhas()) {
+            RotasComFalhas rotas = servidor.getRotas();
+            CacheLeitura<String, Object> cache = new CacheLeitura<>(Duration.ofMinutes(5), 16);
+            ServicoDogApi servico = servidor.getServico().comCache(cache);
+
+            IllegalStateException primeira = assertThrows(IllegalStateException.class,
+                    () -> servico.buscarImagensPorRacaComoObjeto("racainexistente"));
+            assertThrows(IllegalStateException.class, () -> servico.buscarImagensPorRacaComoObjeto("racainexistente"));
+
+            assertAll("Validações da resposta de erro",
+                () -> assertTrue(primeira.getMessage().contains("404"), "Falha deve trazer o status: " + primeira.getMessage()),
+                () -> assertTrue(primeira.getMessage().contains("Breed not found"), "Falha deve trazer a mensagem da API"),
+                () -> assertEquals(0, cache.tamanho(), "Erro não deve ser guardado no cache"),
+                () -> assertEquals(0, cache.getAcertos(), "Segunda chamada não deve ser atendida pelo cache"),
+                () -> assertEquals(2, rotas.getRecebidas(), "Segunda chamada deve voltar à API")
+            );
+        }
+    }
+
+    @Test
+    @Order(6)
+    @Story("Coalescer requisições idênticas simultâneas")
+    @DisplayName("Deve atender chamadas idênticas simultâneas com uma única requisição")
+    @Description("Dispara a mesma busca em várias threads enquanto a primeira está em andamento e verifica que só ela vai ao servidor")
+    @Severity(SeverityLevel.NORMAL)
+    void deveAtenderChamadasIdenticasSimultaneasComUmaUnicaRequisicao() {
+        CoalescedorRequisicoes<String, Object> coalescedor = new CoalescedorRequisicoes<>();
+        try (ServidorComFalhas servidor = iniciarServidorComFalhas()) {
+            RotasComFalhas rotas = servidor.getRotas();
+            ServicoDogApi servico = servidor.getServico().semCache().comCoalescencia(coalescedor);
+            rotas.atrasarProximas(1, Duration.ofMillis(500));
+
+            List<RespostaListaRacas> resultados = emParalelo(8, servico::buscarTodasRacasComoObjeto);
+
+            assertAll("Validações da coalescência",
+                () -> assertEquals(1, rotas.getRecebidas(), "Servidor deve receber uma única requisição"),
+                () -> assertEquals(1, coalescedor.getExecutadas(), "Apenas a primeira thread deve buscar"),
+                () -> assertEquals(7, coalescedor.getCoalescidas(), "Demais threads devem se juntar à busca em andamento"),
+                () -> assertTrue(resultados.stream().allMatch(resultado -> resultado.getRacas() == resultados.get(0).getRacas()),
+                        "Todas as threads devem receber as raças de uma única desserialização")
+            );
+        }
+    }
+
+    @Test
+    @Order(7)
+    @Story("Coalescer requisições idênticas simultâneas")
+    @DisplayName("Deve coalescer apenas chamadas simultâneas a endpoints determinísticos")
+    @Description("Verifica que chamadas seguidas e imagens aleatórias continuam indo ao servidor")
+    @Severity(SeverityLevel.NORMAL)
+    void deveCoalescerApenasChamadasSimultaneasAEndpointsDeterministicos() {
+        CoalescedorRequisicoes<String, Object> coalescedor = new CoalescedorRequisicoes<>();
+        try (ServidorComFalhas servidor = iniciarServidorComFalhas()) {
+            RotasComFalhas rotas = servidor.getRotas();
+            ServicoDogApi servico = servidor.getServico().comCoalescencia(coalescedor);
+            rotas.atrasarProximas(1, Duration.ofMillis(500));
+            List<Response> simultaneas = emParalelo(4, () -> servico.buscarImagensPorRaca("beagle"));
+            int recebidasSimultaneas = rotas.getRecebidas();
+
+            servico.buscarImagensPorRaca("beagle");
+            List<Response> aleatorias = emParalelo(4, servico::buscarImagemAleatoria);
+
+            assertAll("Validações do escopo da coalescência",
+                () -> assertEquals(1, recebidasSimultaneas, "Chamadas simultâneas devem compartilhar a requisição"),
+                () -> assertTrue(simultaneas.stream().allMatch(response -> response.getStatusCode() == 200),
+                        "Todas as threads devem receber a resposta"),
+                () -> assertEquals(6, rotas.getRecebidas(),
+                        "Chamada seguinte e imagens aleatórias devem ir ao servidor"),
+                () -> assertEquals(4, aleatorias.size(), "Cada thread deve receber sua imagem aleatória")
+            );
+        }
+    }
+
+    @Test
+    @Order(8)
+    @Story("Revalidar respostas em cache no disco")
+    @DisplayName("Deve revalidar com requisição condicional e servir o corpo do disco")
+    @Description("Verifica que a segunda busca trafega só um 304 e que as entradas sobrevivem à reabertura do cache")
+    @Severity(SeverityLevel.NORMAL)
+    void deveRevalidarComRequisicaoCondicionalEServirOCorpoDoDisco(@TempDir Path diretorio) {
+        try (ServidorComFalhas servidor = iniciarServidorComFalhas()) {
+            RotasComFalhas rotas = servidor.getRotas();
+            CacheHttpDisco cacheHttp = new CacheHttpDisco(diretorio);
+            ServicoDogApi servico = new ServicoDogApi(servidor.getUrlBase(), TransporteHttp.compartilhado(), cacheHttp);
+            Response baixada = servico.buscarImagensPorRaca("beagle");
+            Response revalidada = servico.buscarImagensPorRaca("beagle");
+
+            CacheHttpDisco reaberto = new CacheHttpDisco(diretorio);
+            RespostaImagensRaca aposReabrir = new ServicoDogApi(servidor.getUrlBase(), TransporteHttp.compartilhado(), reaberto)
+                    .semCache()
+                    .buscarImagensPorRacaComoObjeto("beagle");
+
+            assertAll("Validações do cache HTTP em disco",
+                () -> assertNull(baixada.getHeader(CacheHttpDisco.HEADER_ORIGEM), "Primeira busca deve vir da rede"),
+                () -> assertEquals("revalidada", revalidada.getHeader(CacheHttpDisco.HEADER_ORIGEM),
+                        "Segunda busca deve ser servida do disco após o 304"),
+                () -> assertEquals(200, revalidada.getStatusCode(), "Teste deve receber 200 mesmo com 304 na rede"),
+                () -> assertArrayEquals(baixada.asByteArray(), revalidada.asByteArray(), "Corpo do disco deve ser idêntico"),
+                () -> assertTrue(revalidada.getHeader("Content-Type").contains("application/json"),
+                        "Content-Type da resposta original deve ser preservado"),
+                () -> assertEquals(1, cacheHttp.getBaixadas(), "Apenas a primeira busca deve baixar o corpo"),
+                () -> assertEquals(baixada.asByteArray().length, cacheHttp.getBytesDoDisco(),
+                        "Bytes servidos do disco devem ser contados"),
+                () -> assertEquals(1, reaberto.getRevalidadas(), "Cache reaberto deve revalidar a entrada gravada"),
+                () -> assertFalse(aposReabrir.getImagens().isEmpty(), "Corpo do disco deve ser desserializado")
+            );
+            assertEquals(3, rotas.getRecebidas(), "Revalidações continuam indo ao servidor, só sem corpo");
+        }
+    }
+
+    /**
+     * Executa a busca em várias threads liberadas ao mesmo tempo
+     */
+    private static <T> List<T> emParalelo(int threads, Supplier<T> busca) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch largada = new CountDownLatch(1);
+        try {
+            List<CompletableFuture<T>> buscas = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                buscas.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        largada.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return busca.get();
+                }, executor));
+            }
+            largada.countDown();
+            return buscas.stream().map(CompletableFuture::join).collect(Collectors.toList());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.southsystem.tests;
+
+import com.southsystem.carga.GeradorCarga;
+import com.southsystem.carga.ResultadoCarga;
+import com.southsystem.config.ConfiguracaoApi;
+import com.southsystem.services.ServicoDogApi;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Testes de carga em modelo aberto
+ * A taxa de chegada, a janela e a concorrência vêm de dog-api.properties (dog.api.carga.*)
+ * Contra a API pública o teste só roda com dog.api.carga.remota=true, para que um mvn test comum não dispare carga na dog.ceo
+ */
+@Epic("Dog API")
+@Feature("Carga")
+@DisplayName("Testes de Carga")
+public class TesteCarga extends TesteBase {
+
+    private static final String PROPRIEDADE_TAXA = "dog.api.carga.requisicoesPorSegundo";
+    private static final String PROPRIEDADE_DURACAO = "dog.api.carga.duracaoSegundos";
+    private static final String PROPRIEDADE_CONCORRENCIA = "dog.api.carga.concorrencia";
+    private static final String PROPRIEDADE_REMOTA = "dog.api.carga.remota";
+
+    @Test
+    @Order(1)
+    @Story("Sustentar taxa de chegada")
+    @DisplayName("Deve sustentar a taxa de chegada alvo com um mix de endpoints")
+    @Description("Dispara imagens aleatórias e imagens por raça a uma taxa fixa e registra os percentis de latência por endpoint")
+    @Severity(SeverityLevel.NORMAL)
+    void deveSustentarATaxaDeChegadaAlvoComUmMixDeEndpoints() {
+        assumeTrue(ConfiguracaoApi.usarServidorLocal() || reproduzindoCassete()
+                        || Boolean.parseBoolean(ConfiguracaoApi.propriedade(PROPRIEDADE_REMOTA, "false")),
+                "Carga contra a API pública requer -D" + PROPRIEDADE_REMOTA + "=true");
+        double taxa = Double.parseDouble(ConfiguracaoApi.propriedade(PROPRIEDADE_TAXA, "10"));
+        int duracaoSegundos = ConfiguracaoApi.propriedadeInteira(PROPRIEDADE_DURACAO, 5);
+        int concorrencia = ConfiguracaoApi.propriedadeInteira(PROPRIEDADE_CONCORRENCIA, 10);
+        long esperadas = Math.round(taxa * duracaoSegundos);
+
+        ResultadoCarga resultado = new GeradorCarga(servicoDogApi.semCache(), taxa, Duration.ofSeconds(duracaoSegundos), concorrencia)
+                .comEndpoint("GET /breeds/image/random", 3, s -> s.buscarImagemAleatoriaComoVisao().getStatusCode())
+                .comEndpoint("GET /breed/{raca}/images/random", 2, s -> s.buscarImagemAleatoriaPorRacaComoVisao("beagle").getStatusCode())
+                .comEndpoint("GET /breed/{raca}/images", 1, s -> s.buscarImagensPorRacaComoVisao("labrador").getStatusCode())
+                .executar();
+
+        System.out.println("📈 [CARGA]\n" + resultado.formatarResumo());
+        resultado.anexarAoRelatorio();
+
+        long p99Ms = resultado.getEndpoints().stream()
+                .mapToLong(nome -> resultado.getLatencia(nome).getValueAtPercentile(99))
+                .max().orElse(0) / 1000;
+        assertAll("Validações da carga",
+            () -> assertEquals(esperadas, resultado.getTotalRequisicoes(), "Todas as requisições programadas devem ser executadas"),
+            () -> assertEquals(0, resultado.getTotalFalhas(), "Nenhuma requisição deve falhar"),
+            () -> assertTrue(p99Ms < 5000, "p99 da latência deve ser menor que 5s, mas foi " + p99Ms + "ms")
+        );
+    }
+}
@@ -0,0 +1,134 @@
+package com.southsystem.tests;
+
+import com.southsystem.cassete.Cassete;
+import com.southsystem.cassete.ModoCassete;
+import com.southsystem.models.RespostaImagensRaca;
+import com.southsystem.models.RespostaListaRacas;
+import com.southsystem.services.ServicoDogApi;
+import com.southsystem.transporte.TransporteHttp;
+import io.qameta.allure.*;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do cassete de requisições (gravação e reprodução sem rede)
+ * Cada teste grava seu próprio cassete contra um servidor local dedicado, que é parado antes da reprodução
+ */
+@Epic("Dog API")
+@Feature("Cassete de Requisições")
+@DisplayName("Testes do Cassete de Requisições")
+public class TesteCassete extends TesteBase {
+
+    @Test
+    @Order(1)
+    @Story("Reproduzir tráfego gravado sem rede")
+    @DisplayName("Deve reproduzir as respostas gravadas com o servidor parado")
+    @Description("Verifica que as respostas gravadas voltam idênticas e na ordem, com corpos repetidos gravados uma única vez")
+    @Severity(SeverityLevel.CRITICAL)
+    void deveReproduzirAsRespostasGravadasComOServidorParado() throws IOException {
+        Path arquivo = arquivoTemporario();
+        try {
+            Cassete gravacao = Cassete.gravar(arquivo);
+            String urlBase;
+            List<byte[]> gravadas;
+            try (ServidorComFalhas servidor = iniciarServidorComFalhas()) {
+                urlBase = servidor.getUrlBase();
+                ServicoDogApi servico = new ServicoDogApi(urlBase, TransporteHttp.compartilhado(), null, gravacao);
+                gravadas = List.of(
+                        servico.buscarTodasRacas().asByteArray(),
+                        servico.buscarImagensPorRaca("beagle").asByteArray(),
+                        servico.buscarImagensPorRaca("beagle").asByteArray(),
+                        servico.buscarImagemAleatoria().asByteArray(),
+                        servico.buscarImagemAleatoria().asByteArray());
+            }
+            gravacao.salvar();
+
+            Cassete reproducao = Cassete.reproduzir(arquivo);
+            ServicoDogApi servico = new ServicoDogApi(urlBase, TransporteHttp.compartilhado(), null, reproducao);
+            Response lista = servico.buscarTodasRacas();
+            Response beagle = servico.buscarImagensPorRaca("beagle");
+            Response primeiraAleatoria = servico.buscarImagemAleatoria();
+            Response segundaAleatoria = servico.buscarImagemAleatoria();
+
+            Set<String> corposDistintos = new HashSet<>();
+            gravadas.forEach(corpo -> corposDistintos.add(new String(corpo, StandardCharsets.UTF_8)));
+            List<String> linhas = Files.readAllLines(arquivo, StandardCharsets.UTF_8);
+            long linhasCorpo = linhas.stream().filter(linha -> linha.startsWith("{\"corpo\"")).count();
+
+            assertAll("Validações da reprodução do cassete",
+                () -> assertEquals(5, reproducao.getInteracoes(), "Todas as interações devem ser carregadas"),
+                () -> assertEquals(corposDistintos.size(), linhasCorpo, "Cada corpo distinto deve ser gravado uma única vez"),
+                () -> assertEquals(200, lista.getStatusCode(), "Status gravado deve ser reproduzido"),
+                () -> assertTrue(lista.getContentType().contains("application/json"), "Content-Type gravado deve ser reproduzido"),
+                () -> assertArrayEquals(gravadas.get(0), lista.asByteArray(), "Lista de raças deve ser idêntica à gravada"),
+                () -> assertArrayEquals(gravadas.get(1), beagle.asByteArray(), "Imagens da raça devem ser idênticas às gravadas"),
+                () -> assertArrayEquals(gravadas.get(3), primeiraAleatoria.asByteArray(), "Gravações da mesma chave voltam na ordem"),
+                () -> assertArrayEquals(gravadas.get(4), segundaAleatoria.asByteArray(), "Segunda gravação da chave deve vir em seguida"),
+                () -> assertFalse(servico.buscarTodasRacas().jsonPath().getMap("message").isEmpty(),
+                        "Corpo reproduzido deve ser interpretado como JSON"),
+                () -> assertEquals(5, reproducao.getReproduzidas(), "Respostas devem vir do cassete"),
+                () -> assertTrue(reproducao.getMediaReproducaoMicros() < 1000,
+                        "Reprodução deve custar microssegundos, foi " + reproducao.getMediaReproducaoMicros() + "µs")
+            );
+        } finally {
+            Files.deleteIfExists(arquivo);
+        }
+    }
+
+    @Test
+    @Order(2)
+    @Story("Reproduzir tráfego gravado sem rede")
+    @DisplayName("Deve desserializar respostas reproduzidas e recusar requisições não gravadas")
+    @Description("Verifica que os métodos de leitura em fluxo funcionam sobre o cassete e que uma chave ausente falha sem ir à rede")
+    @Severity(SeverityLevel.NORMAL)
+    void deveDesserializarRespostasReproduzidasERecusarRequisicoesNaoGravadas() throws IOException {
+        Path arquivo = arquivoTemporario();
+        try {
+            Cassete gravacao = Cassete.gravar(arquivo);
+            String urlBase;
+            try (ServidorComFalhas servidor = iniciarServidorComFalhas()) {
+                urlBase = servidor.getUrlBase();
+                ServicoDogApi servico = new ServicoDogApi(urlBase, TransporteHttp.compartilhado(), null, gravacao).semCache();
+                servico.buscarTodasRacasComoObjeto();
+                servico.buscarImagensPorRacaComoObjeto("labrador");
+            }
+            gravacao.salvar();
+
+            Cassete reproducao = Cassete.reproduzir(arquivo);
+            ServicoDogApi servico = new ServicoDogApi("https://exemplo.invalid/api", TransporteHttp.compartilhado(), null, reproducao)
+                    .semCache();
+            RespostaListaRacas racas = servico.buscarTodasRacasComoObjeto();
+            RespostaImagensRaca labrador = servico.buscarImagensPorRacaComoObjeto("labrador");
+            IllegalStateException naoGravada = assertThrows(IllegalStateException.class,
+                    () -> servico.buscarImagensPorRacaComoObjeto("beagle"));
+
+            assertAll("Validações da reprodução em fluxo",
+                () -> assertEquals(ModoCassete.REPRODUZIR, reproducao.getModo(), "Cassete carregado deve estar em reprodução"),
+                () -> assertTrue(racas.getRacas().containsKey("labrador"), "Lista reproduzida deve conter as raças gravadas"),
+                () -> assertFalse(labrador.getImagens().isEmpty(), "Imagens reproduzidas devem ser desserializadas"),
+                () -> assertTrue(naoGravada.getMessage().contains("GET /api/breed/beagle/images"),
+                        "Falha deve identificar a requisição ausente do cassete"),
+                () -> assertEquals(2, reproducao.getReproduzidas(), "Somente as requisições gravadas devem ser reproduzidas")
+            );
+        } finally {
+            Files.deleteIfExists(arquivo);
+        }
+    }
+
+    private static Path arquivoTemporario() throws IOException {
+        return Files.createTempFile(Files.createDirectories(Paths.get("target")), "cassete-teste", ".ndjson");
+    }
+}
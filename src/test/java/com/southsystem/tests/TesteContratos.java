@@ -0,0 +1,275 @@
+package com.southsystem.tests;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.southsystem.config.ConfiguracaoApi;
+import com.southsystem.contratos.Contrato;
+import com.southsystem.contratos.ContratosDogApi;
+import com.southsystem.contratos.Esquema;
+import com.southsystem.contratos.ResultadoContrato;
+import com.southsystem.contratos.Violacao;
+import com.southsystem.json.MapeadorJson;
+import com.southsystem.models.RespostaListaRacas;
+import com.southsystem.services.ServicoDogApi;
+import io.qameta.allure.*;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Testes dos contratos de resposta validados em streaming (com.southsystem.contratos)
+ * As validações do catálogo completo (cerca de 200 requisições) só rodam contra a API pública
+ * com dog.api.contratos.remota=true; as dos demais endpoints rodam sempre
+ */
+@Epic("Dog API")
+@Feature("Contratos de Resposta")
+@DisplayName("Testes de Contratos de Resposta")
+public class TesteContratos extends TesteBase {
+
+    private static final String PROPRIEDADE_REMOTA = "dog.api.contratos.remota";
+    private static final Pattern URL_IMAGEM = Pattern.compile("https?://[^/]+/breeds/[a-z0-9-]+/[^/]+\\.(jpg|jpeg|png|gif)",
+            Pattern.CASE_INSENSITIVE);
+
+    /** Corpos de imagens do catálogo, buscados uma vez e compartilhados pelos testes da classe */
+    private static List<byte[]> corposDoCatalogo;
+
+    @Test
+    @Order(1)
+    @Story("Validar o catálogo completo")
+    @DisplayName("Deve validar o contrato das imagens de todas as raças e sub-raças do catálogo")
+    @Description("Busca as imagens de cada raça e sub-raça e valida cada corpo contra o contrato do endpoint")
+    @Severity(SeverityLevel.NORMAL)
+    void deveValidarOContratoDasImagensDeTodasAsRacasESubRacasDoCatalogo() {
+        exigirCatalogoHabilitado();
+        List<byte[]> imagens = buscarImagensDoCatalogo(servicoDogApi);
+        int invalidas = 0;
+        StringBuilder violacoes = new StringBuilder();
+        for (byte[] corpo : imagens) {
+            ResultadoContrato resultado = ContratosDogApi.IMAGENS.validar(corpo);
+            if (!resultado.isValido()) {
+                invalidas++;
+                violacoes.append(resultado.formatar()).append('\n');
+            }
+        }
+        System.out.println("📜 [CONTRATOS] " + imagens.size() + " respostas de imagens por raça e sub-raça, " + invalidas + " fora do contrato");
+
+        assertEquals(0, invalidas, violacoes::toString);
+    }
+
+    @Test
+    @Order(2)
+    @Story("Validar os endpoints")
+    @DisplayName("Deve validar o contrato das imagens aleatórias e da resposta de erro")
+    @Description("Busca uma e várias imagens aleatórias, geral e por raça, e uma sub-raça inexistente, e valida cada corpo contra o contrato do endpoint")
+    @Severity(SeverityLevel.CRITICAL)
+    void deveValidarOContratoDasImagensAleatoriasEDaRespostaDeErro() {
+        validarContrato(ContratosDogApi.paraEndpoint("/breeds/image/random"), servicoDogApi.buscarImagemAleatoria());
+        validarContrato(ContratosDogApi.paraEndpoint("/breeds/image/random/{quantidade}"), servicoDogApi.buscarMultiplasImagensAleatorias(10));
+        validarContrato(ContratosDogApi.paraEndpoint("/breed/{raca}/images/random"), servicoDogApi.buscarImagemAleatoriaPorRaca("hound"));
+        validarContrato(ContratosDogApi.paraEndpoint("/breed/{raca}/images/random/{quantidade}"),
+                servicoDogApi.buscarMultiplasImagensAleatoriasPorRaca("hound", 3));
+        Response erro = servicoDogApi.buscarImagensPorSubRaca("hound", "inexistente");
+        assertEquals(404, erro.getStatusCode(), "Sub-raça inexistente deve retornar 404");
+        validarContrato(ContratosDogApi.ERRO, erro);
+    }
+
+    @Test
+    @Order(3)
+    @Story("Apontar violações")
+    @DisplayName("Deve apontar todas as violações com o caminho JSON")
+    @Description("Valida corpos sintéticos com vários problemas e verifica que cada violação é reportada no caminho certo, sem parar na primeira")
+    @Severity(SeverityLevel.NORMAL)
+    void deveApontarTodasAsViolacoesComOCaminhoJson() {
+        String corpo = "{\"message\":{\"hound\":[\"afghan\",\"Blood Hound\",7],\"bulldog\":\"french\",\"Pug\":[]},"
+                + "\"status\":\"sucess\",\"extra\":{\"a\":[1,2]}}";
+
+        ResultadoContrato resultado = ContratosDogApi.LISTA_RACAS.validar(corpo.getBytes(StandardCharsets.UTF_8));
+
+        System.out.println("📜 " + resultado.formatar());
+        List<String> caminhos = caminhos(resultado);
+        assertAll("Validações das violações da lista de raças",
+            () -> assertFalse(resultado.isValido(), "Resposta não deve ser válida"),
+            () -> assertEquals(List.of("$.message.hound[1]", "$.message.hound[2]", "$.message.bulldog",
+                    "$.message.Pug", "$.status", "$.extra"), caminhos, "Caminhos das violações"),
+            () -> assertTrue(resultado.getViolacoes().get(1).getMensagem().contains("encontrado inteiro"),
+                    "Tipo errado deve dizer o que foi encontrado"),
+            () -> assertTrue(resultado.getViolacoes().get(4).getMensagem().contains("sucess"),
+                    "Valor fora da enumeração deve aparecer na mensagem")
+        );
+    }
+
+    @Test
+    @Order(4)
+    @Story("Apontar violações")
+    @DisplayName("Deve apontar URLs fora do formato, campos ausentes e JSON malformado")
+    @Description("Cobre o formato das URLs de imagem, campos obrigatórios, limites de tamanho e corpos que não são JSON válido")
+    @Severity(SeverityLevel.NORMAL)
+    void deveApontarUrlsForaDoFormatoCamposAusentesEJsonMalformado() {
+        ResultadoContrato urls = ContratosDogApi.IMAGENS.validar(bytes("{\"status\":\"success\",\"message\":["
+                + "\"https://images.dog.ceo/breeds/hound-afghan/n02088094_1003.jpg\","
+                + "\"https://images.dog.ceo/breeds/Hound/n02088094_1003.jpg\","
+                + "\"https://images.dog.ceo/breeds/hound/n02088094_1003.txt\","
+                + "\"ftp://images.dog.ceo/breeds/hound/a.jpg\","
+                + "\"http://localhost:8080/breeds/hound-afghan/a%20b.PNG\"]}"));
+        ResultadoContrato ausentes = ContratosDogApi.ERRO.validar(bytes("{\"status\":\"error\",\"code\":200}"));
+        ResultadoContrato muitas = ContratosDogApi.IMAGENS_ALEATORIAS.validar(bytes("{\"status\":\"success\",\"message\":[]}"));
+        ResultadoContrato truncado = ContratosDogApi.IMAGEM_ALEATORIA.validar(bytes("{\"status\":\"success\",\"message\":"));
+        ResultadoContrato vazio = ContratosDogApi.IMAGEM_ALEATORIA.validar(new byte[0]);
+        ResultadoContrato sobra = ContratosDogApi.ERRO.validar(bytes("{\"status\":\"error\",\"message\":\"x\",\"code\":404} {}"));
+
+        assertAll("Validações das violações",
+            () -> assertEquals(List.of("$.message[1]", "$.message[2]", "$.message[3]"), caminhos(urls), "URLs fora do formato"),
+            () -> assertEquals(List.of("$.code", "$.message"), caminhos(ausentes), "Código fora da faixa e mensagem ausente"),
+            () -> assertEquals(List.of("$.message"), caminhos(muitas), "Lista vazia de imagens aleatórias"),
+            () -> assertEquals(List.of("$.message"), caminhos(truncado), "JSON truncado no valor de message"),
+            () -> assertTrue(truncado.getViolacoes().get(0).getMensagem().startsWith("JSON malformado"), "JSON truncado"),
+            () -> assertEquals(List.of("$"), caminhos(vazio), "Corpo vazio"),
+            () -> assertEquals(List.of("$"), caminhos(sobra), "Conteúdo depois do JSON")
+        );
+    }
+
+    @Test
+    @Order(5)
+    @Story("Limitar o relatório")
+    @DisplayName("Deve contar todas as violações e guardar só até o limite")
+    @Description("Valida uma lista com mais URLs inválidas que o limite de violações guardadas")
+    @Severity(SeverityLevel.MINOR)
+    void deveContarTodasAsViolacoesEGuardarSoAteOLimite() {
+        Contrato urls = Contrato.compilar("urls", Esquema.lista(Esquema.urlImagem()));
+        StringBuilder corpo = new StringBuilder("[");
+        for (int i = 0; i < 120; i++) {
+            corpo.append(i == 0 ? "" : ",").append("\"imagem-").append(i).append("\"");
+        }
+
+        ResultadoContrato resultado = urls.validar(bytes(corpo.append("]").toString()));
+
+        assertAll("Validações do limite de violações",
+            () -> assertEquals(120, resultado.getTotalViolacoes(), "Todas as violações devem ser contadas"),
+            () -> assertEquals(Contrato.LIMITE_VIOLACOES, resultado.getViolacoes().size(), "Só até o limite devem ser guardadas"),
+            () -> assertEquals("$[49]", resultado.getViolacoes().get(Contrato.LIMITE_VIOLACOES - 1).getCaminho(),
+                    "Devem ficar as primeiras violações, na ordem da resposta"),
+            () -> assertTrue(resultado.formatar().endsWith("... e mais 70"), "Resumo deve indicar as violações não guardadas")
+        );
+    }
+
+    @Test
+    @Order(6)
+    @Story("Comparar custo")
+    @DisplayName("Deve validar o catálogo sem montar árvore nem modelo")
+    @Description("Mede a validação por contrato contra a abordagem de montar a árvore JSON e checar campo a campo, sobre os mesmos corpos do catálogo")
+    @Severity(SeverityLevel.MINOR)
+    void deveValidarOCatalogoSemMontarArvoreNemModelo() {
+        exigirCatalogoHabilitado();
+        List<byte[]> imagens = buscarImagensDoCatalogo(servicoDogApi);
+        int rodadas = 10;
+
+        // Aquecimento das duas abordagens antes de medir
+        medir(imagens, 3, true);
+        medir(imagens, 3, false);
+        long contratoNs = medir(imagens, rodadas, true);
+        long arvoreNs = medir(imagens, rodadas, false);
+
+        System.out.printf("📜 [CONTRATOS] %d corpos x %d rodadas: contrato %.1fms, árvore + asserções %.1fms (%.0f%%)%n",
+                imagens.size(), rodadas, contratoNs / 1e6, arvoreNs / 1e6, 100.0 * contratoNs / arvoreNs);
+        // O tempo é só informativo (ver BenchmarkContratos); o teste garante que as duas abordagens concordam
+        for (byte[] corpo : imagens) {
+            assertEquals(validarComArvore(corpo), ContratosDogApi.IMAGENS.validar(corpo).isValido(),
+                    "Contrato e árvore devem concordar para " + new String(corpo, 0, Math.min(corpo.length, 80), StandardCharsets.UTF_8));
+        }
+    }
+
+    private long medir(List<byte[]> corpos, int rodadas, boolean contrato) {
+        long inicio = System.nanoTime();
+        int validos = 0;
+        for (int rodada = 0; rodada < rodadas; rodada++) {
+            for (byte[] corpo : corpos) {
+                boolean valido = contrato ? ContratosDogApi.IMAGENS.validar(corpo).isValido() : validarComArvore(corpo);
+                validos += valido ? 1 : 0;
+            }
+        }
+        assertEquals(corpos.size() * rodadas, validos, "Todos os corpos do catálogo devem ser válidos");
+        return System.nanoTime() - inicio;
+    }
+
+    /**
+     * Abordagem anterior aos contratos: árvore completa e checagem campo a campo
+     */
+    private static boolean validarComArvore(byte[] corpo) {
+        try {
+            JsonNode raiz = MapeadorJson.mapeador().readTree(corpo);
+            if (raiz == null || !raiz.isObject() || !"success".equals(raiz.path("status").asText(null))) {
+                return false;
+            }
+            JsonNode mensagem = raiz.get("message");
+            if (mensagem == null || !mensagem.isArray() || mensagem.isEmpty()) {
+                return false;
+            }
+            for (JsonNode url : mensagem) {
+                if (!url.isTextual() || !URL_IMAGEM.matcher(url.asText()).matches()) {
+                    return false;
+                }
+            }
+            return raiz.size() == 2;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return corpos de /breed/{raca}/images para cada raça e de /breed/{raca}/{subRaca}/images para cada sub-raça
+     */
+    private static synchronized List<byte[]> buscarImagensDoCatalogo(ServicoDogApi servico) {
+        if (corposDoCatalogo != null) {
+            return corposDoCatalogo;
+        }
+        Response lista = servico.buscarTodasRacas();
+        ResultadoContrato contrato = ContratosDogApi.LISTA_RACAS.validar(lista.asByteArray());
+        assertTrue(contrato.isValido(), contrato::formatar);
+        RespostaListaRacas racas;
+        try {
+            racas = MapeadorJson.mapeador().readValue(lista.asByteArray(), RespostaListaRacas.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler a lista de raças", e);
+        }
+        List<byte[]> corpos = new ArrayList<>();
+        for (Map.Entry<String, List<String>> raca : racas.getRacas().entrySet()) {
+            corpos.add(servico.buscarImagensPorRaca(raca.getKey()).asByteArray());
+            for (String subRaca : raca.getValue()) {
+                corpos.add(servico.buscarImagensPorSubRaca(raca.getKey(), subRaca).asByteArray());
+            }
+        }
+        corposDoCatalogo = corpos;
+        return corpos;
+    }
+
+    private static List<String> caminhos(ResultadoContrato resultado) {
+        List<String> caminhos = new ArrayList<>();
+        for (Violacao violacao : resultado.getViolacoes()) {
+            caminhos.add(violacao.getCaminho());
+        }
+        return caminhos;
+    }
+
+    private static byte[] bytes(String texto) {
+        return texto.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void exigirCatalogoHabilitado() {
+        assumeFalse(reproduzindoCassete(), "Catálogo completo não cabe no cassete gravado");
+        assumeTrue(ConfiguracaoApi.usarServidorLocal()
+                        || Boolean.parseBoolean(ConfiguracaoApi.propriedade(PROPRIEDADE_REMOTA, "false")),
+                "Catálogo completo contra a API pública desabilitado (dog.api.contratos.remota=false)");
+    }
+}
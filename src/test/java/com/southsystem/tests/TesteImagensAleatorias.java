@@ -1,6 +1,9 @@
 package com.southsystem.tests;
 
+import com.southsystem.contratos.ContratosDogApi;
+import com.southsystem.models.RespostaDogApi;
 import com.southsystem.models.RespostaImagemAleatoria;
+import com.southsystem.transporte.PrazoMaximo;
 import io.qameta.allure.*;
 import io.restassured.response.Response;
 import org.junit.jupiter.api.DisplayName;
@@ -26,13 +29,13 @@ public class TesteImagensAleatorias extends TesteBase {
     @Severity(SeverityLevel.CRITICAL)
     void deveRetornarUmaImagemAleatoriaComSucesso() {
         System.out.println("🎲 [TESTE 1/10] Buscando imagem aleatória...");
-        Response resposta = servicoDogApi.buscarImagemAleatoria();
+        RespostaDogApi resposta = servicoDogApi.buscarImagemAleatoriaComoVisao();
         
         assertAll("Validações da resposta de imagem aleatória",
             () -> assertEquals(200, resposta.getStatusCode(), "Status code deve ser 200"),
-            () -> assertEquals("success", resposta.jsonPath().getString("status"), "Status deve ser success"),
-            () -> assertNotNull(resposta.jsonPath().getString("message"), "URL da imagem não deve ser nula"),
-            () -> assertFalse(resposta.jsonPath().getString("message").isEmpty(), "URL da imagem não deve estar vazia")
+            () -> assertEquals("success", resposta.getStatus(), "Status deve ser success"),
+            () -> assertNotNull(resposta.getMensagemComoTexto(), "URL da imagem não deve ser nula"),
+            () -> assertFalse(resposta.getMensagemComoTexto().isEmpty(), "URL da imagem não deve estar vazia")
         );
         System.out.println("✅ Teste de imagem aleatória concluído!");
     }
@@ -41,17 +44,13 @@ public class TesteImagensAleatorias extends TesteBase {
     @Order(2)
     @Story("Validar estrutura da resposta")
     @DisplayName("Deve validar estrutura correta da resposta JSON")
-    @Description("Verifica se a estrutura da resposta JSON está conforme esperado")
+    @Description("Verifica a resposta contra o contrato do endpoint: status \"success\" e message como URL de imagem")
     @Severity(SeverityLevel.NORMAL)
     void deveValidarEstruturaDaRespostaJson() {
-        RespostaImagemAleatoria resposta = servicoDogApi.buscarImagemAleatoriaComoObjeto();
-        
-        assertAll("Validações da estrutura da resposta",
-            () -> assertNotNull(resposta, "Objeto resposta não deve ser nulo"),
-            () -> assertEquals("success", resposta.getStatus(), "Status deve ser success"),
-            () -> assertNotNull(resposta.getImagemUrl(), "URL da imagem não deve ser nula"),
-            () -> assertFalse(resposta.getImagemUrl().isEmpty(), "URL da imagem não deve estar vazia")
-        );
+        Response resposta = servicoDogApi.buscarImagemAleatoria();
+
+        assertEquals(200, resposta.getStatusCode(), "Status code deve ser 200");
+        validarContrato(ContratosDogApi.IMAGEM_ALEATORIA, resposta);
     }
 
     @Test
@@ -106,13 +105,13 @@ public class TesteImagensAleatorias extends TesteBase {
     @Severity(SeverityLevel.NORMAL)
     void deveRetornarMultiplasImagensAleatorias() {
         int quantidade = 3;
-        Response resposta = servicoDogApi.buscarMultiplasImagensAleatorias(quantidade);
+        RespostaDogApi resposta = servicoDogApi.buscarMultiplasImagensAleatoriasComoVisao(quantidade);
         
         assertAll("Validações de múltiplas imagens aleatórias",
             () -> assertEquals(200, resposta.getStatusCode(), "Status code deve ser 200"),
-            () -> assertEquals("success", resposta.jsonPath().getString("status"), "Status deve ser success"),
-            () -> assertNotNull(resposta.jsonPath().getList("message"), "Lista de imagens não deve ser nula"),
-            () -> assertEquals(quantidade, resposta.jsonPath().getList("message").size(), 
+            () -> assertEquals("success", resposta.getStatus(), "Status deve ser success"),
+            () -> assertNotNull(resposta.getMensagemComoLista(), "Lista de imagens não deve ser nula"),
+            () -> assertEquals(quantidade, resposta.getMensagemComoLista().size(), 
                 "Deve retornar exatamente " + quantidade + " imagens")
         );
     }
@@ -123,6 +122,7 @@ public class TesteImagensAleatorias extends TesteBase {
     @DisplayName("Deve responder em tempo aceitável")
     @Description("Verifica se a API responde em menos de 3 segundos")
     @Severity(SeverityLevel.MINOR)
+    @PrazoMaximo(3000)
     void deveResponderEmTempoAceitavel() {
         long tempoInicio = System.currentTimeMillis();
         Response resposta = servicoDogApi.buscarImagemAleatoria();
@@ -161,13 +161,13 @@ public class TesteImagensAleatorias extends TesteBase {
     @Severity(SeverityLevel.NORMAL)
     void deveRetornarImagemAleatoriaPorRaca() {
         String raca = "labrador";
-        Response resposta = servicoDogApi.buscarImagemAleatoriaPorRaca(raca);
+        RespostaDogApi resposta = servicoDogApi.buscarImagemAleatoriaPorRacaComoVisao(raca);
         
         assertAll("Validações de imagem aleatória por raça",
             () -> assertEquals(200, resposta.getStatusCode(), "Status code deve ser 200"),
-            () -> assertEquals("success", resposta.jsonPath().getString("status"), "Status deve ser success"),
-            () -> assertNotNull(resposta.jsonPath().getString("message"), "URL da imagem não deve ser nula"),
-            () -> assertTrue(resposta.jsonPath().getString("message").contains(raca), 
+            () -> assertEquals("success", resposta.getStatus(), "Status deve ser success"),
+            () -> assertNotNull(resposta.getMensagemComoTexto(), "URL da imagem não deve ser nula"),
+            () -> assertTrue(resposta.getMensagemComoTexto().contains(raca), 
                 "URL deve conter o nome da raça: " + raca)
         );
     }
@@ -181,13 +181,13 @@ public class TesteImagensAleatorias extends TesteBase {
     void deveRetornarMultiplasImagensPorRaca() {
         String raca = "beagle";
         int quantidade = 5;
-        Response resposta = servicoDogApi.buscarMultiplasImagensAleatoriasPorRaca(raca, quantidade);
+        RespostaDogApi resposta = servicoDogApi.buscarMultiplasImagensAleatoriasPorRacaComoVisao(raca, quantidade);
         
         assertAll("Validações de múltiplas imagens por raça",
             () -> assertEquals(200, resposta.getStatusCode(), "Status code deve ser 200"),
-            () -> assertEquals("success", resposta.jsonPath().getString("status"), "Status deve ser success"),
-            () -> assertNotNull(resposta.jsonPath().getList("message"), "Lista de imagens não deve ser nula"),
-            () -> assertTrue(resposta.jsonPath().getList("message").size() <= quantidade, 
+            () -> assertEquals("success", resposta.getStatus(), "Status deve ser success"),
+            () -> assertNotNull(resposta.getMensagemComoLista(), "Lista de imagens não deve ser nula"),
+            () -> assertTrue(resposta.getMensagemComoLista().size() <= quantidade, 
                 "Não deve retornar mais imagens que o solicitado")
         );
     }
@@ -206,9 +206,7 @@ public class TesteImagensAleatorias extends TesteBase {
         assertTrue(resposta.getStatusCode() == 200 || resposta.getStatusCode() >= 400, 
             "Deve retornar sucesso com limite ou erro para quantidade excessiva");
         
-        if (resposta.getStatusCode() == 200) {
-            assertTrue(resposta.jsonPath().getList("message").size() <= 50, 
-                "Deve aplicar limite razoável de imagens");
-        }
+        // O contrato de sucesso limita a lista a ContratosDogApi.MAXIMO_IMAGENS_ALEATORIAS
+        validarContrato(resposta.getStatusCode() == 200 ? ContratosDogApi.IMAGENS_ALEATORIAS : ContratosDogApi.ERRO, resposta);
     }
 }
\ No newline at end of file
@@ -8,7 +8,16 @@ import org.junit.jupiter.api.Test;
 
 import io.qameta.allure.*;
 import io.restassured.response.Response;
+import com.southsystem.contratos.ContratosDogApi;
+import com.southsystem.json.LeitorRespostas;
+import com.southsystem.models.ListaUrlsCompacta;
+import com.southsystem.models.RespostaDogApi;
 import com.southsystem.models.RespostaImagensRaca;
+import com.southsystem.transporte.PrazoMaximo;
+
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Testes para o endpoint de imagens por raça
@@ -28,13 +37,13 @@ public class TesteImagensPorRaca extends TesteBase {
     void deveRetornarImagensDeUmaRacaEspecificaComSucesso() {
         String raca = "beagle";
         System.out.println("🖼️  [TESTE 1/6] Buscando imagens da raça: " + raca + "...");
-        Response resposta = servicoDogApi.buscarImagensPorRaca(raca);
+        RespostaDogApi resposta = servicoDogApi.buscarImagensPorRacaComoVisao(raca);
         
         assertAll("Validações da resposta de imagens por raça",
             () -> assertEquals(200, resposta.getStatusCode(), "Status code deve ser 200"),
-            () -> assertEquals("success", resposta.jsonPath().getString("status"), "Status deve ser success"),
-            () -> assertNotNull(resposta.jsonPath().getList("message"), "Lista de imagens não deve ser nula"),
-            () -> assertFalse(resposta.jsonPath().getList("message").isEmpty(), "Lista de imagens não deve estar vazia")
+            () -> assertEquals("success", resposta.getStatus(), "Status deve ser success"),
+            () -> assertNotNull(resposta.getMensagemComoLista(), "Lista de imagens não deve ser nula"),
+            () -> assertFalse(resposta.getMensagemComoLista().isEmpty(), "Lista de imagens não deve estar vazia")
         );
         System.out.println("✅ Teste de imagens por raça concluído!");
     }
@@ -43,17 +52,13 @@ public class TesteImagensPorRaca extends TesteBase {
     @Order(2)
     @Story("Validar estrutura da resposta")
     @DisplayName("Deve validar estrutura correta da resposta JSON")
-    @Description("Verifica se a estrutura da resposta JSON está conforme esperado")
+    @Description("Verifica a resposta contra o contrato do endpoint: status \"success\" e message como lista não vazia de URLs de imagem")
     @Severity(SeverityLevel.NORMAL)
     void deveValidarEstruturaDaRespostaJson() {
-        RespostaImagensRaca resposta = servicoDogApi.buscarImagensPorRacaComoObjeto("labrador");
-        
-        assertAll("Validações da estrutura da resposta",
-            () -> assertNotNull(resposta, "Objeto resposta não deve ser nulo"),
-            () -> assertEquals("success", resposta.getStatus(), "Status deve ser success"),
-            () -> assertNotNull(resposta.getImagens(), "Lista de imagens não deve ser nula"),
-            () -> assertFalse(resposta.getImagens().isEmpty(), "Lista de imagens não deve estar vazia")
-        );
+        Response resposta = servicoDogApi.buscarImagensPorRaca("labrador");
+
+        assertEquals(200, resposta.getStatusCode(), "Status code deve ser 200");
+        validarContrato(ContratosDogApi.IMAGENS, resposta);
     }
 
     @Test
@@ -84,12 +89,12 @@ public class TesteImagensPorRaca extends TesteBase {
         String[] racas = {"bulldog", "poodle", "husky"};
         
         for (String raca : racas) {
-            Response resposta = servicoDogApi.buscarImagensPorRaca(raca);
+            RespostaDogApi resposta = servicoDogApi.buscarImagensPorRacaComoVisao(raca);
             
             assertAll("Validações para raça: " + raca,
                 () -> assertEquals(200, resposta.getStatusCode(), "Status code deve ser 200 para " + raca),
-                () -> assertEquals("success", resposta.jsonPath().getString("status"), "Status deve ser success para " + raca),
-                () -> assertFalse(resposta.jsonPath().getList("message").isEmpty(), "Deve retornar imagens para " + raca)
+                () -> assertEquals("success", resposta.getStatus(), "Status deve ser success para " + raca),
+                () -> assertFalse(resposta.getMensagemComoLista().isEmpty(), "Deve retornar imagens para " + raca)
             );
         }
     }
@@ -106,7 +111,7 @@ public class TesteImagensPorRaca extends TesteBase {
         
         assertAll("Validações para raça inexistente",
             () -> assertEquals(404, resposta.getStatusCode(), "Status code deve ser 404 para raça inexistente"),
-            () -> assertEquals("error", resposta.jsonPath().getString("status"), "Status deve ser error")
+            () -> validarContrato(ContratosDogApi.ERRO, resposta)
         );
     }
 
@@ -116,6 +121,7 @@ public class TesteImagensPorRaca extends TesteBase {
     @DisplayName("Deve responder em tempo aceitável")
     @Description("Verifica se a API responde em menos de 3 segundos")
     @Severity(SeverityLevel.MINOR)
+    @PrazoMaximo(3000)
     void deveResponderEmTempoAceitavel() {
         long inicioTempo = System.currentTimeMillis();
         
@@ -128,4 +134,51 @@ public class TesteImagensPorRaca extends TesteBase {
             () -> assertTrue(tempoResposta < 3000, "Resposta deve ser em menos de 3 segundos")
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    @Order(7)
+    @Story("Desserializar em streaming")
+    @DisplayName("Deve desserializar em streaming o mesmo conteúdo da resposta completa")
+    @Description("Verifica que o modelo lido token a token do stream da conexão equivale ao corpo interpretado inteiro")
+    @Severity(SeverityLevel.NORMAL)
+    void deveDesserializarEmStreamingOMesmoConteudoDaRespostaCompleta() {
+        RespostaImagensRaca emFluxo = servicoDogApi.semCache().buscarImagensPorRacaComoObjeto("hound");
+        RespostaDogApi completa = servicoDogApi.buscarImagensPorRacaComoVisao("hound");
+
+        assertAll("Validações da desserialização em streaming",
+            () -> assertEquals(completa.getStatus(), emFluxo.getStatus(), "Status deve ser o mesmo"),
+            () -> assertEquals(completa.getMensagemComoLista(), emFluxo.getImagens(), "Imagens devem ser as mesmas, na mesma ordem")
+        );
+    }
+
+    @Test
+    @Order(8)
+    @Story("Desserializar em streaming")
+    @DisplayName("Deve guardar as URLs em lista compacta equivalente à lista completa")
+    @Description("Verifica que a lista com prefixos compartilhados e sufixos em bytes devolve as mesmas URLs, busca sem decodificar e ocupa bem menos que os textos")
+    @Severity(SeverityLevel.NORMAL)
+    void deveGuardarAsUrlsEmListaCompactaEquivalenteAListaCompleta() {
+        Response resposta = servicoDogApi.buscarImagensPorRaca("hound");
+        RespostaImagensRaca completa = LeitorRespostas.lerImagensRaca(new ByteArrayInputStream(resposta.asByteArray()));
+        RespostaImagensRaca compacta = LeitorRespostas.lerImagensRaca(new ByteArrayInputStream(resposta.asByteArray()), true);
+        List<String> urls = completa.getImagens();
+        ListaUrlsCompacta lista = (ListaUrlsCompacta) compacta.getImagens();
+        long caracteres = urls.stream().mapToLong(String::length).sum();
+        String ultima = urls.get(urls.size() - 1);
+        ListaUrlsCompacta comCasosEspeciais = ListaUrlsCompacta.de(Arrays.asList("sem-barra.jpg", null, "https://exemplo/ção/cão.jpg"));
+
+        assertAll("Validações da lista compacta de URLs",
+            () -> assertEquals(completa, compacta, "Modelo com lista compacta deve ser igual ao modelo com lista completa"),
+            () -> assertEquals(urls.hashCode(), lista.hashCode(), "hashCode deve seguir o contrato de List"),
+            () -> assertEquals(ultima, lista.get(lista.size() - 1), "Acesso por índice deve decodificar a URL"),
+            () -> assertEquals(urls.indexOf(ultima), lista.indexOf(ultima), "Busca deve encontrar a mesma posição"),
+            () -> assertFalse(lista.contains(ultima + "x"), "URL ausente não deve ser encontrada"),
+            () -> assertTrue(lista.getQuantidadePrefixos() < 20, "Prefixos devem ser compartilhados pelas sub-raças"),
+            () -> assertTrue(lista.getBytesSufixos() < caracteres / 2, "Sufixos devem ocupar menos da metade dos textos"),
+            () -> assertThrows(UnsupportedOperationException.class, () -> lista.add("x"), "Lista compacta deve ser imutável"),
+            () -> assertEquals(Arrays.asList("sem-barra.jpg", null, "https://exemplo/ção/cão.jpg"), comCasosEspeciais,
+                    "URLs sem barra, nulas e com acentos devem ser preservadas"),
+            () -> assertEquals(1, comCasosEspeciais.indexOf(null), "Elemento nulo deve ser encontrado")
+        );
+    }
+}
@@ -1,8 +1,13 @@
 package com.southsystem.tests;
 
+import com.southsystem.contratos.Contrato;
+import com.southsystem.contratos.ContratosDogApi;
+import com.southsystem.models.RespostaDogApi;
 import com.southsystem.models.RespostaImagemAleatoria;
 import com.southsystem.models.RespostaImagensRaca;
 import com.southsystem.models.RespostaListaRacas;
+import com.southsystem.services.ServicoDogApi;
+import com.southsystem.transporte.PrazoMaximo;
 import io.qameta.allure.*;
 import io.restassured.response.Response;
 import org.junit.jupiter.api.DisplayName;
@@ -11,6 +16,8 @@ import org.junit.jupiter.api.Test;
 
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -92,20 +99,23 @@ public class TesteIntegracao extends TesteBase {
         Map<String, List<String>> racas = listaRacas.getRacas();
 
         // 2. Testar algumas raças populares da lista
-        String[] racasParaTestar = {"labrador", "bulldog", "beagle"};
-        
-        for (String raca : racasParaTestar) {
-            if (racas.containsKey(raca)) {
-                Response imagensRaca = servicoDogApi.buscarImagensPorRaca(raca);
-                
-                assertAll("Validações de consistência para raça: " + raca,
-                    () -> assertEquals(200, imagensRaca.getStatusCode(), 
-                        "Raça " + raca + " listada deve retornar imagens"),
-                    () -> assertEquals("success", imagensRaca.jsonPath().getString("status"), 
-                        "Status deve ser success para raça existente")
-                );
-            }
-        }
+        List<String> racasParaTestar = Stream.of("labrador", "bulldog", "beagle")
+                .filter(racas::containsKey)
+                .collect(Collectors.toList());
+
+        // 3. Buscar as imagens de todas as raças ao mesmo tempo (uma ida à API em vez de uma por raça)
+        Map<String, RespostaDogApi> imagensPorRaca = servicoDogApi
+                .paraCada(racasParaTestar, servicoDogApi::buscarImagensPorRacaComoVisaoAsync)
+                .join();
+
+        imagensPorRaca.forEach((raca, imagensRaca) ->
+            assertAll("Validações de consistência para raça: " + raca,
+                () -> assertEquals(200, imagensRaca.getStatusCode(),
+                    "Raça " + raca + " listada deve retornar imagens"),
+                () -> assertEquals("success", imagensRaca.getStatus(),
+                    "Status deve ser success para raça existente")
+            )
+        );
     }
 
     @Test
@@ -114,6 +124,7 @@ public class TesteIntegracao extends TesteBase {
     @DisplayName("Deve manter performance aceitável em múltiplas chamadas")
     @Description("Verifica se performance se mantém estável em chamadas sequenciais")
     @Severity(SeverityLevel.MINOR)
+    @PrazoMaximo(15000)
     void deveManterPerformanceAceitavelEmMultiplasChamadas() {
         long tempoInicio = System.currentTimeMillis();
         
@@ -156,12 +167,12 @@ public class TesteIntegracao extends TesteBase {
         Response racaInvalida = servicoDogApi.buscarImagensPorRaca("racainexistente");
         assertTrue(racaInvalida.getStatusCode() >= 400, "Raça inválida deve retornar erro");
 
-        // Todas as respostas de sucesso devem ter estrutura similar
+        // Cada resposta deve seguir o contrato do seu endpoint, inclusive a de erro
         assertAll("Validações de robustez",
-            () -> assertEquals("success", racasValidas.jsonPath().getString("status")),
-            () -> assertEquals("success", imagemAleatoria.jsonPath().getString("status")),
-            () -> assertEquals("success", racaEspecifica.jsonPath().getString("status")),
-            () -> assertEquals("error", racaInvalida.jsonPath().getString("status"))
+            () -> validarContrato(ContratosDogApi.LISTA_RACAS, racasValidas),
+            () -> validarContrato(ContratosDogApi.IMAGEM_ALEATORIA, imagemAleatoria),
+            () -> validarContrato(ContratosDogApi.IMAGENS, racaEspecifica),
+            () -> validarContrato(ContratosDogApi.ERRO, racaInvalida)
         );
     }
 
@@ -172,23 +183,45 @@ public class TesteIntegracao extends TesteBase {
     @Description("Verifica se todos os endpoints retornam JSON válido com estrutura esperada")
     @Severity(SeverityLevel.NORMAL)
     void deveRetornarSempreConteudoNoFormatoCorreto() {
-        // Testar diferentes endpoints
-        Response[] respostas = {
-            servicoDogApi.buscarTodasRacas(),
-            servicoDogApi.buscarImagemAleatoria(),
-            servicoDogApi.buscarImagensPorRaca("beagle")
-        };
-
-        for (Response resposta : respostas) {
-            assertAll("Validações de formato para endpoint",
+        // Testar diferentes endpoints, cada um contra o seu contrato
+        Map<Contrato, Response> respostas = Map.of(
+            ContratosDogApi.LISTA_RACAS, servicoDogApi.buscarTodasRacas(),
+            ContratosDogApi.IMAGEM_ALEATORIA, servicoDogApi.buscarImagemAleatoria(),
+            ContratosDogApi.IMAGENS, servicoDogApi.buscarImagensPorRaca("beagle")
+        );
+
+        respostas.forEach((contrato, resposta) ->
+            assertAll("Validações de formato para " + contrato,
                 () -> assertEquals(200, resposta.getStatusCode(), "Status deve ser 200"),
-                () -> assertTrue(resposta.getHeader("Content-Type").contains("application/json"), 
+                () -> assertTrue(resposta.getHeader("Content-Type").contains("application/json"),
                     "Content-Type deve ser JSON"),
-                () -> assertNotNull(resposta.jsonPath().getString("status"), "Deve ter campo status"),
-                () -> assertNotNull(resposta.jsonPath().get("message"), "Deve ter campo message"),
-                () -> assertTrue(resposta.jsonPath().getString("status").equals("success"), 
-                    "Status deve ser success")
-            );
-        }
+                () -> validarContrato(contrato, resposta)
+            )
+        );
+    }
+
+    @Test
+    @Order(7)
+    @Story("Buscar várias raças em paralelo")
+    @DisplayName("Deve buscar imagens de várias raças em paralelo mantendo a ordem")
+    @Description("Dispara as buscas de imagens de várias raças ao mesmo tempo e reúne os resultados na ordem das raças")
+    @Severity(SeverityLevel.NORMAL)
+    void deveBuscarImagensDeVariasRacasEmParaleloMantendoAOrdem() {
+        List<String> racas = List.of("hound", "terrier", "retriever", "spaniel", "poodle");
+
+        ServicoDogApi semCache = servicoDogApi.semCache();
+
+        Map<String, RespostaImagensRaca> imagensPorRaca = semCache
+                .paraCada(racas, semCache::buscarImagensPorRacaAsync)
+                .join();
+
+        assertAll("Validações da busca em paralelo",
+            () -> assertEquals(racas, List.copyOf(imagensPorRaca.keySet()), "Resultados devem seguir a ordem das raças"),
+            () -> imagensPorRaca.forEach((raca, imagens) -> {
+                assertEquals("success", imagens.getStatus(), "Status deve ser success para " + raca);
+                assertTrue(imagens.getImagens().stream().allMatch(url -> url.contains("/" + raca)),
+                    "Imagens devem pertencer à raça " + raca);
+            })
+        );
     }
-}
\ No newline at end of file
+}
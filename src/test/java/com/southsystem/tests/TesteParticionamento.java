@@ -0,0 +1,254 @@
+package com.southsystem.tests;
+
+import com.southsystem.particionamento.DuracoesTestes;
+import com.southsystem.particionamento.FiltroParticao;
+import com.southsystem.particionamento.MesclagemAllure;
+import com.southsystem.particionamento.PlanejadorParticoes;
+import com.southsystem.particionamento.PlanoParticoes;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.engine.discovery.DiscoverySelectors;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+import org.junit.platform.launcher.core.LauncherConfig;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do particionamento da suite por duração (PlanejadorParticoes, FiltroParticao e MesclagemAllure)
+ * Os registros de durações e os resultados do Allure são sintéticos, em diretórios próprios em target
+ */
+@Epic("Dog API")
+@Feature("Particionamento da Suite")
+@DisplayName("Testes do Particionamento por Duração")
+public class TesteParticionamento extends TesteBase {
+
+    private static final int PARTICOES = 4;
+
+    @Test
+    @Order(1)
+    @Story("Planejar partições equilibradas")
+    @DisplayName("Deve equilibrar as partições mesmo com uma classe muito mais pesada")
+    @Description("Uma classe com testes longos e várias com testes curtos: a partição mais pesada deve ficar perto da média e o plano não pode depender da ordem dos testes")
+    @Severity(SeverityLevel.CRITICAL)
+    void deveEquilibrarAsParticoesMesmoComUmaClasseMuitoMaisPesada() {
+        Map<String, Double> duracoes = new LinkedHashMap<>();
+        Random aleatorio = new Random(7);
+        for (int i = 0; i < 12; i++) {
+            duracoes.put("TesteIntegracao#teste" + i, 4000 + aleatorio.nextDouble() * 8000);
+        }
+        for (int classe = 0; classe < 6; classe++) {
+            for (int i = 0; i < 8; i++) {
+                duracoes.put("TesteLeve" + classe + "#teste" + i, 50 + aleatorio.nextDouble() * 600);
+            }
+        }
+        List<String> embaralhados = new ArrayList<>(duracoes.keySet());
+        Collections.shuffle(embaralhados, aleatorio);
+
+        PlanoParticoes plano = PlanejadorParticoes.planejar(duracoes.keySet(), duracoes, PARTICOES);
+        PlanoParticoes outraOrdem = PlanejadorParticoes.planejar(embaralhados, duracoes, PARTICOES);
+        double soma = duracoes.values().stream().mapToDouble(Double::doubleValue).sum();
+        double maior = duracoes.values().stream().mapToDouble(Double::doubleValue).max().orElse(0);
+        double limiteInferior = Math.max(soma / PARTICOES, maior);
+        Set<String> distribuidos = new HashSet<>();
+        for (int i = 0; i < PARTICOES; i++) {
+            distribuidos.addAll(plano.getTestes(i));
+        }
+        System.out.println("🧩 " + plano.formatarResumo().replace("\n", "\n🧩 "));
+
+        assertAll("Plano de partições",
+                () -> assertEquals(duracoes.keySet(), distribuidos, "Cada teste deve estar em alguma partição"),
+                () -> assertEquals(duracoes.size(), distribuidos.size(), "Nenhum teste pode se repetir entre partições"),
+                () -> assertTrue(plano.getDesequilibrio() < 1.05,
+                        "A partição mais pesada deve ficar a menos de 5% da média: " + plano.getDesequilibrio()),
+                () -> assertTrue(maiorCarga(plano) <= limiteInferior * 4 / 3, "O LPT garante no máximo 4/3 do ótimo"),
+                () -> assertTrue(plano.getTestes(0).stream().anyMatch(teste -> teste.startsWith("TesteIntegracao")),
+                        "Os testes da classe pesada devem se espalhar entre as partições"),
+                () -> assertEquals(0, plano.getEstimados(), "Todos os testes têm duração registrada"),
+                () -> {
+                    for (String teste : duracoes.keySet()) {
+                        assertEquals(plano.particaoDe(teste), outraOrdem.particaoDe(teste),
+                                "O plano não pode depender da ordem dos testes: " + teste);
+                    }
+                }
+        );
+    }
+
+    @Test
+    @Order(2)
+    @Story("Planejar partições equilibradas")
+    @DisplayName("Deve estimar os testes sem duração registrada pela mediana da classe")
+    @Description("Testes novos recebem a mediana da sua classe, ou de todos os testes se a classe também é nova")
+    @Severity(SeverityLevel.NORMAL)
+    void deveEstimarOsTestesSemDuracaoRegistradaPelaMedianaDaClasse() {
+        Map<String, Double> duracoes = Map.of(
+                "TesteA#um", 100.0, "TesteA#dois", 300.0, "TesteA#tres", 200.0,
+                "TesteB#um", 5000.0, "TesteRemovido#um", 99999.0);
+        List<String> testes = List.of("TesteA#um", "TesteA#dois", "TesteA#tres", "TesteA#novo", "TesteB#um", "TesteC#novo");
+
+        PlanoParticoes umaParticao = PlanejadorParticoes.planejar(testes, duracoes, 1);
+
+        assertAll("Estimativas",
+                () -> assertEquals(2, umaParticao.getEstimados(), "Dois testes não têm duração registrada"),
+                () -> assertEquals(100 + 300 + 200 + 200 + 5000 + 250, umaParticao.getCargaMs(0), 0.001,
+                        "TesteA#novo vale a mediana da classe (200) e TesteC#novo a de todos (250)"),
+                () -> assertEquals(-1, umaParticao.particaoDe("TesteRemovido#um"),
+                        "Durações de testes que não existem mais são ignoradas"),
+                () -> assertThrows(IllegalArgumentException.class, () -> PlanejadorParticoes.planejar(testes, duracoes, 0))
+        );
+    }
+
+    @Test
+    @Order(3)
+    @Story("Planejar partições equilibradas")
+    @DisplayName("Deve dividir os testes descobertos em partições disjuntas pelo filtro")
+    @Description("Descobre duas classes de teste com o filtro de cada partição: juntas devem cobrir todos os métodos, sem repetição")
+    @Severity(SeverityLevel.CRITICAL)
+    void deveDividirOsTestesDescobertosEmParticoesDisjuntasPeloFiltro() {
+        Set<String> todos = descobrir(null);
+        List<Set<String>> particoes = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            particoes.add(descobrir(new FiltroParticao(3, i)));
+        }
+        Set<String> unidas = new TreeSet<>();
+        int soma = 0;
+        for (Set<String> particao : particoes) {
+            unidas.addAll(particao);
+            soma += particao.size();
+        }
+        int totalDescobertos = soma;
+
+        assertAll("Partições descobertas",
+                () -> assertTrue(todos.size() >= 8, "As duas classes devem ter ao menos 8 testes"),
+                () -> assertEquals(todos, unidas, "As partições juntas devem cobrir todos os testes"),
+                () -> assertEquals(todos.size(), totalDescobertos, "Nenhum teste pode rodar em duas partições"),
+                () -> assertTrue(particoes.stream().noneMatch(Set::isEmpty), "Nenhuma partição deve ficar vazia"),
+                () -> assertThrows(IllegalArgumentException.class, () -> new FiltroParticao(3, 3))
+        );
+    }
+
+    @Test
+    @Order(4)
+    @Story("Registrar durações e mesclar resultados")
+    @DisplayName("Deve atualizar as durações pela média móvel preservando os testes que não rodaram")
+    @Description("Uma partição só mede parte dos testes; as durações dos demais devem continuar no registro")
+    @Severity(SeverityLevel.NORMAL)
+    void deveAtualizarAsDuracoesPelaMediaMovelPreservandoOsTestesQueNaoRodaram(@TempDir Path diretorio) throws IOException {
+        Path arquivo = diretorio.resolve("duracoes.properties");
+        DuracoesTestes duracoes = new DuracoesTestes(arquivo, 0.5);
+
+        duracoes.atualizar(Map.of("TesteA#um", 100.0, "TesteB#um", 1000.0));
+        duracoes.atualizar(Map.of("TesteA#um", 300.0));
+        Files.writeString(arquivo, Files.readString(arquivo) + "TesteC#editado=abc\n");
+        Map<String, Double> relidas = duracoes.carregar();
+
+        assertAll("Durações",
+                () -> assertEquals(200.0, relidas.get("TesteA#um"), 0.001, "Média móvel com peso 0,5"),
+                () -> assertEquals(1000.0, relidas.get("TesteB#um"), 0.001, "Teste que não rodou deve ser preservado"),
+                () -> assertFalse(relidas.containsKey("TesteC#editado"), "Linha inválida deve ser ignorada"),
+                () -> assertThrows(IllegalArgumentException.class, () -> new DuracoesTestes(arquivo, 0))
+        );
+    }
+
+    @Test
+    @Order(5)
+    @Story("Registrar durações e mesclar resultados")
+    @DisplayName("Deve mesclar os resultados do Allure das partições num só diretório")
+    @Description("Resultados e anexos de todas as partições, ambientes concatenados e arquivos únicos da primeira partição")
+    @Severity(SeverityLevel.NORMAL)
+    void deveMesclarOsResultadosDoAllureDasParticoesNumSoDiretorio(@TempDir Path base) throws IOException {
+        Path primeira = Files.createDirectories(base.resolve("0"));
+        Path segunda = Files.createDirectories(base.resolve("1"));
+        Path destino = base.resolve("mesclado");
+        resultado(primeira, "a1", "passed", 1_000, 5_000);
+        resultado(primeira, "a2", "failed", 2_000, 9_000);
+        resultado(segunda, "b1", "passed", 1_500, 8_000);
+        Files.writeString(primeira.resolve("a1-attachment.txt"), "anexo");
+        Files.writeString(primeira.resolve("environment.properties"), "pool.acertos=10\n");
+        Files.writeString(segunda.resolve("environment.properties"), "pool.acertos=20\n");
+        Files.writeString(primeira.resolve("categories.json"), "[1]");
+        Files.writeString(segunda.resolve("categories.json"), "[2]");
+        Files.createDirectories(segunda.resolve("allure-report"));
+
+        List<MesclagemAllure.ResumoParticao> resumos = new MesclagemAllure().mesclar(destino, List.of(primeira, segunda));
+        String ambiente = Files.readString(destino.resolve("environment.properties"), StandardCharsets.UTF_8);
+
+        assertAll("Mesclagem",
+                () -> assertEquals(3, quantidade(destino, "-result.json"), "Todos os resultados devem ser copiados"),
+                () -> assertTrue(Files.exists(destino.resolve("a1-attachment.txt")), "Os anexos devem ser copiados"),
+                () -> assertTrue(ambiente.contains("# Partição 0\npool.acertos=10") && ambiente.contains("# Partição 1\npool.acertos=20"),
+                        "Os ambientes devem ser concatenados por partição"),
+                () -> assertEquals("[1]", Files.readString(destino.resolve("categories.json")), "Vale o categories.json da primeira partição"),
+                () -> assertFalse(Files.exists(destino.resolve("allure-report")), "Relatórios gerados não são resultados"),
+                () -> assertEquals(2, resumos.get(0).getResultados(), "A primeira partição tem 2 resultados"),
+                () -> assertEquals(1, resumos.get(0).getFalhos(), "A primeira partição tem 1 falha"),
+                () -> assertEquals(8_000, resumos.get(0).getDuracaoMs(), "Do primeiro início ao último fim"),
+                () -> assertEquals(6_500, resumos.get(1).getDuracaoMs(), "Do primeiro início ao último fim")
+        );
+    }
+
+    private static double maiorCarga(PlanoParticoes plano) {
+        double maior = 0;
+        for (int i = 0; i < plano.getTotal(); i++) {
+            maior = Math.max(maior, plano.getCargaMs(i));
+        }
+        return maior;
+    }
+
+    /**
+     * @param filtro filtro da partição, ou null para todos os testes
+     * @return "Classe#metodo" dos testes descobertos em duas classes da suite
+     */
+    private static Set<String> descobrir(FiltroParticao filtro) {
+        LauncherDiscoveryRequestBuilder requisicao = LauncherDiscoveryRequestBuilder.request()
+                .selectors(DiscoverySelectors.selectClass(TesteParticionamento.class),
+                        DiscoverySelectors.selectClass(TesteRegressaoDesempenho.class));
+        if (filtro != null) {
+            requisicao.filters(filtro);
+        }
+        // Sem o FiltroParticao registrado por ServiceLoader: rodando numa partição, ele filtraria esta descoberta também
+        LauncherConfig configuracao = LauncherConfig.builder().enablePostDiscoveryFilterAutoRegistration(false).build();
+        TestPlan plano = LauncherFactory.create(configuracao).discover(requisicao.build());
+        Set<String> testes = new TreeSet<>();
+        for (TestIdentifier raiz : plano.getRoots()) {
+            for (TestIdentifier identificador : plano.getDescendants(raiz)) {
+                identificador.getSource()
+                        .filter(MethodSource.class::isInstance)
+                        .map(MethodSource.class::cast)
+                        .ifPresent(metodo -> testes.add(metodo.getClassName() + "#" + metodo.getMethodName()));
+            }
+        }
+        return testes;
+    }
+
+    private static void resultado(Path diretorio, String uuid, String status, long inicio, long fim) throws IOException {
+        Files.writeString(diretorio.resolve(uuid + "-result.json"), String.format(
+                "{\"uuid\":\"%s\",\"status\":\"%s\",\"start\":%d,\"stop\":%d}", uuid, status, inicio, fim));
+    }
+
+    private static long quantidade(Path diretorio, String sufixo) throws IOException {
+        try (var arquivos = Files.list(diretorio)) {
+            return arquivos.filter(arquivo -> arquivo.getFileName().toString().endsWith(sufixo)).count();
+        }
+    }
+}
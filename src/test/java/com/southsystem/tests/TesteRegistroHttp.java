@@ -0,0 +1,161 @@
+package com.southsystem.tests;
+
+import com.southsystem.registro.NivelRegistro;
+import com.southsystem.registro.RegistroHttp;
+import com.southsystem.servidor.CatalogoRacas;
+import com.southsystem.servidor.RotasComFalhas;
+import com.southsystem.servidor.ServidorDogApiLocal;
+import io.qameta.allure.*;
+import io.restassured.config.DecoderConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do registro de requisições HTTP por nível, do limite de corpo e do descarte com o buffer cheio
+ * Cada teste usa seu próprio {@link RegistroHttp}, com arquivo em diretório temporário, contra um servidor local dedicado
+ */
+@Epic("Dog API")
+@Feature("Registro HTTP")
+@DisplayName("Testes do Registro HTTP")
+public class TesteRegistroHttp extends TesteBase {
+
+    private static ServidorDogApiLocal servidor;
+
+    @BeforeAll
+    static void iniciarServidor() {
+        servidor = new ServidorDogApiLocal(new RotasComFalhas(CatalogoRacas.carregarPadrao()), 0).iniciar();
+    }
+
+    @AfterAll
+    static void pararServidor() {
+        servidor.close();
+    }
+
+    @Test
+    @Order(1)
+    @Story("Registrar requisições conforme o nível")
+    @DisplayName("Não deve criar o arquivo de log com o registro desligado")
+    @Description("Verifica que no nível desligado nenhuma entrada é enfileirada nem gravada")
+    @Severity(SeverityLevel.NORMAL)
+    void naoDeveCriarOArquivoDeLogComORegistroDesligado(@TempDir Path diretorio) {
+        Path arquivo = diretorio.resolve("http.log");
+        RegistroHttp registro = new RegistroHttp(NivelRegistro.DESLIGADO, 64, arquivo, 16);
+        buscar(registro, "/breeds/list/all");
+        buscar(registro, "/breed/inexistente/images");
+        registro.fechar();
+
+        assertAll("Validações do registro desligado",
+            () -> assertFalse(Files.exists(arquivo), "Nenhum arquivo deve ser criado"),
+            () -> assertEquals(0, registro.getGravadas(), "Nenhuma entrada deve ser gravada")
+        );
+    }
+
+    @Test
+    @Order(2)
+    @Story("Registrar requisições conforme o nível")
+    @DisplayName("Deve gravar as requisições capturadas apenas quando o teste falha")
+    @Description("Verifica que no nível em-falha a captura de um teste aprovado é descartada e a de um reprovado vai ao arquivo com o corpo do erro")
+    @Severity(SeverityLevel.CRITICAL)
+    void deveGravarAsRequisicoesCapturadasApenasQuandoOTesteFalha(@TempDir Path diretorio) throws IOException {
+        Path arquivo = diretorio.resolve("http.log");
+        RegistroHttp registro = new RegistroHttp(NivelRegistro.EM_FALHA, 2048, arquivo, 16);
+
+        registro.iniciarCaptura();
+        buscar(registro, "/breeds/list/all");
+        String aprovado = registro.encerrarCaptura(false, "teste aprovado");
+
+        registro.iniciarCaptura();
+        buscar(registro, "/breed/beagle/images");
+        Response erro = buscar(registro, "/breed/inexistente/images");
+        String reprovado = registro.encerrarCaptura(true, "teste reprovado");
+        registro.fechar();
+        String log = Files.readString(arquivo, StandardCharsets.UTF_8);
+
+        assertAll("Validações do nível em-falha",
+            () -> assertNull(aprovado, "Teste aprovado não deve devolver requisições"),
+            () -> assertNotNull(reprovado, "Teste reprovado deve devolver as requisições capturadas"),
+            () -> assertTrue(log.contains("Falha: teste reprovado"), "Arquivo deve identificar o teste reprovado"),
+            () -> assertFalse(log.contains("/breeds/list/all"), "Captura do teste aprovado não deve ser gravada"),
+            () -> assertTrue(log.contains("/breed/beagle/images"), "Requisições do teste reprovado devem ser gravadas"),
+            () -> assertTrue(log.contains("Breed not found"), "Corpo da resposta de erro deve ser registrado"),
+            () -> assertEquals(404, erro.getStatusCode(), "Resposta de erro deve chegar intacta ao teste"),
+            () -> assertEquals(3, registro.getGravadas(), "Marcador e duas requisições devem ser gravados")
+        );
+    }
+
+    @Test
+    @Order(3)
+    @Story("Limitar o corpo registrado")
+    @DisplayName("Deve registrar apenas o início do corpo no nível completo")
+    @Description("Verifica que o corpo gravado para em dog.api.log.maxCorpoBytes e que o teste continua recebendo o corpo inteiro")
+    @Severity(SeverityLevel.NORMAL)
+    void deveRegistrarApenasOInicioDoCorpoNoNivelCompleto(@TempDir Path diretorio) throws IOException {
+        Path arquivo = diretorio.resolve("http.log");
+        RegistroHttp registro = new RegistroHttp(NivelRegistro.COMPLETO, 16, arquivo, 16);
+        // Sem decodificadores o cliente não pede compressão, e o Content-Length é o tamanho do corpo recebido
+        Response lista = given().baseUri(servidor.getUrlBase()).filter(registro.filtro())
+                .config(RestAssuredConfig.config().decoderConfig(DecoderConfig.decoderConfig().noContentDecoders()))
+                .get("/breeds/list/all");
+        Response comprimida = buscar(registro, "/breeds/list/all");
+        registro.fechar();
+        byte[] corpo = lista.asByteArray();
+        String inicio = new String(Arrays.copyOf(corpo, 16), StandardCharsets.UTF_8);
+        String log = Files.readString(arquivo, StandardCharsets.UTF_8);
+
+        assertAll("Validações do limite de corpo",
+            () -> assertEquals(Integer.parseInt(lista.getHeader("Content-Length")), corpo.length,
+                    "Teste deve receber o corpo inteiro"),
+            () -> assertTrue(lista.jsonPath().getMap("message").containsKey("labrador"),
+                    "Corpo recebido deve continuar sendo JSON válido"),
+            () -> assertTrue(log.contains("< " + inicio + "… (" + (corpo.length - 16) + " B omitidos)"),
+                    "Arquivo deve trazer só os 16 primeiros bytes e o total omitido:\n" + log),
+            () -> assertFalse(log.contains(new String(Arrays.copyOf(corpo, 17), StandardCharsets.UTF_8)),
+                    "Nenhum byte além do limite deve ser gravado"),
+            () -> assertArrayEquals(corpo, comprimida.asByteArray(), "Corpo descomprimido deve chegar inteiro ao teste"),
+            () -> assertTrue(log.contains("< " + inicio + "… (restante omitido)"),
+                    "Com o corpo comprimido, o tamanho real é desconhecido e só o corte é indicado")
+        );
+    }
+
+    @Test
+    @Order(4)
+    @Story("Não bloquear o teste pelo registro")
+    @DisplayName("Deve descartar e contar as entradas quando o buffer do gravador está cheio")
+    @Description("Verifica que, sem o gravador esvaziar o buffer, as entradas além da capacidade são descartadas sem bloquear")
+    @Severity(SeverityLevel.NORMAL)
+    void deveDescartarEContarAsEntradasQuandoOBufferDoGravadorEstaCheio(@TempDir Path diretorio) throws IOException {
+        // O diretório do log é um arquivo comum: o gravador não consegue abrir o arquivo e nunca esvazia o buffer
+        Path bloqueio = Files.createFile(diretorio.resolve("bloqueio"));
+        RegistroHttp registro = new RegistroHttp(NivelRegistro.RESUMO, 64, bloqueio.resolve("http.log"), 2);
+        for (int i = 0; i < 5; i++) {
+            buscar(registro, "/breeds/list/all");
+        }
+        registro.fechar();
+
+        assertAll("Validações do buffer cheio",
+            () -> assertEquals(3, registro.getDescartadas(), "Entradas além da capacidade 2 devem ser descartadas"),
+            () -> assertEquals(0, registro.getGravadas(), "Nenhuma entrada deve chegar ao arquivo")
+        );
+    }
+
+    private static Response buscar(RegistroHttp registro, String caminho) {
+        Response response = given().baseUri(servidor.getUrlBase()).filter(registro.filtro()).get(caminho);
+        response.asByteArray();
+        return response;
+    }
+}
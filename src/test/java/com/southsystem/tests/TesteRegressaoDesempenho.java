@@ -0,0 +1,183 @@
+package com.southsystem.tests;
+
+import com.southsystem.desempenho.ComparacaoEndpoint;
+import com.southsystem.desempenho.ComparacaoEndpoint.Situacao;
+import com.southsystem.desempenho.DetectorRegressao;
+import com.southsystem.desempenho.HistoricoDesempenho;
+import com.southsystem.desempenho.ResumoEndpoint;
+import io.qameta.allure.*;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do histórico de desempenho entre execuções (HistoricoDesempenho e DetectorRegressao)
+ * As execuções são sintéticas, com latências sorteadas de sementes fixas; o histórico fica num arquivo próprio em diretório temporário
+ */
+@Epic("Dog API")
+@Feature("Regressão de Desempenho")
+@DisplayName("Testes do Histórico de Desempenho")
+public class TesteRegressaoDesempenho extends TesteBase {
+
+    private static final String ENDPOINT = "GET /breeds/list/all";
+    private static final String ALVO = "local";
+    private static final int REQUISICOES_POR_EXECUCAO = 200;
+    private static final double MEDIANA_BASE_MS = 20;
+
+    @Test
+    @Order(1)
+    @Story("Guardar o histórico de desempenho")
+    @DisplayName("Deve gravar e reler as execuções mantendo só as mais recentes de cada alvo")
+    @Description("Acrescenta mais execuções que o limite e confere os histogramas relidos, o descarte das antigas e as outras origens intactas")
+    @Severity(SeverityLevel.NORMAL)
+    void deveGravarERelerAsExecucoesMantendoSoAsMaisRecentesDeCadaAlvo(@TempDir Path diretorio) throws IOException {
+        HistoricoDesempenho historico = new HistoricoDesempenho(diretorio.resolve("historico.ndjson"), 3);
+        historico.acrescentar(List.of(resumo("2026-01-01T00:00:00Z", "dog.ceo", MEDIANA_BASE_MS, 1)));
+        for (int i = 1; i <= 5; i++) {
+            historico.acrescentar(List.of(resumo("2026-01-0" + i + "T12:00:00Z", ALVO, MEDIANA_BASE_MS, i)));
+        }
+
+        List<ResumoEndpoint> relidos = historico.carregar();
+        ResumoEndpoint ultimo = relidos.get(relidos.size() - 1);
+        ResumoEndpoint original = resumo("2026-01-05T12:00:00Z", ALVO, MEDIANA_BASE_MS, 5);
+        System.out.println("📁 " + historico.getArquivo() + ": " + Files.size(historico.getArquivo()) + " bytes, "
+                + relidos.size() + " resumos");
+
+        assertAll("Histórico gravado",
+                () -> assertEquals(4, relidos.size(), "Devem restar as 3 execuções locais mais a remota"),
+                () -> assertEquals("dog.ceo", relidos.get(0).getAlvo(), "Execuções de outro alvo não devem ser descartadas"),
+                () -> assertEquals("2026-01-03T12:00:00Z", relidos.get(1).getExecucao(),
+                        "A execução local mais antiga mantida deve ser a terceira"),
+                () -> assertEquals(original.getHistograma(), ultimo.getHistograma(),
+                        "O histograma relido deve ser idêntico ao gravado"),
+                () -> assertEquals(original.getBytesTransferidos(), ultimo.getBytesTransferidos(),
+                        "Os bytes transferidos devem ser preservados"),
+                () -> assertTrue(Files.size(historico.getArquivo()) < 4 * 4096,
+                        "Cada resumo deve ocupar poucos KB com o histograma comprimido")
+        );
+    }
+
+    @Test
+    @Order(2)
+    @Story("Guardar o histórico de desempenho")
+    @DisplayName("Deve ignorar linhas ilegíveis do histórico")
+    @Description("Uma linha truncada ou editada à mão não pode impedir a leitura das demais")
+    @Severity(SeverityLevel.MINOR)
+    void deveIgnorarLinhasIlegiveisDoHistorico(@TempDir Path diretorio) throws IOException {
+        HistoricoDesempenho historico = new HistoricoDesempenho(diretorio.resolve("historico.ndjson"), 10);
+        historico.acrescentar(List.of(resumo("2026-01-01T12:00:00Z", ALVO, MEDIANA_BASE_MS, 1)));
+        Files.writeString(historico.getArquivo(), "{\"execucao\":\"2026-01-02\",\"alvo\":\"local\",\"endpoint\":\"GET /x\",\"histograma\":\"@@\"}\n{\"exec",
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        List<ResumoEndpoint> relidos = historico.carregar();
+        int ignoradas = historico.getLinhasIgnoradas();
+        historico.acrescentar(List.of(resumo("2026-01-03T12:00:00Z", ALVO, MEDIANA_BASE_MS, 3)));
+
+        assertAll("Linhas ilegíveis",
+                () -> assertEquals(1, relidos.size(), "Só a linha válida deve ser lida"),
+                () -> assertEquals(2, ignoradas, "O histograma corrompido e a linha truncada devem ser contados"),
+                () -> assertEquals(2, historico.carregar().size(), "A nova gravação deve seguir após as linhas ilegíveis"),
+                () -> assertEquals(0, historico.getLinhasIgnoradas(), "A regravação deve descartar as linhas ilegíveis")
+        );
+    }
+
+    @Test
+    @Order(3)
+    @Story("Detectar regressões de desempenho")
+    @DisplayName("Deve apontar regressão quando a latência sobe e estabilidade quando não muda")
+    @Description("Compara execuções sintéticas com a mesma distribuição, 50% mais lentas e 50% mais rápidas que a linha de base")
+    @Severity(SeverityLevel.CRITICAL)
+    void deveApontarRegressaoQuandoALatenciaSobeEEstabilidadeQuandoNaoMuda() {
+        DetectorRegressao detector = new DetectorRegressao(10, 0.01, 20, 5, 3);
+        List<ResumoEndpoint> historico = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            historico.add(resumo("2026-01-0" + i + "T12:00:00Z", ALVO, MEDIANA_BASE_MS, i));
+        }
+
+        ComparacaoEndpoint igual = detector.comparar(resumo("2026-02-01T12:00:00Z", ALVO, MEDIANA_BASE_MS, 42), historico);
+        ComparacaoEndpoint lenta = detector.comparar(resumo("2026-02-01T12:00:00Z", ALVO, MEDIANA_BASE_MS * 1.5, 43), historico);
+        ComparacaoEndpoint rapida = detector.comparar(resumo("2026-02-01T12:00:00Z", ALVO, MEDIANA_BASE_MS / 1.5, 44), historico);
+        ComparacaoEndpoint poucoMaisLenta = detector.comparar(
+                resumo("2026-02-01T12:00:00Z", ALVO, MEDIANA_BASE_MS * 1.08, 45), historico);
+        System.out.println("📈 " + igual.formatar());
+        System.out.println("📈 " + lenta.formatar());
+        System.out.println("📈 " + rapida.formatar());
+        System.out.println("📈 " + poucoMaisLenta.formatar());
+        Allure.addAttachment("Tendência - " + ENDPOINT, "text/csv", lenta.tendenciaCsv(), ".csv");
+
+        assertAll("Vereditos",
+                () -> assertEquals(Situacao.ESTAVEL, igual.getSituacao(), "A mesma distribuição não é regressão"),
+                () -> assertEquals(Situacao.REGRESSAO, lenta.getSituacao(), "Uma mediana 50% maior deve ser regressão"),
+                () -> assertTrue(lenta.getValorPMaisLenta() < 1e-6, "A regressão deve ter valor-p muito baixo"),
+                () -> assertEquals(Situacao.MELHORA, rapida.getSituacao(), "Uma mediana 33% menor deve ser melhora"),
+                () -> assertEquals(Situacao.ESTAVEL, poucoMaisLenta.getSituacao(),
+                        "Uma variação abaixo da tolerância não deve virar alerta, mesmo significativa"),
+                () -> assertEquals(5, lenta.getBase().size(), "Todas as execuções anteriores devem compor a base"),
+                () -> assertEquals(7, lenta.tendenciaCsv().split("\n").length, "A tendência deve ter cabeçalho, base e atual")
+        );
+    }
+
+    @Test
+    @Order(4)
+    @Story("Detectar regressões de desempenho")
+    @DisplayName("Deve comparar só com execuções anteriores do mesmo alvo e endpoint")
+    @Description("Sem execuções anteriores suficientes o veredito é SEM_BASE; a janela limita as execuções somadas na linha de base")
+    @Severity(SeverityLevel.NORMAL)
+    void deveCompararSoComExecucoesAnterioresDoMesmoAlvoEEndpoint() {
+        DetectorRegressao detector = new DetectorRegressao(3, 0.01, 20, 5, 3);
+        ResumoEndpoint atual = resumo("2026-02-01T12:00:00Z", ALVO, MEDIANA_BASE_MS * 3, 1);
+        List<ResumoEndpoint> outros = List.of(
+                resumo("2026-01-01T12:00:00Z", "dog.ceo", MEDIANA_BASE_MS, 2),
+                new ResumoEndpoint("2026-01-01T12:00:00Z", ALVO, "GET /breeds/image/random", latencias(MEDIANA_BASE_MS, 3), 0, 0),
+                resumo("2026-02-01T12:00:00Z", ALVO, MEDIANA_BASE_MS, 4));
+        List<ResumoEndpoint> longo = new ArrayList<>(outros);
+        for (int i = 1; i <= 6; i++) {
+            longo.add(resumo("2026-01-1" + i + "T12:00:00Z", ALVO, MEDIANA_BASE_MS, 10 + i));
+        }
+
+        ComparacaoEndpoint semBase = detector.comparar(atual, outros);
+        ComparacaoEndpoint poucasExecucoes = detector.comparar(atual, longo.subList(0, outros.size() + 2));
+        ComparacaoEndpoint comJanela = detector.comparar(atual, longo);
+
+        assertAll("Linha de base",
+                () -> assertEquals(Situacao.SEM_BASE, semBase.getSituacao(),
+                        "Outro alvo, outro endpoint e a própria execução não formam base"),
+                () -> assertTrue(semBase.getBase().isEmpty(), "A base deve estar vazia"),
+                () -> assertEquals(Situacao.SEM_BASE, poucasExecucoes.getSituacao(),
+                        "Duas execuções anteriores não bastam, mesmo com requisições de sobra"),
+                () -> assertEquals(Situacao.REGRESSAO, comJanela.getSituacao(), "Com base, a latência triplicada é regressão"),
+                () -> assertEquals(3, comJanela.getBase().size(), "A base deve se limitar à janela"),
+                () -> assertEquals("2026-01-14T12:00:00Z", comJanela.getBase().get(0).getExecucao(),
+                        "A janela deve ficar com as execuções mais recentes")
+        );
+    }
+
+    private static ResumoEndpoint resumo(String execucao, String alvo, double medianaMs, long semente) {
+        return new ResumoEndpoint(execucao, alvo, ENDPOINT, latencias(medianaMs, semente), 2048 * semente, 8192 * semente);
+    }
+
+    /**
+     * Latências log-normais (cauda longa, como as reais) em microssegundos com a mediana pedida
+     */
+    private static Histogram latencias(double medianaMs, long semente) {
+        Random aleatorio = new Random(semente);
+        Histogram histograma = new Histogram(3);
+        for (int i = 0; i < REQUISICOES_POR_EXECUCAO; i++) {
+            histograma.recordValue(Math.round(medianaMs * 1000 * Math.exp(0.3 * aleatorio.nextGaussian())));
+        }
+        return histograma;
+    }
+}
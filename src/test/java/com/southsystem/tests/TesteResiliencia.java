@@ -0,0 +1,324 @@
+package com.southsystem.tests;
+
+import com.southsystem.resiliencia.BaldeTokens;
+import com.southsystem.resiliencia.CircuitoAbertoException;
+import com.southsystem.resiliencia.DisjuntorCircuito;
+import com.southsystem.resiliencia.LimitadorTaxa;
+import com.southsystem.resiliencia.PoliticaRetentativa;
+import com.southsystem.servidor.RotasComFalhas;
+import com.southsystem.services.ServicoDogApi;
+import com.southsystem.transporte.Prazo;
+import com.southsystem.transporte.PrazoEsgotadoException;
+import com.southsystem.transporte.TimeoutsEndpoint;
+import com.southsystem.transporte.TransporteHttp;
+import io.qameta.allure.*;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da limitação de taxa, da política de retentativa, do disjuntor e dos prazos
+ * As falhas são simuladas em um servidor local dedicado a cada teste, independente de dog.api.servidor,
+ * com uma política própria para que os contadores não se misturem com os dos demais testes
+ */
+@Epic("Dog API")
+@Feature("Resiliência")
+@DisplayName("Testes de Resiliência")
+public class TesteResiliencia extends TesteBase {
+
+    @Test
+    @Order(1)
+    @Story("Repetir requisições após falhas transitórias")
+    @DisplayName("Deve repetir o GET após respostas 503 até obter sucesso")
+    @Description("Verifica que 5xx transitórios são absorvidos por retentativas com backoff")
+    @Severity(SeverityLevel.CRITICAL)
+    void deveRepetirOGetAposRespostas503AteObterSucesso() {
+        PoliticaRetentativa politica = novaPolitica(3);
+        try (ServidorComFalhas servidor = iniciarServidorComFalhas()) {
+            RotasComFalhas rotas = servidor.getRotas();
+            rotas.falharProximas(2, 503, null);
+
+            Response response = servidor.getServico().comPoliticaRetentativa(politica)
+                    .buscarImagensPorRaca("beagle");
+
+            assertAll("Validações das retentativas",
+                () -> assertEquals(200, response.getStatusCode(), "Terceira tentativa deve ter sucesso"),
+                () -> assertEquals(3, rotas.getRecebidas(), "Servidor deve receber a requisição original e duas retentativas"),
+                () -> assertEquals(2, politica.getRetentativas(), "Duas retentativas devem ser contadas"),
+                () -> assertEquals(1, politica.getRecuperadas(), "Chamada deve contar como recuperada")
+            );
+        }
+    }
+
+    @Test
+    @Order(2)
+    @Story("Respeitar Retry-After")
+    @DisplayName("Deve esperar o tempo pedido pelo Retry-After de uma resposta 429")
+    @Description("Verifica que a espera indicada pelo servidor substitui o backoff exponencial, limitada à espera máxima da política")
+    @Severity(SeverityLevel.NORMAL)
+    void deveEsperarOTempoPedidoPeloRetryAfterDeUmaResposta429() {
+        PoliticaRetentativa politica = novaPolitica(3);
+        try (ServidorComFalhas servidor = iniciarServidorComFalhas()) {
+            RotasComFalhas rotas = servidor.getRotas();
+            rotas.falharProximas(1, 429, "1");
+
+            long inicio = System.nanoTime();
+            Response response = servidor.getServico().comPoliticaRetentativa(politica)
+                    .buscarTodasRacas();
+            long duracaoMs = (System.nanoTime() - inicio) / 1_000_000;
+
+            // Retry-After com mais dígitos que um long: a espera fica limitada à máxima da política
+            PoliticaRetentativa curta = new PoliticaRetentativa(3, Duration.ofMillis(20), Duration.ofMillis(300), Set.of(429));
+            rotas.falharProximas(1, 429, "99999999999999999999");
+            long inicioLimitada = System.nanoTime();
+            Response limitada = servidor.getServico().comPoliticaRetentativa(curta)
+                    .buscarTodasRacas();
+            long duracaoLimitadaMs = (System.nanoTime() - inicioLimitada) / 1_000_000;
+
+            assertAll("Validações do Retry-After",
+                () -> assertEquals(200, response.getStatusCode(), "Retentativa deve ter sucesso"),
+                () -> assertTrue(duracaoMs >= 1000, "Deve esperar ao menos 1s, mas levou " + duracaoMs + "ms"),
+                () -> assertEquals(1, politica.getRetryAfterRespeitados(), "Retry-After deve ser contado"),
+                () -> assertEquals(200, limitada.getStatusCode(), "Retry-After enorme não deve derrubar a requisição"),
+                () -> assertTrue(duracaoLimitadaMs >= 300 && duracaoLimitadaMs < 2000,
+                        "Deve esperar a máxima da política (300ms), mas levou " + duracaoLimitadaMs + "ms"),
+                () -> assertEquals(1, curta.getRetryAfterRespeitados(), "Retry-After enorme deve ser contado")
+            );
+        }
+    }
+
+    @Test
+    @Order(3)
+    @Story("Limitar tentativas")
+    @DisplayName("Deve devolver a última resposta de erro ao esgotar as tentativas")
+    @Description("Verifica que a política para após o máximo de retentativas e devolve o erro ao teste")
+    @Severity(SeverityLevel.NORMAL)
+    void deveDevolverAUltimaRespostaDeErroAoEsgotarAsTentativas() {
+        PoliticaRetentativa politica = novaPolitica(2);
+        try (ServidorComFalhas servidor = iniciarServidorComFalhas()) {
+            RotasComFalhas rotas = servidor.getRotas();
+            rotas.falharProximas(10, 503, null);
+
+            Response response = servidor.getServico().comPoliticaRetentativa(politica)
+                    .buscarImagemAleatoria();
+
+            assertAll("Validações do limite de tentativas",
+                () -> assertEquals(503, response.getStatusCode(), "Erro deve chegar ao teste após esgotar as tentativas"),
+                () -> assertEquals(3, rotas.getRecebidas(), "Servidor deve receber a original e duas retentativas"),
+                () -> assertEquals(1, politica.getEsgotadas(), "Chamada deve contar como esgotada")
+            );
+        }
+    }
+
+    @Test
+    @Order(4)
+    @Story("Limitar taxa por host")
+    @DisplayName("Deve segurar rajadas acima da capacidade do balde de tokens")
+    @Description("Reserva tokens de várias threads com um relógio controlado e verifica a rajada, as esperas e o reabastecimento")
+    @Severity(SeverityLevel.NORMAL)
+    void deveSegurarRajadasAcimaDaCapacidadeDoBaldeDeTokens() {
+        AtomicLong relogio = new AtomicLong();
+        BaldeTokens balde = new BaldeTokens(20, 5, relogio::get);
+        long intervalo = Duration.ofMillis(50).toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        List<Long> esperas;
+        try {
+            List<CompletableFuture<Long>> reservas = new ArrayList<>();
+            for (int i = 0; i < 25; i++) {
+                reservas.add(CompletableFuture.supplyAsync(balde::reservar, executor));
+            }
+            esperas = reservas.stream().map(CompletableFuture::join).sorted().toList();
+        } finally {
+            executor.shutdown();
+        }
+
+        // Decorrido o tempo das 25 reservas, o balde volta a estar cheio e atende outra rajada sem espera
+        relogio.addAndGet(25 * intervalo);
+        long aposEsvaziar = balde.reservar();
+        relogio.addAndGet(5 * intervalo);
+        List<Long> rajada = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            rajada.add(balde.reservar());
+        }
+        long acimaDaRajada = balde.reservar();
+
+        // 5 tokens na rajada inicial e os 20 restantes a 20/s, um a cada 50ms
+        assertAll("Validações do balde de tokens",
+            () -> assertEquals(List.of(0L, 0L, 0L, 0L, 0L), esperas.subList(0, 5), "A rajada inicial não deve esperar"),
+            () -> assertEquals(intervalo, esperas.get(5), "A primeira reserva acima da rajada deve esperar um intervalo"),
+            () -> assertEquals(20 * intervalo, esperas.get(24), "A última reserva deve esperar 1s"),
+            () -> assertEquals(20, esperas.stream().skip(5).distinct().count(),
+                    "Reservas concorrentes não devem receber o mesmo token"),
+            () -> assertEquals(0, aposEsvaziar, "Após o tempo das reservas o token deve estar livre"),
+            () -> assertEquals(List.of(0L, 0L, 0L, 0L, 0L), rajada, "O balde reabastecido deve atender a rajada sem espera"),
+            () -> assertEquals(intervalo, acimaDaRajada, "A reserva além da capacidade deve voltar a esperar"),
+            () -> assertEquals(11, balde.getImediatas(), "Reservas sem espera devem ser contadas"),
+            () -> assertEquals(21, balde.getAguardadas(), "Reservas com espera devem ser contadas")
+        );
+    }
+
+    @Test
+    @Order(5)
+    @Story("Falhar rápido com a API fora do ar")
+    @DisplayName("Deve abrir o circuito após falhas seguidas e recusar chamadas sem ir à rede")
+    @Description("Verifica que, aberto o circuito do host, a requisição é recusada na hora e o servidor não a recebe")
+    @Severity(SeverityLevel.CRITICAL)
+    void deveAbrirOCircuitoAposFalhasSeguidasERecusarChamadasSemIrARede() {
+        try (ServidorComFalhas servidor = iniciarServidorComFalhas()) {
+            RotasComFalhas rotas = servidor.getRotas();
+            rotas.falharProximas(100, 503, null);
+            ServicoDogApi servico = servidor.getServico()
+                    .comPoliticaRetentativa(novaPolitica(0));
+            DisjuntorCircuito disjuntor = DisjuntorCircuito.paraHost(LimitadorTaxa.hostDe(servidor.getUrlBase()));
+
+            int chamadasAteAbrir = 0;
+            while (disjuntor.getEstado() == DisjuntorCircuito.Estado.FECHADO && chamadasAteAbrir < 50) {
+                servico.buscarImagemAleatoria();
+                chamadasAteAbrir++;
+            }
+            int recebidasAoAbrir = rotas.getRecebidas();
+            CircuitoAbertoException recusa = assertThrows(CircuitoAbertoException.class, servico::buscarImagemAleatoria,
+                    "Chamada com circuito aberto deve ser recusada");
+
+            int abertoApos = chamadasAteAbrir;
+            assertAll("Validações do circuito aberto",
+                () -> assertEquals(DisjuntorCircuito.Estado.ABERTO, disjuntor.getEstado(), "Circuito deve estar aberto"),
+                () -> assertEquals(10, abertoApos, "Circuito deve abrir ao atingir o mínimo de chamadas com 100% de falhas"),
+                () -> assertEquals(recebidasAoAbrir, rotas.getRecebidas(), "Chamada recusada não deve chegar ao servidor"),
+                () -> assertTrue(recusa.getMessage().contains("falhas"), "Mensagem deve explicar o motivo: " + recusa.getMessage()),
+                () -> assertEquals(1, disjuntor.getRecusadas(), "Recusa deve ser contada")
+            );
+        }
+    }
+
+    @Test
+    @Order(6)
+    @Story("Falhar rápido com a API fora do ar")
+    @DisplayName("Deve abrir por lentidão e fechar após chamadas de teste bem-sucedidas")
+    @Description("Percorre fechado, aberto, meio-aberto e fechado com um relógio controlado")
+    @Severity(SeverityLevel.NORMAL)
+    void deveAbrirPorLentidaoEFecharAposChamadasDeTesteBemSucedidas() {
+        AtomicLong relogio = new AtomicLong();
+        DisjuntorCircuito disjuntor = new DisjuntorCircuito("teste", 4, 4, 50, 50,
+                Duration.ofMillis(100), Duration.ofSeconds(10), 2, relogio::get);
+        long rapida = Duration.ofMillis(10).toNanos();
+        long lenta = Duration.ofMillis(200).toNanos();
+
+        disjuntor.registrar(rapida, false);
+        disjuntor.registrar(rapida, false);
+        disjuntor.registrar(lenta, false);
+        disjuntor.registrar(lenta, false);
+        DisjuntorCircuito.Estado aposLentidao = disjuntor.getEstado();
+        assertThrows(CircuitoAbertoException.class, disjuntor::permitir, "Circuito aberto deve recusar chamadas");
+
+        relogio.addAndGet(Duration.ofSeconds(10).toNanos());
+        disjuntor.permitir();
+        disjuntor.permitir();
+        DisjuntorCircuito.Estado aposExpirar = disjuntor.getEstado();
+        assertThrows(CircuitoAbertoException.class, disjuntor::permitir,
+                "Meio-aberto deve liberar apenas as chamadas de teste");
+        disjuntor.registrar(rapida, false);
+        disjuntor.registrar(rapida, false);
+
+        assertAll("Validações das transições do disjuntor",
+            () -> assertEquals(DisjuntorCircuito.Estado.ABERTO, aposLentidao, "50% de chamadas lentas deve abrir o circuito"),
+            () -> assertEquals(DisjuntorCircuito.Estado.MEIO_ABERTO, aposExpirar, "Após o tempo aberto deve liberar chamadas de teste"),
+            () -> assertEquals(DisjuntorCircuito.Estado.FECHADO, disjuntor.getEstado(), "Chamadas de teste bem-sucedidas devem fechar o circuito"),
+            () -> assertEquals(2, disjuntor.getRecusadas(), "Recusas devem ser contadas")
+        );
+    }
+
+    @Test
+    @Order(7)
+    @Story("Cortar chamadas lentas no prazo")
+    @DisplayName("Deve interromper a requisição quando o prazo se esgota em vez de esperar a resposta")
+    @Description("Verifica que o prazo chega à requisição, a corta no limite e não é gasto em retentativas")
+    @Severity(SeverityLevel.CRITICAL)
+    void deveInterromperARequisicaoQuandoOPrazoSeEsgotaEmVezDeEsperarAResposta() {
+        PoliticaRetentativa politica = novaPolitica(3);
+        try (ServidorComFalhas servidor = iniciarServidorComFalhas()) {
+            RotasComFalhas rotas = servidor.getRotas();
+            rotas.atrasarProximas(1, Duration.ofSeconds(3));
+            ServicoDogApi servico = servidor.getServico().comPoliticaRetentativa(politica);
+
+            long inicio = System.nanoTime();
+            PrazoEsgotadoException esgotado = assertThrows(PrazoEsgotadoException.class,
+                    () -> Prazo.comPrazo(Duration.ofMillis(500), servico::buscarImagemAleatoria),
+                    "Requisição deve ser interrompida no prazo");
+            long duracaoMs = (System.nanoTime() - inicio) / 1_000_000;
+
+            assertAll("Validações do prazo",
+                () -> assertTrue(duracaoMs >= 450 && duracaoMs < 1500,
+                        "Chamada deve ser cortada perto de 500ms, e não após os 3s do servidor, mas levou " + duracaoMs + "ms"),
+                () -> assertTrue(esgotado.getMessage().contains("/breeds/image/random"),
+                        "Mensagem deve identificar o endpoint: " + esgotado.getMessage()),
+                () -> assertEquals(1, rotas.getRecebidas(), "Requisição cortada pelo prazo não deve ser repetida"),
+                () -> assertEquals(1, politica.getLimitadasPeloPrazo(), "Interrupção deve ser contada pela política")
+            );
+        }
+    }
+
+    @Test
+    @Order(8)
+    @Story("Cortar chamadas lentas no prazo")
+    @DisplayName("Deve aplicar o timeout de leitura configurado apenas ao seu endpoint")
+    @Description("Verifica que um timeout de leitura curto em um endpoint não afeta os demais")
+    @Severity(SeverityLevel.NORMAL)
+    void deveAplicarOTimeoutDeLeituraConfiguradoApenasAoSeuEndpoint() {
+        TimeoutsEndpoint timeouts = new TimeoutsEndpoint(Duration.ofSeconds(5), Duration.ofSeconds(15),
+                Map.of(), Map.of("/breeds/image/random", Duration.ofMillis(300)));
+        TransporteHttp transporte = new TransporteHttp(2, 2, 30, timeouts);
+        try (ServidorComFalhas servidor = iniciarServidorComFalhas()) {
+            RotasComFalhas rotas = servidor.getRotas();
+            ServicoDogApi servico = new ServicoDogApi(servidor.getUrlBase(), transporte).semCacheHttp()
+                    .comPoliticaRetentativa(novaPolitica(0));
+            // Aquecimento: a primeira requisição do transporte inclui a conexão e o carregamento de classes
+            servico.buscarTodasRacas();
+            rotas.atrasarProximas(2, Duration.ofSeconds(1));
+
+            long inicio = System.nanoTime();
+            Exception falha = assertThrows(Exception.class, servico::buscarImagemAleatoria,
+                    "Endpoint com timeout de 300ms não deve esperar a resposta de 1s");
+            long duracaoMs = (System.nanoTime() - inicio) / 1_000_000;
+            Response outroEndpoint = servico.buscarTodasRacas();
+
+            assertAll("Validações do timeout por endpoint",
+                () -> assertTrue(causadaPor(falha, SocketTimeoutException.class),
+                        "Falha deve ser timeout de leitura: " + falha),
+                () -> assertTrue(duracaoMs < 900, "Leitura deve ser cortada perto de 300ms, mas levou " + duracaoMs + "ms"),
+                () -> assertEquals(200, outroEndpoint.getStatusCode(),
+                        "Endpoint com o timeout padrão deve esperar a resposta atrasada")
+            );
+        } finally {
+            transporte.fechar();
+        }
+    }
+
+    private static boolean causadaPor(Throwable erro, Class<? extends Throwable> tipo) {
+        for (Throwable causa = erro; causa != null; causa = causa.getCause()) {
+            if (tipo.isInstance(causa)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static PoliticaRetentativa novaPolitica(int maximoRetentativas) {
+        return new PoliticaRetentativa(maximoRetentativas, Duration.ofMillis(20), Duration.ofSeconds(2),
+                Set.of(429, 500, 502, 503, 504));
+    }
+}
@@ -0,0 +1,113 @@
+package com.southsystem.tests;
+
+import com.southsystem.config.ConfiguracaoApi;
+import com.southsystem.resiliencia.LimitadorTaxa;
+import com.southsystem.varredura.ResultadoVarredura;
+import com.southsystem.varredura.VarreduraCatalogo;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Testes da varredura do catálogo completo (todas as raças e sub-raças)
+ * Concorrência, taxa e arquivo de saída vêm de dog-api.properties (dog.api.varredura.*).
+ * Contra a API pública a varredura só roda com dog.api.varredura.remota=true
+ */
+@Epic("Dog API")
+@Feature("Varredura do Catálogo")
+@DisplayName("Testes de Varredura do Catálogo")
+public class TesteVarredura extends TesteBase {
+
+    private static final String PROPRIEDADE_CONCORRENCIA = "dog.api.varredura.concorrencia";
+    private static final String PROPRIEDADE_TAXA = "dog.api.varredura.requisicoesPorSegundo";
+    private static final String PROPRIEDADE_ARQUIVO = "dog.api.varredura.arquivo";
+    private static final String PROPRIEDADE_REMOTA = "dog.api.varredura.remota";
+
+    @Test
+    @Order(1)
+    @Story("Varrer todas as raças e sub-raças")
+    @DisplayName("Deve varrer o catálogo completo gravando uma linha por alvo")
+    @Description("Percorre as imagens de cada raça e sub-raça com paralelismo e taxa limitados e valida o arquivo NDJSON gerado")
+    @Severity(SeverityLevel.NORMAL)
+    void deveVarrerOCatalogoCompletoGravandoUmaLinhaPorAlvo() throws IOException {
+        exigirVarreduraHabilitada();
+        int concorrencia = ConfiguracaoApi.propriedadeInteira(PROPRIEDADE_CONCORRENCIA, 8);
+        Path arquivo = arquivoSaida();
+
+        ResultadoVarredura resultado = novaVarredura(concorrencia).executar(arquivo, false);
+
+        System.out.println("🕸️ [VARREDURA]\n" + resultado.formatarResumo());
+        resultado.anexarAoRelatorio();
+        List<String> linhas = Files.readAllLines(arquivo, StandardCharsets.UTF_8);
+        assertAll("Validações da varredura completa",
+            () -> assertEquals(resultado.getTotalAlvos(), resultado.getVisitados(), "Todos os alvos devem ser visitados"),
+            () -> assertEquals(0, resultado.getFalhas(), "Nenhum alvo deve falhar"),
+            () -> assertEquals(0, resultado.getUrlsInvalidas(), "Todas as URLs devem pertencer à raça consultada"),
+            () -> assertTrue(resultado.getImagens() >= resultado.getTotalAlvos(), "Cada alvo deve ter ao menos uma imagem"),
+            () -> assertTrue(resultado.getMaiorEmAndamento() <= concorrencia,
+                    "Concorrência não deve passar de " + concorrencia + ", mas foi " + resultado.getMaiorEmAndamento()),
+            () -> assertEquals(resultado.getTotalAlvos(), linhas.size(), "Arquivo deve ter uma linha por alvo")
+        );
+    }
+
+    @Test
+    @Order(2)
+    @Story("Retomar varredura interrompida")
+    @DisplayName("Deve retomar a varredura a partir dos alvos que faltam")
+    @Description("Simula uma interrupção no meio da escrita e verifica que a nova execução só visita os alvos pendentes")
+    @Severity(SeverityLevel.NORMAL)
+    void deveRetomarAVarreduraAPartirDosAlvosQueFaltam() throws IOException {
+        exigirVarreduraHabilitada();
+        int concorrencia = ConfiguracaoApi.propriedadeInteira(PROPRIEDADE_CONCORRENCIA, 8);
+        Path arquivo = arquivoSaida().resolveSibling("retomada-" + arquivoSaida().getFileName());
+        VarreduraCatalogo varredura = novaVarredura(concorrencia);
+        varredura.executar(arquivo, false);
+
+        List<String> completas = Files.readAllLines(arquivo, StandardCharsets.UTF_8);
+        int mantidas = completas.size() / 2;
+        String interrompida = String.join("\n", completas.subList(0, mantidas)) + "\n"
+                + completas.get(mantidas).substring(0, completas.get(mantidas).length() / 2);
+        Files.writeString(arquivo, interrompida, StandardCharsets.UTF_8);
+
+        ResultadoVarredura retomada = varredura.executar(arquivo, true);
+
+        System.out.println("🕸️ [VARREDURA RETOMADA]\n" + retomada.formatarResumo());
+        retomada.anexarAoRelatorio();
+        List<String> linhas = Files.readAllLines(arquivo, StandardCharsets.UTF_8);
+        assertAll("Validações da retomada",
+            () -> assertEquals(mantidas, retomada.getRetomados(), "Alvos já gravados devem ser pulados"),
+            () -> assertEquals(retomada.getTotalAlvos() - mantidas, retomada.getVisitados(),
+                    "Apenas os alvos pendentes, inclusive o da linha incompleta, devem ser visitados"),
+            () -> assertEquals(0, retomada.getFalhas(), "Nenhum alvo deve falhar"),
+            () -> assertEquals(retomada.getTotalAlvos(), linhas.size(), "Arquivo final deve ter uma linha completa por alvo"),
+            () -> assertTrue(linhas.stream().allMatch(linha -> linha.startsWith("{") && linha.endsWith("}")),
+                    "Linha interrompida deve ter sido descartada")
+        );
+    }
+
+    private VarreduraCatalogo novaVarredura(int concorrencia) {
+        double taxa = Double.parseDouble(ConfiguracaoApi.propriedade(PROPRIEDADE_TAXA, "50"));
+        return new VarreduraCatalogo(servicoDogApi, concorrencia, new LimitadorTaxa(taxa, 1));
+    }
+
+    private static Path arquivoSaida() {
+        return Paths.get(ConfiguracaoApi.propriedade(PROPRIEDADE_ARQUIVO, "target/varredura/catalogo.ndjson"));
+    }
+
+    private static void exigirVarreduraHabilitada() {
+        assumeTrue(ConfiguracaoApi.usarServidorLocal()
+                        || Boolean.parseBoolean(ConfiguracaoApi.propriedade(PROPRIEDADE_REMOTA, "false")),
+                "Varredura contra a API pública desabilitada (dog.api.varredura.remota=false)");
+    }
+}
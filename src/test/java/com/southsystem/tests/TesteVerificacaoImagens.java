@@ -0,0 +1,147 @@
+package com.southsystem.tests;
+
+import com.southsystem.config.ConfiguracaoApi;
+import com.southsystem.imagens.FormatoImagem;
+import com.southsystem.imagens.ResultadoVerificacaoImagens;
+import com.southsystem.imagens.ResultadoVerificacaoImagens.Problema;
+import com.southsystem.imagens.VerificadorImagens;
+import com.southsystem.resiliencia.LimitadorTaxa;
+import com.southsystem.servidor.CatalogoRacas;
+import com.southsystem.servidor.RequisicaoHttp;
+import com.southsystem.servidor.RespostaHttp;
+import com.southsystem.servidor.RotasDogApi;
+import com.southsystem.servidor.ServidorDogApiLocal;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * Testes do download e da conferência das imagens apontadas pela API (VerificadorImagens)
+ * No modo local as URLs de https://images.dog.ceo são redirecionadas para as imagens sintéticas do servidor embarcado
+ */
+@Epic("Dog API")
+@Feature("Verificação de Imagens")
+@DisplayName("Testes de Verificação de Imagens")
+public class TesteVerificacaoImagens extends TesteBase {
+
+    private static final String ARQUIVO_HTML = "n02153776_1042.jpg";
+    private static final String ARQUIVO_PNG_COMO_JPG = "n02153776_1076.jpg";
+    private static final String ARQUIVO_SEM_ASSINATURA = "n02153776_1227.jpg";
+
+    @Test
+    @Order(1)
+    @Story("Baixar e conferir imagens")
+    @DisplayName("Deve baixar e conferir as imagens de uma raça e as aleatórias")
+    @Description("Baixa as imagens com concorrência limitada e confere status, Content-Type, magic bytes e Content-Length de cada uma")
+    @Severity(SeverityLevel.NORMAL)
+    void deveBaixarEConferirAsImagensDeUmaRacaEAsAleatorias() {
+        assumeFalse(reproduzindoCassete(), "Imagens não fazem parte do cassete");
+        List<String> urls = new ArrayList<>(servicoDogApi.buscarImagensPorRacaComoObjeto("beagle").getImagens());
+        urls.addAll(servicoDogApi.buscarMultiplasImagensAleatoriasComoVisao(10).getMensagemComoLista());
+        urls.add(servicoDogApi.buscarImagemAleatoriaComoObjeto().getImagemUrl());
+        VerificadorImagens verificador = new VerificadorImagens(
+                ConfiguracaoApi.propriedadeInteira(VerificadorImagens.PROPRIEDADE_CONCORRENCIA, 8),
+                new LimitadorTaxa(Double.parseDouble(ConfiguracaoApi.propriedade(VerificadorImagens.PROPRIEDADE_REQUISICOES_POR_SEGUNDO, "50")), 1),
+                null);
+        if (ConfiguracaoApi.usarServidorLocal()) {
+            verificador = verificador.redirecionando(CatalogoRacas.carregarPadrao().getHostImagens(),
+                    ServidorDogApiLocal.compartilhado().getUrlImagens());
+        }
+
+        ResultadoVerificacaoImagens resultado = verificador.verificar(urls);
+
+        System.out.println("🖼️  [IMAGENS]\n" + resultado.formatarResumo());
+        resultado.anexarAoRelatorio();
+        assertAll("Validações das imagens baixadas",
+            () -> assertEquals(urls.size(), resultado.getVerificadas(), "Todas as URLs devem ser verificadas"),
+            () -> assertEquals(urls.size(), resultado.getValidas(), "Todas as imagens devem ser válidas: " + resultado.getExemplos()),
+            () -> assertTrue(resultado.getFormato(FormatoImagem.JPEG) > 0, "Imagens JPEG devem ser reconhecidas pela assinatura"),
+            () -> assertTrue(resultado.getBytesRecebidos() > urls.size() * 1024L, "Corpos das imagens devem ser recebidos"),
+            () -> assertTrue(resultado.getMaiorEmAndamento() <= 8, "Concorrência não deve passar do limite"),
+            () -> assertEquals(0, resultado.getBuffersCriados(), "Sem gravação nenhum buffer deve ser alocado")
+        );
+    }
+
+    @Test
+    @Order(2)
+    @Story("Baixar e conferir imagens")
+    @DisplayName("Deve gravar em disco só as imagens válidas reaproveitando os buffers diretos")
+    @Description("Contra um servidor local que corrompe algumas imagens, verifica a classificação de cada problema, "
+            + "os arquivos gravados e que o pool de buffers não passa da concorrência")
+    @Severity(SeverityLevel.NORMAL)
+    void deveGravarEmDiscoSoAsImagensValidasReaproveitandoOsBuffersDiretos(@TempDir Path diretorio) throws IOException {
+        CatalogoRacas catalogo = CatalogoRacas.carregarPadrao();
+        List<String> urls = new ArrayList<>(catalogo.urlsDoDiretorio("hound-afghan"));
+        urls.add(catalogo.getHostImagens() + "/hound-afghan/inexistente.jpg");
+        int concorrencia = 4;
+        try (ServidorDogApiLocal servidor = new ServidorDogApiLocal(new RotasComImagensCorrompidas(catalogo), 0).iniciar()) {
+            VerificadorImagens verificador = new VerificadorImagens(concorrencia, new LimitadorTaxa(1000, 50), diretorio)
+                    .redirecionando(catalogo.getHostImagens(), servidor.getUrlImagens());
+
+            ResultadoVerificacaoImagens resultado = verificador.verificar(urls);
+
+            System.out.println("🖼️  [IMAGENS GRAVADAS]\n" + resultado.formatarResumo());
+            resultado.anexarAoRelatorio();
+            Path pasta = diretorio.resolve("breeds/hound-afghan");
+            long gravados;
+            long tamanhoGravado;
+            try (Stream<Path> arquivos = Files.list(pasta)) {
+                List<Path> lista = arquivos.toList();
+                gravados = lista.size();
+                tamanhoGravado = lista.stream().mapToLong(arquivo -> arquivo.toFile().length()).sum();
+            }
+            long esperadas = urls.size() - 4;
+            assertAll("Validações da gravação das imagens",
+                () -> assertEquals(esperadas, resultado.getValidas(), "Só as imagens íntegras devem ser válidas"),
+                () -> assertEquals(1, resultado.getProblemas(Problema.STATUS), "Imagem inexistente deve falhar pelo status"),
+                () -> assertEquals(1, resultado.getProblemas(Problema.TIPO_CONTEUDO), "Página HTML deve falhar pelo Content-Type"),
+                () -> assertEquals(1, resultado.getProblemas(Problema.EXTENSAO), "PNG em URL .jpg deve falhar pela extensão"),
+                () -> assertEquals(1, resultado.getProblemas(Problema.ASSINATURA), "Corpo sem magic bytes deve falhar pela assinatura"),
+                () -> assertEquals(esperadas, gravados, "Só as imagens válidas devem ficar gravadas"),
+                () -> assertFalse(Files.exists(pasta.resolve(ARQUIVO_HTML)), "Arquivo inválido deve ser apagado"),
+                () -> assertEquals(resultado.getBytesGravados(), tamanhoGravado, "Bytes gravados devem corresponder aos arquivos"),
+                () -> assertTrue(resultado.getBuffersCriados() >= 1 && resultado.getBuffersCriados() <= concorrencia,
+                        "Buffers diretos devem ser reaproveitados, foram criados " + resultado.getBuffersCriados()),
+                () -> assertEquals(0, verificador.getBuffers().getEmprestados(), "Todos os buffers devem voltar ao pool")
+            );
+        }
+    }
+
+    /**
+     * Rotas do servidor local com três imagens corrompidas de formas diferentes
+     */
+    private static final class RotasComImagensCorrompidas extends RotasDogApi {
+
+        private RotasComImagensCorrompidas(CatalogoRacas catalogo) {
+            super(catalogo);
+        }
+
+        @Override
+        public RespostaHttp responder(RequisicaoHttp requisicao) {
+            String caminho = requisicao.getCaminho();
+            if (caminho.endsWith(ARQUIVO_HTML)) {
+                return new RespostaHttp(200, "text/html", "<html><body>Not found</body></html>".getBytes(StandardCharsets.UTF_8));
+            }
+            if (caminho.endsWith(ARQUIVO_PNG_COMO_JPG)) {
+                return new RespostaHttp(200, "image/jpeg", new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0, 0, 0});
+            }
+            if (caminho.endsWith(ARQUIVO_SEM_ASSINATURA)) {
+                return new RespostaHttp(200, "image/jpeg", new byte[4096]);
+            }
+            return super.responder(requisicao);
+        }
+    }
+}
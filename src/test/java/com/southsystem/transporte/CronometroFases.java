@@ -0,0 +1,40 @@
+package com.southsystem.transporte;
+
+import java.util.function.Consumer;
+
+/**
+ * Associa a medição de fases à thread que executa a requisição
+ * O filtro do RestAssured abre a medição e os ganchos do HttpClient (DNS, sockets, executor)
+ * a preenchem, todos na mesma thread
+ */
+final class CronometroFases {
+
+    private static final ThreadLocal<TemposRequisicao> ATUAL = new ThreadLocal<>();
+    private static final ThreadLocal<TemposRequisicao> ULTIMA = new ThreadLocal<>();
+
+    private CronometroFases() {
+        // Classe utilitária - não deve ser instanciada
+    }
+
+    static TemposRequisicao iniciar(String metodo, String endpoint, String origem, Consumer<TemposRequisicao> aoConcluir) {
+        TemposRequisicao tempos = new TemposRequisicao(metodo, endpoint, origem, System.nanoTime(), aoConcluir);
+        ATUAL.set(tempos);
+        ULTIMA.set(tempos);
+        return tempos;
+    }
+
+    /**
+     * @return medição em andamento na thread atual, ou null fora de uma requisição instrumentada
+     */
+    static TemposRequisicao atual() {
+        return ATUAL.get();
+    }
+
+    static TemposRequisicao ultima() {
+        return ULTIMA.get();
+    }
+
+    static void encerrar() {
+        ATUAL.remove();
+    }
+}
@@ -0,0 +1,122 @@
+package com.southsystem.transporte;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Agregado por endpoint dos bytes de corpo recebidos: os que trafegaram na conexão (comprimidos ou não),
+ * os entregues ao teste depois da descompressão e o tempo gasto descomprimindo
+ * Os totais da execução aparecem no início do mapa, para acompanhar a economia e o tamanho dos payloads
+ */
+public class EstatisticasCompressao {
+
+    private final Map<String, Acumulador> porEndpoint = new ConcurrentHashMap<>();
+
+    void registrar(String endpoint, boolean comprimida, long bytesTransferidos, long bytesDecodificados, long decodificacaoNs) {
+        porEndpoint.computeIfAbsent(endpoint, chave -> new Acumulador())
+                .registrar(comprimida, bytesTransferidos, bytesDecodificados, decodificacaoNs);
+    }
+
+    /**
+     * @return bytes de corpo que trafegaram na conexão, em todos os endpoints
+     */
+    public long getBytesTransferidos() {
+        return porEndpoint.values().stream().mapToLong(acumulador -> acumulador.bytesTransferidos.sum()).sum();
+    }
+
+    /**
+     * @return bytes de corpo entregues após a descompressão, em todos os endpoints
+     */
+    public long getBytesDecodificados() {
+        return porEndpoint.values().stream().mapToLong(acumulador -> acumulador.bytesDecodificados.sum()).sum();
+    }
+
+    /**
+     * @param endpoint método e caminho com placeholders (ex.: "GET /breeds/list/all")
+     * @return respostas do endpoint com o corpo lido até o fim
+     */
+    public long getRespostas(String endpoint) {
+        Acumulador acumulador = porEndpoint.get(endpoint);
+        return acumulador == null ? 0 : acumulador.respostas.sum();
+    }
+
+    /**
+     * @param endpoint método e caminho com placeholders (ex.: "GET /breeds/list/all")
+     * @return bytes de corpo do endpoint que trafegaram na conexão
+     */
+    public long getBytesTransferidos(String endpoint) {
+        Acumulador acumulador = porEndpoint.get(endpoint);
+        return acumulador == null ? 0 : acumulador.bytesTransferidos.sum();
+    }
+
+    /**
+     * @param endpoint método e caminho com placeholders (ex.: "GET /breeds/list/all")
+     * @return bytes de corpo do endpoint entregues após a descompressão
+     */
+    public long getBytesDecodificados(String endpoint) {
+        Acumulador acumulador = porEndpoint.get(endpoint);
+        return acumulador == null ? 0 : acumulador.bytesDecodificados.sum();
+    }
+
+    /**
+     * @param endpoint método e caminho com placeholders (ex.: "GET /breeds/list/all")
+     * @return respostas do endpoint que vieram comprimidas
+     */
+    public long getComprimidas(String endpoint) {
+        Acumulador acumulador = porEndpoint.get(endpoint);
+        return acumulador == null ? 0 : acumulador.comprimidas.sum();
+    }
+
+    /**
+     * @return métricas totais (total.*) e por endpoint, com chaves no formato METODO_/caminho.metrica
+     */
+    public Map<String, Object> comoMapa() {
+        Map<String, Object> mapa = new LinkedHashMap<>();
+        Acumulador total = new Acumulador();
+        porEndpoint.values().forEach(total::somar);
+        escrever(mapa, "total.", total);
+        new TreeMap<>(porEndpoint).forEach((endpoint, acumulador) -> escrever(mapa, endpoint.replace(' ', '_') + ".", acumulador));
+        return mapa;
+    }
+
+    private static void escrever(Map<String, Object> mapa, String prefixo, Acumulador acumulador) {
+        long transferidos = acumulador.bytesTransferidos.sum();
+        long decodificados = acumulador.bytesDecodificados.sum();
+        mapa.put(prefixo + "respostas", acumulador.respostas.sum());
+        mapa.put(prefixo + "comprimidas", acumulador.comprimidas.sum());
+        mapa.put(prefixo + "bytesTransferidos", transferidos);
+        mapa.put(prefixo + "bytesDecodificados", decodificados);
+        mapa.put(prefixo + "economiaPercentual",
+                decodificados == 0 ? 0 : Math.round((decodificados - transferidos) * 1000.0 / decodificados) / 10.0);
+        mapa.put(prefixo + "decodificacaoMs", String.format("%.3f", TemposRequisicao.ms(acumulador.decodificacaoNs.sum())));
+    }
+
+    private static final class Acumulador {
+        private final LongAdder respostas = new LongAdder();
+        private final LongAdder comprimidas = new LongAdder();
+        private final LongAdder bytesTransferidos = new LongAdder();
+        private final LongAdder bytesDecodificados = new LongAdder();
+        private final LongAdder decodificacaoNs = new LongAdder();
+
+        private void registrar(boolean comprimida, long transferidos, long decodificados, long ns) {
+            respostas.increment();
+            if (comprimida) {
+                comprimidas.increment();
+            }
+            bytesTransferidos.add(transferidos);
+            bytesDecodificados.add(decodificados);
+            decodificacaoNs.add(ns);
+        }
+
+        private void somar(Acumulador outro) {
+            respostas.add(outro.respostas.sum());
+            comprimidas.add(outro.comprimidas.sum());
+            bytesTransferidos.add(outro.bytesTransferidos.sum());
+            bytesDecodificados.add(outro.bytesDecodificados.sum());
+            decodificacaoNs.add(outro.decodificacaoNs.sum());
+        }
+    }
+}
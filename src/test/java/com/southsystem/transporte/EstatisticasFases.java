@@ -0,0 +1,81 @@
+package com.southsystem.transporte;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Agregado por endpoint dos tempos por fase das requisições concluídas
+ * DNS, conexão e TLS são médias apenas sobre as requisições que abriram conexão nova;
+ * as demais fases são médias sobre todas as requisições do endpoint
+ */
+public class EstatisticasFases {
+
+    private final Map<String, Acumulador> porEndpoint = new ConcurrentHashMap<>();
+
+    void registrar(TemposRequisicao tempos) {
+        porEndpoint.computeIfAbsent(tempos.getMetodo() + " " + tempos.getEndpoint(), chave -> new Acumulador())
+                .registrar(tempos);
+    }
+
+    /**
+     * @return métricas por endpoint, com chaves no formato METODO_/caminho.metrica
+     */
+    public Map<String, Object> comoMapa() {
+        Map<String, Object> mapa = new LinkedHashMap<>();
+        new TreeMap<>(porEndpoint).forEach((endpoint, acumulador) -> {
+            String prefixo = endpoint.replace(' ', '_') + ".";
+            long requisicoes = acumulador.requisicoes.sum();
+            long novas = acumulador.conexoesNovas.sum();
+            mapa.put(prefixo + "requisicoes", requisicoes);
+            mapa.put(prefixo + "conexoesNovas", novas);
+            mapa.put(prefixo + "dnsMedioMs", media(acumulador.dnsNs, novas));
+            mapa.put(prefixo + "conexaoMediaMs", media(acumulador.conexaoNs, novas));
+            mapa.put(prefixo + "tlsMedioMs", media(acumulador.tlsNs, novas));
+            mapa.put(prefixo + "envioMedioMs", media(acumulador.envioNs, requisicoes));
+            mapa.put(prefixo + "esperaMediaMs", media(acumulador.esperaNs, requisicoes));
+            mapa.put(prefixo + "downloadMedioMs", media(acumulador.downloadNs, requisicoes));
+            mapa.put(prefixo + "clienteMedioMs", media(acumulador.clienteNs, requisicoes));
+            mapa.put(prefixo + "totalMedioMs", media(acumulador.totalNs, requisicoes));
+            mapa.put(prefixo + "totalMaximoMs", String.format("%.3f", TemposRequisicao.ms(acumulador.totalMaximoNs.get())));
+        });
+        return mapa;
+    }
+
+    private static String media(LongAdder totalNs, long quantidade) {
+        return String.format("%.3f", quantidade == 0 ? 0 : TemposRequisicao.ms(totalNs.sum()) / quantidade);
+    }
+
+    private static final class Acumulador {
+        private final LongAdder requisicoes = new LongAdder();
+        private final LongAdder conexoesNovas = new LongAdder();
+        private final LongAdder dnsNs = new LongAdder();
+        private final LongAdder conexaoNs = new LongAdder();
+        private final LongAdder tlsNs = new LongAdder();
+        private final LongAdder envioNs = new LongAdder();
+        private final LongAdder esperaNs = new LongAdder();
+        private final LongAdder downloadNs = new LongAdder();
+        private final LongAdder clienteNs = new LongAdder();
+        private final LongAdder totalNs = new LongAdder();
+        private final LongAccumulator totalMaximoNs = new LongAccumulator(Math::max, 0);
+
+        private void registrar(TemposRequisicao tempos) {
+            requisicoes.increment();
+            if (!tempos.isConexaoReutilizada()) {
+                conexoesNovas.increment();
+                dnsNs.add(tempos.getDnsNs());
+                conexaoNs.add(tempos.getConexaoNs());
+                tlsNs.add(tempos.getTlsNs());
+            }
+            envioNs.add(tempos.getEnvioNs());
+            esperaNs.add(tempos.getEsperaNs());
+            downloadNs.add(tempos.getDownloadNs());
+            clienteNs.add(tempos.getClienteNs());
+            totalNs.add(tempos.getTotalNs());
+            totalMaximoNs.accumulate(tempos.getTotalNs());
+        }
+    }
+}
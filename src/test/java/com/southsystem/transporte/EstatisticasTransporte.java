@@ -0,0 +1,42 @@
+package com.southsystem.transporte;
+
+import lombok.Value;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Fotografia dos contadores do pool de conexões compartilhado
+ */
+@Value
+public class EstatisticasTransporte {
+
+    /** Conexões entregues já abertas (keep-alive reaproveitado) */
+    long acertos;
+    /** Conexões que precisaram de um novo handshake TCP/TLS */
+    long faltas;
+    int conexoesEmUso;
+    int conexoesDisponiveis;
+    double latenciaMediaConexaoNovaMs;
+    double latenciaMediaConexaoReutilizadaMs;
+
+    /**
+     * @return fração das requisições atendidas por conexões reaproveitadas (0 a 1)
+     */
+    public double getTaxaReaproveitamento() {
+        long total = acertos + faltas;
+        return total == 0 ? 0 : (double) acertos / total;
+    }
+
+    public Map<String, Object> comoMapa() {
+        Map<String, Object> mapa = new LinkedHashMap<>();
+        mapa.put("acertos", acertos);
+        mapa.put("faltas", faltas);
+        mapa.put("taxaReaproveitamento", String.format("%.2f", getTaxaReaproveitamento()));
+        mapa.put("conexoesEmUso", conexoesEmUso);
+        mapa.put("conexoesDisponiveis", conexoesDisponiveis);
+        mapa.put("latenciaMediaConexaoNovaMs", String.format("%.2f", latenciaMediaConexaoNovaMs));
+        mapa.put("latenciaMediaConexaoReutilizadaMs", String.format("%.2f", latenciaMediaConexaoReutilizadaMs));
+        return mapa;
+    }
+}
@@ -0,0 +1,151 @@
+package com.southsystem.transporte;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpException;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.entity.HttpEntityWrapper;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpRequestExecutor;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Executor do HttpClient que cronometra o envio, a espera pelos headers (TTFB) e o download do corpo
+ * O fim do download é detectado quando o corpo chega ao fim ou é fechado, mesmo que isso aconteça
+ * depois que o RestAssured devolveu a resposta (leitura por streaming)
+ */
+class ExecutorRequisicaoCronometrado extends HttpRequestExecutor {
+
+    private static final String ATRIBUTO_FIM_ENVIO = "dog.api.fimEnvioNs";
+
+    @Override
+    protected HttpResponse doSendRequest(HttpRequest requisicao, HttpClientConnection conexao, HttpContext contexto)
+            throws IOException, HttpException {
+        TemposRequisicao tempos = CronometroFases.atual();
+        LimitesRequisicao limites = LimitesRequisicao.atual();
+        if (limites != null) {
+            limites.vigiar(conexao);
+        }
+        long inicio = System.nanoTime();
+        HttpResponse resposta = super.doSendRequest(requisicao, conexao, contexto);
+        if (tempos != null) {
+            long fim = System.nanoTime();
+            tempos.adicionarEnvio(fim - inicio);
+            contexto.setAttribute(ATRIBUTO_FIM_ENVIO, fim);
+        }
+        return resposta;
+    }
+
+    @Override
+    protected HttpResponse doReceiveResponse(HttpRequest requisicao, HttpClientConnection conexao, HttpContext contexto)
+            throws HttpException, IOException {
+        TemposRequisicao tempos = CronometroFases.atual();
+        HttpResponse resposta = super.doReceiveResponse(requisicao, conexao, contexto);
+        if (tempos != null) {
+            long agora = System.nanoTime();
+            Object fimEnvio = contexto.getAttribute(ATRIBUTO_FIM_ENVIO);
+            tempos.cabecalhosRecebidos(resposta.getStatusLine().getStatusCode(),
+                    fimEnvio instanceof Long ? agora - (Long) fimEnvio : 0, agora);
+            HttpEntity corpo = resposta.getEntity();
+            if (corpo != null) {
+                tempos.aguardarCorpo();
+                resposta.setEntity(new CorpoCronometrado(corpo, tempos, LimitesRequisicao.atual()));
+            }
+        }
+        return resposta;
+    }
+
+    /**
+     * Corpo que conclui a medição ao chegar ao fim do stream ou ao ser fechado
+     */
+    private static final class CorpoCronometrado extends HttpEntityWrapper {
+
+        private final TemposRequisicao tempos;
+        private final LimitesRequisicao limites;
+        private InputStream conteudo;
+
+        private CorpoCronometrado(HttpEntity corpo, TemposRequisicao tempos, LimitesRequisicao limites) {
+            super(corpo);
+            this.tempos = tempos;
+            this.limites = limites;
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            if (conteudo == null || isRepeatable()) {
+                conteudo = new FluxoCronometrado(super.getContent(), tempos, limites);
+            }
+            return conteudo;
+        }
+
+        @Override
+        public void writeTo(OutputStream saida) throws IOException {
+            try (InputStream entrada = getContent()) {
+                entrada.transferTo(saida);
+            }
+        }
+    }
+
+    /**
+     * Stream do corpo que conclui a medição e, se a leitura falhar porque o vigia do prazo encerrou
+     * a conexão, troca a falha de I/O por {@link PrazoEsgotadoException}
+     */
+    private static final class FluxoCronometrado extends FilterInputStream {
+
+        private final TemposRequisicao tempos;
+        private final LimitesRequisicao limites;
+
+        private FluxoCronometrado(InputStream entrada, TemposRequisicao tempos, LimitesRequisicao limites) {
+            super(entrada);
+            this.tempos = tempos;
+            this.limites = limites;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int lido;
+            try {
+                lido = super.read();
+            } catch (IOException e) {
+                throw falha(e);
+            }
+            if (lido == -1) {
+                tempos.concluir(System.nanoTime());
+            }
+            return lido;
+        }
+
+        @Override
+        public int read(byte[] destino, int deslocamento, int tamanho) throws IOException {
+            int lidos;
+            try {
+                lidos = super.read(destino, deslocamento, tamanho);
+            } catch (IOException e) {
+                throw falha(e);
+            }
+            if (lidos == -1) {
+                tempos.concluir(System.nanoTime());
+            }
+            return lidos;
+        }
+
+        @Override
+        public void close() throws IOException {
+            tempos.concluir(System.nanoTime());
+            super.close();
+        }
+
+        private IOException falha(IOException erro) {
+            tempos.concluir(System.nanoTime());
+            if (limites != null && limites.prazoCausou(erro)) {
+                throw limites.esgotado(erro);
+            }
+            return erro;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.southsystem.transporte;
+
+import com.southsystem.config.ConfiguracaoApi;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Extensão JUnit que define o prazo de cada teste antes do @BeforeEach e o remove ao final
+ * Ordem: {@link PrazoMaximo} no método, na classe e, por fim, dog.api.prazo.testeMs (0 desliga)
+ */
+public class ExtensaoPrazo implements BeforeEachCallback, AfterEachCallback {
+
+    public static final String PROPRIEDADE_PRAZO_TESTE_MS = "dog.api.prazo.testeMs";
+
+    @Override
+    public void beforeEach(ExtensionContext contexto) {
+        long prazoMs = prazoDoTeste(contexto);
+        if (prazoMs > 0) {
+            Prazo.definir(Duration.ofMillis(prazoMs));
+        }
+    }
+
+    @Override
+    public void afterEach(ExtensionContext contexto) {
+        Prazo.limpar();
+    }
+
+    private static long prazoDoTeste(ExtensionContext contexto) {
+        Optional<PrazoMaximo> anotacao = AnnotationSupport.findAnnotation(contexto.getTestMethod(), PrazoMaximo.class);
+        if (anotacao.isEmpty()) {
+            anotacao = AnnotationSupport.findAnnotation(contexto.getTestClass(), PrazoMaximo.class);
+        }
+        return anotacao.map(PrazoMaximo::value)
+                .orElseGet(() -> (long) ConfiguracaoApi.propriedadeInteira(PROPRIEDADE_PRAZO_TESTE_MS, 60000));
+    }
+}
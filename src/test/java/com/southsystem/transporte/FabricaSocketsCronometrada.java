@@ -0,0 +1,93 @@
+package com.southsystem.transporte;
+
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.conn.HttpInetSocketAddress;
+import org.apache.http.conn.scheme.PlainSocketFactory;
+import org.apache.http.conn.scheme.SchemeLayeredSocketFactory;
+import org.apache.http.conn.scheme.SchemeSocketFactory;
+import org.apache.http.params.HttpParams;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+/**
+ * Fábrica de sockets que cronometra a conexão TCP na requisição em andamento
+ *
+ * O HttpClient decide se a rota é segura pelo tipo da fábrica (camada TLS ou não), por isso
+ * http usa esta classe e https a subclasse {@link Tls}, que conecta em texto puro e aplica
+ * a camada TLS em seguida, separando as duas etapas
+ */
+@SuppressWarnings("deprecation")
+class FabricaSocketsCronometrada implements SchemeSocketFactory {
+
+    private final SchemeSocketFactory tcp = PlainSocketFactory.getSocketFactory();
+
+    @Override
+    public Socket createSocket(HttpParams parametros) throws IOException {
+        return tcp.createSocket(parametros);
+    }
+
+    @Override
+    public Socket connectSocket(Socket socket, InetSocketAddress remoto, InetSocketAddress local, HttpParams parametros)
+            throws IOException, ConnectTimeoutException {
+        TemposRequisicao tempos = CronometroFases.atual();
+        long inicio = System.nanoTime();
+        Socket conectado = tcp.connectSocket(socket, remoto, local, parametros);
+        if (tempos != null) {
+            tempos.adicionarConexao(System.nanoTime() - inicio);
+        }
+        return conectado;
+    }
+
+    @Override
+    public boolean isSecure(Socket socket) {
+        return false;
+    }
+
+    /**
+     * Variante para https: handshake TLS cronometrado separadamente da conexão TCP
+     */
+    static class Tls extends FabricaSocketsCronometrada implements SchemeLayeredSocketFactory {
+
+        private final SchemeLayeredSocketFactory tls;
+
+        Tls(SchemeLayeredSocketFactory tls) {
+            this.tls = tls;
+        }
+
+        @Override
+        public Socket connectSocket(Socket socket, InetSocketAddress remoto, InetSocketAddress local,
+                                    HttpParams parametros) throws IOException, ConnectTimeoutException {
+            Socket conectado = super.connectSocket(socket, remoto, local, parametros);
+            TemposRequisicao tempos = CronometroFases.atual();
+            long inicio = System.nanoTime();
+            Socket seguro = tls.createLayeredSocket(conectado, nomeHost(remoto), remoto.getPort(), parametros);
+            if (tempos != null) {
+                tempos.adicionarTls(System.nanoTime() - inicio);
+            }
+            return seguro;
+        }
+
+        @Override
+        public Socket createLayeredSocket(Socket socket, String host, int porta, HttpParams parametros)
+                throws IOException {
+            return tls.createLayeredSocket(socket, host, porta, parametros);
+        }
+
+        @Override
+        public boolean isSecure(Socket socket) {
+            return tls.isSecure(socket);
+        }
+
+        /**
+         * Nome usado na verificação do certificado: o host da URL, não o do endereço resolvido
+         */
+        private static String nomeHost(InetSocketAddress remoto) {
+            if (remoto instanceof HttpInetSocketAddress) {
+                return ((HttpInetSocketAddress) remoto).getHttpHost().getHostName();
+            }
+            return remoto.getHostName();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.southsystem.transporte;
+
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.conn.ClientConnectionRequest;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ManagedClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.scheme.SchemeRegistry;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decorador do gerenciador de conexões que contabiliza reaproveitamento do pool
+ * Uma conexão entregue já aberta é um acerto (keep-alive reaproveitado); uma conexão
+ * fechada precisará de TCP/TLS novos e conta como falta
+ *
+ * O RestAssured cria um HttpClient por requisição; o shutdown desses clientes é ignorado
+ * para que o pool compartilhado sobreviva a eles
+ */
+@SuppressWarnings("deprecation")
+class GerenciadorConexoesInstrumentado implements ClientConnectionManager {
+
+    private static final ThreadLocal<Boolean> ULTIMA_CONEXAO_REUTILIZADA = ThreadLocal.withInitial(() -> false);
+
+    private final ClientConnectionManager delegado;
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder faltas = new LongAdder();
+
+    GerenciadorConexoesInstrumentado(ClientConnectionManager delegado) {
+        this.delegado = delegado;
+    }
+
+    /**
+     * @return true se a última conexão obtida pela thread atual veio aberta do pool
+     */
+    static boolean ultimaConexaoReutilizada() {
+        return ULTIMA_CONEXAO_REUTILIZADA.get();
+    }
+
+    /**
+     * Esquece a última conexão da thread atual, antes de uma nova requisição
+     */
+    static void limparUltimaConexao() {
+        ULTIMA_CONEXAO_REUTILIZADA.set(false);
+    }
+
+    long getAcertos() {
+        return acertos.sum();
+    }
+
+    long getFaltas() {
+        return faltas.sum();
+    }
+
+    @Override
+    public SchemeRegistry getSchemeRegistry() {
+        return delegado.getSchemeRegistry();
+    }
+
+    @Override
+    public ClientConnectionRequest requestConnection(HttpRoute rota, Object estado) {
+        ClientConnectionRequest pedido = delegado.requestConnection(rota, estado);
+        return new ClientConnectionRequest() {
+            @Override
+            public ManagedClientConnection getConnection(long timeout, TimeUnit unidade)
+                    throws InterruptedException, ConnectionPoolTimeoutException {
+                ManagedClientConnection conexao = pedido.getConnection(timeout, unidade);
+                boolean reutilizada = conexao.isOpen();
+                (reutilizada ? acertos : faltas).increment();
+                ULTIMA_CONEXAO_REUTILIZADA.set(reutilizada);
+                TemposRequisicao tempos = CronometroFases.atual();
+                if (tempos != null) {
+                    tempos.conexaoObtida(reutilizada);
+                }
+                return conexao;
+            }
+
+            @Override
+            public void abortRequest() {
+                pedido.abortRequest();
+            }
+        };
+    }
+
+    @Override
+    public void releaseConnection(ManagedClientConnection conexao, long validade, TimeUnit unidade) {
+        delegado.releaseConnection(conexao, validade, unidade);
+    }
+
+    @Override
+    public void closeIdleConnections(long tempoOcioso, TimeUnit unidade) {
+        delegado.closeIdleConnections(tempoOcioso, unidade);
+    }
+
+    @Override
+    public void closeExpiredConnections() {
+        delegado.closeExpiredConnections();
+    }
+
+    @Override
+    public void shutdown() {
+        // O pool pertence ao TransporteHttp e é encerrado apenas por ele
+    }
+
+    void encerrar() {
+        delegado.shutdown();
+    }
+}
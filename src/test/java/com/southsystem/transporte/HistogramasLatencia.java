@@ -0,0 +1,45 @@
+package com.southsystem.transporte;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Histogramas do tempo total das requisições concluídas, em microssegundos, por origem (host e porta) e endpoint
+ *
+ * Só entram as respostas 2xx e 304: falhas simuladas, 429 e 5xx teriam outra distribuição de tempos.
+ * Separar por origem permite olhar só o servidor da suite, sem os servidores dedicados de alguns testes
+ */
+public class HistogramasLatencia {
+
+    /** Maior valor registrável; valores acima são truncados para este limite */
+    private static final long MAXIMO_MICROS = TimeUnit.MINUTES.toMicros(5);
+    private static final int DIGITOS_SIGNIFICATIVOS = 3;
+
+    private final Map<String, Map<String, Histogram>> porOrigem = new ConcurrentHashMap<>();
+
+    void registrar(TemposRequisicao tempos) {
+        int status = tempos.getStatus();
+        if ((status < 200 || status >= 300) && status != 304) {
+            return;
+        }
+        porOrigem.computeIfAbsent(tempos.getOrigem(), origem -> new ConcurrentHashMap<>())
+                .computeIfAbsent(tempos.getMetodo() + " " + tempos.getEndpoint(),
+                        endpoint -> new ConcurrentHistogram(MAXIMO_MICROS, DIGITOS_SIGNIFICATIVOS))
+                .recordValue(Math.min(MAXIMO_MICROS, Math.max(0, TimeUnit.NANOSECONDS.toMicros(tempos.getTotalNs()))));
+    }
+
+    /**
+     * @param origem host e porta, como em {@link TemposRequisicao#getOrigem()}
+     * @return cópia dos histogramas da origem por endpoint ("METODO /caminho"), em ordem alfabética
+     */
+    public Map<String, Histogram> daOrigem(String origem) {
+        Map<String, Histogram> copias = new TreeMap<>();
+        porOrigem.getOrDefault(origem, Map.of()).forEach((endpoint, histograma) -> copias.put(endpoint, histograma.copy()));
+        return copias;
+    }
+}
@@ -0,0 +1,167 @@
+package com.southsystem.transporte;
+
+import org.apache.http.HttpConnection;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Timeouts efetivos da requisição em andamento: o menor entre o configurado para o endpoint e o que
+ * resta do {@link Prazo}. Como a medição de fases, são associados à thread pelo filtro do RestAssured,
+ * que os aplica aos parâmetros do HttpClient, e lidos pelos ganchos do HttpClient (executor e corpo)
+ *
+ * O SO_TIMEOUT só limita cada leitura isolada; para que o prazo valha para a requisição inteira,
+ * inclusive um corpo que chega aos poucos, um vigia encerra a conexão quando o prazo vence
+ */
+final class LimitesRequisicao {
+
+    private static final ThreadLocal<LimitesRequisicao> ATUAL = new ThreadLocal<>();
+
+    private static final ScheduledExecutorService VIGIA = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+        Thread thread = new Thread(tarefa, "vigia-prazos");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final String operacao;
+    private final LongAdder interrompidas;
+    private final int conexaoMs;
+    private final int leituraMs;
+    private final long prazoRestanteNs;
+    private final boolean limitadaPeloPrazo;
+    private final AtomicBoolean encerrada = new AtomicBoolean();
+    private final AtomicBoolean interrompida = new AtomicBoolean();
+    private volatile ScheduledFuture<?> vigia;
+
+    private LimitesRequisicao(String operacao, LongAdder interrompidas, int conexaoMs, int leituraMs, long prazoRestanteNs, boolean limitadaPeloPrazo) {
+        this.operacao = operacao;
+        this.interrompidas = interrompidas;
+        this.conexaoMs = conexaoMs;
+        this.leituraMs = leituraMs;
+        this.prazoRestanteNs = prazoRestanteNs;
+        this.limitadaPeloPrazo = limitadaPeloPrazo;
+    }
+
+    /**
+     * Calcula os limites da requisição e os associa à thread atual
+     * @param timeouts timeouts configurados
+     * @param metodo método HTTP
+     * @param endpoint caminho com placeholders
+     * @param interrompidas contador das requisições interrompidas pelo prazo
+     */
+    static LimitesRequisicao iniciar(TimeoutsEndpoint timeouts, String metodo, String endpoint, LongAdder interrompidas) {
+        long restanteNs = Prazo.restanteNanos();
+        Duration conexao = timeouts.conexao(endpoint);
+        Duration leitura = timeouts.leitura(endpoint);
+        LimitesRequisicao limites = new LimitesRequisicao(metodo + " " + endpoint, interrompidas,
+                limitar(conexao, restanteNs), limitar(leitura, restanteNs),
+                restanteNs, restanteNs < Math.max(conexao.toNanos(), leitura.toNanos()));
+        ATUAL.set(limites);
+        return limites;
+    }
+
+    /**
+     * @return limites da requisição em andamento na thread atual, ou null fora de uma requisição instrumentada
+     */
+    static LimitesRequisicao atual() {
+        return ATUAL.get();
+    }
+
+    static void desassociar() {
+        ATUAL.remove();
+    }
+
+    int getConexaoMs() {
+        return conexaoMs;
+    }
+
+    int getLeituraMs() {
+        return leituraMs;
+    }
+
+    /**
+     * @return true quando a requisição está sob um prazo
+     */
+    boolean temPrazo() {
+        return prazoRestanteNs != Long.MAX_VALUE;
+    }
+
+    /**
+     * @param causa falha de I/O provocada pelo prazo
+     * @return exceção que identifica a requisição interrompida
+     */
+    PrazoEsgotadoException esgotado(Throwable causa) {
+        interrompidas.increment();
+        return new PrazoEsgotadoException(operacao, Prazo.duracao(), causa);
+    }
+
+    /**
+     * @param erro falha da requisição ou da leitura do corpo
+     * @return true quando a falha se deve ao prazo: conexão encerrada pelo vigia, prazo vencido ou
+     *         timeout de socket que havia sido reduzido ao restante do prazo
+     */
+    boolean prazoCausou(Throwable erro) {
+        if (!temPrazo()) {
+            return false;
+        }
+        if (interrompida.get() || Prazo.esgotado()) {
+            return true;
+        }
+        if (!limitadaPeloPrazo) {
+            return false;
+        }
+        for (Throwable causa = erro; causa != null; causa = causa.getCause()) {
+            if (causa instanceof InterruptedIOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Agenda o encerramento da conexão para o fim do prazo, se houver prazo
+     * @param conexao conexão que transporta a requisição
+     */
+    void vigiar(HttpConnection conexao) {
+        if (!temPrazo() || encerrada.get()) {
+            return;
+        }
+        long atrasoNs = Math.max(0, Prazo.restanteNanos());
+        vigia = VIGIA.schedule(() -> {
+            if (!encerrada.get() && interrompida.compareAndSet(false, true)) {
+                try {
+                    conexao.shutdown();
+                } catch (IOException e) {
+                    // A conexão já estava fechada; a leitura em andamento falha do mesmo jeito
+                }
+            }
+        }, atrasoNs, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Marca a requisição como concluída (corpo lido, fechado ou falha) e cancela o vigia
+     */
+    void encerrar() {
+        if (encerrada.compareAndSet(false, true)) {
+            ScheduledFuture<?> agendado = vigia;
+            if (agendado != null) {
+                agendado.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Timeout do endpoint limitado ao restante do prazo; ao menos 1ms, já que 0 significa "sem limite"
+     */
+    private static int limitar(Duration configurado, long restanteNs) {
+        long ms = Math.min(configurado.toMillis(), TimeUnit.NANOSECONDS.toMillis(restanteNs));
+        return (int) Math.max(1, Math.min(ms, Integer.MAX_VALUE));
+    }
+}
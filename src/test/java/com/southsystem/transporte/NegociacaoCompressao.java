@@ -0,0 +1,281 @@
+package com.southsystem.transporte;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.entity.HttpEntityWrapper;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpCoreContext;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.net.URI;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Negociação de compressão feita pelo próprio transporte, no lugar dos decodificadores do RestAssured
+ * (desligados pelo ServicoDogApi), que descomprimem por dentro e não deixam ver os bytes da conexão
+ *
+ * Na requisição envia Accept-Encoding: gzip, deflate (ou identity, com a compressão desligada); na resposta,
+ * descomprime gzip e deflate enquanto o corpo é lido, contando os bytes que trafegaram, os entregues ao
+ * teste e o tempo gasto só na descompressão (o tempo esperando a rede fica de fora). O header
+ * Content-Encoding da resposta é mantido para os testes, mas o corpo entregue ao RestAssured já vem
+ * decodificado
+ */
+final class NegociacaoCompressao implements HttpRequestInterceptor, HttpResponseInterceptor {
+
+    static final String ACEITAS = "gzip, deflate";
+
+    private final boolean habilitada;
+    private final EstatisticasCompressao estatisticas;
+
+    NegociacaoCompressao(boolean habilitada, EstatisticasCompressao estatisticas) {
+        this.habilitada = habilitada;
+        this.estatisticas = estatisticas;
+    }
+
+    @Override
+    public void process(HttpRequest requisicao, HttpContext contexto) {
+        if (!requisicao.containsHeader("Accept-Encoding")) {
+            requisicao.addHeader("Accept-Encoding", habilitada ? ACEITAS : "identity");
+        }
+    }
+
+    @Override
+    public void process(HttpResponse resposta, HttpContext contexto) {
+        HttpEntity corpo = resposta.getEntity();
+        if (corpo == null) {
+            return;
+        }
+        Header cabecalho = corpo.getContentEncoding();
+        String codificacao = cabecalho == null ? "identity" : cabecalho.getValue().trim().toLowerCase(Locale.ROOT);
+        if (!codificacao.equals("identity") && !codificacao.equals("gzip") && !codificacao.equals("x-gzip")
+                && !codificacao.equals("deflate")) {
+            // Codificação não pedida ao servidor: o corpo segue como veio, sem medição
+            return;
+        }
+        resposta.setEntity(new CorpoDecodificado(corpo, codificacao, endpoint(contexto)));
+    }
+
+    /**
+     * Endpoint com placeholders da medição em andamento; fora de uma requisição instrumentada, o caminho da URI
+     */
+    private static String endpoint(HttpContext contexto) {
+        TemposRequisicao tempos = CronometroFases.atual();
+        if (tempos != null) {
+            return tempos.getMetodo() + " " + tempos.getEndpoint();
+        }
+        HttpRequest requisicao = HttpCoreContext.adapt(contexto).getRequest();
+        if (requisicao == null) {
+            return "desconhecido";
+        }
+        return requisicao.getRequestLine().getMethod() + " " + URI.create(requisicao.getRequestLine().getUri()).getPath();
+    }
+
+    /**
+     * Corpo descomprimido sob demanda; para o RestAssured ele não tem codificação nem tamanho conhecido
+     */
+    private final class CorpoDecodificado extends HttpEntityWrapper {
+
+        private final String codificacao;
+        private final String endpoint;
+        private InputStream conteudo;
+
+        private CorpoDecodificado(HttpEntity corpo, String codificacao, String endpoint) {
+            super(corpo);
+            this.codificacao = codificacao;
+            this.endpoint = endpoint;
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            if (conteudo == null || isRepeatable()) {
+                FluxoContado daConexao = new FluxoContado(super.getContent());
+                conteudo = new FluxoDecodificado(decodificador(daConexao), daConexao, !comprimido(), endpoint);
+            }
+            return conteudo;
+        }
+
+        @Override
+        public Header getContentEncoding() {
+            return comprimido() ? null : super.getContentEncoding();
+        }
+
+        @Override
+        public long getContentLength() {
+            return comprimido() ? -1 : super.getContentLength();
+        }
+
+        @Override
+        public void writeTo(OutputStream saida) throws IOException {
+            try (InputStream entrada = getContent()) {
+                entrada.transferTo(saida);
+            }
+        }
+
+        private boolean comprimido() {
+            return !codificacao.equals("identity");
+        }
+
+        private InputStream decodificador(InputStream daConexao) throws IOException {
+            switch (codificacao) {
+                case "gzip":
+                case "x-gzip":
+                    return desgzipar(daConexao);
+                case "deflate":
+                    return inflar(daConexao);
+                default:
+                    return daConexao;
+            }
+        }
+
+        /**
+         * "deflate" deveria vir no formato zlib (RFC 1950), mas há servidores que mandam o deflate puro;
+         * o cabeçalho zlib é reconhecido pelos dois primeiros bytes
+         */
+        private InputStream inflar(InputStream daConexao) throws IOException {
+            PushbackInputStream espiado = new PushbackInputStream(daConexao, 2);
+            byte[] inicio = espiado.readNBytes(2);
+            if (inicio.length == 0) {
+                return InputStream.nullInputStream();
+            }
+            espiado.unread(inicio);
+            boolean zlib = inicio.length == 2 && (inicio[0] & 0x0F) == 8
+                    && (((inicio[0] & 0xFF) << 8) | (inicio[1] & 0xFF)) % 31 == 0;
+            return new InflaterInputStream(espiado, new Inflater(!zlib));
+        }
+
+        /**
+         * O GZIPInputStream lê o cabeçalho gzip já no construtor e falha com corpo vazio (HEAD, 204)
+         */
+        private InputStream desgzipar(InputStream daConexao) throws IOException {
+            PushbackInputStream espiado = new PushbackInputStream(daConexao, 1);
+            int primeiro = espiado.read();
+            if (primeiro == -1) {
+                return InputStream.nullInputStream();
+            }
+            espiado.unread(primeiro);
+            return new GZIPInputStream(espiado);
+        }
+    }
+
+    /**
+     * Bytes lidos da conexão e tempo bloqueado nessas leituras
+     */
+    private static final class FluxoContado extends FilterInputStream {
+
+        private long bytes;
+        private long leituraNs;
+
+        private FluxoContado(InputStream entrada) {
+            super(entrada);
+        }
+
+        @Override
+        public int read() throws IOException {
+            long inicio = System.nanoTime();
+            int lido = super.read();
+            leituraNs += System.nanoTime() - inicio;
+            if (lido != -1) {
+                bytes++;
+            }
+            return lido;
+        }
+
+        @Override
+        public int read(byte[] destino, int deslocamento, int tamanho) throws IOException {
+            long inicio = System.nanoTime();
+            int lidos = super.read(destino, deslocamento, tamanho);
+            leituraNs += System.nanoTime() - inicio;
+            if (lidos > 0) {
+                bytes += lidos;
+            }
+            return lidos;
+        }
+    }
+
+    /**
+     * Corpo entregue ao RestAssured; ao chegar ao fim ou ser fechado, registra a resposta nas estatísticas
+     */
+    private final class FluxoDecodificado extends FilterInputStream {
+
+        private final FluxoContado daConexao;
+        private final boolean identidade;
+        private final String endpoint;
+        private final long leituraAntesNs;
+        private final AtomicBoolean registrado = new AtomicBoolean();
+        private long bytes;
+        private long totalNs;
+
+        private FluxoDecodificado(InputStream decodificado, FluxoContado daConexao, boolean identidade, String endpoint) {
+            super(decodificado);
+            this.daConexao = daConexao;
+            this.identidade = identidade;
+            this.endpoint = endpoint;
+            // O cabeçalho gzip já foi lido ao montar o decodificador, fora das leituras cronometradas aqui
+            this.leituraAntesNs = daConexao.leituraNs;
+        }
+
+        @Override
+        public int read() throws IOException {
+            long inicio = System.nanoTime();
+            int lido = super.read();
+            totalNs += System.nanoTime() - inicio;
+            if (lido == -1) {
+                concluir();
+            } else {
+                bytes++;
+            }
+            return lido;
+        }
+
+        @Override
+        public int read(byte[] destino, int deslocamento, int tamanho) throws IOException {
+            long inicio = System.nanoTime();
+            int lidos = super.read(destino, deslocamento, tamanho);
+            totalNs += System.nanoTime() - inicio;
+            if (lidos == -1) {
+                concluir();
+            } else {
+                bytes += lidos;
+            }
+            return lidos;
+        }
+
+        @Override
+        public void close() throws IOException {
+            registrar();
+            super.close();
+        }
+
+        /**
+         * O descompressor para no fim do trailer gzip sem pedir mais bytes à conexão; lê até o fim do
+         * corpo para que o HttpClient devolva a conexão ao pool e a medição de fases seja concluída.
+         * As estatísticas são registradas antes, para não contar essa devolução como leitura da rede
+         */
+        private void concluir() throws IOException {
+            boolean primeiraVez = !registrado.get();
+            registrar();
+            if (primeiraVez && !identidade) {
+                daConexao.transferTo(OutputStream.nullOutputStream());
+            }
+        }
+
+        private void registrar() {
+            if (registrado.compareAndSet(false, true)) {
+                long decodificacaoNs = identidade ? 0 : Math.max(0, totalNs - (daConexao.leituraNs - leituraAntesNs));
+                estatisticas.registrar(endpoint, !identidade, daConexao.bytes, bytes, decodificacaoNs);
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.southsystem.transporte;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Prazo (deadline) da operação em andamento na thread atual
+ *
+ * O teste define quanto tempo tem ({@link PrazoMaximo}) e cada requisição feita dentro dele recebe
+ * como timeout de conexão e de leitura o menor valor entre o configurado para o endpoint e o que
+ * resta do prazo; esgotado o prazo, a conexão é interrompida e a chamada falha com
+ * {@link PrazoEsgotadoException}, em vez de o tempo ser conferido só depois da resposta
+ *
+ * Prazos aninhados nunca estendem o externo: vale sempre o que vence primeiro
+ */
+public final class Prazo {
+
+    private static final ThreadLocal<Prazo> ATUAL = new ThreadLocal<>();
+
+    private final long limiteNs;
+    private final Duration duracao;
+
+    private Prazo(long limiteNs, Duration duracao) {
+        this.limiteNs = limiteNs;
+        this.duracao = duracao;
+    }
+
+    /**
+     * Define o prazo da thread atual a partir de agora (ex.: início do teste)
+     * @param duracao tempo disponível
+     */
+    public static void definir(Duration duracao) {
+        ATUAL.set(new Prazo(System.nanoTime() + duracao.toNanos(), duracao));
+    }
+
+    /**
+     * Remove o prazo da thread atual
+     */
+    public static void limpar() {
+        ATUAL.remove();
+    }
+
+    /**
+     * Executa a operação com um prazo, sem estender um prazo externo mais curto
+     * @param duracao tempo disponível para a operação
+     * @param operacao operação executada na thread atual
+     * @return resultado da operação
+     */
+    public static <T> T comPrazo(Duration duracao, Supplier<T> operacao) {
+        Prazo externo = ATUAL.get();
+        Prazo interno = new Prazo(System.nanoTime() + duracao.toNanos(), duracao);
+        ATUAL.set(externo != null && externo.limiteNs - interno.limiteNs < 0 ? externo : interno);
+        try {
+            return operacao.get();
+        } finally {
+            restaurar(externo);
+        }
+    }
+
+    /**
+     * Leva o prazo da thread atual para uma operação executada em outra thread (ex.: executor assíncrono)
+     * @param operacao operação a ser executada depois, em qualquer thread
+     * @return operação que roda sob o prazo capturado agora
+     */
+    public static <T> Supplier<T> propagar(Supplier<T> operacao) {
+        Prazo capturado = ATUAL.get();
+        if (capturado == null) {
+            return operacao;
+        }
+        return () -> {
+            Prazo anterior = ATUAL.get();
+            ATUAL.set(capturado);
+            try {
+                return operacao.get();
+            } finally {
+                restaurar(anterior);
+            }
+        };
+    }
+
+    /**
+     * @return true quando a thread atual tem um prazo
+     */
+    public static boolean definido() {
+        return ATUAL.get() != null;
+    }
+
+    /**
+     * @return nanossegundos até o fim do prazo (negativo se já esgotado), ou Long.MAX_VALUE sem prazo
+     */
+    public static long restanteNanos() {
+        Prazo prazo = ATUAL.get();
+        return prazo == null ? Long.MAX_VALUE : prazo.limiteNs - System.nanoTime();
+    }
+
+    /**
+     * @return true quando há prazo e ele já passou
+     */
+    public static boolean esgotado() {
+        return restanteNanos() <= 0;
+    }
+
+    /**
+     * @return duração total do prazo da thread atual, ou null sem prazo
+     */
+    public static Duration duracao() {
+        Prazo prazo = ATUAL.get();
+        return prazo == null ? null : prazo.duracao;
+    }
+
+    /**
+     * Falha antes de começar a operação se o prazo já se esgotou
+     * @param operacao descrição usada na mensagem de erro (ex.: "GET /breeds/list/all")
+     */
+    public static void verificar(String operacao) {
+        if (esgotado()) {
+            throw new PrazoEsgotadoException(operacao, duracao(), null);
+        }
+    }
+
+    private static void restaurar(Prazo anterior) {
+        if (anterior == null) {
+            ATUAL.remove();
+        } else {
+            ATUAL.set(anterior);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.southsystem.transporte;
+
+import java.time.Duration;
+
+/**
+ * Lançada quando uma requisição é interrompida (ou nem começa) porque o prazo da operação se esgotou
+ */
+public class PrazoEsgotadoException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Duration prazo;
+
+    public PrazoEsgotadoException(String operacao, Duration prazo, Throwable causa) {
+        super("Prazo de " + (prazo == null ? "?" : prazo.toMillis() + "ms") + " esgotado em " + operacao, causa);
+        this.prazo = prazo;
+    }
+
+    /**
+     * @return duração total do prazo que se esgotou
+     */
+    public Duration getPrazo() {
+        return prazo;
+    }
+}
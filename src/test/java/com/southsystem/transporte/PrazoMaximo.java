@@ -0,0 +1,18 @@
+package com.southsystem.transporte;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Prazo do teste em milissegundos, propagado a cada requisição feita por ele
+ * Na classe vale para todos os métodos; no método, sobrepõe o da classe.
+ * Sem a anotação vale dog.api.prazo.testeMs (ver {@link ExtensaoPrazo})
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PrazoMaximo {
+
+    long value();
+}
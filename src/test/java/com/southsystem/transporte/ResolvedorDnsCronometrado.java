@@ -0,0 +1,28 @@
+package com.southsystem.transporte;
+
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * Resolvedor DNS do sistema que registra o tempo de resolução na requisição em andamento
+ */
+class ResolvedorDnsCronometrado implements DnsResolver {
+
+    private final DnsResolver delegado = SystemDefaultDnsResolver.INSTANCE;
+
+    @Override
+    public InetAddress[] resolve(String host) throws UnknownHostException {
+        long inicio = System.nanoTime();
+        try {
+            return delegado.resolve(host);
+        } finally {
+            TemposRequisicao tempos = CronometroFases.atual();
+            if (tempos != null) {
+                tempos.adicionarDns(System.nanoTime() - inicio);
+            }
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.southsystem.transporte;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Decomposição do tempo de uma requisição HTTP por fase, em nanossegundos (System.nanoTime)
+ *
+ * DNS, conexão TCP e handshake TLS só ocorrem quando o pool entrega uma conexão nova;
+ * em conexões reaproveitadas essas fases ficam zeradas. A espera vai do fim do envio
+ * até os headers da resposta (servidor + rede, o TTFB) e o download vai dos headers até
+ * o fim do corpo; em leituras por streaming o download inclui o tempo de interpretação
+ * intercalado com a leitura
+ *
+ * Os campos são preenchidos pela thread da requisição; a instância passa a ser imutável
+ * quando concluída
+ */
+public class TemposRequisicao {
+
+    private final String metodo;
+    private final String endpoint;
+    private final String origem;
+    private final long inicioNs;
+    private final Consumer<TemposRequisicao> aoConcluir;
+    private final AtomicBoolean concluida = new AtomicBoolean();
+
+    private volatile long dnsNs;
+    private volatile long conexaoNs;
+    private volatile long tlsNs;
+    private volatile long envioNs;
+    private volatile long esperaNs;
+    private volatile long downloadNs;
+    private volatile long totalNs;
+    private volatile long cabecalhosRecebidosEmNs;
+    private volatile boolean corpoPendente;
+    private volatile boolean conexaoReutilizada;
+    private volatile int status;
+
+    TemposRequisicao(String metodo, String endpoint, String origem, long inicioNs, Consumer<TemposRequisicao> aoConcluir) {
+        this.metodo = metodo;
+        this.endpoint = endpoint;
+        this.origem = origem;
+        this.inicioNs = inicioNs;
+        this.aoConcluir = aoConcluir;
+    }
+
+    public String getMetodo() {
+        return metodo;
+    }
+
+    /**
+     * @return caminho como declarado no service, com placeholders (ex.: /breed/{raca}/images)
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * @return host e porta a que a requisição foi enviada (ex.: dog.ceo ou localhost:8080)
+     */
+    public String getOrigem() {
+        return origem;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public boolean isConexaoReutilizada() {
+        return conexaoReutilizada;
+    }
+
+    public long getDnsNs() {
+        return dnsNs;
+    }
+
+    public long getConexaoNs() {
+        return conexaoNs;
+    }
+
+    public long getTlsNs() {
+        return tlsNs;
+    }
+
+    public long getEnvioNs() {
+        return envioNs;
+    }
+
+    /**
+     * @return tempo entre o fim do envio e o recebimento dos headers (TTFB)
+     */
+    public long getEsperaNs() {
+        return esperaNs;
+    }
+
+    public long getDownloadNs() {
+        return downloadNs;
+    }
+
+    /**
+     * @return tempo fora das fases de rede: montagem da requisição, filtros e interceptors,
+     * obtenção da conexão no pool e processamento da resposta pelo RestAssured
+     */
+    public long getClienteNs() {
+        return Math.max(0, totalNs - dnsNs - conexaoNs - tlsNs - envioNs - esperaNs - downloadNs);
+    }
+
+    /**
+     * @return tempo total no cliente, do início da requisição ao fim do corpo
+     */
+    public long getTotalNs() {
+        return totalNs;
+    }
+
+    public boolean isConcluida() {
+        return concluida.get();
+    }
+
+    /**
+     * @return resumo legível das fases em milissegundos
+     */
+    public String formatar() {
+        return String.format("%s %s → %d (%s)%n"
+                        + "  DNS        %10.3f ms%n"
+                        + "  Conexão    %10.3f ms%n"
+                        + "  TLS        %10.3f ms%n"
+                        + "  Envio      %10.3f ms%n"
+                        + "  Espera     %10.3f ms (TTFB)%n"
+                        + "  Download   %10.3f ms%n"
+                        + "  Cliente    %10.3f ms%n"
+                        + "  Total      %10.3f ms%n",
+                metodo, endpoint, status, conexaoReutilizada ? "conexão reaproveitada" : "conexão nova",
+                ms(dnsNs), ms(conexaoNs), ms(tlsNs), ms(envioNs), ms(esperaNs), ms(downloadNs), ms(getClienteNs()),
+                ms(totalNs));
+    }
+
+    @Override
+    public String toString() {
+        return formatar();
+    }
+
+    static double ms(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    void adicionarDns(long nanos) {
+        dnsNs += nanos;
+    }
+
+    void adicionarConexao(long nanos) {
+        conexaoNs += nanos;
+    }
+
+    void adicionarTls(long nanos) {
+        tlsNs += nanos;
+    }
+
+    void adicionarEnvio(long nanos) {
+        envioNs += nanos;
+    }
+
+    void conexaoObtida(boolean reutilizada) {
+        this.conexaoReutilizada = reutilizada;
+    }
+
+    void cabecalhosRecebidos(int status, long esperaNs, long instanteNs) {
+        this.status = status;
+        this.esperaNs += esperaNs;
+        this.cabecalhosRecebidosEmNs = instanteNs;
+    }
+
+    void aguardarCorpo() {
+        corpoPendente = true;
+    }
+
+    boolean isCorpoPendente() {
+        return corpoPendente;
+    }
+
+    /**
+     * Fecha a medição no fim do corpo (ou após os headers, quando não há corpo); chamadas repetidas são ignoradas
+     */
+    void concluir(long instanteNs) {
+        if (!concluida.compareAndSet(false, true)) {
+            return;
+        }
+        if (cabecalhosRecebidosEmNs != 0) {
+            downloadNs = Math.max(0, instanteNs - cabecalhosRecebidosEmNs);
+        }
+        totalNs = instanteNs - inicioNs;
+        aoConcluir.accept(this);
+    }
+}
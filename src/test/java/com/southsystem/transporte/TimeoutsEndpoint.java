@@ -0,0 +1,90 @@
+package com.southsystem.transporte;
+
+import com.southsystem.config.ConfiguracaoApi;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Timeouts de conexão e de leitura por endpoint
+ *
+ * O endpoint é o caminho com placeholders, como aparece no ServicoDogApi (ex.: /breed/{raca}/images).
+ * A leitura é o maior intervalo sem receber bytes (SO_TIMEOUT); a conexão também limita a espera
+ * por uma conexão livre no pool
+ */
+public class TimeoutsEndpoint {
+
+    public static final String PROPRIEDADE_CONEXAO_MS = "dog.api.timeout.conexaoMs";
+    public static final String PROPRIEDADE_LEITURA_MS = "dog.api.timeout.leituraMs";
+
+    private final Duration conexaoPadrao;
+    private final Duration leituraPadrao;
+    private final Function<String, Duration> conexaoPorEndpoint;
+    private final Function<String, Duration> leituraPorEndpoint;
+
+    /**
+     * @param conexaoPadrao timeout de conexão dos endpoints sem valor próprio
+     * @param leituraPadrao timeout de leitura dos endpoints sem valor próprio
+     * @param conexaoPorEndpoint timeouts de conexão específicos, por endpoint
+     * @param leituraPorEndpoint timeouts de leitura específicos, por endpoint
+     */
+    public TimeoutsEndpoint(Duration conexaoPadrao, Duration leituraPadrao,
+                            Map<String, Duration> conexaoPorEndpoint, Map<String, Duration> leituraPorEndpoint) {
+        this(conexaoPadrao, leituraPadrao, Map.copyOf(conexaoPorEndpoint)::get, Map.copyOf(leituraPorEndpoint)::get);
+    }
+
+    private TimeoutsEndpoint(Duration conexaoPadrao, Duration leituraPadrao,
+                             Function<String, Duration> conexaoPorEndpoint, Function<String, Duration> leituraPorEndpoint) {
+        this.conexaoPadrao = conexaoPadrao;
+        this.leituraPadrao = leituraPadrao;
+        this.conexaoPorEndpoint = conexaoPorEndpoint;
+        this.leituraPorEndpoint = leituraPorEndpoint;
+    }
+
+    /**
+     * Timeouts das propriedades dog.api.timeout.conexaoMs e dog.api.timeout.leituraMs;
+     * um endpoint tem valor próprio com o caminho como sufixo, ex.: dog.api.timeout.leituraMs./breed/{raca}/images
+     * @return timeouts configurados
+     */
+    public static TimeoutsEndpoint configurados() {
+        return new TimeoutsEndpoint(
+                Duration.ofMillis(ConfiguracaoApi.propriedadeInteira(PROPRIEDADE_CONEXAO_MS, 5000)),
+                Duration.ofMillis(ConfiguracaoApi.propriedadeInteira(PROPRIEDADE_LEITURA_MS, 15000)),
+                porEndpointConfigurado(PROPRIEDADE_CONEXAO_MS),
+                porEndpointConfigurado(PROPRIEDADE_LEITURA_MS));
+    }
+
+    /**
+     * @param endpoint caminho com placeholders
+     * @return timeout de conexão do endpoint
+     */
+    public Duration conexao(String endpoint) {
+        Duration especifico = endpoint == null ? null : conexaoPorEndpoint.apply(endpoint);
+        return especifico != null ? especifico : conexaoPadrao;
+    }
+
+    /**
+     * @param endpoint caminho com placeholders
+     * @return timeout de leitura do endpoint
+     */
+    public Duration leitura(String endpoint) {
+        Duration especifico = endpoint == null ? null : leituraPorEndpoint.apply(endpoint);
+        return especifico != null ? especifico : leituraPadrao;
+    }
+
+    /**
+     * Consulta a configuração uma vez por endpoint; endpoints sem valor próprio ficam com Duration.ZERO no mapa
+     */
+    private static Function<String, Duration> porEndpointConfigurado(String prefixo) {
+        Map<String, Duration> resolvidos = new ConcurrentHashMap<>();
+        return endpoint -> {
+            Duration valor = resolvidos.computeIfAbsent(endpoint, e -> {
+                int ms = ConfiguracaoApi.propriedadeInteira(prefixo + "." + e, 0);
+                return ms > 0 ? Duration.ofMillis(ms) : Duration.ZERO;
+            });
+            return valor.isZero() ? null : valor;
+        };
+    }
+}
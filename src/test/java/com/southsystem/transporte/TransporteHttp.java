@@ -0,0 +1,303 @@
+package com.southsystem.transporte;
+
+import com.southsystem.config.ConfiguracaoApi;
+import com.southsystem.relatorios.MetricasExecucao;
+import io.qameta.allure.Allure;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.HttpRequestRetryHandler;
+import org.apache.http.client.params.ClientPNames;
+import org.apache.http.conn.scheme.Scheme;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.conn.ssl.SSLSocketFactory;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.client.DefaultHttpRequestRetryHandler;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.params.CoreConnectionPNames;
+import org.apache.http.protocol.HttpRequestExecutor;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Transporte HTTP compartilhado por todas as instâncias de ServicoDogApi
+ * Mantém um pool de conexões keep-alive, com limite por rota e despejo de conexões ociosas,
+ * evitando um novo handshake TCP/TLS a cada requisição
+ *
+ * O RestAssured continua criando um HttpClient por requisição (ele altera parâmetros e
+ * interceptors do cliente a cada chamada), mas todos compartilham o mesmo pool
+ *
+ * Cada requisição também é decomposta por fase (DNS, conexão, TLS, envio, espera, download),
+ * ver {@link TemposRequisicao}
+ *
+ * Os timeouts de conexão e de leitura vêm do {@link TimeoutsEndpoint} e são reduzidos ao que resta
+ * do {@link Prazo} da thread; esgotado o prazo, a requisição falha com {@link PrazoEsgotadoException}
+ *
+ * As respostas são pedidas com gzip/deflate (dog.api.compressao.habilitada) e descomprimidas pelo próprio
+ * transporte, que registra por endpoint os bytes transferidos, os descomprimidos e o tempo de descompressão
+ * ({@link EstatisticasCompressao})
+ */
+@SuppressWarnings("deprecation")
+public final class TransporteHttp {
+
+    public static final String PROPRIEDADE_MAX_POR_ROTA = "dog.api.pool.maxPorRota";
+    public static final String PROPRIEDADE_MAX_TOTAL = "dog.api.pool.maxTotal";
+    public static final String PROPRIEDADE_OCIOSO_SEGUNDOS = "dog.api.pool.ociosoSegundos";
+    public static final String PROPRIEDADE_COMPRESSAO_HABILITADA = "dog.api.compressao.habilitada";
+
+    private static TransporteHttp compartilhado;
+
+    private final PoolingClientConnectionManager pool;
+    private final GerenciadorConexoesInstrumentado gerenciador;
+    private final ScheduledExecutorService despejo;
+    private final LongAdder latenciaConexaoNovaNs = new LongAdder();
+    private final LongAdder requisicoesConexaoNova = new LongAdder();
+    private final LongAdder latenciaConexaoReutilizadaNs = new LongAdder();
+    private final LongAdder requisicoesConexaoReutilizada = new LongAdder();
+    private final EstatisticasFases fases = new EstatisticasFases();
+    private final HistogramasLatencia latencias = new HistogramasLatencia();
+    private final TimeoutsEndpoint timeouts;
+    private final LongAdder interrompidasPorPrazo = new LongAdder();
+    private final EstatisticasCompressao compressao = new EstatisticasCompressao();
+    private final NegociacaoCompressao negociacao;
+
+    public TransporteHttp(int maximoPorRota, int maximoTotal, int ociosoSegundos) {
+        this(maximoPorRota, maximoTotal, ociosoSegundos, TimeoutsEndpoint.configurados());
+    }
+
+    public TransporteHttp(int maximoPorRota, int maximoTotal, int ociosoSegundos, TimeoutsEndpoint timeouts) {
+        this(maximoPorRota, maximoTotal, ociosoSegundos, timeouts,
+                Boolean.parseBoolean(ConfiguracaoApi.propriedade(PROPRIEDADE_COMPRESSAO_HABILITADA, "true")));
+    }
+
+    /**
+     * @param maximoPorRota conexões por host
+     * @param maximoTotal conexões no pool
+     * @param ociosoSegundos tempo até uma conexão ociosa ser fechada
+     * @param timeouts timeouts de conexão e leitura por endpoint
+     * @param comprimir se as respostas devem ser pedidas com gzip/deflate (false pede identity)
+     */
+    public TransporteHttp(int maximoPorRota, int maximoTotal, int ociosoSegundos, TimeoutsEndpoint timeouts, boolean comprimir) {
+        this.timeouts = timeouts;
+        this.negociacao = new NegociacaoCompressao(comprimir, compressao);
+        this.pool = new PoolingClientConnectionManager(registroCronometrado(), new ResolvedorDnsCronometrado());
+        this.pool.setDefaultMaxPerRoute(maximoPorRota);
+        this.pool.setMaxTotal(maximoTotal);
+        this.gerenciador = new GerenciadorConexoesInstrumentado(pool);
+
+        this.despejo = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "despejo-conexoes-ociosas");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalo = Math.max(1, ociosoSegundos / 2);
+        despejo.scheduleWithFixedDelay(() -> {
+            pool.closeExpiredConnections();
+            pool.closeIdleConnections(ociosoSegundos, TimeUnit.SECONDS);
+        }, intervalo, intervalo, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Transporte único da JVM, dimensionado pelas propriedades dog.api.pool.*
+     * @return transporte compartilhado
+     */
+    public static synchronized TransporteHttp compartilhado() {
+        if (compartilhado == null) {
+            TransporteHttp transporte = new TransporteHttp(
+                    ConfiguracaoApi.propriedadeInteira(PROPRIEDADE_MAX_POR_ROTA, 10),
+                    ConfiguracaoApi.propriedadeInteira(PROPRIEDADE_MAX_TOTAL, 50),
+                    ConfiguracaoApi.propriedadeInteira(PROPRIEDADE_OCIOSO_SEGUNDOS, 30));
+            MetricasExecucao.registrar("pool", () -> transporte.estatisticas().comoMapa());
+            MetricasExecucao.registrar("fases", transporte.fases::comoMapa);
+            MetricasExecucao.registrar("prazos", () -> Map.of("interrompidas", transporte.getInterrompidasPorPrazo()));
+            MetricasExecucao.registrar("compressao", transporte.compressao::comoMapa);
+            Runtime.getRuntime().addShutdownHook(new Thread(transporte::fechar, "fechar-pool-conexoes"));
+            compartilhado = transporte;
+        }
+        return compartilhado;
+    }
+
+    /**
+     * @return transporte compartilhado, ou null se nenhum service o criou nesta JVM (ex.: cassete reproduzido)
+     */
+    public static synchronized TransporteHttp compartilhadoSeCriado() {
+        return compartilhado;
+    }
+
+    /**
+     * @return tempos por fase da última requisição iniciada pela thread atual (concluída ou não), ou null
+     */
+    public static TemposRequisicao temposUltimaRequisicao() {
+        return CronometroFases.ultima();
+    }
+
+    /**
+     * Aplica o pool compartilhado a uma configuração de HttpClient do RestAssured
+     * @param configuracao configuração base
+     * @return configuração cujos clientes usam o pool deste transporte
+     */
+    public HttpClientConfig aplicar(HttpClientConfig configuracao) {
+        return configuracao.httpClientFactory(this::criarCliente);
+    }
+
+    /**
+     * Filtro do RestAssured que mede a latência de cada requisição separando conexões novas e reaproveitadas
+     * e abre a medição por fase, concluída quando o corpo termina de ser lido. Também fixa os timeouts
+     * da requisição conforme o endpoint e o prazo da thread
+     * @return filtro a ser adicionado à especificação da requisição
+     */
+    public Filter filtroLatencia() {
+        return new Filter() {
+            @Override
+            public Response filter(FilterableRequestSpecification requisicao, FilterableResponseSpecification resposta,
+                                   FilterContext contexto) {
+                String endpoint = requisicao.getUserDefinedPath();
+                GerenciadorConexoesInstrumentado.limparUltimaConexao();
+                LimitesRequisicao limites = LimitesRequisicao.iniciar(timeouts, requisicao.getMethod(), endpoint,
+                        interrompidasPorPrazo);
+                aplicarLimites(requisicao, limites);
+                String origem = URI.create(requisicao.getURI()).getAuthority();
+                TemposRequisicao tempos = CronometroFases.iniciar(requisicao.getMethod(), endpoint, origem, concluida -> {
+                    limites.encerrar();
+                    registrarFases(concluida);
+                });
+                try {
+                    long inicio = System.nanoTime();
+                    Response recebida = contexto.next(requisicao, resposta);
+                    registrarLatencia(GerenciadorConexoesInstrumentado.ultimaConexaoReutilizada(), System.nanoTime() - inicio);
+                    if (!tempos.isCorpoPendente()) {
+                        tempos.concluir(System.nanoTime());
+                    }
+                    return recebida;
+                } catch (Exception e) {
+                    limites.encerrar();
+                    if (limites.prazoCausou(e)) {
+                        throw limites.esgotado(e);
+                    }
+                    throw e;
+                } finally {
+                    CronometroFases.encerrar();
+                    LimitesRequisicao.desassociar();
+                }
+            }
+        };
+    }
+
+    /**
+     * @return requisições interrompidas porque o prazo da thread se esgotou
+     */
+    public long getInterrompidasPorPrazo() {
+        return interrompidasPorPrazo.sum();
+    }
+
+    public EstatisticasFases estatisticasFases() {
+        return fases;
+    }
+
+    /**
+     * @return histogramas do tempo total por origem e endpoint (respostas 2xx e 304)
+     */
+    public HistogramasLatencia histogramasLatencia() {
+        return latencias;
+    }
+
+    public EstatisticasCompressao estatisticasCompressao() {
+        return compressao;
+    }
+
+    public EstatisticasTransporte estatisticas() {
+        return new EstatisticasTransporte(
+                gerenciador.getAcertos(),
+                gerenciador.getFaltas(),
+                pool.getTotalStats().getLeased(),
+                pool.getTotalStats().getAvailable(),
+                mediaMs(latenciaConexaoNovaNs, requisicoesConexaoNova),
+                mediaMs(latenciaConexaoReutilizadaNs, requisicoesConexaoReutilizada));
+    }
+
+    /**
+     * Encerra o despejo e fecha todas as conexões do pool
+     */
+    public void fechar() {
+        despejo.shutdownNow();
+        gerenciador.encerrar();
+    }
+
+    /**
+     * As retentativas ficam só com a PoliticaRetentativa do ServicoDogApi: a do HttpClient repetiria
+     * em silêncio a requisição cuja conexão o vigia do prazo acabou de encerrar
+     * A compressão é negociada e decodificada pelos interceptors do transporte, que medem os bytes da conexão
+     */
+    private HttpClient criarCliente() {
+        DefaultHttpClient cliente = new DefaultHttpClient(gerenciador) {
+            @Override
+            protected HttpRequestExecutor createRequestExecutor() {
+                return new ExecutorRequisicaoCronometrado();
+            }
+
+            @Override
+            protected HttpRequestRetryHandler createHttpRequestRetryHandler() {
+                return new DefaultHttpRequestRetryHandler(0, false);
+            }
+        };
+        cliente.addRequestInterceptor(negociacao);
+        cliente.addResponseInterceptor(negociacao);
+        return cliente;
+    }
+
+    /**
+     * Fixa os timeouts nos parâmetros do HttpClient desta requisição; o RestAssured cria o cliente
+     * antes dos filtros, mas só copia os parâmetros da configuração para ele no envio, depois deles
+     */
+    private static void aplicarLimites(FilterableRequestSpecification requisicao, LimitesRequisicao limites) {
+        RestAssuredConfig configuracao = requisicao.getConfig();
+        requisicao.config(configuracao.httpClient(configuracao.getHttpClientConfig()
+                .setParam(CoreConnectionPNames.CONNECTION_TIMEOUT, limites.getConexaoMs())
+                .setParam(CoreConnectionPNames.SO_TIMEOUT, limites.getLeituraMs())
+                .setParam(ClientPNames.CONN_MANAGER_TIMEOUT, (long) limites.getConexaoMs())));
+    }
+
+    private static SchemeRegistry registroCronometrado() {
+        SchemeRegistry registro = new SchemeRegistry();
+        registro.register(new Scheme("http", 80, new FabricaSocketsCronometrada()));
+        registro.register(new Scheme("https", 443, new FabricaSocketsCronometrada.Tls(SSLSocketFactory.getSocketFactory())));
+        return registro;
+    }
+
+    /**
+     * Agrega a requisição concluída e, dentro de um teste, anexa a decomposição ao step corrente do Allure
+     */
+    private void registrarFases(TemposRequisicao tempos) {
+        fases.registrar(tempos);
+        latencias.registrar(tempos);
+        if (Allure.getLifecycle().getCurrentTestCaseOrStep().isPresent()) {
+            Allure.addAttachment("Tempos por fase - " + tempos.getMetodo() + " " + tempos.getEndpoint(),
+                    "text/plain", tempos.formatar(), ".txt");
+        }
+    }
+
+    private void registrarLatencia(boolean conexaoReutilizada, long duracaoNs) {
+        if (conexaoReutilizada) {
+            latenciaConexaoReutilizadaNs.add(duracaoNs);
+            requisicoesConexaoReutilizada.increment();
+        } else {
+            latenciaConexaoNovaNs.add(duracaoNs);
+            requisicoesConexaoNova.increment();
+        }
+    }
+
+    private static double mediaMs(LongAdder totalNs, LongAdder quantidade) {
+        long n = quantidade.sum();
+        return n == 0 ? 0 : totalNs.sum() / (double) n / 1_000_000;
+    }
+}
@@ -0,0 +1,138 @@
+package com.southsystem.varredura;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.southsystem.json.MapeadorJson;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Arquivo NDJSON (um objeto JSON por linha) com o resultado da varredura, um alvo por linha
+ *
+ * Cada linha é gravada e descarregada assim que o alvo termina, de modo que uma execução
+ * interrompida perde no máximo a linha que estava sendo escrita. Ao abrir um arquivo existente,
+ * uma linha final incompleta é descartada e os alvos já concluídos com sucesso são lidos
+ * para que a varredura seja retomada a partir dos que faltam
+ */
+public class ArquivoVarredura implements Closeable {
+
+    static final String CAMPO_ALVO = "alvo";
+    static final String CAMPO_STATUS = "status";
+    static final String STATUS_SUCESSO = "success";
+
+    private final Path caminho;
+    private final Set<String> concluidos;
+    private final BufferedWriter escritor;
+
+    /**
+     * Abre (ou cria) o arquivo para acrescentar resultados
+     * @param caminho arquivo NDJSON
+     * @param retomar se true, mantém o conteúdo e lê os alvos concluídos; se false, recomeça do zero
+     */
+    public ArquivoVarredura(Path caminho, boolean retomar) {
+        this.caminho = caminho;
+        try {
+            if (caminho.getParent() != null) {
+                Files.createDirectories(caminho.getParent());
+            }
+            if (retomar && Files.exists(caminho)) {
+                descartarLinhaIncompleta(caminho);
+                this.concluidos = lerConcluidos(caminho);
+            } else {
+                Files.deleteIfExists(caminho);
+                this.concluidos = new HashSet<>();
+            }
+            this.escritor = Files.newBufferedWriter(caminho, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao abrir arquivo da varredura: " + caminho, e);
+        }
+    }
+
+    public Path getCaminho() {
+        return caminho;
+    }
+
+    /**
+     * @param alvo chave do alvo ("raca" ou "raca/subRaca")
+     * @return true se uma execução anterior já concluiu o alvo com sucesso
+     */
+    public boolean concluido(String alvo) {
+        return concluidos.contains(alvo);
+    }
+
+    /**
+     * @return quantidade de alvos concluídos lidos na abertura
+     */
+    public int getTotalConcluidos() {
+        return concluidos.size();
+    }
+
+    /**
+     * Grava uma linha e a descarrega no disco antes de retornar
+     * @param linha campos do resultado, na ordem em que devem aparecer
+     */
+    public synchronized void gravar(Map<String, Object> linha) {
+        try {
+            escritor.write(MapeadorJson.mapeador().writeValueAsString(linha));
+            escritor.newLine();
+            escritor.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar resultado da varredura em " + caminho, e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            escritor.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao fechar arquivo da varredura: " + caminho, e);
+        }
+    }
+
+    /**
+     * Trunca o arquivo no último fim de linha, removendo uma linha interrompida no meio da escrita
+     */
+    private static void descartarLinhaIncompleta(Path caminho) throws IOException {
+        try (RandomAccessFile arquivo = new RandomAccessFile(caminho.toFile(), "rw")) {
+            long posicao = arquivo.length();
+            while (posicao > 0) {
+                arquivo.seek(posicao - 1);
+                if (arquivo.read() == '\n') {
+                    break;
+                }
+                posicao--;
+            }
+            arquivo.setLength(posicao);
+        }
+    }
+
+    private static Set<String> lerConcluidos(Path caminho) throws IOException {
+        Set<String> concluidos = new HashSet<>();
+        try (BufferedReader leitor = Files.newBufferedReader(caminho, StandardCharsets.UTF_8)) {
+            String linha;
+            while ((linha = leitor.readLine()) != null) {
+                if (linha.isBlank()) {
+                    continue;
+                }
+                JsonNode registro = MapeadorJson.mapeador().readTree(linha);
+                if (STATUS_SUCESSO.equals(registro.path(CAMPO_STATUS).asText())) {
+                    concluidos.add(registro.path(CAMPO_ALVO).asText());
+                }
+            }
+        }
+        return concluidos;
+    }
+}
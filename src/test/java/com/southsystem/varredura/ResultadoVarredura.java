@@ -0,0 +1,123 @@
+package com.southsystem.varredura;
+
+import io.qameta.allure.Allure;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores de uma execução da {@link VarreduraCatalogo}
+ * Apenas totais são mantidos; o detalhe de cada alvo fica no arquivo NDJSON
+ */
+public class ResultadoVarredura {
+
+    private final Path arquivo;
+    private final int totalAlvos;
+    private final LongAdder visitados = new LongAdder();
+    private final LongAdder retomados = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder imagens = new LongAdder();
+    private final LongAdder urlsInvalidas = new LongAdder();
+    private final LongAdder esperaLimitadorNanos = new LongAdder();
+    private final LongAccumulator maiorEmAndamento = new LongAccumulator(Math::max, 0);
+    private long duracaoNanos;
+
+    ResultadoVarredura(Path arquivo, int totalAlvos) {
+        this.arquivo = arquivo;
+        this.totalAlvos = totalAlvos;
+    }
+
+    void registrarRetomado() {
+        retomados.increment();
+    }
+
+    void registrarVisita(long quantidadeImagens, long quantidadeInvalidas, long esperaNanos, boolean sucesso) {
+        visitados.increment();
+        imagens.add(quantidadeImagens);
+        urlsInvalidas.add(quantidadeInvalidas);
+        esperaLimitadorNanos.add(esperaNanos);
+        if (!sucesso) {
+            falhas.increment();
+        }
+    }
+
+    void registrarEmAndamento(int emAndamento) {
+        maiorEmAndamento.accumulate(emAndamento);
+    }
+
+    void finalizar(long duracaoNanos) {
+        this.duracaoNanos = duracaoNanos;
+    }
+
+    public Path getArquivo() {
+        return arquivo;
+    }
+
+    /**
+     * @return raças e sub-raças do catálogo
+     */
+    public int getTotalAlvos() {
+        return totalAlvos;
+    }
+
+    /**
+     * @return alvos requisitados nesta execução
+     */
+    public long getVisitados() {
+        return visitados.sum();
+    }
+
+    /**
+     * @return alvos pulados por já estarem concluídos no arquivo
+     */
+    public long getRetomados() {
+        return retomados.sum();
+    }
+
+    public long getFalhas() {
+        return falhas.sum();
+    }
+
+    public long getImagens() {
+        return imagens.sum();
+    }
+
+    public long getUrlsInvalidas() {
+        return urlsInvalidas.sum();
+    }
+
+    /**
+     * @return maior número de alvos processados ao mesmo tempo
+     */
+    public long getMaiorEmAndamento() {
+        return maiorEmAndamento.get();
+    }
+
+    public long getDuracaoMs() {
+        return TimeUnit.NANOSECONDS.toMillis(duracaoNanos);
+    }
+
+    /**
+     * @return resumo de uma linha por métrica
+     */
+    public String formatarResumo() {
+        double segundos = duracaoNanos / 1e9;
+        return String.format(
+                "Alvos: %d (visitados %d, retomados %d, falhas %d)%n"
+                        + "Imagens: %d (URLs inválidas %d)%n"
+                        + "Duração: %dms | vazão %.1f req/s | concorrência máxima %d | espera no limitador %dms",
+                totalAlvos, getVisitados(), getRetomados(), getFalhas(),
+                getImagens(), getUrlsInvalidas(),
+                getDuracaoMs(), segundos == 0 ? 0 : getVisitados() / segundos, getMaiorEmAndamento(),
+                TimeUnit.NANOSECONDS.toMillis(esperaLimitadorNanos.sum()));
+    }
+
+    /**
+     * Anexa o resumo ao teste em execução no Allure
+     */
+    public void anexarAoRelatorio() {
+        Allure.addAttachment("Varredura do catálogo", "text/plain", formatarResumo() + "\nArquivo: " + arquivo);
+    }
+}
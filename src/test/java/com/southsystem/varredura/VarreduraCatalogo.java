@@ -0,0 +1,194 @@
+package com.southsystem.varredura;
+
+import com.southsystem.models.RespostaListaRacas;
+import com.southsystem.resiliencia.LimitadorTaxa;
+import com.southsystem.services.ServicoDogApi;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Varredura concorrente do catálogo completo: as imagens de cada raça e de cada sub-raça
+ *
+ * O paralelismo é limitado por um semáforo (no máximo {@code concorrencia} alvos em andamento,
+ * sem fila acumulada) e a taxa de requisições ao host da API por um {@link LimitadorTaxa}.
+ * As URLs de imagem são lidas em streaming e apenas contadas e validadas, nunca guardadas;
+ * o resultado de cada alvo vai para o {@link ArquivoVarredura} assim que termina.
+ * A memória usada depende da concorrência, não do tamanho do catálogo nem da quantidade de imagens
+ */
+public class VarreduraCatalogo {
+
+    private final ServicoDogApi servico;
+    private final int concorrencia;
+    private final LimitadorTaxa limitador;
+    private final String host;
+
+    /**
+     * @param servico service usado por todas as requisições
+     * @param concorrencia máximo de alvos requisitados ao mesmo tempo
+     * @param limitador limite de requisições por segundo ao host da API
+     */
+    public VarreduraCatalogo(ServicoDogApi servico, int concorrencia, LimitadorTaxa limitador) {
+        if (concorrencia < 1) {
+            throw new IllegalArgumentException("concorrencia deve ser positiva: " + concorrencia);
+        }
+        this.servico = servico.semCache();
+        this.concorrencia = concorrencia;
+        this.limitador = limitador;
+        this.host = LimitadorTaxa.hostDe(servico.getUrlBase());
+    }
+
+    /**
+     * Varre o catálogo gravando uma linha por alvo no arquivo
+     * @param arquivo arquivo NDJSON de saída
+     * @param retomar se true, pula os alvos já concluídos com sucesso no arquivo
+     * @return totais da execução
+     */
+    public ResultadoVarredura executar(Path arquivo, boolean retomar) {
+        limitador.aguardar(host);
+        RespostaListaRacas catalogo = servico.buscarTodasRacasComoObjeto();
+        if (!ArquivoVarredura.STATUS_SUCESSO.equals(catalogo.getStatus()) || catalogo.getRacas() == null) {
+            throw new IllegalStateException("Não foi possível obter o catálogo de raças: " + catalogo.getStatus());
+        }
+        Map<String, List<String>> racas = catalogo.getRacas();
+        int totalAlvos = racas.size() + racas.values().stream().mapToInt(List::size).sum();
+        ResultadoVarredura resultado = new ResultadoVarredura(arquivo, totalAlvos);
+
+        Semaphore vagas = new Semaphore(concorrencia);
+        AtomicInteger emAndamento = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(concorrencia, novaThread());
+        long inicio = System.nanoTime();
+        try (ArquivoVarredura saida = new ArquivoVarredura(arquivo, retomar)) {
+            try {
+                for (Map.Entry<String, List<String>> raca : racas.entrySet()) {
+                    submeter(executor, vagas, emAndamento, saida, resultado, raca.getKey(), null);
+                    for (String subRaca : raca.getValue()) {
+                        submeter(executor, vagas, emAndamento, saida, resultado, raca.getKey(), subRaca);
+                    }
+                }
+            } finally {
+                executor.shutdown();
+            }
+            aguardarTermino(executor, vagas);
+        }
+        resultado.finalizar(System.nanoTime() - inicio);
+        return resultado;
+    }
+
+    private void submeter(ExecutorService executor, Semaphore vagas, AtomicInteger emAndamento,
+                          ArquivoVarredura saida, ResultadoVarredura resultado, String raca, String subRaca) {
+        String alvo = subRaca == null ? raca : raca + "/" + subRaca;
+        if (saida.concluido(alvo)) {
+            resultado.registrarRetomado();
+            return;
+        }
+        vagas.acquireUninterruptibly();
+        executor.execute(() -> {
+            resultado.registrarEmAndamento(emAndamento.incrementAndGet());
+            try {
+                visitar(saida, resultado, alvo, raca, subRaca);
+            } finally {
+                emAndamento.decrementAndGet();
+                vagas.release();
+            }
+        });
+    }
+
+    private void visitar(ArquivoVarredura saida, ResultadoVarredura resultado, String alvo, String raca, String subRaca) {
+        String diretorio = subRaca == null ? raca : raca + "-" + subRaca;
+        ContadorImagens contador = new ContadorImagens("/breeds/" + diretorio);
+        long espera = limitador.aguardar(host);
+        long inicio = System.nanoTime();
+        String status;
+        String erro = null;
+        try {
+            status = subRaca == null
+                    ? servico.percorrerImagensPorRaca(raca, contador)
+                    : servico.percorrerImagensPorSubRaca(raca, subRaca, contador);
+        } catch (Exception e) {
+            status = "falha";
+            erro = e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+        boolean sucesso = ArquivoVarredura.STATUS_SUCESSO.equals(status);
+
+        Map<String, Object> linha = new LinkedHashMap<>();
+        linha.put(ArquivoVarredura.CAMPO_ALVO, alvo);
+        linha.put("raca", raca);
+        linha.put("subRaca", subRaca);
+        linha.put(ArquivoVarredura.CAMPO_STATUS, status);
+        linha.put("imagens", contador.total);
+        linha.put("urlsInvalidas", contador.invalidas);
+        linha.put("primeiraImagem", contador.primeira);
+        linha.put("exemploInvalida", contador.exemploInvalida);
+        linha.put("duracaoMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+        linha.put("instante", Instant.now().toString());
+        if (erro != null) {
+            linha.put("erro", erro);
+        }
+        saida.gravar(linha);
+        resultado.registrarVisita(contador.total, contador.invalidas, espera, sucesso);
+    }
+
+    private void aguardarTermino(ExecutorService executor, Semaphore vagas) {
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.MINUTES)) {
+                executor.shutdownNow();
+                throw new IllegalStateException("Varredura não terminou em 10 minutos ("
+                        + (concorrencia - vagas.availablePermits()) + " alvos em andamento)");
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Varredura interrompida", e);
+        }
+    }
+
+    private static ThreadFactory novaThread() {
+        AtomicInteger contador = new AtomicInteger();
+        return tarefa -> {
+            Thread thread = new Thread(tarefa, "varredura-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Conta e valida as URLs de um alvo à medida que são lidas, guardando só a primeira
+     * e o primeiro exemplo inválido
+     */
+    private static final class ContadorImagens implements Consumer<String> {
+        private final String trechoEsperado;
+        private long total;
+        private long invalidas;
+        private String primeira;
+        private String exemploInvalida;
+
+        private ContadorImagens(String trechoEsperado) {
+            this.trechoEsperado = trechoEsperado;
+        }
+
+        @Override
+        public void accept(String url) {
+            if (primeira == null) {
+                primeira = url;
+            }
+            total++;
+            if (url == null || !url.startsWith("http") || !url.contains(trechoEsperado)) {
+                invalidas++;
+                if (exemploInvalida == null) {
+                    exemploInvalida = url;
+                }
+            }
+        }
+    }
+}
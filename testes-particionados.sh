@@ -0,0 +1,68 @@
+#!/usr/bin/env bash
+#
+# Roda a suite em N partições paralelas equilibradas pelas durações registradas e mescla os resultados do Allure
+#
+# Uso: ./testes-particionados.sh [N] [argumentos extras do Maven]
+#   ./testes-particionados.sh 4 -Ddog.api.servidor=local
+#
+# Cada partição é um "mvn surefire:test" com dog.api.particao.indice próprio e saídas em target/particoes/<i>.
+# Todas planejam a partir da mesma cópia de desempenho/duracoes.properties, tirada antes de começar, e ao
+# terminar atualizam o registro original. Em várias máquinas, basta rodar cada partição com os mesmos
+# dog.api.particao.* e a mesma cópia, e mesclar os allure-results com o perfil particoes (exec:exec@mesclar).
+#
+set -euo pipefail
+cd "$(dirname "$0")"
+
+total="${1:-2}"
+shift || true
+saida="target/particoes"
+duracoes="desempenho/duracoes.properties"
+copia="$saida/duracoes.properties"
+
+rm -rf "$saida" target/allure-results
+mkdir -p "$saida"
+if [[ -f "$duracoes" ]]; then
+    cp "$duracoes" "$copia"
+else
+    : > "$copia"
+fi
+
+mvn -B -q -Pparticoes test-compile exec:exec@planejar \
+    -Ddog.api.particao.total="$total" -Ddog.api.particao.duracoes="$copia" "$@"
+
+processadores=$(nproc 2>/dev/null || echo "$total")
+if ((total > processadores)); then
+    echo "⚠️  $total partições em $processadores processadores: as JVMs disputam CPU e os testes sensíveis a tempo podem falhar"
+fi
+
+inicio=$(date +%s)
+pids=()
+origens=()
+for ((i = 0; i < total; i++)); do
+    mkdir -p "$saida/$i"
+    # O histórico de desempenho fica de fora: cada partição só vê parte do tráfego de cada endpoint
+    mvn -B surefire:test \
+        -Ddog.api.particao.total="$total" -Ddog.api.particao.indice="$i" -Ddog.api.particao.duracoes="$copia" \
+        -Dallure.results.directory="$saida/$i/allure-results" -DreportsDirectory="$saida/$i/surefire-reports" \
+        -Ddog.api.log.arquivo="$saida/$i/dog-api-http.log" -Ddog.api.desempenho.habilitado=false \
+        "$@" > "$saida/$i/saida.txt" 2>&1 &
+    pids+=($!)
+    origens+=("$saida/$i/allure-results")
+done
+
+falhas=0
+for ((i = 0; i < total; i++)); do
+    if wait "${pids[$i]}"; then
+        echo "✅ Partição $i concluída ($saida/$i/saida.txt)"
+    else
+        echo "❌ Partição $i com falhas ($saida/$i/saida.txt)"
+        falhas=$((falhas + 1))
+    fi
+done
+echo "⏱️  Tempo total das partições: $(($(date +%s) - inicio))s"
+
+mkdir -p target/allure-results
+cp src/test/resources/environment.properties target/allure-results/ 2>/dev/null || true
+mvn -B -q -Pparticoes exec:exec@mesclar -Dparticoes.origens="${origens[*]}"
+
+exit $((falhas > 0 ? 1 : 0))